@@ -0,0 +1,199 @@
+package org.nikkii.alertify4j.benchmarks;
+
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.themes.BootstrapTheme;
+import org.nikkii.alertify4j.themes.ThemeSnapshot;
+import org.nikkii.alertify4j.tween.AnimationListener;
+import org.nikkii.alertify4j.tween.Animator;
+import org.nikkii.alertify4j.tween.Easing;
+import org.nikkii.alertify4j.tween.Positionable;
+import org.nikkii.alertify4j.ui.AlertMetrics;
+import org.nikkii.alertify4j.ui.AlertifyWindow;
+import org.nikkii.alertify4j.ui.OffscreenRenderer;
+import org.nikkii.alertify4j.ui.SpriteCache;
+import org.nikkii.alertify4j.ui.WindowCommitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one whole animation frame, with every window sliding back and forth on X while it moves up and down on Y:
+ * the {@link Animator} moving the windows' pending bounds, then the {@link WindowCommitter} handing every dirty window
+ * to the renderer. It checks that frames don't allocate.
+ *
+ * After each iteration a run of frames is counted with the thread's allocated bytes, and the iteration fails if any
+ * were allocated. That includes the completions, since every animation restarts itself from its listener. Run with
+ * {@code -prof gc} to also see {@code gc.alloc.rate.norm} for the measured frames.
+ *
+ * The windows are real {@link AlertifyWindow}s drawn by an {@link OffscreenRenderer}, so this runs headless. The flush
+ * is called straight after the animator, standing in for the task {@link WindowCommitter#commit()} posts to the EDT;
+ * posting that task is the one allocation a real frame makes, and it's left out.
+ *
+ * @author Nikki
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(jvmArgsAppend = "-Djava.awt.headless=true")
+public class AnimatorBenchmark {
+
+	/**
+	 * The frame length, at 60 frames per second.
+	 */
+	private static final float FRAME = 1f / 60f;
+
+	/**
+	 * The animation length, the same as Alertify's.
+	 */
+	private static final float DURATION = 0.5f;
+
+	/**
+	 * The number of frames counted for allocations after each iteration.
+	 */
+	private static final int COUNTED_FRAMES = 10000;
+
+	/**
+	 * The tag of the X animations.
+	 */
+	private static final Object X_AXIS = new Object();
+
+	/**
+	 * The number of windows being animated.
+	 */
+	@Param({"1", "10", "50"})
+	private int windows;
+
+	/**
+	 * The animator under test.
+	 */
+	private Animator animator;
+
+	/**
+	 * The committer under test.
+	 */
+	private WindowCommitter committer;
+
+	/**
+	 * The animated windows.
+	 */
+	private AlertifyWindow[] targets;
+
+	/**
+	 * The listener which sends every finished animation back the other way.
+	 */
+	private final AnimationListener bounce = new AnimationListener() {
+		@Override
+		public void onStep(Positionable target, Object tag) {
+			// Nothing to cut, unlike a sliding alert
+		}
+
+		@Override
+		public void onComplete(Positionable target, Object tag) {
+			if (tag == X_AXIS) {
+				animator.animate(target, Animator.X, target.getPendingX() == 0 ? 1000 : 0, DURATION, Easing.BACK_OUT,
+					this, tag);
+			} else {
+				Lane lane = (Lane) tag;
+				animator.animate(target, Animator.Y, target.getPendingY() == lane.low ? lane.high : lane.low, DURATION,
+					Easing.BACK_IN, this, tag);
+			}
+		}
+	};
+
+	@Setup
+	public void setup() {
+		ThemeSnapshot theme = new ThemeSnapshot(new BootstrapTheme());
+		AlertifyConfig config = new AlertifyBuilder().type(AlertifyType.INFO).text("Animated alert").build();
+
+		animator = new Animator();
+		committer = new WindowCommitter(new OffscreenRenderer());
+		targets = new AlertifyWindow[windows];
+
+		SpriteCache sprites = new SpriteCache(SpriteCache.DEFAULT_BUDGET);
+		AlertMetrics measurer = new AlertMetrics();
+
+		for (int i = 0; i < windows; i++) {
+			Lane lane = new Lane(i * 74, i * 74 + 64);
+
+			AlertifyWindow window = new AlertifyWindow(theme, config, measurer.measure(theme, config), committer,
+				sprites);
+			window.setPendingLocation(0, lane.low);
+			window.setPendingVisible(true);
+			targets[i] = window;
+
+			animator.animate(window, Animator.X, 1000, DURATION, Easing.BACK_OUT, bounce, X_AXIS);
+			animator.animate(window, Animator.Y, lane.high, DURATION * 0.7f, Easing.BACK_IN, bounce, lane);
+		}
+
+		// Bind the content and hand every window to the renderer once, which renders its image
+		committer.flush();
+	}
+
+	@Benchmark
+	public int frame() {
+		animator.update(FRAME);
+		committer.flush();
+		return targets[0].getPendingX();
+	}
+
+	@TearDown(Level.Iteration)
+	public void countAllocations() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+
+		// Reading the counter may allocate itself, so take that off
+		long before = threads.getThreadAllocatedBytes(thread);
+		long overhead = threads.getThreadAllocatedBytes(thread) - before;
+
+		before = threads.getThreadAllocatedBytes(thread);
+		for (int i = 0; i < COUNTED_FRAMES; i++) {
+			animator.update(FRAME);
+			committer.flush();
+		}
+		long allocated = threads.getThreadAllocatedBytes(thread) - before - overhead;
+
+		if (allocated > 0) {
+			throw new IllegalStateException(COUNTED_FRAMES + " frames allocated " + allocated + " bytes.");
+		}
+	}
+
+	/**
+	 * The two Y positions a window moves between, used as the tag of its Y animations.
+	 */
+	private static final class Lane {
+
+		/**
+		 * The lower Y position, where the window starts.
+		 */
+		private final int low;
+
+		/**
+		 * The higher Y position.
+		 */
+		private final int high;
+
+		/**
+		 * Construct a new lane.
+		 *
+		 * @param low The lower Y position.
+		 * @param high The higher Y position.
+		 */
+		public Lane(int low, int high) {
+			this.low = low;
+			this.high = high;
+		}
+	}
+}
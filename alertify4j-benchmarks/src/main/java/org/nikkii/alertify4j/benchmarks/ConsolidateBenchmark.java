@@ -0,0 +1,91 @@
+package org.nikkii.alertify4j.benchmarks;
+
+import org.nikkii.alertify4j.layout.StackLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the cost of consolidating the window stack grows with its depth. Each invocation removes the oldest
+ * window, which moves every window above it, consolidates, and adds a new window on top, like an auto closed alert
+ * being replaced by a queued one.
+ *
+ * Runs headless, since the stack holds plain items rather than windows.
+ *
+ * @author Nikki
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(jvmArgsAppend = "-Djava.awt.headless=true")
+public class ConsolidateBenchmark {
+
+	/**
+	 * The spacing between windows, the same as Alertify's.
+	 */
+	private static final int WINDOW_SPACING = 10;
+
+	/**
+	 * The number of windows in the stack.
+	 */
+	@Param({"4", "16", "64", "256"})
+	private int depth;
+
+	/**
+	 * The stack under test.
+	 */
+	private StackLayout<Integer> stack;
+
+	/**
+	 * The items in the stack, oldest first.
+	 */
+	private ArrayDeque<Integer> order;
+
+	@Setup
+	public void setup() {
+		stack = new StackLayout<Integer>(WINDOW_SPACING);
+		order = new ArrayDeque<Integer>(depth);
+
+		for (int i = 0; i < depth; i++) {
+			Integer item = Integer.valueOf(i);
+			stack.add(item, heightOf(item));
+			order.add(item);
+		}
+	}
+
+	@Benchmark
+	public void removeOldest(final Blackhole blackhole) {
+		Integer oldest = order.poll();
+		stack.remove(oldest);
+
+		stack.consolidate(new StackLayout.MoveListener<Integer>() {
+			@Override
+			public void itemMoved(Integer item, int offset) {
+				blackhole.consume(offset);
+			}
+		});
+
+		stack.add(oldest, heightOf(oldest));
+		order.add(oldest);
+	}
+
+	/**
+	 * Get the height of an item. Heights vary a little, like alerts with longer text or an icon.
+	 *
+	 * @param item The item.
+	 * @return The height.
+	 */
+	private static int heightOf(Integer item) {
+		return 64 + item.intValue() % 3 * 16;
+	}
+}
@@ -0,0 +1,100 @@
+package org.nikkii.alertify4j.benchmarks;
+
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.queue.AlertifyQueue;
+import org.nikkii.alertify4j.queue.PendingAlert;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the pending queue at different depths: taking the next alert when a window is removed while alerts keep
+ * arriving, and draining a full queue once the screen clears.
+ *
+ * Runs headless, since nothing here creates a window.
+ *
+ * @author Nikki
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(jvmArgsAppend = "-Djava.awt.headless=true")
+public class QueueDrainBenchmark {
+
+	/**
+	 * The number of queued alerts.
+	 */
+	@Param({"10", "100", "1000"})
+	private int depth;
+
+	/**
+	 * The queue under test.
+	 */
+	private AlertifyQueue queue;
+
+	/**
+	 * The alerts which are queued, of mixed types so every priority bucket is used.
+	 */
+	private PendingAlert[] alerts;
+
+	/**
+	 * The alert offered next by {@link #removeOne()}.
+	 */
+	private int next = 0;
+
+	@Setup
+	public void setup() {
+		AlertifyType[] types = AlertifyType.values();
+
+		alerts = new PendingAlert[depth];
+		for (int i = 0; i < depth; i++) {
+			alerts[i] = new PendingAlert(new AlertifyBuilder()
+				.type(types[i % types.length])
+				.text("Alert " + i)
+				.build(), null);
+		}
+
+		queue = new AlertifyQueue();
+		queue.setCapacity(depth);
+
+		for (PendingAlert alert : alerts) {
+			queue.offer(alert);
+		}
+	}
+
+	/**
+	 * A window was removed, so the next alert is taken from a full queue and a new one arrives behind it.
+	 */
+	@Benchmark
+	public PendingAlert removeOne() {
+		PendingAlert alert = queue.poll();
+		queue.offer(alert);
+		return alert;
+	}
+
+	/**
+	 * The screen cleared, so the whole queue is drained. It's filled back up first.
+	 */
+	@Benchmark
+	public void fillAndDrain(Blackhole blackhole) {
+		PendingAlert alert;
+		while ((alert = queue.poll()) != null) {
+			blackhole.consume(alert);
+		}
+
+		for (int i = 0; i < depth; i++) {
+			queue.offer(alerts[next]);
+			next = (next + 1) % depth;
+		}
+	}
+}
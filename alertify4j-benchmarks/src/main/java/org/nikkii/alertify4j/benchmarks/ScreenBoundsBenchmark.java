@@ -0,0 +1,55 @@
+package org.nikkii.alertify4j.benchmarks;
+
+import org.nikkii.alertify4j.util.ScreenBounds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.GraphicsEnvironment;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the screen bounds lookups made for a single alert (show, slide in, hide, consolidate) with and without the
+ * {@link ScreenBounds} cache. The uncached lookup is the native call being avoided, so this needs a display.
+ *
+ * @author Nikki
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScreenBoundsBenchmark {
+
+	/**
+	 * The number of bounds lookups made over the life of one alert.
+	 */
+	private static final int LOOKUPS_PER_ALERT = 4;
+
+	/**
+	 * The cache under test.
+	 */
+	private ScreenBounds screenBounds;
+
+	@Setup
+	public void setup() {
+		screenBounds = new ScreenBounds();
+	}
+
+	@Benchmark
+	public void perAlertUncached(Blackhole blackhole) {
+		for (int i = 0; i < LOOKUPS_PER_ALERT; i++) {
+			blackhole.consume(GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds());
+		}
+	}
+
+	@Benchmark
+	public void perAlertCached(Blackhole blackhole) {
+		for (int i = 0; i < LOOKUPS_PER_ALERT; i++) {
+			blackhole.consume(screenBounds.get());
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package org.nikkii.alertify4j.benchmarks;
+
+import org.nikkii.alertify4j.Alertify;
+import org.nikkii.alertify4j.AlertHandle;
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.tween.AnimationClock;
+import org.nikkii.alertify4j.ui.OffscreenRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.swing.SwingUtilities;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Compares submitting a batch of alerts one {@link Alertify#submit(AlertifyConfig)} call at a time with a single
+ * {@link Alertify#showAll(java.util.Collection)} call, up to the point the whole batch is laid out.
+ *
+ * The animation thread takes submitted alerts in order and resolves each handle once the alert is shown or queued, so
+ * each invocation waits for the last alert's handle. That covers the wake up and the layout pass as well as the
+ * submits, which are the part the batch call changes. The screen is cleared between invocations and the EDT caught up,
+ * so every batch starts from an idle clock and a full window pool.
+ *
+ * Alerts are rendered by an {@link OffscreenRenderer}, so this runs headless and measures the engine rather than the
+ * native window system.
+ *
+ * @author Nikki
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(jvmArgsAppend = "-Djava.awt.headless=true")
+public class ShowAllBenchmark {
+
+	/**
+	 * The number of alerts in each batch.
+	 */
+	@Param({"10", "50"})
+	private int batchSize;
+
+	/**
+	 * The Alertify instance under test.
+	 */
+	private Alertify alertify;
+
+	/**
+	 * The batch for the next invocation. Texts are unique so nothing is coalesced.
+	 */
+	private List<AlertifyConfig> configs;
+
+	/**
+	 * The invocation number, used to keep texts unique.
+	 */
+	private int round = 0;
+
+	@Setup(Level.Trial)
+	public void setupTrial() {
+		alertify = Alertify.instance();
+		alertify.setRenderer(new OffscreenRenderer());
+		alertify.prewarm(batchSize);
+	}
+
+	@Setup(Level.Invocation)
+	public void setupInvocation() {
+		configs = new ArrayList<AlertifyConfig>(batchSize);
+		for (int i = 0; i < batchSize; i++) {
+			configs.add(new AlertifyBuilder()
+				.type(AlertifyType.INFO)
+				.text("Alert " + round + "-" + i)
+				.autoClose(5000)
+				.build());
+		}
+		round++;
+	}
+
+	@TearDown(Level.Invocation)
+	public void tearDownInvocation() throws InterruptedException, InvocationTargetException {
+		clear();
+	}
+
+	@Benchmark
+	public void perCall(Blackhole blackhole) throws InterruptedException, TimeoutException {
+		AlertHandle last = null;
+		for (AlertifyConfig config : configs) {
+			last = alertify.submit(config);
+		}
+		blackhole.consume(last.get(5, TimeUnit.SECONDS));
+	}
+
+	@Benchmark
+	public void showAll(Blackhole blackhole) throws InterruptedException, TimeoutException {
+		List<AlertHandle> handles = alertify.showAll(configs);
+		blackhole.consume(handles.get(handles.size() - 1).get(5, TimeUnit.SECONDS));
+	}
+
+	/**
+	 * Clear the screen and wait until the animation thread and the EDT are done with it. Otherwise the last batch would
+	 * still be sliding in when the next one is submitted, and its windows wouldn't be back in the pool yet.
+	 *
+	 * @throws InterruptedException If interrupted while waiting for the EDT.
+	 * @throws InvocationTargetException Never, the task posted to the EDT does nothing.
+	 */
+	private void clear() throws InterruptedException, InvocationTargetException {
+		AnimationClock clock = alertify.getAnimationClock();
+
+		// The clear runs at the start of a frame, and one may already be past that point, so wait for two. The clock may
+		// park after the first, so keep waking it.
+		long frame = clock.getFrameCount();
+		alertify.clear();
+
+		while (clock.getFrameCount() < frame + 2) {
+			clock.wake();
+			Thread.yield();
+		}
+
+		// Windows go back to the pool on the EDT, after their last commit
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				// Nothing to do, everything queued before this has run
+			}
+		});
+	}
+}
@@ -0,0 +1,110 @@
+package org.nikkii.alertify4j.benchmarks;
+
+import org.nikkii.alertify4j.Alertify;
+import org.nikkii.alertify4j.AlertHandle;
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.queue.OverflowPolicy;
+import org.nikkii.alertify4j.ui.OffscreenRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the throughput of {@link Alertify#submit(AlertifyConfig)} from several threads at once: building the
+ * config, coalescing, rate limiting and handing the alert to the animation thread through the ring buffer, while the
+ * real animation thread takes alerts off the ring and shows or queues them.
+ *
+ * Alerts are rendered by an {@link OffscreenRenderer}, so this runs headless. Unique alerts soon fill the screen and
+ * the queue, so most of them end up dropped by the queue or rejected by a full ring, the same as a real flood would.
+ * Everything is cleared after each iteration.
+ *
+ * @author Nikki
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+@Fork(jvmArgsAppend = "-Djava.awt.headless=true")
+public class SubmitBenchmark {
+
+	/**
+	 * The Alertify instance under test.
+	 */
+	private Alertify alertify;
+
+	/**
+	 * The per thread state of a submitting thread.
+	 */
+	@State(Scope.Thread)
+	public static class Producer {
+
+		/**
+		 * The ids given to producers.
+		 */
+		private static final AtomicInteger ids = new AtomicInteger();
+
+		/**
+		 * This producer's id, used to keep texts unique across threads.
+		 */
+		private final int id = ids.getAndIncrement();
+
+		/**
+		 * The number of alerts submitted by this producer.
+		 */
+		private int sequence = 0;
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws InterruptedException, ExecutionException, TimeoutException {
+		alertify = Alertify.create("submit-benchmark");
+		alertify.setRenderer(new OffscreenRenderer());
+		alertify.getQueue().setOverflowPolicy(OverflowPolicy.DROP_NEWEST);
+
+		// Tasks run before submissions, so once this is shown the renderer has been replaced
+		alertify.submit(new AlertifyBuilder().type(AlertifyType.INFO).text("Ready").build()).get(5, TimeUnit.SECONDS);
+		alertify.clear();
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDownIteration() {
+		alertify.clear();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		alertify.shutdown();
+	}
+
+	@Benchmark
+	public AlertHandle unique(Producer producer) {
+		return alertify.submit(new AlertifyBuilder()
+			.type(AlertifyType.INFO)
+			.text("Alert " + producer.id + "-" + producer.sequence++)
+			.autoClose(5000)
+			.build());
+	}
+
+	@Benchmark
+	public AlertHandle repeated() {
+		return alertify.submit(new AlertifyBuilder()
+			.type(AlertifyType.WARNING)
+			.text("Disk almost full")
+			.autoClose(5000)
+			.build());
+	}
+}
@@ -0,0 +1,139 @@
+package org.nikkii.alertify4j.benchmarks;
+
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.themes.BootstrapTheme;
+import org.nikkii.alertify4j.themes.ThemeSnapshot;
+import org.nikkii.alertify4j.ui.AlertMetrics;
+import org.nikkii.alertify4j.ui.AlertSize;
+import org.nikkii.alertify4j.ui.AlertifyWindow;
+import org.nikkii.alertify4j.ui.OffscreenRenderer;
+import org.nikkii.alertify4j.ui.SpriteCache;
+import org.nikkii.alertify4j.ui.WindowCommitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parts of showing an {@link AlertifyWindow} which don't need a display: sizing the alert from cached
+ * font metrics, constructing a new window, rebinding a pooled one, and rendering the content image the way the sprite
+ * cache does on a miss.
+ *
+ * Windows only swap their content on the commit which follows binding, so each bind is followed by a flush of the
+ * {@link WindowCommitter}, which stands in for the EDT. Creating a native peer needs a display, so it isn't measured
+ * here. Runs headless.
+ *
+ * @author Nikki
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(jvmArgsAppend = "-Djava.awt.headless=true")
+public class WindowContentBenchmark {
+
+	/**
+	 * The alert text.
+	 */
+	@Param({"Saved", "The download of 'holiday-photos.zip' finished, 1.4 GB in 2 minutes"})
+	private String text;
+
+	/**
+	 * The theme snapshot alerts are built with.
+	 */
+	private ThemeSnapshot theme;
+
+	/**
+	 * The alert config.
+	 */
+	private AlertifyConfig config;
+
+	/**
+	 * A second alert config, so each rebind replaces the content.
+	 */
+	private AlertifyConfig other;
+
+	/**
+	 * The alert size.
+	 */
+	private AlertSize size;
+
+	/**
+	 * The measurer under test.
+	 */
+	private AlertMetrics metrics;
+
+	/**
+	 * The committer windows apply their content through.
+	 */
+	private WindowCommitter committer;
+
+	/**
+	 * A sprite cache which keeps nothing, so every image is rendered.
+	 */
+	private SpriteCache sprites;
+
+	/**
+	 * The window which is rebound.
+	 */
+	private AlertifyWindow window;
+
+	/**
+	 * Flag for which config the window is bound to next.
+	 */
+	private boolean flip = false;
+
+	@Setup
+	public void setup() {
+		theme = new ThemeSnapshot(new BootstrapTheme());
+		config = new AlertifyBuilder()
+			.type(AlertifyType.SUCCESS)
+			.text(text)
+			.build();
+		other = new AlertifyBuilder()
+			.type(AlertifyType.INFO)
+			.text(text)
+			.build();
+		metrics = new AlertMetrics();
+		size = metrics.measure(theme, config);
+		committer = new WindowCommitter(new OffscreenRenderer());
+		sprites = new SpriteCache(0);
+
+		window = new AlertifyWindow(theme, config, size, committer, sprites);
+		committer.flush();
+	}
+
+	@Benchmark
+	public AlertSize measure() {
+		return metrics.measure(theme, config);
+	}
+
+	@Benchmark
+	public AlertifyWindow construct() {
+		AlertifyWindow window = new AlertifyWindow(theme, config, metrics.measure(theme, config), committer, sprites);
+		committer.flush();
+		return window;
+	}
+
+	@Benchmark
+	public AlertifyWindow rebind() {
+		flip = !flip;
+		window.bind(theme, flip ? other : config, size);
+		committer.flush();
+		return window;
+	}
+
+	@Benchmark
+	public BufferedImage renderContent() {
+		return window.getSprite();
+	}
+}
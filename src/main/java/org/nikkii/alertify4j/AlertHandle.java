@@ -0,0 +1,132 @@
+package org.nikkii.alertify4j;
+
+import org.nikkii.alertify4j.queue.PendingAlert;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A handle to a submitted alert, returned straight away by {@link Alertify#submit(AlertifyConfig)}.
+ *
+ * The alert is shown or queued later on the animation thread, which completes the handle with what happened to it.
+ * Producers which care can wait for that with {@link #get(long, TimeUnit)}, the rest can simply ignore the handle.
+ *
+ * Cancelling a handle before it's complete stops the alert from being shown.
+ *
+ * @author Nikki
+ */
+public class AlertHandle implements Future<AlertifyResult> {
+
+	/**
+	 * The state of a cancelled handle.
+	 */
+	private static final Object CANCELLED = new Object();
+
+	/**
+	 * The alert.
+	 */
+	private final PendingAlert alert;
+
+	/**
+	 * The result, {@link #CANCELLED}, or null if the handle isn't complete.
+	 */
+	private final AtomicReference<Object> state = new AtomicReference<Object>();
+
+	/**
+	 * Released once the handle is complete.
+	 */
+	private final CountDownLatch done = new CountDownLatch(1);
+
+	/**
+	 * Construct a new handle.
+	 *
+	 * @param alert The alert.
+	 */
+	public AlertHandle(PendingAlert alert) {
+		this.alert = alert;
+	}
+
+	/**
+	 * Complete the handle. Only the first result counts.
+	 *
+	 * @param result What happened to the alert.
+	 * @return False if the handle was already complete or cancelled.
+	 */
+	public boolean complete(AlertifyResult result) {
+		if (!state.compareAndSet(null, result)) {
+			return false;
+		}
+		done.countDown();
+		return true;
+	}
+
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		if (!state.compareAndSet(null, CANCELLED)) {
+			return false;
+		}
+		// Closed alerts are skipped by the animation thread
+		alert.close();
+		done.countDown();
+		return true;
+	}
+
+	@Override
+	public boolean isCancelled() {
+		return state.get() == CANCELLED;
+	}
+
+	@Override
+	public boolean isDone() {
+		return state.get() != null;
+	}
+
+	@Override
+	public AlertifyResult get() throws InterruptedException {
+		done.await();
+		return result();
+	}
+
+	@Override
+	public AlertifyResult get(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+		if (!done.await(timeout, unit)) {
+			throw new TimeoutException();
+		}
+		return result();
+	}
+
+	/**
+	 * Get the result of a complete handle.
+	 *
+	 * @return The result.
+	 */
+	private AlertifyResult result() {
+		Object result = state.get();
+		if (result == CANCELLED) {
+			throw new CancellationException();
+		}
+		return (AlertifyResult) result;
+	}
+
+	/**
+	 * Get the alert config.
+	 *
+	 * @return The alert config.
+	 */
+	public AlertifyConfig getConfig() {
+		return alert.getConfig();
+	}
+
+	/**
+	 * Get the alert.
+	 *
+	 * @return The alert.
+	 */
+	PendingAlert getAlert() {
+		return alert;
+	}
+}
@@ -1,24 +1,55 @@
 package org.nikkii.alertify4j;
 
-import aurelienribon.tweenengine.BaseTween;
-import aurelienribon.tweenengine.Tween;
-import aurelienribon.tweenengine.TweenCallback;
-import aurelienribon.tweenengine.TweenManager;
-import aurelienribon.tweenengine.equations.Back;
+import org.nikkii.alertify4j.layout.StackLayout;
+import org.nikkii.alertify4j.limit.RateLimiter;
+import org.nikkii.alertify4j.metrics.AlertifyMetrics;
+import org.nikkii.alertify4j.queue.AlertCoalescer;
+import org.nikkii.alertify4j.queue.AlertKey;
+import org.nikkii.alertify4j.queue.AlertifyQueue;
+import org.nikkii.alertify4j.queue.PendingAlert;
+import org.nikkii.alertify4j.screen.RoutingPolicy;
+import org.nikkii.alertify4j.screen.ScreenRouter;
+import org.nikkii.alertify4j.screen.ScreenStack;
 import org.nikkii.alertify4j.themes.AlertifyTheme;
 import org.nikkii.alertify4j.themes.BootstrapTheme;
-import org.nikkii.alertify4j.tween.ComponentAccessor;
+import org.nikkii.alertify4j.themes.ThemeSnapshot;
+import org.nikkii.alertify4j.tween.AnimationClock;
+import org.nikkii.alertify4j.tween.AnimationListener;
+import org.nikkii.alertify4j.tween.AnimationScheduler;
+import org.nikkii.alertify4j.tween.Animator;
+import org.nikkii.alertify4j.tween.Easing;
+import org.nikkii.alertify4j.tween.FrameListener;
+import org.nikkii.alertify4j.tween.Positionable;
+import org.nikkii.alertify4j.ui.AlertMetrics;
+import org.nikkii.alertify4j.ui.AlertRenderer;
+import org.nikkii.alertify4j.ui.AlertSize;
+import org.nikkii.alertify4j.ui.AlertifyOverlay;
 import org.nikkii.alertify4j.ui.AlertifyWindow;
+import org.nikkii.alertify4j.ui.AlertifyWindowPool;
+import org.nikkii.alertify4j.ui.LoggingRenderer;
+import org.nikkii.alertify4j.ui.OverlayRenderer;
+import org.nikkii.alertify4j.ui.RenderMode;
+import org.nikkii.alertify4j.ui.SpriteCache;
+import org.nikkii.alertify4j.ui.SwingRenderer;
+import org.nikkii.alertify4j.ui.WindowCommitter;
+import org.nikkii.alertify4j.util.MpscRingBuffer;
+import org.nikkii.alertify4j.util.ScreenBounds;
+import org.nikkii.alertify4j.util.TimingWheel;
 
+import javax.management.JMException;
+import javax.swing.SwingUtilities;
 import java.awt.GraphicsEnvironment;
 import java.awt.Rectangle;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -26,26 +57,63 @@ import java.util.concurrent.TimeUnit;
  *
  * Loosely based on Alertify.js
  *
+ * Alerts can be submitted from any thread without blocking. Producers push them into a lock-free ring buffer and get
+ * an {@link AlertHandle} back straight away; the animation thread takes them out once per frame and owns the window
+ * stacks, the queues and the animations, so none of those need a lock.
+ *
+ * Every screen has its own stack of alerts and its own queue. Which screen an alert goes to is picked by the
+ * {@link RoutingPolicy}, which sends everything to the primary screen by default.
+ *
+ * Putting alerts on screen is left to an {@link AlertRenderer}. Alerts are shown in native windows by default, or
+ * written to a log when the JVM is headless.
+ *
+ * The static shorthands use a default instance. Parts of an application which want their own theme, queues or screen
+ * areas can {@link #create(String)} more; all instances are driven by one shared {@link AnimationScheduler}, so they
+ * cost one thread and one frame tick between them.
+ *
  * @author Nikki
  */
 public class Alertify {
-	static {
-		Tween.registerAccessor(AlertifyWindow.class, new ComponentAccessor());
-	}
 
 	/**
-	 * We need to have only one instance otherwise notifications will overlap. Unfortunately, this means using a singleton.
+	 * The running instances, by name. Guarded by itself.
+	 */
+	private static final Map<String, Alertify> instances = new HashMap<String, Alertify>();
+
+	/**
+	 * The default instance, used by the static shorthands.
 	 */
-	private static final Alertify instance = new Alertify();
+	private static final Alertify instance = create("default");
 
 	/**
-	 * Get the single instance.
+	 * Get the default instance.
 	 * @return The Alertify instance.
 	 */
 	public static Alertify instance() {
 		return instance;
 	}
 
+	/**
+	 * Create a new instance with its own theme, screen stacks, queues and limits, driven by the shared animation
+	 * scheduler. Its metrics are registered over JMX under its name. Instances lay their alerts out independently, so
+	 * give ones showing alerts at the same time their own {@link #setScreenAreas(Rectangle...) screen areas}.
+	 *
+	 * @param name The name, unique among running instances.
+	 * @return The instance.
+	 * @throws IllegalArgumentException If an instance with the name is already running.
+	 */
+	public static Alertify create(String name) {
+		synchronized(instances) {
+			if (instances.containsKey(name)) {
+				throw new IllegalArgumentException("An instance named " + name + " is already running.");
+			}
+
+			Alertify alertify = new Alertify(name);
+			instances.put(name, alertify);
+			return alertify;
+		}
+	}
+
 	/**
 	 * Shorthand for instance().setTheme()
 	 *
@@ -65,54 +133,222 @@ public class Alertify {
 	}
 
 	/**
-	 * Scheduled Executor used to auto close notifications.
+	 * The spacing between windows, in pixels.
 	 */
-	private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+	private static final int WINDOW_SPACING = 10;
 
 	/**
-	 * The current alert theme.
+	 * The name of this instance.
 	 */
-	private AlertifyTheme theme = new BootstrapTheme();
+	private final String name;
 
 	/**
-	 * The list of visible windows.
+	 * How long windows take to slide in, slide out or move, in seconds.
 	 */
-	private final List<AlertifyWindow> windows = new LinkedList<AlertifyWindow>();
+	private static final float ANIMATION_DURATION = 0.5f;
 
 	/**
-	 * The list of windows being removed. This is used to make sure no windows are moved while we're removing them.
+	 * The number of submitted alerts which may be waiting for the animation thread. More are rejected.
 	 */
-	private final List<AlertifyWindow> remove = new LinkedList<AlertifyWindow>();
+	private static final int REQUEST_CAPACITY = 1024;
 
 	/**
-	 * The queue of windows which won't fit on screen until we close a couple.
+	 * The snapshot of the current alert theme. Replaced as a whole when the theme is set, and read once per alert.
 	 */
-	private final Queue<AlertifyConfig> windowQueue = new LinkedList<AlertifyConfig>();
+	private volatile ThemeSnapshot theme = new ThemeSnapshot(new BootstrapTheme());
 
 	/**
-	 * The TweenManager handling animations
+	 * The alerts submitted by producers, waiting for the animation thread.
 	 */
-	private final TweenManager manager = new TweenManager();
+	private final MpscRingBuffer<AlertHandle> requests = new MpscRingBuffer<AlertHandle>(REQUEST_CAPACITY);
 
 	/**
-	 * Constructor which starts a single thread to update the manager.
-	 * TODO time the update call and adjust accordingly.
+	 * Work handed to the animation thread by timers and the EDT, such as hiding a window. Unbounded, so it's never lost.
 	 */
-	private Alertify() {
-		new Thread(new Runnable() {
-			@Override
-			public void run() {
-				while (true) {
-					manager.update(0.01f);
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
 
-					try {
-						Thread.sleep(10);
-					} catch (Exception e) {
-						break;
-					}
-				}
+	/**
+	 * Flag set once Alertify has been shut down, after which submissions are rejected.
+	 */
+	private volatile boolean shutdown = false;
+
+	/**
+	 * The stack of windows and queue of each screen, and the policy picking which screen an alert goes to.
+	 */
+	private final ScreenRouter screens = new ScreenRouter(WINDOW_SPACING);
+
+	/**
+	 * The fixed areas alerts are laid out in, or null to use the renderer's screens. Only used on the animation thread.
+	 */
+	private Rectangle[] screenAreas;
+
+	/**
+	 * The screens of the current renderer, or null for the real screens. Only used on the animation thread.
+	 */
+	private Rectangle[] rendererScreens;
+
+	/**
+	 * How alerts are put on screen, or null if a renderer was set directly. Only changed on the animation thread, with
+	 * no windows showing.
+	 */
+	private volatile RenderMode renderMode = GraphicsEnvironment.isHeadless() ? null : RenderMode.WINDOW;
+
+	/**
+	 * Flag for whether a higher priority alert hides the oldest lower priority alert early when the screen is full.
+	 */
+	private volatile boolean preemption = false;
+
+	/**
+	 * The coalescer folding repeats of a visible or queued alert into it.
+	 */
+	private final AlertCoalescer coalescer = new AlertCoalescer();
+
+	/**
+	 * The per type rate limits.
+	 */
+	private final RateLimiter limiter = new RateLimiter();
+
+	/**
+	 * The timers for auto closing alerts, delayed alerts and summaries, run on the animation thread.
+	 */
+	private final TimingWheel timers = new TimingWheel();
+
+	/**
+	 * The animator sliding and moving the windows.
+	 */
+	private final Animator animator = new Animator();
+
+	/**
+	 * The listener of every slide in, tagged with the alert. It cuts the window to the part which has slid onto the
+	 * screen, and once it's in records how long it took and starts its auto close timer.
+	 */
+	private final AnimationListener showListener = new AnimationListener() {
+		@Override
+		public void onStep(Positionable target, Object tag) {
+			AlertifyWindow window = (AlertifyWindow) target;
+			Rectangle screen = window.getScreen();
+
+			// Extra for the spacing.
+			int width = screen.x + screen.width - WINDOW_SPACING - window.getPendingX();
+			if (width <= window.getActualWidth() + 1) {
+				window.setPendingWidth(width);
 			}
-		}).start();
+		}
+
+		@Override
+		public void onComplete(Positionable target, Object tag) {
+			PendingAlert alert = (PendingAlert) tag;
+
+			long now = System.nanoTime();
+			alert.setShownAt(now);
+			metrics.recordTimeToVisible(now - alert.getSubmittedAt());
+
+			if (alert.getConfig().shouldAutoClose()) {
+				scheduleClose(alert);
+			}
+		}
+	};
+
+	/**
+	 * The listener of every slide out, tagged with the alert. It cuts the window to the part still on the screen, and
+	 * removes it once it's gone.
+	 */
+	private final AnimationListener hideListener = new AnimationListener() {
+		@Override
+		public void onStep(Positionable target, Object tag) {
+			AlertifyWindow window = (AlertifyWindow) target;
+			Rectangle screen = window.getScreen();
+
+			window.setPendingWidth(screen.x + screen.width - window.getPendingX());
+		}
+
+		@Override
+		public void onComplete(Positionable target, Object tag) {
+			((PendingAlert) tag).setWindow(null);
+			removeWindow((AlertifyWindow) target);
+		}
+	};
+
+	/**
+	 * The committer which hands each frame's window changes to the renderer on the EDT.
+	 */
+	private final WindowCommitter committer = new WindowCommitter(GraphicsEnvironment.isHeadless()
+		? new LoggingRenderer() : new SwingRenderer());
+
+	/**
+	 * The cache of pre-rendered alert images, drawn by the renderers.
+	 */
+	private final SpriteCache sprites = new SpriteCache(SpriteCache.DEFAULT_BUDGET);
+
+	/**
+	 * The text measurer, which sizes alerts without laying out their components.
+	 */
+	private final AlertMetrics measurer = new AlertMetrics();
+
+	/**
+	 * The runtime metrics, registered over JMX.
+	 */
+	private final AlertifyMetrics metrics = new AlertifyMetrics(screens, limiter, coalescer);
+
+	/**
+	 * The pool of idle windows, reused instead of creating a new window for every alert.
+	 */
+	private final AlertifyWindowPool pool = new AlertifyWindowPool(committer, sprites, AlertifyWindowPool.DEFAULT_CAPACITY);
+
+	/**
+	 * The scheduler whose clock drives this and every other instance.
+	 */
+	private final AnimationScheduler scheduler = AnimationScheduler.shared();
+
+	/**
+	 * The frame driving the animator with the real time between frames. Each frame it first runs any handed over
+	 * tasks, shows the newly submitted alerts, rejects queued alerts which waited too long for a slot and runs due
+	 * timers. The shared clock sleeps while no instance has anything to animate, until the next timer is due.
+	 */
+	private final FrameListener frame = new FrameListener() {
+		@Override
+		public long onFrame(float delta) {
+			long start = System.nanoTime();
+
+			runTasks();
+			drainRequests();
+			expireWaiting();
+			timers.advance(start);
+			animator.update(delta);
+			committer.commit();
+
+			metrics.recordFrame(System.nanoTime() - start, scheduler.getFramePeriod());
+			metrics.recordDropped(screens.takeDiscardedCount());
+			metrics.updateGauges(countWindows(), timers.size());
+
+			if (animator.size() > 0 || !tasks.isEmpty() || !requests.isEmpty() || hasWaiting()) {
+				return 0;
+			}
+
+			long next = timers.nextDeadline();
+			return next == -1 ? IDLE : Math.max(1, next - System.nanoTime());
+		}
+	};
+
+	/**
+	 * Constructor which registers with the shared scheduler, starting its clock if this is the first instance. The
+	 * clock parks straight away until the first alert is submitted.
+	 *
+	 * @param name The name of this instance.
+	 */
+	private Alertify(String name) {
+		this.name = name;
+
+		rendererScreens = committer.getRenderer().getScreens();
+		screens.setScreens(rendererScreens);
+
+		try {
+			metrics.register(name);
+		} catch (JMException e) {
+			// Metrics can still be read through getMetrics()
+		}
+
+		scheduler.register(frame);
 	}
 
 	/**
@@ -121,91 +357,466 @@ public class Alertify {
 	 * @param config The alert config.
 	 * @return This class instance, best used for chaining.
 	 */
-	public Alertify showAlert(final AlertifyConfig config) {
-		Rectangle screen = GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
+	public Alertify showAlert(AlertifyConfig config) {
+		submit(config);
+		return this;
+	}
+
+	/**
+	 * Submit an alert to be shown on the screen, or queued if the screen is full. This never blocks.
+	 *
+	 * @param config The alert config.
+	 * @return The handle, completed with what happened to the alert.
+	 */
+	public AlertHandle submit(AlertifyConfig config) {
+		AlertHandle handle = request(config);
+		scheduler.wake();
+		return handle;
+	}
+
+	/**
+	 * Submit a batch of alerts. The clock is woken once and the animation thread takes the whole batch in one frame, so
+	 * all alerts which fit start sliding in together. Alerts which don't fit are queued.
+	 *
+	 * @param configs The alert configs.
+	 * @return The handles, in the same order as the configs.
+	 */
+	public List<AlertHandle> showAll(Collection<AlertifyConfig> configs) {
+		List<AlertHandle> handles = new ArrayList<AlertHandle>(configs.size());
+
+		for (AlertifyConfig config : configs) {
+			handles.add(request(config));
+		}
+
+		scheduler.wake();
+		return handles;
+	}
+
+	/**
+	 * Coalesce and rate limit an alert, then hand it to the animation thread.
+	 *
+	 * @param config The alert config.
+	 * @return The handle.
+	 */
+	private AlertHandle request(AlertifyConfig config) {
+		PendingAlert alert = new PendingAlert(config, AlertKey.of(config));
+		AlertHandle handle = new AlertHandle(alert);
+		alert.setHandle(handle);
+		metrics.recordSubmitted();
+
+		if (shutdown) {
+			metrics.recordRejected();
+			alert.resolve(AlertifyResult.REJECTED);
+			return handle;
+		}
+
+		// Only alerts which pass the rate limit become open alerts, so repeats are never folded into a throttled one
+		PendingAlert open = coalescer.fold(alert);
+		if (open == null) {
+			if (!limiter.tryAcquire(config.getType())) {
+				alert.resolve(throttle(alert));
+				return handle;
+			}
+			open = coalescer.track(alert);
+		}
+
+		if (open != alert) {
+			refresh(open);
+			alert.resolve(AlertifyResult.COALESCED);
+		} else if (!requests.offer(handle)) {
+			metrics.recordRejected();
+			alert.close();
+			alert.resolve(AlertifyResult.REJECTED);
+		}
+
+		return handle;
+	}
+
+	/**
+	 * Hand a task to the animation thread.
+	 *
+	 * @param task The task.
+	 */
+	private void execute(Runnable task) {
+		tasks.add(task);
+		scheduler.wake();
+	}
+
+	/**
+	 * Run the tasks handed to the animation thread. Must be called on the animation thread.
+	 */
+	private void runTasks() {
+		Runnable task;
+		while ((task = tasks.poll()) != null) {
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				AnimationClock.report(e);
+			}
+		}
+	}
 
-		synchronized(windows) {
-			int baseY = screen.height;
+	/**
+	 * Show or queue the submitted alerts. All alerts which fit start sliding in on the same frame. Must be called on the
+	 * animation thread.
+	 */
+	private void drainRequests() {
+		boolean refreshed = false;
 
-			for (AlertifyWindow window : windows) {
-				baseY -= window.getActualHeight() + 10;
+		AlertHandle handle;
+		while ((handle = requests.poll()) != null) {
+			if (!refreshed) {
+				refreshScreens();
+				refreshed = true;
 			}
 
-			if (baseY < 0) {
-				// Append to a queue?
-				windowQueue.add(config);
-				return this;
+			// Cancelled alerts are skipped
+			place(handle.getAlert());
+		}
+	}
+
+	/**
+	 * Pick up screens which were connected or disconnected. Alerts queued for a screen which is gone are moved to the
+	 * primary screen; its visible alerts stay until they close. Must be called on the animation thread.
+	 */
+	private void refreshScreens() {
+		if (!screens.refresh()) {
+			return;
+		}
+
+		ScreenStack primary = screens.getPrimary();
+
+		for (ScreenStack stack : screens.getStacks()) {
+			if (stack.isAttached()) {
+				continue;
 			}
-			final AlertifyWindow window = new AlertifyWindow(theme, config);
 
-			baseY -= window.getPreferredSize().height + 10;
+			PendingAlert alert;
+			while ((alert = stack.getQueue().poll()) != null) {
+				if (!alert.isClosed()) {
+					overflow(alert, primary);
+				}
+			}
+		}
 
-			window.setLocation(screen.x + screen.width, baseY);
-			window.pack();
+		screens.prune();
+	}
 
-			window.addMouseListener(new MouseAdapter() {
-				@Override
-				public void mousePressed(MouseEvent e) {
-					if (window.isHidden()) {
-						return;
-					}
+	/**
+	 * Handle an alert over its type's rate limit, according to the throttle policy.
+	 *
+	 * @param alert The alert.
+	 * @return What happened to the alert.
+	 */
+	private AlertifyResult throttle(final PendingAlert alert) {
+		final AlertifyConfig config = alert.getConfig();
 
-					if (config.hasCallback()) {
-						config.getCallback().alertClicked(window);
+		switch (limiter.getPolicy()) {
+		case DELAY:
+			long delay = limiter.reserve(config.getType());
+			if (delay >= 0) {
+				// It will be shown, so repeats may fold into it while it waits
+				PendingAlert open = coalescer.track(alert);
+				if (open != alert) {
+					refresh(open);
+					return AlertifyResult.COALESCED;
+				}
+				schedule(new Runnable() {
+					@Override
+					public void run() {
+						place(alert);
 					}
+				}, delay);
+				return AlertifyResult.DELAYED;
+			}
+			break;
+		case SUMMARIZE:
+			if (limiter.suppress(config.getType()) == 1) {
+				scheduleSummary(config);
+			}
+			break;
+		default:
+			break;
+		}
 
-					hideWindow(window);
+		alert.close();
+		return AlertifyResult.THROTTLED;
+	}
+
+	/**
+	 * Schedule a summary of the throttled alerts of a type, for when its rate limit next allows an alert.
+	 *
+	 * @param config The config of the first throttled alert.
+	 */
+	private void scheduleSummary(final AlertifyConfig config) {
+		long delay = limiter.reserve(config.getType());
+
+		schedule(new Runnable() {
+			@Override
+			public void run() {
+				int count = limiter.drainSuppressed(config.getType());
+
+				if (count > 0) {
+					place(new PendingAlert(new AlertifyBuilder()
+						.type(config.getType())
+						.text(count + " more " + config.getType().name().toLowerCase() + " alerts")
+						.autoClose(config.getCloseDelay())
+						.build(), null));
 				}
-			});
+			}
+		}, delay >= 0 ? delay : limiter.getMaxDelay());
+	}
 
+	/**
+	 * Run a task on the animation thread after a delay. Safe to call from any thread.
+	 *
+	 * @param task The task.
+	 * @param delay The delay, in milliseconds.
+	 */
+	private void schedule(final Runnable task, final long delay) {
+		execute(new Runnable() {
+			@Override
+			public void run() {
+				timers.schedule(task, delay, TimeUnit.MILLISECONDS);
+			}
+		});
+	}
 
-			windows.add(window);
+	/**
+	 * Show an alert on the screen it's routed to, or queue it if that screen is full. Must be called on the animation
+	 * thread.
+	 *
+	 * @param alert The alert.
+	 */
+	private void place(PendingAlert alert) {
+		if (alert.isClosed()) {
+			return;
+		}
 
-			showWindow(window, new Runnable() {
-				public void run() {
-					if (config.shouldAutoClose()) {
-						window.setCloseFuture(scheduler.schedule(new Runnable() {
-							@Override
-							public void run() {
-								hideWindow(window);
-							}
-						}, config.getCloseDelay(), TimeUnit.MILLISECONDS));
-					}
+		ScreenStack stack = screens.route();
+		Rectangle screen = stack.getBounds();
+
+		if (stack.hasRoom(screen)) {
+			if (display(alert, stack, screen)) {
+				alert.resolve(AlertifyResult.SHOWN);
+			}
+		} else {
+			overflow(alert, stack);
+		}
+	}
+
+	/**
+	 * Queue an alert which doesn't fit on its screen, first making room for it if preemption is on. Must be called on
+	 * the animation thread.
+	 *
+	 * @param alert The alert.
+	 * @param stack The screen's stack.
+	 */
+	private void overflow(PendingAlert alert, ScreenStack stack) {
+		AlertifyQueue queue = stack.getQueue();
+
+		if (preemption) {
+			preempt(stack, alert.getConfig().getType().getPriority());
+		}
+
+		AlertifyResult result = queue.offer(alert);
+
+		// Otherwise it's waiting for a free slot, and the frame sweep rejects it once its timeout passes
+		if (result != null) {
+			alert.resolve(result);
+		}
+	}
+
+	/**
+	 * Hide the oldest visible alert with a lower priority, so the queue shows a higher priority alert in its place.
+	 * Must be called on the animation thread.
+	 *
+	 * @param stack The stack of the screen which needs room.
+	 * @param priority The priority of the alert which needs room.
+	 */
+	private void preempt(ScreenStack stack, int priority) {
+		for (int lower = 0; lower < priority; lower++) {
+			LinkedList<PendingAlert> alerts = stack.getVisible(lower);
+			if (!alerts.isEmpty()) {
+				hideWindow(alerts.getFirst());
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Show queued alerts until a screen is full or its queue is empty. If the routing policy spreads alerts, alerts
+	 * queued for other screens are taken once this screen's queue is empty. Must be called on the animation thread.
+	 *
+	 * @param stack The screen's stack.
+	 */
+	private void drainQueue(ScreenStack stack) {
+		Rectangle screen = stack.getBounds();
+		boolean spreading = stack.isAttached() && screens.getPolicy().isSpreading();
+
+		while (stack.hasRoom(screen)) {
+			PendingAlert alert = stack.getQueue().poll();
+
+			if (alert == null && spreading) {
+				ScreenStack busiest = screens.busiest();
+				if (busiest != null) {
+					alert = busiest.getQueue().poll();
 				}
-			});
+			}
+
+			if (alert == null) {
+				return;
+			}
+
+			if (!alert.isClosed()) {
+				display(alert, stack, screen);
+			}
 		}
-		return this;
 	}
 
 	/**
-	 * Internal method to call the Tween animation.
+	 * Update an alert which a repeat was folded into, on the animation thread, which owns its window and close timer.
+	 * If it's visible, its badge is updated and its auto close timer pushed back. If it's still queued, the badge is
+	 * shown when it's displayed. Repeats arriving before the update runs share it.
 	 *
-	 * @param window The window to show.
-	 * @param callback The callback to run after the window is shown.
-	 */
-	private void showWindow(final AlertifyWindow window, final Runnable callback) {
-		final Rectangle screen = GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
-
-		Tween
-			.to(window, ComponentAccessor.POSITION_X, 0.5f)
-			.setCallback(new TweenCallback() {
-				@Override
-				public void onEvent(int event, BaseTween<?> baseTween) {
-					if (event == TweenCallback.START) // Show it when this starts
-						window.setVisible(true);
-					else if (event == TweenCallback.STEP) { // Attempt to hide the window off-screen
-						int width = screen.width - 10 - window.getX(); // 10 extra for the spacing.
-						if (width <= window.getActualWidth() + 1) {
-							window.setSize(width, window.getActualHeight());
-						}
-					} else if (event == TweenCallback.COMPLETE)
-						callback.run();
+	 * @param alert The alert.
+	 */
+	private void refresh(final PendingAlert alert) {
+		if (!alert.requestRefresh()) {
+			return;
+		}
+
+		execute(new Runnable() {
+			@Override
+			public void run() {
+				alert.clearRefresh();
+
+				AlertifyWindow window = alert.getWindow();
+
+				// A closed alert's window may already belong to another alert
+				if (window == null || alert.isClosed()) {
+					return;
 				}
-			})
-			.setCallbackTriggers(TweenCallback.START | TweenCallback.STEP)
-			.ease(Back.OUT)
-			.target((screen.x + screen.width) - (window.getActualWidth() + 10))
-			.start(manager);
+
+				window.setOccurrences(alert.getOccurrences());
+
+				TimingWheel.Timeout closeTimer = window.getCloseTimer();
+				if (closeTimer != null) {
+					closeTimer.reset(alert.getConfig().getCloseDelay(), TimeUnit.MILLISECONDS);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Schedule an alert to be hidden after its close delay. Must be called on the animation thread.
+	 *
+	 * @param alert The alert.
+	 */
+	private void scheduleClose(final PendingAlert alert) {
+		alert.getWindow().setCloseTimer(timers.schedule(new Runnable() {
+			@Override
+			public void run() {
+				hideWindow(alert);
+			}
+		}, alert.getConfig().getCloseDelay(), TimeUnit.MILLISECONDS));
+	}
+
+	/**
+	 * Create a window for an alert and start showing it. An alert which can't be shown, such as one whose type the theme
+	 * doesn't support, is rejected and reported, without holding up the alerts after it. Must be called on the
+	 * animation thread.
+	 *
+	 * @param alert The alert.
+	 * @param stack The stack of the screen to show it on.
+	 * @param screen The screen bounds.
+	 * @return True, if the alert is being shown.
+	 */
+	private boolean display(PendingAlert alert, ScreenStack stack, Rectangle screen) {
+		AlertifyWindow window;
+		try {
+			window = prepare(alert, stack, screen);
+		} catch (RuntimeException e) {
+			alert.close();
+			alert.resolve(AlertifyResult.REJECTED);
+			AnimationClock.report(e);
+			return false;
+		}
+
+		showWindow(window, alert);
+		return true;
+	}
+
+	/**
+	 * Create a window for an alert and add it to the top of a screen's stack, off screen. Must be called on the
+	 * animation thread.
+	 *
+	 * @param alert The alert.
+	 * @param stack The stack of the screen to show it on.
+	 * @param screen The screen bounds.
+	 * @return The window.
+	 */
+	private AlertifyWindow prepare(final PendingAlert alert, ScreenStack stack, Rectangle screen) {
+		final AlertifyConfig config = alert.getConfig();
+		final ThemeSnapshot theme = this.theme;
+		final AlertSize size = measurer.measure(theme, config);
+		final AlertifyWindow window = pool.acquire(theme, config, size);
+
+		metrics.recordShown();
+
+		alert.setWindow(window);
+		stack.getVisible(config.getType().getPriority()).add(alert);
+
+		if (alert.getOccurrences() > 1) {
+			window.setOccurrences(alert.getOccurrences());
+		}
+
+		int baseY = screen.y + screen.height - stack.getWindows().add(window, size.getHeight());
+
+		window.setScreen(screen);
+
+		// The window is laid out and moved into place on the EDT by the next commit
+		window.setPendingLocation(screen.x + screen.width, baseY);
+
+		window.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mousePressed(MouseEvent e) {
+				if (window.isHidden()) {
+					return;
+				}
+
+				metrics.recordClicked();
+
+				if (config.hasCallback()) {
+					config.getCallback().alertClicked(window);
+				}
+
+				execute(new Runnable() {
+					@Override
+					public void run() {
+						hideWindow(alert);
+					}
+				});
+			}
+		});
+
+		return window;
+	}
+
+	/**
+	 * Start sliding a window in from the edge of its screen. Must be called on the animation thread.
+	 *
+	 * @param window The window to show.
+	 * @param alert The alert, whose auto close timer starts once the window is in.
+	 */
+	private void showWindow(AlertifyWindow window, PendingAlert alert) {
+		Rectangle screen = window.getScreen();
+
+		// Cut to nothing by the first step, which runs before the frame is committed
+		window.setPendingVisible(true);
+
+		animator.animate(window, Animator.X, (screen.x + screen.width) - (window.getActualWidth() + WINDOW_SPACING),
+			ANIMATION_DURATION, Easing.BACK_OUT, showListener, alert);
 	}
 
 	/**
@@ -215,90 +826,530 @@ public class Alertify {
 	 * @param targetY The Y position on screen.
 	 */
 	private void moveWindow(AlertifyWindow window, int targetY) {
-		Tween
-			.to(window, ComponentAccessor.POSITION_Y, 0.5f)
-			.ease(Back.IN)
-			.target(targetY)
-			.start(manager);
+		animator.animate(window, Animator.Y, targetY, ANIMATION_DURATION, Easing.BACK_IN);
 	}
 
 	/**
-	 * Hide a window.
+	 * Hide an alert's window. Repeats of the alert are no longer folded into it. Must be called on the animation
+	 * thread.
 	 *
-	 * @param window The window to hide.
+	 * @param alert The alert to hide.
 	 */
-	private void hideWindow(final AlertifyWindow window) {
-		if (window.isHidden()) {
+	private void hideWindow(PendingAlert alert) {
+		AlertifyWindow window = alert.getWindow();
+
+		if (window == null || window.isHidden()) {
 			return;
 		}
 
+		alert.close();
 		window.hideAlert();
 
-		final Rectangle screen = GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
-
-		remove.add(window);
-		Tween.to(window, ComponentAccessor.POSITION_X, 0.5f)
-			.ease(Back.IN)
-			.target(screen.width)
-			.setCallback(new TweenCallback() {
-				@Override
-				public void onEvent(int event, BaseTween<?> tween) {
-					if (event == TweenCallback.COMPLETE)
-						removeWindow(window);
-					else if (event == TweenCallback.STEP)
-						window.setSize(screen.width - window.getX(), window.getActualHeight());
-				}
-			})
-			.setCallbackTriggers(TweenCallback.COMPLETE | TweenCallback.STEP)
-			.start(manager);
+		if (alert.getShownAt() != 0) {
+			metrics.recordTimeOnScreen(System.nanoTime() - alert.getShownAt());
+		}
+
+		Rectangle screen = window.getScreen();
+
+		ScreenStack stack = screens.stackOf(window);
+		if (stack != null) {
+			stack.getVisible(alert.getConfig().getType().getPriority()).remove(alert);
+			stack.getRemoving().add(window);
+		}
+
+		animator.animate(window, Animator.X, screen.x + screen.width, ANIMATION_DURATION, Easing.BACK_IN, hideListener,
+			alert);
 	}
 
 	/**
-	 * Remove a window. This consolidates remaining windows and shows ones which would not have fit on screen.
+	 * Remove a window. This consolidates the remaining windows on its screen and shows ones which would not have fit.
+	 * Called once the window has slid out, on the animation thread.
 	 *
 	 * @param window The window to remove.
 	 */
 	private void removeWindow(AlertifyWindow window) {
-		window.dispose();
+		ScreenStack stack = screens.stackOf(window);
+
+		releaseWindow(window);
+
+		if (stack == null) {
+			return;
+		}
+
+		stack.getWindows().remove(window);
 
-		synchronized(windows) {
-			windows.remove(window);
+		stack.getRemoving().remove(window);
 
-			remove.remove(window);
+		// Windows still sliding out keep their slots, so the stack is only closed up once the last of them is gone
+		if (stack.getRemoving().isEmpty()) {
+			consolidateWindows(stack);
+		}
 
-			// if hide queue empty, consolidate?
+		if (stack.isAttached()) {
+			drainQueue(stack);
+		} else {
+			screens.prune();
+		}
+	}
 
-			if (remove.isEmpty()) {
-				consolidateWindows();
+	/**
+	 * Take a window off screen and return it to the pool on the EDT.
+	 *
+	 * @param window The window.
+	 */
+	private void releaseWindow(final AlertifyWindow window) {
+		// Queued behind the window's last commit, so it's released after its final frame is applied
+		SwingUtilities.invokeLater(new Runnable() {
+			@Override
+			public void run() {
+				committer.getRenderer().release(window);
+				pool.release(window);
 			}
+		});
+	}
+
+	/**
+	 * Consolidate/move the windows on a screen so they're spaced evenly. Must be called on the animation thread.
+	 *
+	 * @param stack The screen's stack.
+	 */
+	private void consolidateWindows(ScreenStack stack) {
+		final Rectangle screen = stack.getBounds();
 
-			if (!windowQueue.isEmpty()) {
-				show(windowQueue.poll());
+		// Only the windows above a removed one have moved
+		stack.getWindows().consolidate(new StackLayout.MoveListener<AlertifyWindow>() {
+			@Override
+			public void itemMoved(AlertifyWindow w, int offset) {
+				int newY = screen.y + screen.height - offset;
+				if (w.getPendingY() != newY) {
+					moveWindow(w, newY);
+				}
 			}
+		});
+	}
+
+	/**
+	 * Remove all alerts without animating them, and empty the queue. Alerts submitted before this which haven't been
+	 * shown yet are rejected. This happens on the next frame.
+	 */
+	public void clear() {
+		final long submitted = requests.getOfferedCount();
+
+		execute(new Runnable() {
+			@Override
+			public void run() {
+				removeAll(submitted);
+			}
+		});
+	}
+
+	/**
+	 * Set how alerts are put on screen, with one of the built in Swing renderers. Visible and queued alerts are cleared
+	 * first, as by {@link #clear()}, and idle windows are disposed along with the old renderer.
+	 *
+	 * If the overlay mode is chosen but the screen doesn't support per-pixel translucency and transparency (see
+	 * {@link AlertifyOverlay#isSupported()}), alerts stay in {@link RenderMode#WINDOW} mode.
+	 *
+	 * @param requested The render mode.
+	 * @return The render mode which will be used.
+	 * @throws UnsupportedOperationException If there's no screen.
+	 */
+	public RenderMode setRenderMode(RenderMode requested) {
+		if (GraphicsEnvironment.isHeadless()) {
+			throw new UnsupportedOperationException("The Swing render modes need a screen.");
 		}
+
+		RenderMode mode = requested == RenderMode.OVERLAY && !AlertifyOverlay.isSupported()
+			? RenderMode.WINDOW : requested;
+
+		replaceRenderer(mode, null);
+		return mode;
+	}
+
+	/**
+	 * Get how alerts are put on screen.
+	 *
+	 * @return The render mode, or null if a renderer was set with {@link #setRenderer(AlertRenderer)} or Alertify is
+	 * running headless.
+	 */
+	public RenderMode getRenderMode() {
+		return renderMode;
+	}
+
+	/**
+	 * Set the renderer which puts alerts on screen, such as an {@link org.nikkii.alertify4j.ui.OffscreenRenderer} for
+	 * tests. Visible and queued alerts are cleared first, as by {@link #clear()}, and idle windows are disposed along
+	 * with the old renderer.
+	 *
+	 * @param renderer The renderer.
+	 */
+	public void setRenderer(AlertRenderer renderer) {
+		if (renderer == null) {
+			throw new IllegalArgumentException("Renderer must not be null.");
+		}
+
+		replaceRenderer(null, renderer);
+	}
+
+	/**
+	 * Get the renderer which puts alerts on screen.
+	 *
+	 * @return The renderer.
+	 */
+	public AlertRenderer getRenderer() {
+		return committer.getRenderer();
+	}
+
+	/**
+	 * Clear all alerts and replace the renderer on the next frame.
+	 *
+	 * @param mode The render mode, or null if a renderer is given.
+	 * @param renderer The renderer, or null to create one for the render mode.
+	 */
+	private void replaceRenderer(final RenderMode mode, final AlertRenderer renderer) {
+		final long submitted = requests.getOfferedCount();
+
+		execute(new Runnable() {
+			@Override
+			public void run() {
+				if (mode != null && mode == renderMode) {
+					return;
+				}
+
+				removeAll(submitted);
+				renderMode = mode;
+				rendererScreens = renderer != null ? renderer.getScreens() : null;
+				screens.setScreens(screenAreas != null ? screenAreas : rendererScreens);
+
+				// Queued behind the releases, so no old windows end up back in the pool
+				SwingUtilities.invokeLater(new Runnable() {
+					@Override
+					public void run() {
+						AlertRenderer old = committer.getRenderer();
+
+						pool.clear();
+						committer.setRenderer(renderer != null ? renderer : mode == RenderMode.OVERLAY
+							? new OverlayRenderer() : new SwingRenderer());
+						old.dispose();
+					}
+				});
+			}
+		});
 	}
 
 	/**
-	 * Consolidate/move the windows so they're spaced evenly.
+	 * Lay alerts out in fixed areas instead of on the renderer's screens, each with its own stack and queue, for example
+	 * to keep the alerts of two instances apart. Visible and queued alerts are cleared first, as by {@link #clear()}.
+	 * This happens on the next frame.
+	 *
+	 * @param areas The areas, the primary one first, or none to go back to the renderer's screens.
 	 */
-	private void consolidateWindows() {
-		Rectangle screen = GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
+	public void setScreenAreas(Rectangle... areas) {
+		final long submitted = requests.getOfferedCount();
+		final Rectangle[] copy = new Rectangle[areas.length];
+
+		for (int i = 0; i < areas.length; i++) {
+			copy[i] = new Rectangle(areas[i]);
+		}
 
-		int newY = screen.height;
-		for (AlertifyWindow w : windows) {
-			newY -= w.getActualHeight() + 10; // 10px spacing
-			if (w.getY() != newY) {
-				moveWindow(w, newY);
+		execute(new Runnable() {
+			@Override
+			public void run() {
+				removeAll(submitted);
+				screenAreas = copy.length > 0 ? copy : null;
+				screens.setScreens(screenAreas != null ? screenAreas : rendererScreens);
+			}
+		});
+	}
+
+	/**
+	 * Remove all alerts straight away and release their windows. Must be called on the animation thread.
+	 *
+	 * @param submitted The number of submissions to reject up to.
+	 */
+	private void removeAll(long submitted) {
+		for (ScreenStack stack : screens.getStacks()) {
+			for (AlertifyWindow window : stack.getWindows().items()) {
+				animator.cancel(window);
+				window.hideAlert();
+				releaseWindow(window);
 			}
 		}
+		reset(submitted);
 	}
 
 	/**
-	 * Set the window theme.
+	 * Shut down this instance, stopping its timers and disposing all of its windows. The shared animation clock is
+	 * stopped once every instance is shut down.
+	 *
+	 * Alerts can't be shown after this has been called. The instance leaves the animation thread on its next frame, and
+	 * the windows and renderer are disposed on the EDT after that. Its name may be used again straight away.
+	 */
+	public void shutdown() {
+		shutdown = true;
+
+		try {
+			metrics.unregister();
+		} catch (JMException e) {
+			// Already gone
+		}
+
+		synchronized(instances) {
+			if (instances.get(name) == this) {
+				instances.remove(name);
+			}
+		}
+
+		execute(new Runnable() {
+			@Override
+			public void run() {
+				reset(Long.MAX_VALUE);
+
+				timers.clear();
+
+				SwingUtilities.invokeLater(new Runnable() {
+					@Override
+					public void run() {
+						pool.clear();
+						committer.getRenderer().dispose();
+						sprites.clear();
+					}
+				});
+
+				// Last, since it interrupts this thread if this was the last instance
+				scheduler.unregister(frame);
+			}
+		});
+	}
+
+	/**
+	 * Forget all windows and empty the queue, rejecting submitted alerts which haven't been shown. Must be called on the
+	 * animation thread.
+	 *
+	 * @param submitted The number of submissions to reject up to, so alerts submitted after a clear are still shown.
+	 */
+	private void reset(long submitted) {
+		for (ScreenStack stack : screens.getStacks()) {
+			stack.clear();
+		}
+
+		AlertHandle handle;
+		while (requests.getPolledCount() < submitted && (handle = requests.poll()) != null) {
+			metrics.recordRejected();
+			handle.getAlert().close();
+			handle.complete(AlertifyResult.REJECTED);
+		}
+	}
+
+	/**
+	 * Reject the alerts which waited too long for a free slot, on every screen which has any waiting. Must be called on
+	 * the animation thread.
+	 */
+	private void expireWaiting() {
+		for (ScreenStack stack : screens.getStacks()) {
+			AlertifyQueue queue = stack.getQueue();
+
+			if (queue.hasWaiting()) {
+				queue.expire();
+			}
+		}
+	}
+
+	/**
+	 * Check if any screen has alerts waiting for a free slot, which the frame sweep has to keep checking. Must be
+	 * called on the animation thread.
+	 *
+	 * @return True, if an alert is waiting.
+	 */
+	private boolean hasWaiting() {
+		for (ScreenStack stack : screens.getStacks()) {
+			if (stack.getQueue().hasWaiting()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Count the windows on every screen. Must be called on the animation thread.
+	 *
+	 * @return The number of windows.
+	 */
+	private int countWindows() {
+		int count = 0;
+
+		for (ScreenStack stack : screens.getStacks()) {
+			count += stack.getWindows().size();
+		}
+
+		return count;
+	}
+
+	/**
+	 * Create idle windows for the current theme ahead of time, so the first alerts show faster.
+	 *
+	 * @param count The number of windows to create.
+	 */
+	public void prewarm(int count) {
+		pool.prewarm(theme, count);
+	}
+
+	/**
+	 * Get the primary screen's pending queue, to configure its capacity and overflow policy or check its counters. The
+	 * queues of other screens are reached through {@link #getScreens()}, and start with the primary queue's settings.
+	 *
+	 * @return The pending queue.
+	 */
+	public AlertifyQueue getQueue() {
+		return screens.getPrimary().getQueue();
+	}
+
+	/**
+	 * Get the screen router, to reach each screen's stack and queue.
+	 *
+	 * @return The screen router.
+	 */
+	public ScreenRouter getScreens() {
+		return screens;
+	}
+
+	/**
+	 * Set how alerts are spread over the screens.
+	 *
+	 * @param policy The routing policy.
+	 */
+	public void setRoutingPolicy(RoutingPolicy policy) {
+		screens.setPolicy(policy);
+	}
+
+	/**
+	 * Get how alerts are spread over the screens.
+	 *
+	 * @return The routing policy.
+	 */
+	public RoutingPolicy getRoutingPolicy() {
+		return screens.getPolicy();
+	}
+
+	/**
+	 * Get the rate limiter, to set per type limits and the throttle policy or check how many alerts were throttled.
+	 *
+	 * @return The rate limiter.
+	 */
+	public RateLimiter getRateLimiter() {
+		return limiter;
+	}
+
+	/**
+	 * Get the coalescer, to turn coalescing off or check how many alerts were folded.
+	 *
+	 * @return The coalescer.
+	 */
+	public AlertCoalescer getCoalescer() {
+		return coalescer;
+	}
+
+	/**
+	 * Get the primary screen's bounds cache, for example to invalidate it after the screen insets change.
+	 *
+	 * @return The screen bounds cache.
+	 */
+	public ScreenBounds getScreenBounds() {
+		return screens.getPrimary().getScreenBounds();
+	}
+
+	/**
+	 * Get the sprite cache, to change its byte budget or check its hit/miss counts.
+	 *
+	 * @return The sprite cache.
+	 */
+	public SpriteCache getSpriteCache() {
+		return sprites;
+	}
+
+	/**
+	 * Get the text measurer alerts are sized with.
+	 *
+	 * @return The alert measurer.
+	 */
+	public AlertMetrics getMeasurer() {
+		return measurer;
+	}
+
+	/**
+	 * Get the runtime metrics, such as submitted and shown counts, queue depth and frame times. These are also
+	 * registered over JMX as org.nikkii.alertify4j:type=Alertify,name="<name>", where the default instance is named
+	 * "default".
+	 *
+	 * @return The metrics.
+	 */
+	public AlertifyMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Get the window pool, mostly useful for checking hit/miss counts.
+	 *
+	 * @return The window pool.
+	 */
+	public AlertifyWindowPool getWindowPool() {
+		return pool;
+	}
+
+	/**
+	 * Set whether a higher priority alert hides the oldest lower priority alert early when the screen is full, so it
+	 * doesn't have to wait for one to close.
+	 *
+	 * @param preemption True to enable preemption.
+	 */
+	public void setPreemption(boolean preemption) {
+		this.preemption = preemption;
+	}
+
+	/**
+	 * Set the animation target frame rate. The clock is shared, so this applies to every instance.
+	 *
+	 * @param frameRate The frame rate, in frames per second.
+	 */
+	public void setFrameRate(int frameRate) {
+		scheduler.setTargetFrameRate(frameRate);
+	}
+
+	/**
+	 * Get the shared animation clock, mostly useful for checking skipped frames.
+	 *
+	 * @return The animation clock, or null once every instance is shut down.
+	 */
+	public AnimationClock getAnimationClock() {
+		return scheduler.getClock();
+	}
+
+	/**
+	 * Get the name of this instance, which its metrics are registered under.
+	 *
+	 * @return The name.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Set the window theme. A snapshot of the theme is taken now, so later changes to it need it set again. Alerts
+	 * already on screen keep the theme they were shown with.
 	 *
 	 * @param theme The theme.
 	 */
 	public void setTheme(AlertifyTheme theme) {
-		this.theme = theme;
+		this.theme = new ThemeSnapshot(theme);
+	}
+
+	/**
+	 * Get the window theme.
+	 *
+	 * @return The theme.
+	 */
+	public AlertifyTheme getTheme() {
+		return theme.getTheme();
 	}
 }
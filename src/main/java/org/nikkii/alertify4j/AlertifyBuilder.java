@@ -1,6 +1,7 @@
 package org.nikkii.alertify4j;
 
 import org.nikkii.alertify4j.ui.AlertifyWindowClick;
+import org.nikkii.alertify4j.ui.IconCache;
 
 import javax.swing.Icon;
 import javax.swing.JLabel;
@@ -19,9 +20,24 @@ public class AlertifyBuilder {
 	private AlertifyType type = AlertifyType.LOG;
 
 	/**
-	 * The default label. This is updated by text and icon, or replaced if label is called.
+	 * The alert text.
 	 */
-	private JLabel label = new JLabel();
+	private String text;
+
+	/**
+	 * The alert icon.
+	 */
+	private Icon icon;
+
+	/**
+	 * The key of the alert icon in the {@link IconCache}, used instead of the icon.
+	 */
+	private String iconKey;
+
+	/**
+	 * The custom label the config is copied from, or null. Once set, text and icon update it.
+	 */
+	private JLabel label;
 
 	/**
 	 * The close delay.
@@ -56,7 +72,11 @@ public class AlertifyBuilder {
 	 * @return The builder instance, for chaining.
 	 */
 	public AlertifyBuilder text(String text) {
-		label.setText(text);
+		if (label != null) {
+			label.setText(text);
+		} else {
+			this.text = text;
+		}
 		return this;
 	}
 
@@ -67,7 +87,26 @@ public class AlertifyBuilder {
 	 * @return The builder instance, for chaining.
 	 */
 	public AlertifyBuilder icon(Icon icon) {
-		label.setIcon(icon);
+		if (label != null) {
+			label.setIcon(icon);
+		} else {
+			this.icon = icon;
+		}
+		this.iconKey = null;
+		return this;
+	}
+
+	/**
+	 * Set the alert icon by its key in the shared {@link IconCache}, usually a classpath resource. The image is only
+	 * decoded once, and scaled to the theme's icon size when the alert is shown, so this is much cheaper than loading
+	 * a new icon for every alert.
+	 *
+	 * @param key The icon key.
+	 * @return The builder instance, for chaining.
+	 */
+	public AlertifyBuilder icon(String key) {
+		this.iconKey = key;
+		this.icon = null;
 		return this;
 	}
 	
@@ -83,13 +122,17 @@ public class AlertifyBuilder {
 	}
 
 	/**
-	 * Set the alert label. This will overwrite the text and icon already set.
+	 * Set the alert label. This will overwrite the text and icon already set. Its text, icon, border and text positions
+	 * are copied when the config is built, so the label can be reused or changed afterwards.
 	 *
 	 * @param label The {@link JLabel}. This will still take the foreground and font settings set in the theme!
 	 * @return The builder instance, for chaining.
 	 */
 	public AlertifyBuilder label(JLabel label) {
 		this.label = label;
+		this.text = null;
+		this.icon = null;
+		this.iconKey = null;
 		return this;
 	}
 
@@ -121,6 +164,6 @@ public class AlertifyBuilder {
 	 * @return The {@link AlertifyConfig}.
 	 */
 	public AlertifyConfig build() {
-		return new AlertifyConfig(type, label, closeDelay, callback, font);
+		return new AlertifyConfig(type, text, icon, iconKey, label, closeDelay, callback, font);
 	}
 }
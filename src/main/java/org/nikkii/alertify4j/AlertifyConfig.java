@@ -1,17 +1,30 @@
 package org.nikkii.alertify4j;
 
 import org.nikkii.alertify4j.ui.AlertifyWindowClick;
+import org.nikkii.alertify4j.ui.IconCache;
 import org.nikkii.alertify4j.util.Optional;
 
+import javax.swing.Icon;
 import javax.swing.JLabel;
+import javax.swing.SwingConstants;
+import javax.swing.border.Border;
 import java.awt.Font;
 
 /**
  * An alert config.
  *
+ * This is an immutable value which holds no Swing components, so queued and throttled alerts are cheap to keep around,
+ * and a config can be shown by any number of windows. A custom {@link JLabel} is copied when the config is created:
+ * its text, icon, border and text positions are kept, and later changes to the label don't affect the alert.
+ *
  * @author Nikki
  */
-public class AlertifyConfig {
+public final class AlertifyConfig {
+
+	/**
+	 * The gap between the icon and the text of alerts without a custom label, the same as a new {@link JLabel}'s.
+	 */
+	private static final int DEFAULT_ICON_TEXT_GAP = 4;
 
 	/**
 	 * The alert type.
@@ -23,9 +36,39 @@ public class AlertifyConfig {
 	private final Font font;
 
 	/**
-	 * The alert label.
+	 * The alert text.
+	 */
+	private final String text;
+
+	/**
+	 * The alert icon.
+	 */
+	private final Icon icon;
+
+	/**
+	 * The key of the alert icon in the {@link IconCache}, or null if the icon was given directly.
+	 */
+	private final String iconKey;
+
+	/**
+	 * The label border, or null for none.
+	 */
+	private final Border border;
+
+	/**
+	 * The horizontal position of the text relative to the icon, one of the {@link SwingConstants}.
+	 */
+	private final int horizontalTextPosition;
+
+	/**
+	 * The vertical position of the text relative to the icon, one of the {@link SwingConstants}.
 	 */
-	private final JLabel label;
+	private final int verticalTextPosition;
+
+	/**
+	 * The gap between the icon and the text.
+	 */
+	private final int iconTextGap;
 
 	/**
 	 * The close delay, or 0 if it will not automatically close.
@@ -40,13 +83,51 @@ public class AlertifyConfig {
 	/**
 	 * Create a new Alertify config.
 	 * @param type The alert type.
+	 * @param text The alert text.
+	 * @param icon The alert icon.
+	 * @param closeDelay The close delay.
+	 * @param callback The callback.
+	 * @param font The font override, or null to use the theme font.
+	 */
+	public AlertifyConfig(AlertifyType type, String text, Icon icon, long closeDelay, AlertifyWindowClick callback,
+			Font font) {
+		this(type, text, icon, null, null, closeDelay, callback, font);
+	}
+
+	/**
+	 * Create a new Alertify config with a custom label. The label's text, icon, border and text positions are copied,
+	 * and the label itself isn't kept.
+	 * @param type The alert type.
 	 * @param label The alert label.
 	 * @param closeDelay The close delay.
 	 * @param callback The callback.
+	 * @param font The font override, or null to use the theme font.
 	 */
 	public AlertifyConfig(AlertifyType type, JLabel label, long closeDelay, AlertifyWindowClick callback, Font font) {
+		this(type, null, null, null, label, closeDelay, callback, font);
+	}
+
+	/**
+	 * Create a new Alertify config.
+	 * @param type The alert type.
+	 * @param text The alert text, ignored if there's a custom label.
+	 * @param icon The alert icon, ignored if there's a custom label or an icon key.
+	 * @param iconKey The key of the icon in the {@link IconCache}, or null.
+	 * @param label The custom label to copy, or null.
+	 * @param closeDelay The close delay.
+	 * @param callback The callback.
+	 * @param font The font override, or null to use the theme font.
+	 */
+	AlertifyConfig(AlertifyType type, String text, Icon icon, String iconKey, JLabel label, long closeDelay,
+			AlertifyWindowClick callback, Font font) {
 		this.type = type;
-		this.label = label;
+		this.text = label != null ? label.getText() : text;
+		this.icon = iconKey != null ? null : label != null ? label.getIcon() : icon;
+		this.iconKey = iconKey;
+		this.border = label != null ? label.getBorder() : null;
+		this.horizontalTextPosition = label != null ? label.getHorizontalTextPosition() : SwingConstants.TRAILING;
+		this.verticalTextPosition = label != null ? label.getVerticalTextPosition() : SwingConstants.CENTER;
+		this.iconTextGap = label != null ? label.getIconTextGap() : DEFAULT_ICON_TEXT_GAP;
 		this.closeDelay = closeDelay;
 		this.callback = Optional.ofNullable(callback);
 		this.font = font;
@@ -71,12 +152,82 @@ public class AlertifyConfig {
 	}
 
 	/**
-	 * Get the alert label.
+	 * Get the alert text.
+	 *
+	 * @return The alert text.
+	 */
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * Get the alert icon.
+	 *
+	 * @return The alert icon.
+	 */
+	public Icon getIcon() {
+		return icon;
+	}
+
+	/**
+	 * Get the key of the alert icon in the {@link IconCache}. It's looked up at the theme's icon size when the alert is
+	 * shown, replacing any other icon.
+	 *
+	 * @return The icon key, or null if the icon was given directly.
+	 */
+	public String getIconKey() {
+		return iconKey;
+	}
+
+	/**
+	 * Get the label border.
+	 *
+	 * @return The border, or null for none.
+	 */
+	public Border getBorder() {
+		return border;
+	}
+
+	/**
+	 * Get the horizontal position of the text relative to the icon.
+	 *
+	 * @return The position, one of the {@link SwingConstants}.
+	 */
+	public int getHorizontalTextPosition() {
+		return horizontalTextPosition;
+	}
+
+	/**
+	 * Get the vertical position of the text relative to the icon.
+	 *
+	 * @return The position, one of the {@link SwingConstants}.
+	 */
+	public int getVerticalTextPosition() {
+		return verticalTextPosition;
+	}
+
+	/**
+	 * Get the gap between the icon and the text.
+	 *
+	 * @return The gap, in pixels.
+	 */
+	public int getIconTextGap() {
+		return iconTextGap;
+	}
+
+	/**
+	 * Set up a label to show this alert's text, icon, border and text positions. Must be called on the EDT if the
+	 * label is showing.
 	 *
-	 * @return The alert label.
+	 * @param label The label.
 	 */
-	public JLabel getLabel() {
-		return label;
+	public void configure(JLabel label) {
+		label.setText(text);
+		label.setIcon(icon);
+		label.setBorder(border);
+		label.setHorizontalTextPosition(horizontalTextPosition);
+		label.setVerticalTextPosition(verticalTextPosition);
+		label.setIconTextGap(iconTextGap);
 	}
 
 	/**
@@ -0,0 +1,48 @@
+package org.nikkii.alertify4j;
+
+/**
+ * An enum containing what happened to a submitted alert.
+ *
+ * @author Nikki
+ */
+public enum AlertifyResult {
+	/**
+	 * The alert was shown straight away.
+	 */
+	SHOWN,
+
+	/**
+	 * The alert didn't fit on screen and was queued.
+	 */
+	QUEUED,
+
+	/**
+	 * The same alert was already visible or queued, and this one was folded into it.
+	 */
+	COALESCED,
+
+	/**
+	 * The alert was over its type's rate limit and will be shown once the limit allows.
+	 */
+	DELAYED,
+
+	/**
+	 * The alert was over its type's rate limit and was dropped or counted in a summary alert.
+	 */
+	THROTTLED,
+
+	/**
+	 * The queue was full and the alert was folded into a summary alert.
+	 */
+	COLLAPSED,
+
+	/**
+	 * The queue was full and the alert was dropped.
+	 */
+	DROPPED,
+
+	/**
+	 * The queue was full and the alert was rejected.
+	 */
+	REJECTED;
+}
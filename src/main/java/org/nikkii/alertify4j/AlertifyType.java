@@ -6,5 +6,33 @@ package org.nikkii.alertify4j;
  * @author Nikki
  */
 public enum AlertifyType {
-	LOG, INFO, WARNING, ERROR, SUCCESS;
+	LOG(0), INFO(1), WARNING(2), ERROR(3), SUCCESS(1);
+
+	/**
+	 * The highest priority of any type.
+	 */
+	public static final int MAX_PRIORITY = 3;
+
+	/**
+	 * The queueing priority. Higher priority alerts are shown first.
+	 */
+	private final int priority;
+
+	/**
+	 * Construct a new type.
+	 *
+	 * @param priority The queueing priority.
+	 */
+	private AlertifyType(int priority) {
+		this.priority = priority;
+	}
+
+	/**
+	 * Get the queueing priority. Higher priority alerts are shown first.
+	 *
+	 * @return The priority, from 0 to {@link #MAX_PRIORITY}.
+	 */
+	public int getPriority() {
+		return priority;
+	}
 }
@@ -0,0 +1,332 @@
+package org.nikkii.alertify4j.layout;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of a stack of items, keeping the running offset of each one from the bottom of the stack.
+ *
+ * Items are kept in slots in the order they were added, and slot heights are stored in a Fenwick tree so the offset of
+ * any item is an O(log n) prefix sum. Adding, removing and finding where the next item goes are O(log n) (or O(1)),
+ * and {@link #consolidate(MoveListener)} only visits items above the lowest removed slot, which are exactly the items
+ * that need to move.
+ *
+ * Removed slots are left empty and compacted away once the slots run out, so the amortized cost stays logarithmic.
+ *
+ * This class is not thread safe.
+ *
+ * @author Nikki
+ */
+public class StackLayout<T> {
+
+	/**
+	 * The initial slot capacity.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * The spacing added to every item's height.
+	 */
+	private final int spacing;
+
+	/**
+	 * The items, by slot. Removed slots are null.
+	 */
+	private Object[] items = new Object[INITIAL_CAPACITY];
+
+	/**
+	 * The height of each slot, including spacing. Removed slots are 0.
+	 */
+	private int[] heights = new int[INITIAL_CAPACITY];
+
+	/**
+	 * The Fenwick tree of slot heights, 1-indexed.
+	 */
+	private int[] tree = new int[INITIAL_CAPACITY + 1];
+
+	/**
+	 * The slot each item is in.
+	 */
+	private final Map<T, Integer> slots = new IdentityHashMap<T, Integer>();
+
+	/**
+	 * The next free slot.
+	 */
+	private int tail = 0;
+
+	/**
+	 * The total height of the stack, including spacing.
+	 */
+	private int totalHeight = 0;
+
+	/**
+	 * The lowest slot removed since the last consolidation, or -1 if nothing was removed.
+	 */
+	private int dirtyFrom = -1;
+
+	/**
+	 * Construct a new stack layout.
+	 *
+	 * @param spacing The spacing added to every item's height.
+	 */
+	public StackLayout(int spacing) {
+		this.spacing = spacing;
+	}
+
+	/**
+	 * Add an item to the top of the stack.
+	 *
+	 * @param item The item.
+	 * @param height The item height, not including spacing.
+	 * @return The offset of the item's top edge from the bottom of the stack.
+	 */
+	public int add(T item, int height) {
+		if (slots.containsKey(item)) {
+			throw new IllegalArgumentException("Item is already in the stack.");
+		}
+
+		if (tail == items.length) {
+			compact();
+		}
+
+		int slot = tail++;
+		int slotHeight = height + spacing;
+
+		items[slot] = item;
+		heights[slot] = slotHeight;
+		update(slot, slotHeight);
+		slots.put(item, slot);
+
+		totalHeight += slotHeight;
+		return totalHeight;
+	}
+
+	/**
+	 * Remove an item from the stack. The items above it aren't moved until {@link #consolidate(MoveListener)}.
+	 *
+	 * @param item The item.
+	 * @return True if the item was in the stack.
+	 */
+	public boolean remove(T item) {
+		Integer slot = slots.remove(item);
+
+		if (slot == null) {
+			return false;
+		}
+
+		update(slot, -heights[slot]);
+		totalHeight -= heights[slot];
+
+		items[slot] = null;
+		heights[slot] = 0;
+
+		if (dirtyFrom == -1 || slot < dirtyFrom) {
+			dirtyFrom = slot;
+		}
+		return true;
+	}
+
+	/**
+	 * Get the offset of an item's top edge from the bottom of the stack.
+	 *
+	 * @param item The item.
+	 * @return The offset, or -1 if the item isn't in the stack.
+	 */
+	public int offsetOf(T item) {
+		Integer slot = slots.get(item);
+
+		if (slot == null) {
+			return -1;
+		}
+
+		return prefix(slot);
+	}
+
+	/**
+	 * Get the offset the top edge of the next item would have.
+	 *
+	 * @param height The item height, not including spacing.
+	 * @return The offset.
+	 */
+	public int nextOffset(int height) {
+		return totalHeight + height + spacing;
+	}
+
+	/**
+	 * Move the items above any removed slots down, calling the listener for each item whose offset changed.
+	 *
+	 * @param listener The listener to call for each moved item.
+	 */
+	@SuppressWarnings("unchecked")
+	public void consolidate(MoveListener<T> listener) {
+		if (dirtyFrom == -1) {
+			return;
+		}
+
+		int offset = dirtyFrom > 0 ? prefix(dirtyFrom - 1) : 0;
+
+		for (int slot = dirtyFrom; slot < tail; slot++) {
+			if (items[slot] == null) {
+				continue;
+			}
+
+			offset += heights[slot];
+			listener.itemMoved((T) items[slot], offset);
+		}
+
+		dirtyFrom = -1;
+	}
+
+	/**
+	 * Get the total height of the stack, including spacing.
+	 *
+	 * @return The total height.
+	 */
+	public int getTotalHeight() {
+		return totalHeight;
+	}
+
+	/**
+	 * Get the number of items in the stack.
+	 *
+	 * @return The item count.
+	 */
+	public int size() {
+		return slots.size();
+	}
+
+	/**
+	 * Check if the stack is empty.
+	 *
+	 * @return True, if there are no items.
+	 */
+	public boolean isEmpty() {
+		return slots.isEmpty();
+	}
+
+	/**
+	 * Check if an item is in the stack.
+	 *
+	 * @param item The item.
+	 * @return True, if the item is in the stack.
+	 */
+	public boolean contains(T item) {
+		return slots.containsKey(item);
+	}
+
+	/**
+	 * Get the items, from the bottom of the stack up.
+	 *
+	 * @return A new list of the items.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<T> items() {
+		List<T> list = new ArrayList<T>(slots.size());
+		for (int slot = 0; slot < tail; slot++) {
+			if (items[slot] != null) {
+				list.add((T) items[slot]);
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Remove all items.
+	 */
+	public void clear() {
+		for (int slot = 0; slot < tail; slot++) {
+			items[slot] = null;
+			heights[slot] = 0;
+		}
+		tree = new int[items.length + 1];
+		slots.clear();
+		tail = 0;
+		totalHeight = 0;
+		dirtyFrom = -1;
+	}
+
+	/**
+	 * Move the live items to the front of the slots, growing them if more than half are in use, and rebuild the tree.
+	 */
+	@SuppressWarnings("unchecked")
+	private void compact() {
+		int capacity = slots.size() * 2 > items.length ? items.length * 2 : items.length;
+
+		Object[] newItems = new Object[capacity];
+		int[] newHeights = new int[capacity];
+
+		int count = 0;
+		int newDirtyFrom = -1;
+		for (int slot = 0; slot < tail; slot++) {
+			if (slot == dirtyFrom) {
+				newDirtyFrom = count;
+			}
+
+			if (items[slot] == null) {
+				continue;
+			}
+
+			newItems[count] = items[slot];
+			newHeights[count] = heights[slot];
+			slots.put((T) items[slot], count);
+			count++;
+		}
+
+		items = newItems;
+		heights = newHeights;
+		tail = count;
+		dirtyFrom = newDirtyFrom < count ? newDirtyFrom : -1;
+
+		// Build the tree in O(n) by pushing each node into its parent
+		tree = new int[capacity + 1];
+		for (int i = 1; i <= capacity; i++) {
+			tree[i] += heights[i - 1];
+			int parent = i + (i & -i);
+			if (parent <= capacity) {
+				tree[parent] += tree[i];
+			}
+		}
+	}
+
+	/**
+	 * Add to the height of a slot in the tree.
+	 *
+	 * @param slot The slot.
+	 * @param delta The height change.
+	 */
+	private void update(int slot, int delta) {
+		for (int i = slot + 1; i < tree.length; i += i & -i) {
+			tree[i] += delta;
+		}
+	}
+
+	/**
+	 * Get the total height of all slots up to and including a slot.
+	 *
+	 * @param slot The slot.
+	 * @return The sum of the heights.
+	 */
+	private int prefix(int slot) {
+		int sum = 0;
+		for (int i = slot + 1; i > 0; i -= i & -i) {
+			sum += tree[i];
+		}
+		return sum;
+	}
+
+	/**
+	 * Listener called for each item moved by {@link #consolidate(MoveListener)}.
+	 */
+	public interface MoveListener<T> {
+
+		/**
+		 * Called when an item's offset has changed.
+		 *
+		 * @param item The item.
+		 * @param offset The new offset of the item's top edge from the bottom of the stack.
+		 */
+		public void itemMoved(T item, int offset);
+	}
+}
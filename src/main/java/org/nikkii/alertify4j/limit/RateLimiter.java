@@ -0,0 +1,182 @@
+package org.nikkii.alertify4j.limit;
+
+import org.nikkii.alertify4j.AlertifyType;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Per {@link AlertifyType} rate limits, each backed by a {@link TokenBucket}.
+ *
+ * Types without a limit are never throttled. Everything is indexed by the type ordinal, so checking a limit is an
+ * array read and one compare-and-set.
+ *
+ * @author Nikki
+ */
+public class RateLimiter {
+
+	/**
+	 * The default longest delay for {@link ThrottlePolicy#DELAY}, in milliseconds.
+	 */
+	public static final long DEFAULT_MAX_DELAY = 5000;
+
+	/**
+	 * The buckets, by type ordinal. Null if the type isn't limited.
+	 */
+	private final AtomicReferenceArray<TokenBucket> buckets = new AtomicReferenceArray<TokenBucket>(AlertifyType.values().length);
+
+	/**
+	 * The number of throttled alerts, by type ordinal.
+	 */
+	private final AtomicLongArray throttled = new AtomicLongArray(AlertifyType.values().length);
+
+	/**
+	 * The number of alerts waiting to be summarized, by type ordinal.
+	 */
+	private final AtomicIntegerArray suppressed = new AtomicIntegerArray(AlertifyType.values().length);
+
+	/**
+	 * The policy for alerts over the limit.
+	 */
+	private volatile ThrottlePolicy policy = ThrottlePolicy.DROP;
+
+	/**
+	 * The longest delay for {@link ThrottlePolicy#DELAY}, in nanoseconds.
+	 */
+	private volatile long maxDelay = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_DELAY);
+
+	/**
+	 * Limit a type of alert.
+	 *
+	 * @param type The alert type.
+	 * @param rate The number of alerts allowed per second.
+	 * @param burst The number of alerts allowed at once.
+	 */
+	public void setLimit(AlertifyType type, double rate, int burst) {
+		buckets.set(type.ordinal(), new TokenBucket(rate, burst));
+	}
+
+	/**
+	 * Remove the limit for a type of alert.
+	 *
+	 * @param type The alert type.
+	 */
+	public void removeLimit(AlertifyType type) {
+		buckets.set(type.ordinal(), null);
+	}
+
+	/**
+	 * Try to take a token for an alert. Alerts which don't get one are counted as throttled.
+	 *
+	 * @param type The alert type.
+	 * @return True if the alert may be shown now.
+	 */
+	public boolean tryAcquire(AlertifyType type) {
+		TokenBucket bucket = buckets.get(type.ordinal());
+
+		if (bucket == null || bucket.tryAcquire()) {
+			return true;
+		}
+
+		throttled.incrementAndGet(type.ordinal());
+		return false;
+	}
+
+	/**
+	 * Reserve the next token for an alert, waiting up to the max delay.
+	 *
+	 * @param type The alert type.
+	 * @return The time until the alert may be shown in milliseconds, or -1 if it's longer than the max delay.
+	 */
+	public long reserve(AlertifyType type) {
+		TokenBucket bucket = buckets.get(type.ordinal());
+
+		if (bucket == null) {
+			return 0;
+		}
+
+		long wait = bucket.reserve(maxDelay);
+		return wait < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(wait);
+	}
+
+	/**
+	 * Count an alert which will be summarized.
+	 *
+	 * @param type The alert type.
+	 * @return The number of alerts waiting to be summarized, including this one.
+	 */
+	public int suppress(AlertifyType type) {
+		return suppressed.incrementAndGet(type.ordinal());
+	}
+
+	/**
+	 * Take the count of alerts waiting to be summarized.
+	 *
+	 * @param type The alert type.
+	 * @return The number of alerts, which is reset to 0.
+	 */
+	public int drainSuppressed(AlertifyType type) {
+		return suppressed.getAndSet(type.ordinal(), 0);
+	}
+
+	/**
+	 * Set the policy for alerts over the limit.
+	 *
+	 * @param policy The throttle policy.
+	 */
+	public void setPolicy(ThrottlePolicy policy) {
+		this.policy = policy;
+	}
+
+	/**
+	 * Get the policy for alerts over the limit.
+	 *
+	 * @return The throttle policy.
+	 */
+	public ThrottlePolicy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * Set the longest delay for {@link ThrottlePolicy#DELAY}. Alerts which would wait longer are dropped.
+	 *
+	 * @param maxDelay The max delay, in milliseconds.
+	 */
+	public void setMaxDelay(long maxDelay) {
+		this.maxDelay = TimeUnit.MILLISECONDS.toNanos(maxDelay);
+	}
+
+	/**
+	 * Get the longest delay for {@link ThrottlePolicy#DELAY}.
+	 *
+	 * @return The max delay, in milliseconds.
+	 */
+	public long getMaxDelay() {
+		return TimeUnit.NANOSECONDS.toMillis(maxDelay);
+	}
+
+	/**
+	 * Get the number of throttled alerts of a type.
+	 *
+	 * @param type The alert type.
+	 * @return The throttled count.
+	 */
+	public long getThrottledCount(AlertifyType type) {
+		return throttled.get(type.ordinal());
+	}
+
+	/**
+	 * Get the total number of throttled alerts.
+	 *
+	 * @return The throttled count.
+	 */
+	public long getThrottledCount() {
+		long total = 0;
+		for (int i = 0; i < throttled.length(); i++) {
+			total += throttled.get(i);
+		}
+		return total;
+	}
+}
@@ -0,0 +1,23 @@
+package org.nikkii.alertify4j.limit;
+
+/**
+ * An enum containing what to do with an alert over its type's rate limit.
+ *
+ * @author Nikki
+ */
+public enum ThrottlePolicy {
+	/**
+	 * Drop the alert.
+	 */
+	DROP,
+
+	/**
+	 * Show the alert once a token is available, or drop it if that's longer than the max delay.
+	 */
+	DELAY,
+
+	/**
+	 * Count the alert, and show a single summary of the throttled alerts once a token is available.
+	 */
+	SUMMARIZE;
+}
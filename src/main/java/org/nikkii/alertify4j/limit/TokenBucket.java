@@ -0,0 +1,91 @@
+package org.nikkii.alertify4j.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket.
+ *
+ * The bucket is tracked as the time it will next be completely full (the generic cell rate algorithm), so the whole
+ * state is a single {@link AtomicLong} and taking a token is one compare-and-set.
+ *
+ * @author Nikki
+ */
+public class TokenBucket {
+
+	/**
+	 * The time it takes to refill one token, in nanoseconds.
+	 */
+	private final long interval;
+
+	/**
+	 * How far ahead of real time the bucket may be drawn down, in nanoseconds. This is what allows bursts.
+	 */
+	private final long tolerance;
+
+	/**
+	 * The time the bucket will be full again, relative to {@link System#nanoTime()}.
+	 */
+	private final AtomicLong fullAt = new AtomicLong(System.nanoTime());
+
+	/**
+	 * Construct a new bucket.
+	 *
+	 * @param rate The number of tokens added per second.
+	 * @param burst The number of tokens the bucket holds.
+	 */
+	public TokenBucket(double rate, int burst) {
+		if (rate <= 0 || burst < 1) {
+			throw new IllegalArgumentException("Rate must be positive and burst at least 1.");
+		}
+		this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+		this.tolerance = interval * burst;
+	}
+
+	/**
+	 * Take a token if one is available.
+	 *
+	 * @return True if a token was taken.
+	 */
+	public boolean tryAcquire() {
+		long now = System.nanoTime();
+
+		for (;;) {
+			long current = fullAt.get();
+			long next = Math.max(current, now) + interval;
+
+			if (next - now > tolerance) {
+				return false;
+			}
+
+			if (fullAt.compareAndSet(current, next)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Reserve the next token, even if it won't be available for a while.
+	 *
+	 * @param maxWait The longest wait allowed, in nanoseconds.
+	 * @return The time until the reserved token is available in nanoseconds, 0 if it's available now, or -1 if the
+	 * wait would be longer than the max and nothing was reserved.
+	 */
+	public long reserve(long maxWait) {
+		long now = System.nanoTime();
+
+		for (;;) {
+			long current = fullAt.get();
+			long next = Math.max(current, now) + interval;
+			long wait = next - now - tolerance;
+
+			if (wait > maxWait) {
+				return -1;
+			}
+
+			if (fullAt.compareAndSet(current, next)) {
+				return Math.max(wait, 0);
+			}
+		}
+	}
+}
@@ -0,0 +1,396 @@
+package org.nikkii.alertify4j.metrics;
+
+import org.nikkii.alertify4j.limit.RateLimiter;
+import org.nikkii.alertify4j.queue.AlertCoalescer;
+import org.nikkii.alertify4j.queue.AlertifyQueue;
+import org.nikkii.alertify4j.screen.ScreenRouter;
+import org.nikkii.alertify4j.screen.ScreenStack;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The runtime metrics of an Alertify instance, read through the getters or over JMX once registered.
+ *
+ * Recording is a couple of atomic increments and never locks, so it can be done on the submitting threads and every
+ * animation frame. Counters are striped (see {@link StripedCounter}) so submitting threads don't contend on them. The
+ * throttled and coalesced counts are read from the rate limiter and the coalescer, which live as long as Alertify does.
+ * Alerts dropped or rejected by a pending queue are added to a running total here each frame, so the total keeps
+ * counting when a queue is cleared or replaced.
+ *
+ * @author Nikki
+ */
+public class AlertifyMetrics implements AlertifyMetricsMBean {
+
+	/**
+	 * The JMX domain metrics are registered under.
+	 */
+	public static final String DOMAIN = "org.nikkii.alertify4j";
+
+	/**
+	 * The number of nanoseconds in a millisecond, for converting times.
+	 */
+	private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/**
+	 * The router holding each screen's pending queue.
+	 */
+	private final ScreenRouter screens;
+
+	/**
+	 * The rate limiter.
+	 */
+	private final RateLimiter limiter;
+
+	/**
+	 * The coalescer.
+	 */
+	private final AlertCoalescer coalescer;
+
+	/**
+	 * The number of alerts submitted.
+	 */
+	private final StripedCounter submitted = new StripedCounter();
+
+	/**
+	 * The number of alerts given a window.
+	 */
+	private final StripedCounter shown = new StripedCounter();
+
+	/**
+	 * The number of alerts clicked.
+	 */
+	private final StripedCounter clicked = new StripedCounter();
+
+	/**
+	 * The number of alerts dropped or rejected, before reaching a queue or by one.
+	 */
+	private final StripedCounter dropped = new StripedCounter();
+
+	/**
+	 * The number of frames run.
+	 */
+	private final StripedCounter frames = new StripedCounter();
+
+	/**
+	 * The number of frames which took longer than the frame period.
+	 */
+	private final StripedCounter overruns = new StripedCounter();
+
+	/**
+	 * The time spent in each frame, in nanoseconds.
+	 */
+	private final Histogram frameTime = new Histogram();
+
+	/**
+	 * The time from submission to an alert's window having slid in, in nanoseconds.
+	 */
+	private final Histogram timeToVisible = new Histogram();
+
+	/**
+	 * The time from an alert's window having slid in to it starting to hide, in nanoseconds.
+	 */
+	private final Histogram timeOnScreen = new Histogram();
+
+	/**
+	 * The number of windows on screen, written by the animation thread each frame.
+	 */
+	private volatile int visibleWindows;
+
+	/**
+	 * The number of timers waiting to run, written by the animation thread each frame.
+	 */
+	private volatile int schedulerBacklog;
+
+	/**
+	 * The name this is registered under, or null if it isn't registered.
+	 */
+	private ObjectName name;
+
+	/**
+	 * Construct new metrics.
+	 *
+	 * @param screens The router holding each screen's pending queue.
+	 * @param limiter The rate limiter.
+	 * @param coalescer The coalescer.
+	 */
+	public AlertifyMetrics(ScreenRouter screens, RateLimiter limiter, AlertCoalescer coalescer) {
+		this.screens = screens;
+		this.limiter = limiter;
+		this.coalescer = coalescer;
+	}
+
+	/**
+	 * Register these metrics with the platform MBean server, replacing any registered under the same name.
+	 *
+	 * @param name The instance name, used as the name key of the object name.
+	 * @throws JMException If registration fails.
+	 */
+	public synchronized void register(String name) throws JMException {
+		unregister();
+
+		ObjectName objectName = new ObjectName(DOMAIN + ":type=Alertify,name=" + ObjectName.quote(name));
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+		if (server.isRegistered(objectName)) {
+			server.unregisterMBean(objectName);
+		}
+
+		server.registerMBean(this, objectName);
+		this.name = objectName;
+	}
+
+	/**
+	 * Unregister these metrics from the platform MBean server, if they're registered.
+	 *
+	 * @throws JMException If unregistration fails.
+	 */
+	public synchronized void unregister() throws JMException {
+		if (name == null) {
+			return;
+		}
+
+		ObjectName objectName = name;
+		name = null;
+
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		if (server.isRegistered(objectName)) {
+			server.unregisterMBean(objectName);
+		}
+	}
+
+	/**
+	 * Get the name these metrics are registered under.
+	 *
+	 * @return The object name, or null if they aren't registered.
+	 */
+	public synchronized ObjectName getObjectName() {
+		return name;
+	}
+
+	/**
+	 * Count a submitted alert.
+	 */
+	public void recordSubmitted() {
+		submitted.increment();
+	}
+
+	/**
+	 * Count an alert given a window.
+	 */
+	public void recordShown() {
+		shown.increment();
+	}
+
+	/**
+	 * Count a clicked alert.
+	 */
+	public void recordClicked() {
+		clicked.increment();
+	}
+
+	/**
+	 * Count an alert rejected before reaching the queue, because the request buffer was full or Alertify was shut down or
+	 * cleared.
+	 */
+	public void recordRejected() {
+		dropped.increment();
+	}
+
+	/**
+	 * Count alerts dropped or rejected by a pending queue. Called each frame, and before a queue is thrown away.
+	 *
+	 * @param count The number of alerts, from {@link AlertifyQueue#takeDiscardedCount()}.
+	 */
+	public void recordDropped(long count) {
+		dropped.add(count);
+	}
+
+	/**
+	 * Record an animation frame.
+	 *
+	 * @param nanos The time spent in the frame, in nanoseconds.
+	 * @param period The frame period, in nanoseconds. Longer frames are counted as overruns.
+	 */
+	public void recordFrame(long nanos, long period) {
+		frames.increment();
+		frameTime.record(nanos);
+
+		if (nanos > period) {
+			overruns.increment();
+		}
+	}
+
+	/**
+	 * Record the time an alert took to become visible.
+	 *
+	 * @param nanos The time from submission to its window having slid in, in nanoseconds.
+	 */
+	public void recordTimeToVisible(long nanos) {
+		timeToVisible.record(nanos);
+	}
+
+	/**
+	 * Record the time an alert was on screen.
+	 *
+	 * @param nanos The time from its window having slid in to it starting to hide, in nanoseconds.
+	 */
+	public void recordTimeOnScreen(long nanos) {
+		timeOnScreen.record(nanos);
+	}
+
+	/**
+	 * Update the gauges owned by the animation thread. Called at the end of each frame.
+	 *
+	 * @param visibleWindows The number of windows on screen.
+	 * @param schedulerBacklog The number of timers waiting to run.
+	 */
+	public void updateGauges(int visibleWindows, int schedulerBacklog) {
+		// Skip the volatile writes when nothing changed, which is most frames
+		if (this.visibleWindows != visibleWindows) {
+			this.visibleWindows = visibleWindows;
+		}
+		if (this.schedulerBacklog != schedulerBacklog) {
+			this.schedulerBacklog = schedulerBacklog;
+		}
+	}
+
+	@Override
+	public long getSubmittedCount() {
+		return submitted.sum();
+	}
+
+	@Override
+	public long getShownCount() {
+		return shown.sum();
+	}
+
+	@Override
+	public long getClickedCount() {
+		return clicked.sum();
+	}
+
+	@Override
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+
+	@Override
+	public long getThrottledCount() {
+		return limiter.getThrottledCount();
+	}
+
+	@Override
+	public long getCoalescedCount() {
+		return coalescer.getCoalescedCount();
+	}
+
+	@Override
+	public int getVisibleWindows() {
+		return visibleWindows;
+	}
+
+	@Override
+	public int getQueueDepth() {
+		int depth = 0;
+
+		for (ScreenStack stack : screens.getStacks()) {
+			depth += stack.getQueue().size();
+		}
+
+		return depth;
+	}
+
+	@Override
+	public int getSchedulerBacklog() {
+		return schedulerBacklog;
+	}
+
+	@Override
+	public long getFrameCount() {
+		return frames.sum();
+	}
+
+	@Override
+	public long getFrameOverruns() {
+		return overruns.sum();
+	}
+
+	@Override
+	public double getFrameTimeMean() {
+		return frameTime.getMean() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getFrameTime99thPercentile() {
+		return frameTime.getPercentile(99) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getFrameTimeMax() {
+		return frameTime.getMax() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getTimeToVisibleMean() {
+		return timeToVisible.getMean() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getTimeToVisible99thPercentile() {
+		return timeToVisible.getPercentile(99) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getTimeOnScreenMean() {
+		return timeOnScreen.getMean() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getTimeOnScreen99thPercentile() {
+		return timeOnScreen.getPercentile(99) / NANOS_PER_MILLI;
+	}
+
+	/**
+	 * Get the histogram of time spent in each frame, in nanoseconds.
+	 *
+	 * @return The frame time histogram.
+	 */
+	public Histogram getFrameTime() {
+		return frameTime;
+	}
+
+	/**
+	 * Get the histogram of time from submission to an alert's window having slid in, in nanoseconds.
+	 *
+	 * @return The time to visible histogram.
+	 */
+	public Histogram getTimeToVisible() {
+		return timeToVisible;
+	}
+
+	/**
+	 * Get the histogram of time from an alert's window having slid in to it starting to hide, in nanoseconds.
+	 *
+	 * @return The time on screen histogram.
+	 */
+	public Histogram getTimeOnScreen() {
+		return timeOnScreen;
+	}
+
+	@Override
+	public void reset() {
+		submitted.reset();
+		shown.reset();
+		clicked.reset();
+		dropped.reset();
+		frames.reset();
+		overruns.reset();
+		frameTime.reset();
+		timeToVisible.reset();
+		timeOnScreen.reset();
+	}
+}
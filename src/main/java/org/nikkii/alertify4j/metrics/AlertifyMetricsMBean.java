@@ -0,0 +1,144 @@
+package org.nikkii.alertify4j.metrics;
+
+/**
+ * The management interface of {@link AlertifyMetrics}, as shown in JConsole or VisualVM.
+ *
+ * Counts are totals since the metrics were created or last reset. Times are in milliseconds.
+ *
+ * @author Nikki
+ */
+public interface AlertifyMetricsMBean {
+
+	/**
+	 * Get the number of alerts submitted.
+	 *
+	 * @return The submitted count.
+	 */
+	public long getSubmittedCount();
+
+	/**
+	 * Get the number of alerts given a window.
+	 *
+	 * @return The shown count.
+	 */
+	public long getShownCount();
+
+	/**
+	 * Get the number of alerts clicked.
+	 *
+	 * @return The clicked count.
+	 */
+	public long getClickedCount();
+
+	/**
+	 * Get the number of alerts which were never shown because they were dropped from or rejected by the queue, or
+	 * rejected on submission.
+	 *
+	 * @return The dropped count.
+	 */
+	public long getDroppedCount();
+
+	/**
+	 * Get the number of alerts held back by the rate limits.
+	 *
+	 * @return The throttled count.
+	 */
+	public long getThrottledCount();
+
+	/**
+	 * Get the number of alerts folded into an open alert.
+	 *
+	 * @return The coalesced count.
+	 */
+	public long getCoalescedCount();
+
+	/**
+	 * Get the number of windows on screen, as of the last frame.
+	 *
+	 * @return The visible window count.
+	 */
+	public int getVisibleWindows();
+
+	/**
+	 * Get the number of alerts waiting for room on screen.
+	 *
+	 * @return The queue depth.
+	 */
+	public int getQueueDepth();
+
+	/**
+	 * Get the number of timers waiting to run, as of the last frame.
+	 *
+	 * @return The scheduler backlog.
+	 */
+	public int getSchedulerBacklog();
+
+	/**
+	 * Get the number of animation frames run.
+	 *
+	 * @return The frame count.
+	 */
+	public long getFrameCount();
+
+	/**
+	 * Get the number of frames which took longer than the frame period.
+	 *
+	 * @return The overrun count.
+	 */
+	public long getFrameOverruns();
+
+	/**
+	 * Get the mean time spent in a frame.
+	 *
+	 * @return The mean frame time.
+	 */
+	public double getFrameTimeMean();
+
+	/**
+	 * Get the 99th percentile of the time spent in a frame.
+	 *
+	 * @return The 99th percentile frame time.
+	 */
+	public double getFrameTime99thPercentile();
+
+	/**
+	 * Get the longest time spent in a frame.
+	 *
+	 * @return The maximum frame time.
+	 */
+	public double getFrameTimeMax();
+
+	/**
+	 * Get the mean time from an alert being submitted to its window having slid in.
+	 *
+	 * @return The mean time to visible.
+	 */
+	public double getTimeToVisibleMean();
+
+	/**
+	 * Get the 99th percentile of the time from an alert being submitted to its window having slid in.
+	 *
+	 * @return The 99th percentile time to visible.
+	 */
+	public double getTimeToVisible99thPercentile();
+
+	/**
+	 * Get the mean time from an alert's window having slid in to it starting to hide.
+	 *
+	 * @return The mean time on screen.
+	 */
+	public double getTimeOnScreenMean();
+
+	/**
+	 * Get the 99th percentile of the time from an alert's window having slid in to it starting to hide.
+	 *
+	 * @return The 99th percentile time on screen.
+	 */
+	public double getTimeOnScreen99thPercentile();
+
+	/**
+	 * Reset the counters and histograms kept by the metrics. Counters kept by the queue, rate limiter and coalescer
+	 * aren't reset.
+	 */
+	public void reset();
+}
@@ -0,0 +1,144 @@
+package org.nikkii.alertify4j.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of non-negative values, such as durations in nanoseconds.
+ *
+ * Values are counted in power of two buckets, so recording one is a few atomic increments and percentiles are exact to
+ * within a factor of two, which is plenty for telling a 2 ms frame from a 20 ms one. Safe to record into from any
+ * number of threads; reads taken while values are being recorded may be slightly out of step with each other.
+ *
+ * @author Nikki
+ */
+public class Histogram {
+
+	/**
+	 * The number of buckets: one for 0, and one for each bit length of a positive long.
+	 */
+	private static final int BUCKETS = 64;
+
+	/**
+	 * The number of values in each bucket. Bucket n holds values of bit length n, from 2^(n-1) to 2^n - 1.
+	 */
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * The number of values recorded.
+	 */
+	private final AtomicLong count = new AtomicLong();
+
+	/**
+	 * The sum of the values recorded.
+	 */
+	private final AtomicLong sum = new AtomicLong();
+
+	/**
+	 * The largest value recorded.
+	 */
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Record a value.
+	 *
+	 * @param value The value. Negative values are counted as 0.
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+
+		counts.incrementAndGet(64 - Long.numberOfLeadingZeros(value));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+
+		long current;
+		while (value > (current = max.get())) {
+			if (max.compareAndSet(current, value)) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Get the number of values recorded.
+	 *
+	 * @return The count.
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * Get the sum of the values recorded.
+	 *
+	 * @return The sum.
+	 */
+	public long getSum() {
+		return sum.get();
+	}
+
+	/**
+	 * Get the mean of the values recorded.
+	 *
+	 * @return The mean, or 0 if nothing has been recorded.
+	 */
+	public double getMean() {
+		long count = this.count.get();
+		return count == 0 ? 0 : (double) sum.get() / count;
+	}
+
+	/**
+	 * Get the largest value recorded.
+	 *
+	 * @return The maximum, or 0 if nothing has been recorded.
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Get an upper bound of a percentile of the values recorded.
+	 *
+	 * @param percentile The percentile, between 0 and 100.
+	 * @return The top of the bucket the percentile falls in, capped at the maximum, or 0 if nothing has been recorded.
+	 */
+	public long getPercentile(double percentile) {
+		long total = 0;
+		long[] snapshot = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			snapshot[i] = counts.get(i);
+			total += snapshot[i];
+		}
+
+		if (total == 0) {
+			return 0;
+		}
+
+		long rank = (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100);
+		long seen = 0;
+
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += snapshot[i];
+			if (seen >= rank && snapshot[i] > 0) {
+				long top = i == 0 ? 0 : i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+				return Math.min(top, max.get());
+			}
+		}
+
+		return max.get();
+	}
+
+	/**
+	 * Forget all values. Values recorded at the same time may be partly kept.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+		count.set(0);
+		sum.set(0);
+		max.set(0);
+	}
+}
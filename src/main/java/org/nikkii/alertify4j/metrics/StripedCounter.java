@@ -0,0 +1,92 @@
+package org.nikkii.alertify4j.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter which many threads can add to without contending on a single value.
+ *
+ * Java 6 has no LongAdder, so this is a small version of the same idea: each thread adds to one of several stripes,
+ * picked by its id, and reading the count sums the stripes. Stripes are spaced a cache line apart so threads adding to
+ * neighbouring stripes don't share a line. A single AtomicLong would make every submitting thread fight over one cache
+ * line; here they only meet when there are more of them than stripes.
+ *
+ * The sum is not an atomic snapshot: values added while it's being read may or may not be included.
+ *
+ * @author Nikki
+ */
+public class StripedCounter {
+
+	/**
+	 * The number of longs between stripes, so each one sits on its own 64 byte cache line.
+	 */
+	private static final int SPACING = 8;
+
+	/**
+	 * The number of stripes, a power of two of at least twice the number of processors.
+	 */
+	private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * The stripes, each at a multiple of {@link #SPACING}.
+	 */
+	private final AtomicLongArray cells = new AtomicLongArray(STRIPES * SPACING);
+
+	/**
+	 * Add one to the count.
+	 */
+	public void increment() {
+		cells.incrementAndGet(cell());
+	}
+
+	/**
+	 * Add to the count.
+	 *
+	 * @param value The value to add.
+	 */
+	public void add(long value) {
+		if (value != 0) {
+			cells.addAndGet(cell(), value);
+		}
+	}
+
+	/**
+	 * Get the count.
+	 *
+	 * @return The sum of the stripes.
+	 */
+	public long sum() {
+		long sum = 0;
+		for (int i = 0; i < cells.length(); i += SPACING) {
+			sum += cells.get(i);
+		}
+		return sum;
+	}
+
+	/**
+	 * Set the count back to zero. Values added at the same time may be partly kept.
+	 */
+	public void reset() {
+		for (int i = 0; i < cells.length(); i += SPACING) {
+			cells.set(i, 0);
+		}
+	}
+
+	/**
+	 * Get the index of the current thread's stripe.
+	 *
+	 * @return The index.
+	 */
+	private static int cell() {
+		return ((int) Thread.currentThread().getId() & (STRIPES - 1)) * SPACING;
+	}
+
+	/**
+	 * Work out the number of stripes.
+	 *
+	 * @param processors The number of processors.
+	 * @return The number of stripes.
+	 */
+	private static int stripes(int processors) {
+		return Integer.highestOneBit(Math.max(1, Math.min(processors, 32)) * 2 - 1) << 1;
+	}
+}
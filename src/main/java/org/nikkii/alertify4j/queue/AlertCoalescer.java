@@ -0,0 +1,127 @@
+package org.nikkii.alertify4j.queue;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Folds repeats of an alert that is already visible or queued into that alert.
+ *
+ * Open alerts are kept in a concurrent map by {@link AlertKey}, so finding the alert to fold into is O(1) and safe
+ * with any number of producers.
+ *
+ * @author Nikki
+ */
+public class AlertCoalescer {
+
+	/**
+	 * The open alerts, by key.
+	 */
+	private final ConcurrentMap<AlertKey, PendingAlert> alerts = new ConcurrentHashMap<AlertKey, PendingAlert>();
+
+	/**
+	 * The number of alerts folded into an open alert.
+	 */
+	private final AtomicLong coalesced = new AtomicLong();
+
+	/**
+	 * Flag for whether alerts are coalesced at all.
+	 */
+	private volatile boolean enabled = true;
+
+	/**
+	 * Fold a new alert into an open alert with the same key, without tracking it if there isn't one.
+	 *
+	 * @param alert The new alert.
+	 * @return The open alert it was folded into, or null if there's none.
+	 */
+	public PendingAlert fold(PendingAlert alert) {
+		AlertKey key = alert.getKey();
+
+		if (!enabled || key == null) {
+			return null;
+		}
+
+		for (;;) {
+			PendingAlert existing = alerts.get(key);
+
+			if (existing == null) {
+				return null;
+			}
+
+			if (existing.increment()) {
+				coalesced.incrementAndGet();
+				return existing;
+			}
+
+			// Closed but not removed yet
+			alerts.remove(key, existing);
+		}
+	}
+
+	/**
+	 * Track a new alert, or fold it into an open alert with the same key.
+	 *
+	 * @param alert The new alert.
+	 * @return The alert passed in if it's the first of its kind, otherwise the open alert it was folded into.
+	 */
+	public PendingAlert track(PendingAlert alert) {
+		AlertKey key = alert.getKey();
+
+		if (!enabled || key == null) {
+			return alert;
+		}
+
+		alert.setCoalescer(this);
+
+		for (;;) {
+			PendingAlert existing = alerts.putIfAbsent(key, alert);
+
+			if (existing == null) {
+				return alert;
+			}
+
+			if (existing.increment()) {
+				coalesced.incrementAndGet();
+				return existing;
+			}
+
+			// Closed but not removed yet
+			alerts.remove(key, existing);
+		}
+	}
+
+	/**
+	 * Stop tracking an alert. Called when the alert is closed.
+	 *
+	 * @param alert The alert.
+	 */
+	void remove(PendingAlert alert) {
+		alerts.remove(alert.getKey(), alert);
+	}
+
+	/**
+	 * Stop tracking all alerts.
+	 */
+	public void clear() {
+		alerts.clear();
+	}
+
+	/**
+	 * Set whether alerts are coalesced.
+	 *
+	 * @param enabled True to coalesce alerts.
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Get the number of alerts which were folded into an open alert.
+	 *
+	 * @return The coalesced count.
+	 */
+	public long getCoalescedCount() {
+		return coalesced.get();
+	}
+}
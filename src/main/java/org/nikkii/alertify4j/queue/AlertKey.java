@@ -0,0 +1,103 @@
+package org.nikkii.alertify4j.queue;
+
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyType;
+
+import javax.swing.Icon;
+
+/**
+ * The identity of an alert for coalescing: its type, text and icon, or icon key.
+ *
+ * @author Nikki
+ */
+public final class AlertKey {
+
+	/**
+	 * The alert type.
+	 */
+	private final AlertifyType type;
+
+	/**
+	 * The alert text.
+	 */
+	private final String text;
+
+	/**
+	 * The alert icon.
+	 */
+	private final Icon icon;
+
+	/**
+	 * The alert icon key.
+	 */
+	private final String iconKey;
+
+	/**
+	 * The precomputed hash code.
+	 */
+	private final int hash;
+
+	/**
+	 * Construct a new key.
+	 *
+	 * @param type The alert type.
+	 * @param text The alert text.
+	 * @param icon The alert icon.
+	 */
+	public AlertKey(AlertifyType type, String text, Icon icon) {
+		this(type, text, icon, null);
+	}
+
+	/**
+	 * Construct a new key.
+	 *
+	 * @param type The alert type.
+	 * @param text The alert text.
+	 * @param icon The alert icon.
+	 * @param iconKey The alert icon key.
+	 */
+	public AlertKey(AlertifyType type, String text, Icon icon, String iconKey) {
+		this.type = type;
+		this.text = text;
+		this.icon = icon;
+		this.iconKey = iconKey;
+
+		int hash = type.hashCode();
+		hash = hash * 31 + (text != null ? text.hashCode() : 0);
+		hash = hash * 31 + (icon != null ? icon.hashCode() : 0);
+		hash = hash * 31 + (iconKey != null ? iconKey.hashCode() : 0);
+		this.hash = hash;
+	}
+
+	/**
+	 * Create the key for an alert config.
+	 *
+	 * @param config The alert config.
+	 * @return The key.
+	 */
+	public static AlertKey of(AlertifyConfig config) {
+		return new AlertKey(config.getType(), config.getText(), config.getIcon(), config.getIconKey());
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof AlertKey)) {
+			return false;
+		}
+
+		AlertKey other = (AlertKey) obj;
+		return hash == other.hash && type == other.type
+			&& (text == null ? other.text == null : text.equals(other.text))
+			&& (icon == null ? other.icon == null : icon.equals(other.icon))
+			&& (iconKey == null ? other.iconKey == null : iconKey.equals(other.iconKey));
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+}
@@ -0,0 +1,477 @@
+package org.nikkii.alertify4j.queue;
+
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyResult;
+import org.nikkii.alertify4j.AlertifyType;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded priority queue of alerts waiting for room on screen.
+ *
+ * Alerts are kept in one FIFO bucket per {@link AlertifyType#getPriority()}, so the highest priority alert is always
+ * taken first and alerts of the same priority keep their submission order. With a fixed handful of priorities every
+ * operation is O(1).
+ *
+ * Every queued {@link AlertifyConfig} holds a live label, so the queue is capped. Once it's full, an alert which
+ * outranks the lowest priority queued alert replaces the oldest of those, whatever the policy. Otherwise an
+ * {@link OverflowPolicy} decides what happens. Alerts which are dropped or folded into a summary are closed, so repeats
+ * aren't coalesced into them.
+ *
+ * The queue is owned by the animation thread, so it isn't thread safe. Only the settings and counters may be used from
+ * other threads. Nothing ever blocks: with {@link OverflowPolicy#BLOCK} an alert waits beside the queue for a free
+ * slot, and its handle is completed once it gets one or its timeout passes. No more alerts than the capacity may wait
+ * at once.
+ *
+ * @author Nikki
+ */
+public class AlertifyQueue {
+
+	/**
+	 * The default capacity.
+	 */
+	public static final int DEFAULT_CAPACITY = 100;
+
+	/**
+	 * The default time to wait for room with {@link OverflowPolicy#BLOCK}, in milliseconds.
+	 */
+	public static final long DEFAULT_BLOCK_TIMEOUT = 1000;
+
+	/**
+	 * The queued alerts, by priority.
+	 */
+	private final LinkedList<Entry>[] buckets = newBuckets();
+
+	/**
+	 * The alerts waiting for a free slot with {@link OverflowPolicy#BLOCK}, oldest first.
+	 */
+	private final LinkedList<Entry> waiting = new LinkedList<Entry>();
+
+	/**
+	 * The number of queued alerts. Volatile so it can be read from other threads.
+	 */
+	private volatile int size = 0;
+
+	/**
+	 * The maximum number of queued alerts.
+	 */
+	private volatile int capacity = DEFAULT_CAPACITY;
+
+	/**
+	 * The policy used when the queue is full.
+	 */
+	private volatile OverflowPolicy policy = OverflowPolicy.COLLAPSE;
+
+	/**
+	 * The time to wait for room with {@link OverflowPolicy#BLOCK}, in milliseconds.
+	 */
+	private volatile long blockTimeout = DEFAULT_BLOCK_TIMEOUT;
+
+	/**
+	 * The number of alerts queued.
+	 */
+	private final AtomicLong queued = new AtomicLong();
+
+	/**
+	 * The number of alerts dropped.
+	 */
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * The number of alerts rejected.
+	 */
+	private final AtomicLong rejected = new AtomicLong();
+
+	/**
+	 * The number of alerts folded into summaries.
+	 */
+	private final AtomicLong collapsed = new AtomicLong();
+
+	/**
+	 * The number of dropped and rejected alerts already handed out by {@link #takeDiscardedCount()}.
+	 */
+	private long reported;
+
+	/**
+	 * Add an alert to the queue, applying the overflow policy if it's full.
+	 *
+	 * @param alert The alert.
+	 * @return What happened to the alert, or null if it's waiting for a free slot. The alert's handle is completed
+	 * once it gets one or {@link #expire()} finds it has waited too long.
+	 */
+	public AlertifyResult offer(PendingAlert alert) {
+		int priority = alert.getConfig().getType().getPriority();
+
+		if (size < capacity) {
+			return enqueue(new Entry(alert));
+		}
+
+		LinkedList<Entry> lowest = lowestBucket();
+
+		if (priority > lowest.getFirst().priority) {
+			// Make room by dropping the oldest of the lowest priority alerts
+			dropOldest(lowest);
+			return enqueue(new Entry(alert));
+		}
+
+		switch (policy) {
+		case DROP_OLDEST:
+			if (priority == lowest.getFirst().priority) {
+				dropOldest(lowest);
+				return enqueue(new Entry(alert));
+			}
+			// Everything queued outranks the new alert, so it's the one dropped
+			alert.close();
+			dropped.incrementAndGet();
+			return AlertifyResult.DROPPED;
+		case DROP_NEWEST:
+			alert.close();
+			dropped.incrementAndGet();
+			return AlertifyResult.DROPPED;
+		case BLOCK:
+			if (waiting.size() >= capacity) {
+				// Every waiting alert holds a live label too, so they're capped like the queue
+				alert.close();
+				rejected.incrementAndGet();
+				return AlertifyResult.REJECTED;
+			}
+			Entry entry = new Entry(alert);
+			entry.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(blockTimeout);
+			waiting.add(entry);
+			return null;
+		case COLLAPSE:
+			if (priority < lowest.getFirst().priority) {
+				// Nothing of its own priority to fold it into, and a summary of higher priority alerts would misreport it
+				alert.close();
+				dropped.incrementAndGet();
+				return AlertifyResult.DROPPED;
+			}
+			Entry tail = lowest.getLast();
+			if (tail.summarized == 0) {
+				// The tail alert becomes the first alert of the summary
+				tail.alert.close();
+				tail.summarized = tail.alert.getOccurrences();
+				collapsed.incrementAndGet();
+			}
+			alert.close();
+			tail.summarized++;
+			collapsed.incrementAndGet();
+			return AlertifyResult.COLLAPSED;
+		case REJECT:
+			alert.close();
+			rejected.incrementAndGet();
+			return AlertifyResult.REJECTED;
+		default:
+			throw new IllegalStateException("Unknown overflow policy " + policy + ".");
+		}
+	}
+
+	/**
+	 * Take the next alert out of the queue. The oldest waiting alert, if any, takes the freed slot.
+	 *
+	 * @return The alert, or null if the queue is empty.
+	 */
+	public PendingAlert poll() {
+		Entry entry = null;
+		for (int priority = buckets.length - 1; priority >= 0 && entry == null; priority--) {
+			entry = buckets[priority].poll();
+		}
+
+		if (entry == null) {
+			return null;
+		}
+
+		size--;
+		promote();
+
+		if (entry.summarized == 0) {
+			return entry.alert;
+		}
+
+		AlertifyConfig config = entry.alert.getConfig();
+
+		return new PendingAlert(new AlertifyBuilder()
+			.type(config.getType())
+			.text(entry.summarized + " more alerts")
+			.autoClose(config.getCloseDelay())
+			.build(), null);
+	}
+
+	/**
+	 * Reject the waiting alerts whose block timeout has passed. The animation thread sweeps them once a frame while any
+	 * are waiting, so no alert needs a timer of its own.
+	 */
+	public void expire() {
+		long now = System.nanoTime();
+
+		Iterator<Entry> it = waiting.iterator();
+		while (it.hasNext()) {
+			Entry entry = it.next();
+			if (entry.deadline - now <= 0) {
+				it.remove();
+				entry.alert.close();
+				entry.alert.resolve(AlertifyResult.REJECTED);
+				rejected.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Move waiting alerts into the queue while there's room. Alerts which were cancelled or timed out are skipped.
+	 */
+	private void promote() {
+		expire();
+
+		Entry entry;
+		while (size < capacity && (entry = waiting.poll()) != null) {
+			if (entry.alert.isClosed()) {
+				continue;
+			}
+			entry.alert.resolve(enqueue(entry));
+		}
+	}
+
+	/**
+	 * Drop the oldest alert in a bucket.
+	 *
+	 * @param bucket The bucket.
+	 */
+	private void dropOldest(LinkedList<Entry> bucket) {
+		bucket.poll().alert.close();
+		size--;
+		dropped.incrementAndGet();
+	}
+
+	/**
+	 * Add an alert to the queue. Must only be called with room in the queue.
+	 *
+	 * @param entry The alert's entry.
+	 * @return {@link AlertifyResult#QUEUED}.
+	 */
+	private AlertifyResult enqueue(Entry entry) {
+		buckets[entry.priority].add(entry);
+		size++;
+		queued.incrementAndGet();
+		return AlertifyResult.QUEUED;
+	}
+
+	/**
+	 * Get the lowest priority bucket with any alerts in it. Must only be called with a full queue.
+	 *
+	 * @return The bucket.
+	 */
+	private LinkedList<Entry> lowestBucket() {
+		for (LinkedList<Entry> bucket : buckets) {
+			if (!bucket.isEmpty()) {
+				return bucket;
+			}
+		}
+		throw new IllegalStateException("Queue is empty.");
+	}
+
+	/**
+	 * Create the priority buckets.
+	 *
+	 * @return A bucket for each priority.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static LinkedList<Entry>[] newBuckets() {
+		LinkedList<Entry>[] buckets = new LinkedList[AlertifyType.MAX_PRIORITY + 1];
+		for (int i = 0; i < buckets.length; i++) {
+			buckets[i] = new LinkedList<Entry>();
+		}
+		return buckets;
+	}
+
+	/**
+	 * Check if the queue is empty.
+	 *
+	 * @return True, if no alerts are queued.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Get the number of queued alerts. A summary counts as one.
+	 *
+	 * @return The queue size.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Check if any alerts are waiting for a free slot.
+	 *
+	 * @return True, if alerts are waiting.
+	 */
+	public boolean hasWaiting() {
+		return !waiting.isEmpty();
+	}
+
+	/**
+	 * Remove all queued alerts, and reject any waiting ones.
+	 */
+	public void clear() {
+		for (LinkedList<Entry> bucket : buckets) {
+			for (Entry entry : bucket) {
+				entry.alert.close();
+			}
+			bucket.clear();
+		}
+		size = 0;
+
+		for (Entry entry : waiting) {
+			entry.alert.close();
+			entry.alert.resolve(AlertifyResult.REJECTED);
+			rejected.incrementAndGet();
+		}
+		waiting.clear();
+	}
+
+	/**
+	 * Set the maximum number of queued alerts.
+	 *
+	 * @param capacity The capacity.
+	 */
+	public void setCapacity(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be at least 1.");
+		}
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Get the maximum number of queued alerts.
+	 *
+	 * @return The capacity.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Set the policy used when the queue is full.
+	 *
+	 * @param policy The overflow policy.
+	 */
+	public void setOverflowPolicy(OverflowPolicy policy) {
+		this.policy = policy;
+	}
+
+	/**
+	 * Get the policy used when the queue is full.
+	 *
+	 * @return The overflow policy.
+	 */
+	public OverflowPolicy getOverflowPolicy() {
+		return policy;
+	}
+
+	/**
+	 * Set how long to wait for room with {@link OverflowPolicy#BLOCK}.
+	 *
+	 * @param blockTimeout The timeout, in milliseconds.
+	 */
+	public void setBlockTimeout(long blockTimeout) {
+		this.blockTimeout = blockTimeout;
+	}
+
+	/**
+	 * Get how long to wait for room with {@link OverflowPolicy#BLOCK}.
+	 *
+	 * @return The timeout, in milliseconds.
+	 */
+	public long getBlockTimeout() {
+		return blockTimeout;
+	}
+
+	/**
+	 * Get the number of alerts which have been queued.
+	 *
+	 * @return The queued count.
+	 */
+	public long getQueuedCount() {
+		return queued.get();
+	}
+
+	/**
+	 * Get the number of alerts which have been dropped.
+	 *
+	 * @return The dropped count.
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	/**
+	 * Get the number of alerts which have been rejected.
+	 *
+	 * @return The rejected count.
+	 */
+	public long getRejectedCount() {
+		return rejected.get();
+	}
+
+	/**
+	 * Get the number of alerts which have been folded into summaries.
+	 *
+	 * @return The collapsed count.
+	 */
+	public long getCollapsedCount() {
+		return collapsed.get();
+	}
+
+	/**
+	 * Get the number of alerts dropped or rejected since this was last called, so a running total can outlive the
+	 * queue. Must be called on the animation thread.
+	 *
+	 * @return The number of alerts discarded since the last call.
+	 */
+	public long takeDiscardedCount() {
+		long total = dropped.get() + rejected.get();
+		long count = total - reported;
+		reported = total;
+		return count;
+	}
+
+	/**
+	 * A queued alert.
+	 */
+	private static final class Entry {
+		/**
+		 * The alert. For a summary, the first alert it replaced.
+		 */
+		private final PendingAlert alert;
+
+		/**
+		 * The alert priority.
+		 */
+		private final int priority;
+
+		/**
+		 * The number of alerts this summarizes, or 0 if it's a normal alert.
+		 */
+		private int summarized = 0;
+
+		/**
+		 * The time a waiting alert is rejected, from {@link System#nanoTime()}.
+		 */
+		private long deadline;
+
+		/**
+		 * Construct a new entry.
+		 *
+		 * @param alert The alert.
+		 */
+		public Entry(PendingAlert alert) {
+			this.alert = alert;
+			this.priority = alert.getConfig().getType().getPriority();
+		}
+	}
+}
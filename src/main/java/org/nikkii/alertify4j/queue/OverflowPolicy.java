@@ -0,0 +1,36 @@
+package org.nikkii.alertify4j.queue;
+
+/**
+ * An enum containing what to do with an alert when the pending queue is full.
+ *
+ * @author Nikki
+ */
+public enum OverflowPolicy {
+	/**
+	 * Drop the oldest queued alert to make room.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * Drop the new alert.
+	 */
+	DROP_NEWEST,
+
+	/**
+	 * Wait for room in the queue, up to the block timeout, then reject the alert. The submitting thread isn't blocked,
+	 * only the alert's handle is completed late. No more alerts than the queue's capacity may wait at once; the rest
+	 * are rejected straight away.
+	 */
+	BLOCK,
+
+	/**
+	 * Reject the new alert.
+	 */
+	REJECT,
+
+	/**
+	 * Fold the new alert into a summary alert at the end of its priority's queue. If everything queued outranks it,
+	 * there's nothing of its priority to fold it into and it's dropped.
+	 */
+	COLLAPSE;
+}
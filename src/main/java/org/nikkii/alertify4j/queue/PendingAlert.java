@@ -0,0 +1,240 @@
+package org.nikkii.alertify4j.queue;
+
+import org.nikkii.alertify4j.AlertHandle;
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyResult;
+import org.nikkii.alertify4j.ui.AlertifyWindow;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A submitted alert, from being queued until its window is hidden.
+ *
+ * Repeats of the alert are folded into it as long as it's open, by counting occurrences instead of creating new
+ * windows. Once closed it can't be folded into any more.
+ *
+ * @author Nikki
+ */
+public class PendingAlert {
+
+	/**
+	 * The alert config.
+	 */
+	private final AlertifyConfig config;
+
+	/**
+	 * The coalescing key, or null if this alert isn't coalesced.
+	 */
+	private final AlertKey key;
+
+	/**
+	 * The number of occurrences. Negated once the alert is closed.
+	 */
+	private final AtomicInteger occurrences = new AtomicInteger(1);
+
+	/**
+	 * The coalescer tracking this alert, if any.
+	 */
+	private volatile AlertCoalescer coalescer;
+
+	/**
+	 * The window showing this alert, from when it's displayed until the window is released.
+	 */
+	private volatile AlertifyWindow window;
+
+	/**
+	 * Flag for whether an update for a folded repeat is waiting for the animation thread.
+	 */
+	private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+	/**
+	 * The handle returned to the producer, if any.
+	 */
+	private volatile AlertHandle handle;
+
+	/**
+	 * The time this alert was created, from {@link System#nanoTime()}.
+	 */
+	private final long submittedAt = System.nanoTime();
+
+	/**
+	 * The time this alert's window finished sliding in, from {@link System#nanoTime()}, or 0 if it hasn't.
+	 */
+	private volatile long shownAt;
+
+	/**
+	 * Construct a new pending alert.
+	 *
+	 * @param config The alert config.
+	 * @param key The coalescing key, or null if it shouldn't be coalesced.
+	 */
+	public PendingAlert(AlertifyConfig config, AlertKey key) {
+		this.config = config;
+		this.key = key;
+	}
+
+	/**
+	 * Count another occurrence of this alert.
+	 *
+	 * @return False if the alert is already closed.
+	 */
+	public boolean increment() {
+		for (;;) {
+			int count = occurrences.get();
+			if (count < 0) {
+				return false;
+			}
+			if (occurrences.compareAndSet(count, count + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Close this alert, so repeats are no longer folded into it.
+	 */
+	public void close() {
+		for (;;) {
+			int count = occurrences.get();
+			if (count < 0) {
+				return;
+			}
+			if (occurrences.compareAndSet(count, -count)) {
+				break;
+			}
+		}
+
+		AlertCoalescer coalescer = this.coalescer;
+		if (coalescer != null) {
+			coalescer.remove(this);
+		}
+	}
+
+	/**
+	 * Check if this alert has been closed.
+	 *
+	 * @return True, if closed.
+	 */
+	public boolean isClosed() {
+		return occurrences.get() < 0;
+	}
+
+	/**
+	 * Get the number of occurrences.
+	 *
+	 * @return The occurrence count.
+	 */
+	public int getOccurrences() {
+		return Math.abs(occurrences.get());
+	}
+
+	/**
+	 * Get the alert config.
+	 *
+	 * @return The alert config.
+	 */
+	public AlertifyConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * Get the coalescing key.
+	 *
+	 * @return The key, or null if this alert isn't coalesced.
+	 */
+	public AlertKey getKey() {
+		return key;
+	}
+
+	/**
+	 * Set the coalescer tracking this alert.
+	 *
+	 * @param coalescer The coalescer.
+	 */
+	void setCoalescer(AlertCoalescer coalescer) {
+		this.coalescer = coalescer;
+	}
+
+	/**
+	 * Get the window showing this alert.
+	 *
+	 * @return The window, or null if it hasn't been displayed or has been released.
+	 */
+	public AlertifyWindow getWindow() {
+		return window;
+	}
+
+	/**
+	 * Set the window showing this alert.
+	 *
+	 * @param window The window, or null once it's released.
+	 */
+	public void setWindow(AlertifyWindow window) {
+		this.window = window;
+	}
+
+	/**
+	 * Ask for the window to be updated after a repeat was folded in, unless an update is already waiting.
+	 *
+	 * @return True if the caller should hand the update to the animation thread.
+	 */
+	public boolean requestRefresh() {
+		return refreshPending.compareAndSet(false, true);
+	}
+
+	/**
+	 * Clear the waiting update, before it's applied, so repeats folded in while it's applied ask for another.
+	 */
+	public void clearRefresh() {
+		refreshPending.set(false);
+	}
+
+	/**
+	 * Set the handle returned to the producer.
+	 *
+	 * @param handle The handle.
+	 */
+	public void setHandle(AlertHandle handle) {
+		this.handle = handle;
+	}
+
+	/**
+	 * Complete the producer's handle, if there is one.
+	 *
+	 * @param result What happened to the alert.
+	 */
+	public void resolve(AlertifyResult result) {
+		AlertHandle handle = this.handle;
+		if (handle != null) {
+			handle.complete(result);
+		}
+	}
+
+	/**
+	 * Get the time this alert was created.
+	 *
+	 * @return The time, from {@link System#nanoTime()}.
+	 */
+	public long getSubmittedAt() {
+		return submittedAt;
+	}
+
+	/**
+	 * Get the time this alert's window finished sliding in.
+	 *
+	 * @return The time, from {@link System#nanoTime()}, or 0 if it hasn't.
+	 */
+	public long getShownAt() {
+		return shownAt;
+	}
+
+	/**
+	 * Set the time this alert's window finished sliding in.
+	 *
+	 * @param shownAt The time, from {@link System#nanoTime()}.
+	 */
+	public void setShownAt(long shownAt) {
+		this.shownAt = shownAt;
+	}
+}
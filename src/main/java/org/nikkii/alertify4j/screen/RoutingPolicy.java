@@ -0,0 +1,53 @@
+package org.nikkii.alertify4j.screen;
+
+/**
+ * An enum containing how alerts are spread over the screens.
+ *
+ * @author Nikki
+ */
+public enum RoutingPolicy {
+	/**
+	 * Every alert goes to the primary screen, as if there was only one.
+	 */
+	PRIMARY(false),
+
+	/**
+	 * Alerts take turns between the screens, skipping full ones.
+	 */
+	ROUND_ROBIN(true),
+
+	/**
+	 * Each alert goes to the screen with the fewest visible and queued alerts.
+	 */
+	LEAST_LOADED(true),
+
+	/**
+	 * Alerts go to the screen of the focused window, or the screen under the mouse pointer if none of the application's
+	 * windows are focused.
+	 */
+	FOCUSED(false);
+
+	/**
+	 * Flag for whether alerts move to screens with room, rather than waiting for room on the screen they were sent to.
+	 */
+	private final boolean spreading;
+
+	/**
+	 * Construct a new routing policy.
+	 *
+	 * @param spreading Whether alerts move to screens with room.
+	 */
+	private RoutingPolicy(boolean spreading) {
+		this.spreading = spreading;
+	}
+
+	/**
+	 * Check if alerts move to screens with room, rather than waiting for room on the screen they were sent to. Queued
+	 * alerts are then shown on whichever screen frees up first.
+	 *
+	 * @return True, if alerts are spread over the screens with room.
+	 */
+	public boolean isSpreading() {
+		return spreading;
+	}
+}
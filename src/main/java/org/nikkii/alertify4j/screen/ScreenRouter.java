@@ -0,0 +1,397 @@
+package org.nikkii.alertify4j.screen;
+
+import org.nikkii.alertify4j.queue.AlertifyQueue;
+import org.nikkii.alertify4j.ui.AlertifyWindow;
+import org.nikkii.alertify4j.util.ScreenBounds;
+
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.KeyboardFocusManager;
+import java.awt.MouseInfo;
+import java.awt.PointerInfo;
+import java.awt.Rectangle;
+import java.awt.Window;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps a {@link ScreenStack} for every screen, and picks which one each new alert goes to by the routing policy.
+ *
+ * The stacks follow the real screen devices, picking up screens as they're connected and detaching the stacks of
+ * screens which are gone, or a fixed set of virtual screens given by the renderer. Routing is done on the animation
+ * thread; the stacks and policy may be read from any thread.
+ *
+ * @author Nikki
+ */
+public class ScreenRouter {
+
+	/**
+	 * The spacing between windows, given to new stacks.
+	 */
+	private final int spacing;
+
+	/**
+	 * The stacks, the primary screen's first.
+	 */
+	private final List<ScreenStack> stacks = new CopyOnWriteArrayList<ScreenStack>();
+
+	/**
+	 * The stack of the primary screen.
+	 */
+	private volatile ScreenStack primary;
+
+	/**
+	 * The screen devices the stacks were last built for, or null if the screens are virtual.
+	 */
+	private GraphicsDevice[] devices;
+
+	/**
+	 * How alerts are spread over the screens.
+	 */
+	private volatile RoutingPolicy policy = RoutingPolicy.PRIMARY;
+
+	/**
+	 * The index of the stack the next round robin alert tries first.
+	 */
+	private int cursor = 0;
+
+	/**
+	 * The alerts dropped or rejected by the queues of stacks which have been removed, not yet taken. Only used on the
+	 * animation thread.
+	 */
+	private long retired = 0;
+
+	/**
+	 * Construct a new router, with a stack for every real screen.
+	 *
+	 * @param spacing The spacing between windows, in pixels.
+	 */
+	public ScreenRouter(int spacing) {
+		this.spacing = spacing;
+	}
+
+	/**
+	 * Replace all stacks, with one for every real screen or one for every virtual screen. The new queues keep the primary
+	 * screen's queue settings. Must be called on the animation thread, with no windows showing.
+	 *
+	 * @param screens The virtual screens, or null to follow the real screens.
+	 */
+	public void setScreens(Rectangle[] screens) {
+		for (ScreenStack stack : stacks) {
+			retired += stack.getQueue().takeDiscardedCount();
+		}
+
+		stacks.clear();
+		devices = null;
+		cursor = 0;
+
+		if (screens == null) {
+			refresh();
+			return;
+		}
+
+		for (Rectangle screen : screens) {
+			ScreenBounds bounds = new ScreenBounds();
+			bounds.setFixed(screen);
+			stacks.add(newStack(bounds));
+		}
+
+		primary = stacks.get(0);
+	}
+
+	/**
+	 * Pick up screens which were connected, and detach the stacks of screens which are gone. Does nothing for virtual
+	 * screens. Must be called on the animation thread.
+	 *
+	 * @return True, if the screens changed.
+	 */
+	public boolean refresh() {
+		if (devices == null && !stacks.isEmpty()) {
+			return false;
+		}
+
+		GraphicsEnvironment environment = GraphicsEnvironment.getLocalGraphicsEnvironment();
+		GraphicsDevice[] current = environment.getScreenDevices();
+
+		if (Arrays.equals(current, devices)) {
+			return false;
+		}
+
+		List<GraphicsDevice> connected = Arrays.asList(current);
+		for (ScreenStack stack : stacks) {
+			if (!connected.contains(stack.getDevice())) {
+				stack.detach();
+			} else {
+				// The remaining screens may have moved or resized along with the change
+				stack.getScreenBounds().invalidate();
+			}
+		}
+
+		GraphicsDevice main = environment.getDefaultScreenDevice();
+		for (GraphicsDevice device : current) {
+			if (find(device) == null) {
+				ScreenStack stack = newStack(new ScreenBounds(device));
+				if (device == main) {
+					stacks.add(0, stack);
+				} else {
+					stacks.add(stack);
+				}
+			}
+		}
+
+		primary = find(main);
+		devices = current;
+		return true;
+	}
+
+	/**
+	 * Create a stack for a screen, with the same queue settings as the primary screen's.
+	 *
+	 * @param bounds The cached usable area of the screen.
+	 * @return The stack.
+	 */
+	private ScreenStack newStack(ScreenBounds bounds) {
+		ScreenStack stack = new ScreenStack(bounds, spacing);
+
+		if (primary != null) {
+			AlertifyQueue from = primary.getQueue();
+			AlertifyQueue to = stack.getQueue();
+
+			to.setCapacity(from.getCapacity());
+			to.setOverflowPolicy(from.getOverflowPolicy());
+			to.setBlockTimeout(from.getBlockTimeout());
+		}
+
+		return stack;
+	}
+
+	/**
+	 * Drop detached stacks which have nothing left on them. Must be called on the animation thread.
+	 */
+	public void prune() {
+		for (ScreenStack stack : stacks) {
+			if (!stack.isAttached() && stack.getWindows().isEmpty() && stack.getQueue().isEmpty()) {
+				retired += stack.getQueue().takeDiscardedCount();
+				stacks.remove(stack);
+			}
+		}
+	}
+
+	/**
+	 * Pick the stack a new alert goes to. Must be called on the animation thread.
+	 *
+	 * @return The stack.
+	 */
+	public ScreenStack route() {
+		switch (policy) {
+		case ROUND_ROBIN:
+			return roundRobin();
+		case LEAST_LOADED:
+			return leastLoaded();
+		case FOCUSED:
+			return focused();
+		default:
+			return primary;
+		}
+	}
+
+	/**
+	 * Pick the next screen in turn which has room, or the next one in turn if none do.
+	 *
+	 * @return The stack.
+	 */
+	private ScreenStack roundRobin() {
+		int count = stacks.size();
+		ScreenStack first = null;
+
+		for (int i = 0; i < count; i++) {
+			ScreenStack stack = stacks.get((cursor + i) % count);
+
+			if (!stack.isAttached()) {
+				continue;
+			}
+
+			if (stack.hasRoom(stack.getBounds())) {
+				cursor = (cursor + i + 1) % count;
+				return stack;
+			}
+
+			if (first == null) {
+				first = stack;
+			}
+		}
+
+		cursor = (cursor + 1) % count;
+		return first != null ? first : primary;
+	}
+
+	/**
+	 * Pick the screen with the fewest alerts out of those with room, or out of all of them if none have room.
+	 *
+	 * @return The stack.
+	 */
+	private ScreenStack leastLoaded() {
+		ScreenStack best = null;
+		boolean bestRoom = false;
+		int bestLoad = 0;
+
+		for (ScreenStack stack : stacks) {
+			if (!stack.isAttached()) {
+				continue;
+			}
+
+			boolean room = stack.hasRoom(stack.getBounds());
+			int load = stack.getLoad();
+
+			if (best == null || room && !bestRoom || room == bestRoom && load < bestLoad) {
+				best = stack;
+				bestRoom = room;
+				bestLoad = load;
+			}
+		}
+
+		return best != null ? best : primary;
+	}
+
+	/**
+	 * Pick the screen of the focused window, or the screen under the mouse pointer.
+	 *
+	 * @return The stack, or the primary screen's if neither can be found.
+	 */
+	private ScreenStack focused() {
+		ScreenStack stack = find(focusedDevice());
+		return stack != null && stack.isAttached() ? stack : primary;
+	}
+
+	/**
+	 * Find the device of the focused window, or the device under the mouse pointer.
+	 *
+	 * @return The device, or null if there's neither.
+	 */
+	private static GraphicsDevice focusedDevice() {
+		Window window = KeyboardFocusManager.getCurrentKeyboardFocusManager().getActiveWindow();
+
+		if (window != null) {
+			GraphicsConfiguration configuration = window.getGraphicsConfiguration();
+			if (configuration != null) {
+				return configuration.getDevice();
+			}
+		}
+
+		if (GraphicsEnvironment.isHeadless()) {
+			return null;
+		}
+
+		PointerInfo pointer = MouseInfo.getPointerInfo();
+		return pointer != null ? pointer.getDevice() : null;
+	}
+
+	/**
+	 * Find the stack of a screen device.
+	 *
+	 * @param device The device.
+	 * @return The stack, or null if there's none.
+	 */
+	private ScreenStack find(GraphicsDevice device) {
+		if (device == null) {
+			return null;
+		}
+
+		for (ScreenStack stack : stacks) {
+			if (stack.getDevice() == device) {
+				return stack;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Find the stack with the most queued alerts, for a screen with room to take one from.
+	 *
+	 * @return The stack, or null if nothing is queued.
+	 */
+	public ScreenStack busiest() {
+		ScreenStack busiest = null;
+
+		for (ScreenStack stack : stacks) {
+			if (!stack.getQueue().isEmpty() && (busiest == null
+					|| stack.getQueue().size() > busiest.getQueue().size())) {
+				busiest = stack;
+			}
+		}
+
+		return busiest;
+	}
+
+	/**
+	 * Find the stack a window is on. Must be called on the animation thread.
+	 *
+	 * @param window The window.
+	 * @return The stack, or null if the window isn't on any.
+	 */
+	public ScreenStack stackOf(AlertifyWindow window) {
+		for (ScreenStack stack : stacks) {
+			if (stack.getWindows().contains(window)) {
+				return stack;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Get the number of alerts dropped or rejected by the queues since this was last called, including the queues of
+	 * stacks which have since been removed. Must be called on the animation thread.
+	 *
+	 * @return The number of alerts.
+	 */
+	public long takeDiscardedCount() {
+		long count = retired;
+		retired = 0;
+
+		for (ScreenStack stack : stacks) {
+			count += stack.getQueue().takeDiscardedCount();
+		}
+
+		return count;
+	}
+
+	/**
+	 * Get the stacks.
+	 *
+	 * @return The stacks, the primary screen's first.
+	 */
+	public List<ScreenStack> getStacks() {
+		return stacks;
+	}
+
+	/**
+	 * Get the stack of the primary screen.
+	 *
+	 * @return The stack.
+	 */
+	public ScreenStack getPrimary() {
+		return primary;
+	}
+
+	/**
+	 * Set how alerts are spread over the screens.
+	 *
+	 * @param policy The routing policy.
+	 */
+	public void setPolicy(RoutingPolicy policy) {
+		this.policy = policy;
+	}
+
+	/**
+	 * Get how alerts are spread over the screens.
+	 *
+	 * @return The routing policy.
+	 */
+	public RoutingPolicy getPolicy() {
+		return policy;
+	}
+}
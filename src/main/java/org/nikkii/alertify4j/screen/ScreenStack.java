@@ -0,0 +1,189 @@
+package org.nikkii.alertify4j.screen;
+
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.layout.StackLayout;
+import org.nikkii.alertify4j.queue.AlertifyQueue;
+import org.nikkii.alertify4j.queue.PendingAlert;
+import org.nikkii.alertify4j.ui.AlertifyWindow;
+import org.nikkii.alertify4j.util.ScreenBounds;
+
+import java.awt.GraphicsDevice;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * The alerts on one screen: the stack of visible windows, the windows being removed, and the queue of alerts waiting
+ * for room.
+ *
+ * Every screen is laid out on its own, from the bottom right corner of its usable area. Like the rest of the layout
+ * state it's owned by the animation thread, apart from the bounds and the queue's settings and counters.
+ *
+ * @author Nikki
+ */
+public class ScreenStack {
+
+	/**
+	 * The cached usable area of the screen.
+	 */
+	private final ScreenBounds bounds;
+
+	/**
+	 * The stack of visible windows, which keeps the running offset of each window from the bottom of the screen.
+	 */
+	private final StackLayout<AlertifyWindow> windows;
+
+	/**
+	 * The list of windows being removed. This is used to make sure no windows are moved while we're removing them.
+	 */
+	private final List<AlertifyWindow> removing = new LinkedList<AlertifyWindow>();
+
+	/**
+	 * The visible alerts which aren't being hidden, by priority and oldest first.
+	 */
+	private final List<LinkedList<PendingAlert>> visible = new ArrayList<LinkedList<PendingAlert>>();
+
+	/**
+	 * The bounded priority queue of windows which won't fit on this screen until we close a couple.
+	 */
+	private final AlertifyQueue queue = new AlertifyQueue();
+
+	/**
+	 * Flag for whether the screen is still connected. New alerts aren't sent to detached screens.
+	 */
+	private volatile boolean attached = true;
+
+	/**
+	 * Construct a new stack.
+	 *
+	 * @param bounds The cached usable area of the screen.
+	 * @param spacing The spacing between windows, in pixels.
+	 */
+	public ScreenStack(ScreenBounds bounds, int spacing) {
+		this.bounds = bounds;
+		this.windows = new StackLayout<AlertifyWindow>(spacing);
+
+		for (int priority = 0; priority <= AlertifyType.MAX_PRIORITY; priority++) {
+			visible.add(new LinkedList<PendingAlert>());
+		}
+	}
+
+	/**
+	 * Check if there's room on this screen for another window.
+	 *
+	 * @param screen The screen bounds, from {@link #getBounds()}.
+	 * @return True, if another window can be shown.
+	 */
+	public boolean hasRoom(Rectangle screen) {
+		return windows.getTotalHeight() <= screen.height;
+	}
+
+	/**
+	 * Get the number of visible and queued alerts.
+	 *
+	 * @return The load.
+	 */
+	public int getLoad() {
+		return windows.size() + queue.size();
+	}
+
+	/**
+	 * Forget all windows and empty the queue.
+	 */
+	public void clear() {
+		windows.clear();
+		removing.clear();
+
+		for (LinkedList<PendingAlert> alerts : visible) {
+			for (PendingAlert alert : alerts) {
+				// Their windows are being released, so repeats mustn't reach them
+				alert.close();
+				alert.setWindow(null);
+			}
+			alerts.clear();
+		}
+
+		queue.clear();
+	}
+
+	/**
+	 * Get the usable area of the screen.
+	 *
+	 * @return A copy of the cached bounds.
+	 */
+	public Rectangle getBounds() {
+		return bounds.get();
+	}
+
+	/**
+	 * Get the screen bounds cache, for example to invalidate it after the screen insets change.
+	 *
+	 * @return The screen bounds cache.
+	 */
+	public ScreenBounds getScreenBounds() {
+		return bounds;
+	}
+
+	/**
+	 * Get the screen device.
+	 *
+	 * @return The device, or null for the primary screen or a virtual one.
+	 */
+	public GraphicsDevice getDevice() {
+		return bounds.getDevice();
+	}
+
+	/**
+	 * Get the stack of visible windows.
+	 *
+	 * @return The stack layout.
+	 */
+	public StackLayout<AlertifyWindow> getWindows() {
+		return windows;
+	}
+
+	/**
+	 * Get the windows being removed.
+	 *
+	 * @return The windows.
+	 */
+	public List<AlertifyWindow> getRemoving() {
+		return removing;
+	}
+
+	/**
+	 * Get the visible alerts of a priority which aren't being hidden.
+	 *
+	 * @param priority The priority.
+	 * @return The alerts, oldest first.
+	 */
+	public LinkedList<PendingAlert> getVisible(int priority) {
+		return visible.get(priority);
+	}
+
+	/**
+	 * Get the pending queue, to configure its capacity and overflow policy or check its counters.
+	 *
+	 * @return The pending queue.
+	 */
+	public AlertifyQueue getQueue() {
+		return queue;
+	}
+
+	/**
+	 * Mark the screen as disconnected, so no new alerts are sent to it.
+	 */
+	void detach() {
+		attached = false;
+	}
+
+	/**
+	 * Check if the screen is still connected.
+	 *
+	 * @return True, if new alerts may be sent to it.
+	 */
+	public boolean isAttached() {
+		return attached;
+	}
+}
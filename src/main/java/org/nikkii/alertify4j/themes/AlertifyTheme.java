@@ -5,7 +5,7 @@ import org.nikkii.alertify4j.AlertifyType;
 
 import javax.swing.JPanel;
 import java.awt.Font;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
@@ -16,7 +16,7 @@ public abstract class AlertifyTheme {
 	/**
 	 * The color map.
 	 */
-	private Map<AlertifyType, AlertifyColorPair> colorsMap = new HashMap<AlertifyType, AlertifyColorPair>();
+	private Map<AlertifyType, AlertifyColorPair> colorsMap = new EnumMap<AlertifyType, AlertifyColorPair>(AlertifyType.class);
 
 	/**
 	 * Put a color type into the map.
@@ -36,15 +36,13 @@ public abstract class AlertifyTheme {
 	 * @return The color pair.
 	 */
 	public AlertifyColorPair getColors(AlertifyType type) {
-		if (!colorsMap.containsKey(type)) {
-			if (type == AlertifyType.LOG) {
-				return null; // Nothing we can do!
-			}
+		AlertifyColorPair colors = colorsMap.get(type);
 
-			return colorsMap.get(AlertifyType.LOG);
+		if (colors == null && type != AlertifyType.LOG) {
+			colors = colorsMap.get(AlertifyType.LOG); // Null if LOG isn't there either, nothing we can do!
 		}
 
-		return colorsMap.get(type);
+		return colors;
 	}
 
 	/**
@@ -54,7 +52,17 @@ public abstract class AlertifyTheme {
 	public abstract Font getFont();
 
 	/**
-	 * Called to configure the extra window properties besides colors.
+	 * Get the size icons from the {@link org.nikkii.alertify4j.ui.IconCache} are scaled to.
+	 *
+	 * @return The length of the longest side, in pixels, or 0 to keep icons at their own size.
+	 */
+	public int getIconSize() {
+		return 24;
+	}
+
+	/**
+	 * Called to configure the extra window properties besides colors. This is called once per window for each
+	 * {@link ThemeSnapshot}, so it shouldn't change anything which depends on the alert, such as the background.
 	 *
 	 * Note: The window itself has no style properties, only the content panel.
 	 *
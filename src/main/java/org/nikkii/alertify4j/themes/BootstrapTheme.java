@@ -4,6 +4,7 @@ import org.nikkii.alertify4j.AlertifyColorPair;
 import org.nikkii.alertify4j.AlertifyType;
 
 import javax.swing.JPanel;
+import javax.swing.border.Border;
 import javax.swing.border.EmptyBorder;
 import java.awt.Color;
 import java.awt.Font;
@@ -19,6 +20,11 @@ public class BootstrapTheme extends AlertifyTheme {
 	 */
 	private static final Font ALERT_FONT = new Font("SansSerif", Font.PLAIN, 16);
 
+	/**
+	 * The content border, shared by every alert.
+	 */
+	private static final Border CONTENT_BORDER = new EmptyBorder(15, 30, 15, 30);
+
 	/**
 	 * The color for a "LOG" alert (Bootstrap 2 btn-inverse).
 	 */
@@ -57,7 +63,7 @@ public class BootstrapTheme extends AlertifyTheme {
 
 	@Override
 	public void configure(JPanel content) {
-		content.setBorder(new EmptyBorder(15, 30, 15, 30));
+		content.setBorder(CONTENT_BORDER);
 	}
 
 	@Override
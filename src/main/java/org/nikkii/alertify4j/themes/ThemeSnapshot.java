@@ -0,0 +1,159 @@
+package org.nikkii.alertify4j.themes;
+
+import org.nikkii.alertify4j.AlertifyColorPair;
+import org.nikkii.alertify4j.AlertifyType;
+
+import javax.swing.JPanel;
+import javax.swing.border.Border;
+import java.awt.Font;
+import java.awt.Insets;
+
+/**
+ * An immutable copy of everything a theme gives an alert, worked out once when the theme is set.
+ *
+ * Colors are resolved for every type up front, including the fall back to LOG, and kept in an array indexed by
+ * {@link AlertifyType#ordinal()}. The content border and insets are found by configuring a spare panel once, so
+ * measuring an alert doesn't need to touch the theme at all. All fields are final, so a snapshot can be handed to any
+ * thread through a volatile field and swapped in one write while alerts are being shown.
+ *
+ * Changes made to the theme after the snapshot is taken aren't seen until it's set again.
+ *
+ * @author Nikki
+ */
+public final class ThemeSnapshot {
+
+	/**
+	 * The theme this was taken from.
+	 */
+	private final AlertifyTheme theme;
+
+	/**
+	 * The resolved color pairs, by type ordinal. Null where the theme doesn't support a type.
+	 */
+	private final AlertifyColorPair[] colors;
+
+	/**
+	 * The theme font.
+	 */
+	private final Font font;
+
+	/**
+	 * The content border the theme sets, or null.
+	 */
+	private final Border border;
+
+	/**
+	 * The content insets the theme sets.
+	 */
+	private final Insets insets;
+
+	/**
+	 * The icon size.
+	 */
+	private final int iconSize;
+
+	/**
+	 * Take a snapshot of a theme.
+	 *
+	 * @param theme The theme.
+	 */
+	public ThemeSnapshot(AlertifyTheme theme) {
+		this.theme = theme;
+
+		AlertifyType[] types = AlertifyType.values();
+		this.colors = new AlertifyColorPair[types.length];
+		for (AlertifyType type : types) {
+			colors[type.ordinal()] = theme.getColors(type);
+		}
+
+		this.font = theme.getFont();
+		this.iconSize = theme.getIconSize();
+
+		JPanel panel = new JPanel();
+		theme.configure(panel);
+		this.border = panel.getBorder();
+		this.insets = panel.getInsets();
+	}
+
+	/**
+	 * Get the theme this was taken from.
+	 *
+	 * @return The theme.
+	 */
+	public AlertifyTheme getTheme() {
+		return theme;
+	}
+
+	/**
+	 * Get the color pair for a type, falling back to LOG.
+	 *
+	 * @param type The alert type.
+	 * @return The color pair, or null if the theme doesn't support the type.
+	 */
+	public AlertifyColorPair getColors(AlertifyType type) {
+		return colors[type.ordinal()];
+	}
+
+	/**
+	 * Get the theme font.
+	 *
+	 * @return The font.
+	 */
+	public Font getFont() {
+		return font;
+	}
+
+	/**
+	 * Get the content border the theme sets.
+	 *
+	 * @return The border, or null if the theme doesn't set one.
+	 */
+	public Border getBorder() {
+		return border;
+	}
+
+	/**
+	 * Get the content insets the theme sets.
+	 *
+	 * @return A copy of the insets.
+	 */
+	public Insets getInsets() {
+		return (Insets) insets.clone();
+	}
+
+	/**
+	 * Get the total width of the content insets, without copying them.
+	 *
+	 * @return The left and right insets.
+	 */
+	public int getInsetWidth() {
+		return insets.left + insets.right;
+	}
+
+	/**
+	 * Get the total height of the content insets, without copying them.
+	 *
+	 * @return The top and bottom insets.
+	 */
+	public int getInsetHeight() {
+		return insets.top + insets.bottom;
+	}
+
+	/**
+	 * Get the size icons are scaled to.
+	 *
+	 * @return The length of the longest side, or 0 to keep icons at their own size.
+	 */
+	public int getIconSize() {
+		return iconSize;
+	}
+
+	/**
+	 * Configure a content panel, when a window is first bound with this snapshot.
+	 *
+	 * @param content The content panel.
+	 */
+	public void configure(JPanel content) {
+		theme.configure(content);
+	}
+}
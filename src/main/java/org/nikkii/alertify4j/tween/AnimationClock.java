@@ -0,0 +1,293 @@
+package org.nikkii.alertify4j.tween;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A frame clock which measures the real time between frames and passes it to a {@link FrameListener}.
+ *
+ * Frames are scheduled at a fixed target rate. If a frame runs late (load, GC pauses) the next delta is simply larger,
+ * so animations keep their real duration instead of slowing down. After a long stall the delta is capped so animations
+ * don't jump straight to their end, and the frames which were missed are counted.
+ *
+ * When the listener reports it has nothing left to animate the thread parks until {@link #wake()} is called, or until the
+ * time the listener asked to be called again (for example when its next timer is due), so an idle clock costs no CPU
+ * at all.
+ *
+ * An exception thrown by the listener is reported with {@link #report(Throwable)} and the clock keeps ticking, since
+ * one bad alert mustn't stop the animations of every other.
+ *
+ * @author Nikki
+ */
+public class AnimationClock implements Runnable {
+
+	/**
+	 * The default target frame rate, matching the old fixed 10ms loop.
+	 */
+	public static final int DEFAULT_FRAME_RATE = 100;
+
+	/**
+	 * The default number of frames worth of time a single update may catch up after a stall.
+	 */
+	public static final int DEFAULT_MAX_CATCH_UP_FRAMES = 5;
+
+	/**
+	 * The listener to call each frame.
+	 */
+	private final FrameListener listener;
+
+	/**
+	 * The target frame period, in nanoseconds.
+	 */
+	private volatile long framePeriod = TimeUnit.SECONDS.toNanos(1) / DEFAULT_FRAME_RATE;
+
+	/**
+	 * The maximum number of frame periods a single delta may contain.
+	 */
+	private volatile int maxCatchUpFrames = DEFAULT_MAX_CATCH_UP_FRAMES;
+
+	/**
+	 * The number of frames run.
+	 */
+	private final AtomicLong frames = new AtomicLong();
+
+	/**
+	 * The number of frames which were missed because a previous frame (or the thread) ran late.
+	 */
+	private final AtomicLong skippedFrames = new AtomicLong();
+
+	/**
+	 * The thread running this clock.
+	 */
+	private volatile Thread thread;
+
+	/**
+	 * Flag set by {@link #wake()}, so a wake up between the idle check and parking isn't lost.
+	 */
+	private final AtomicBoolean wakeRequested = new AtomicBoolean();
+
+	/**
+	 * Flag for whether the clock should keep running.
+	 */
+	private volatile boolean running = false;
+
+	/**
+	 * Report an exception thrown by work done on the animation thread to the current thread's uncaught exception
+	 * handler, without letting it end the thread.
+	 *
+	 * @param t The exception.
+	 */
+	public static void report(Throwable t) {
+		Thread thread = Thread.currentThread();
+		thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+	}
+
+	/**
+	 * Construct a new clock.
+	 *
+	 * @param listener The listener to call each frame.
+	 */
+	public AnimationClock(FrameListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Start the clock thread. The thread is a daemon, so it never keeps the JVM alive.
+	 *
+	 * @param name The thread name.
+	 */
+	public synchronized void start(String name) {
+		if (running) {
+			return;
+		}
+		running = true;
+		thread = new Thread(this, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Stop the clock thread after the current frame.
+	 */
+	public synchronized void stop() {
+		running = false;
+		Thread thread = this.thread;
+		if (thread != null) {
+			thread.interrupt();
+			this.thread = null;
+		}
+	}
+
+	/**
+	 * Wake the clock if it is parked because there was nothing to animate.
+	 */
+	public void wake() {
+		if (!wakeRequested.getAndSet(true)) {
+			Thread thread = this.thread;
+			if (thread != null) {
+				LockSupport.unpark(thread);
+			}
+		}
+	}
+
+	/**
+	 * Check if the clock is running.
+	 *
+	 * @return True, if the clock thread is running.
+	 */
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public void run() {
+		long last = System.nanoTime();
+		long deadline = last;
+
+		while (running) {
+			long period = framePeriod;
+
+			deadline += period;
+			parkUntil(deadline);
+
+			if (Thread.interrupted()) {
+				break;
+			}
+
+			long now = System.nanoTime();
+			long elapsed = now - last;
+			last = now;
+
+			if (elapsed >= period * 2) {
+				skippedFrames.addAndGet(elapsed / period - 1);
+			}
+
+			long maxElapsed = period * maxCatchUpFrames;
+			if (elapsed > maxElapsed) {
+				elapsed = maxElapsed;
+			}
+
+			wakeRequested.set(false);
+
+			long idle;
+			try {
+				idle = listener.onFrame(elapsed / (float) TimeUnit.SECONDS.toNanos(1));
+			} catch (RuntimeException e) {
+				report(e);
+				idle = 0; // Run the next frame, in case the failed one left work behind
+			}
+			frames.incrementAndGet();
+
+			if (idle > 0) {
+				parkIdle(idle);
+
+				if (Thread.interrupted()) {
+					break;
+				}
+
+				// Don't count the idle time as a frame delta, and run the first frame straight away.
+				last = System.nanoTime();
+				deadline = last - framePeriod;
+			} else if (System.nanoTime() - deadline > period) {
+				// If we fell behind, don't try to burst through the missed frames.
+				deadline = System.nanoTime();
+			}
+		}
+	}
+
+	/**
+	 * Park the current thread until {@link #wake()} is called, the timeout passes, or it is interrupted.
+	 *
+	 * @param timeout The timeout in nanoseconds, or {@link FrameListener#IDLE} to wait until woken.
+	 */
+	private void parkIdle(long timeout) {
+		long deadline = System.nanoTime() + timeout;
+
+		while (!wakeRequested.get() && !Thread.currentThread().isInterrupted()) {
+			if (timeout == FrameListener.IDLE) {
+				LockSupport.park(this);
+				continue;
+			}
+
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				break;
+			}
+			LockSupport.parkNanos(this, remaining);
+		}
+	}
+
+	/**
+	 * Park the current thread until the deadline has passed, or it is interrupted.
+	 *
+	 * @param deadline The deadline, relative to {@link System#nanoTime()}.
+	 */
+	private void parkUntil(long deadline) {
+		long remaining;
+		while ((remaining = deadline - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+			LockSupport.parkNanos(this, remaining);
+		}
+	}
+
+	/**
+	 * Set the target frame rate.
+	 *
+	 * @param frameRate The frame rate, in frames per second.
+	 */
+	public void setTargetFrameRate(int frameRate) {
+		if (frameRate <= 0) {
+			throw new IllegalArgumentException("Frame rate must be positive.");
+		}
+		this.framePeriod = TimeUnit.SECONDS.toNanos(1) / frameRate;
+	}
+
+	/**
+	 * Get the target frame rate.
+	 *
+	 * @return The frame rate, in frames per second.
+	 */
+	public int getTargetFrameRate() {
+		return (int) (TimeUnit.SECONDS.toNanos(1) / framePeriod);
+	}
+
+	/**
+	 * Get the target time between frames.
+	 *
+	 * @return The frame period, in nanoseconds.
+	 */
+	public long getFramePeriod() {
+		return framePeriod;
+	}
+
+	/**
+	 * Set how many frames worth of time a single update may catch up after a stall.
+	 *
+	 * @param maxCatchUpFrames The maximum number of frame periods passed in one delta.
+	 */
+	public void setMaxCatchUpFrames(int maxCatchUpFrames) {
+		if (maxCatchUpFrames < 1) {
+			throw new IllegalArgumentException("Catch up frames must be at least 1.");
+		}
+		this.maxCatchUpFrames = maxCatchUpFrames;
+	}
+
+	/**
+	 * Get the number of frames run so far.
+	 *
+	 * @return The frame count.
+	 */
+	public long getFrameCount() {
+		return frames.get();
+	}
+
+	/**
+	 * Get the number of frames which were skipped because the clock ran late.
+	 *
+	 * @return The skipped frame count.
+	 */
+	public long getSkippedFrames() {
+		return skippedFrames.get();
+	}
+}
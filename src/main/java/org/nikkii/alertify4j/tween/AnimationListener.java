@@ -0,0 +1,29 @@
+package org.nikkii.alertify4j.tween;
+
+/**
+ * Listener for the progress of an {@link Animator} animation.
+ *
+ * One listener is meant to be shared by every animation of a kind, such as every slide in, with anything particular to
+ * one animation passed as its tag, so starting an animation doesn't have to create a callback.
+ *
+ * @author Nikki
+ */
+public interface AnimationListener {
+
+	/**
+	 * Called each frame the animation moves its target, after the new location is set. This must not start or cancel
+	 * animations.
+	 *
+	 * @param target The animated target.
+	 * @param tag The tag the animation was started with.
+	 */
+	public void onStep(Positionable target, Object tag);
+
+	/**
+	 * Called once the animation has reached its end. Animations may be started or cancelled from here.
+	 *
+	 * @param target The animated target.
+	 * @param tag The tag the animation was started with.
+	 */
+	public void onComplete(Positionable target, Object tag);
+}
@@ -0,0 +1,169 @@
+package org.nikkii.alertify4j.tween;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs any number of {@link FrameListener}s off one {@link AnimationClock}, so every Alertify instance shares one
+ * thread and one frame tick.
+ *
+ * Each registered listener holds a reference to the clock. The clock is started when the first listener is registered
+ * and stopped when the last one is unregistered, so a process which has shut all of its instances down keeps no
+ * thread around. Every listener is called each frame, and the clock only sleeps for as long as the busiest one allows.
+ * A listener which throws is reported and called again next frame, without keeping the others from running.
+ *
+ * @author Nikki
+ */
+public class AnimationScheduler implements FrameListener {
+
+	/**
+	 * The scheduler shared by all Alertify instances.
+	 */
+	private static final AnimationScheduler shared = new AnimationScheduler("Alertify Animator");
+
+	/**
+	 * Get the scheduler shared by all Alertify instances.
+	 *
+	 * @return The shared scheduler.
+	 */
+	public static AnimationScheduler shared() {
+		return shared;
+	}
+
+	/**
+	 * The name of the clock thread.
+	 */
+	private final String name;
+
+	/**
+	 * The registered listeners, called in order each frame.
+	 */
+	private final List<FrameListener> listeners = new CopyOnWriteArrayList<FrameListener>();
+
+	/**
+	 * The running clock, or null while nothing is registered. A new clock is made each time it's started, so the last
+	 * frame of a stopped clock can't overlap the first frame of the next.
+	 */
+	private volatile AnimationClock clock;
+
+	/**
+	 * The target frame rate, kept across restarts of the clock.
+	 */
+	private volatile int frameRate = AnimationClock.DEFAULT_FRAME_RATE;
+
+	/**
+	 * Construct a new scheduler.
+	 *
+	 * @param name The name of the clock thread.
+	 */
+	public AnimationScheduler(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Register a listener, starting the clock if it's the first one.
+	 *
+	 * @param listener The listener to call each frame.
+	 */
+	public synchronized void register(FrameListener listener) {
+		listeners.add(listener);
+
+		if (clock == null) {
+			AnimationClock clock = new AnimationClock(this);
+			clock.setTargetFrameRate(frameRate);
+			clock.start(name);
+			this.clock = clock;
+		}
+	}
+
+	/**
+	 * Unregister a listener, stopping the clock after the current frame if it was the last one. If called on the clock
+	 * thread, this interrupts it, so it should be the last thing the listener does.
+	 *
+	 * @param listener The listener.
+	 */
+	public synchronized void unregister(FrameListener listener) {
+		if (listeners.remove(listener) && listeners.isEmpty() && clock != null) {
+			clock.stop();
+			clock = null;
+		}
+	}
+
+	/**
+	 * Wake the clock if it is parked because there was nothing to animate.
+	 */
+	public void wake() {
+		AnimationClock clock = this.clock;
+		if (clock != null) {
+			clock.wake();
+		}
+	}
+
+	@Override
+	public long onFrame(float delta) {
+		long idle = IDLE;
+
+		for (FrameListener listener : listeners) {
+			long next;
+			try {
+				next = listener.onFrame(delta);
+			} catch (RuntimeException e) {
+				AnimationClock.report(e);
+				next = 0;
+			}
+
+			if (next < idle) {
+				idle = next;
+			}
+		}
+
+		return idle;
+	}
+
+	/**
+	 * Set the target frame rate of the shared clock.
+	 *
+	 * @param frameRate The frame rate, in frames per second.
+	 */
+	public void setTargetFrameRate(int frameRate) {
+		if (frameRate <= 0) {
+			throw new IllegalArgumentException("Frame rate must be positive.");
+		}
+
+		this.frameRate = frameRate;
+
+		AnimationClock clock = this.clock;
+		if (clock != null) {
+			clock.setTargetFrameRate(frameRate);
+		}
+	}
+
+	/**
+	 * Get the target time between frames.
+	 *
+	 * @return The frame period, in nanoseconds.
+	 */
+	public long getFramePeriod() {
+		AnimationClock clock = this.clock;
+		return clock != null ? clock.getFramePeriod() : TimeUnit.SECONDS.toNanos(1) / frameRate;
+	}
+
+	/**
+	 * Get the number of listeners holding a reference to the clock.
+	 *
+	 * @return The reference count.
+	 */
+	public int getReferenceCount() {
+		return listeners.size();
+	}
+
+	/**
+	 * Get the running clock, mostly useful for checking skipped frames.
+	 *
+	 * @return The clock, or null while nothing is registered.
+	 */
+	public AnimationClock getClock() {
+		return clock;
+	}
+}
@@ -0,0 +1,393 @@
+package org.nikkii.alertify4j.tween;
+
+import java.util.Arrays;
+
+/**
+ * Animates the pending location of {@link Positionable}s, keeping all state in flat primitive arrays.
+ *
+ * Every animated target has a slot, and every slot has two channels, one per axis, so a window can slide out while it
+ * moves down. A channel is stored across parallel arrays indexed by slot * 2 + axis, and the slots are kept packed at
+ * the front, so a frame is one pass over the arrays with one location write per target. Each target keeps its own slot
+ * number, so finding it is a lookup rather than a search. Nothing is allocated per frame, and starting an animation
+ * only allocates when the arrays have to grow.
+ *
+ * Starting an animation on a channel which is already running replaces it from wherever the target is now, without
+ * completing the old one. A listener which throws is reported with {@link AnimationClock#report(Throwable)}, and the
+ * other animations carry on. Everything here must be called on the animation thread.
+ *
+ * @author Nikki
+ */
+public class Animator {
+
+	/**
+	 * The horizontal axis.
+	 */
+	public static final int X = 0;
+
+	/**
+	 * The vertical axis.
+	 */
+	public static final int Y = 1;
+
+	/**
+	 * The number of slots the arrays start with.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * A channel which isn't animating.
+	 */
+	private static final byte IDLE = 0;
+
+	/**
+	 * A channel which is animating.
+	 */
+	private static final byte RUNNING = 1;
+
+	/**
+	 * A channel which has reached its end, and is waiting for its listener to be told.
+	 */
+	private static final byte DONE = 2;
+
+	/**
+	 * The number of slots in use, all at the front of the arrays.
+	 */
+	private int count = 0;
+
+	/**
+	 * The target of each slot.
+	 */
+	private Positionable[] targets = new Positionable[INITIAL_CAPACITY];
+
+	/**
+	 * The state of each channel.
+	 */
+	private byte[] states = new byte[INITIAL_CAPACITY * 2];
+
+	/**
+	 * The position each channel started from.
+	 */
+	private float[] starts = new float[INITIAL_CAPACITY * 2];
+
+	/**
+	 * The position each channel ends at.
+	 */
+	private float[] ends = new float[INITIAL_CAPACITY * 2];
+
+	/**
+	 * The time each channel has run for, in seconds.
+	 */
+	private float[] elapsed = new float[INITIAL_CAPACITY * 2];
+
+	/**
+	 * The time each channel takes, in seconds.
+	 */
+	private float[] durations = new float[INITIAL_CAPACITY * 2];
+
+	/**
+	 * The {@link Easing} curve of each channel.
+	 */
+	private int[] easings = new int[INITIAL_CAPACITY * 2];
+
+	/**
+	 * The listener of each channel, or null.
+	 */
+	private AnimationListener[] listeners = new AnimationListener[INITIAL_CAPACITY * 2];
+
+	/**
+	 * The tag each channel's listener is given.
+	 */
+	private Object[] tags = new Object[INITIAL_CAPACITY * 2];
+
+	/**
+	 * Animate a target along an axis, from where it is now.
+	 *
+	 * @param target The target.
+	 * @param axis The axis, {@link #X} or {@link #Y}.
+	 * @param end The position to end at.
+	 * @param duration The time to take, in seconds.
+	 * @param easing The {@link Easing} curve.
+	 */
+	public void animate(Positionable target, int axis, float end, float duration, int easing) {
+		animate(target, axis, end, duration, easing, null, null);
+	}
+
+	/**
+	 * Animate a target along an axis, from where it is now.
+	 *
+	 * @param target The target.
+	 * @param axis The axis, {@link #X} or {@link #Y}.
+	 * @param end The position to end at.
+	 * @param duration The time to take, in seconds.
+	 * @param easing The {@link Easing} curve.
+	 * @param listener The listener told about each step and the end, or null.
+	 * @param tag The tag given to the listener.
+	 */
+	public void animate(Positionable target, int axis, float end, float duration, int easing,
+			AnimationListener listener, Object tag) {
+		int slot = indexOf(target);
+
+		if (slot == -1) {
+			if (count == targets.length) {
+				grow();
+			}
+
+			slot = count++;
+			targets[slot] = target;
+			target.setAnimatorSlot(slot);
+		}
+
+		int channel = (slot << 1) + axis;
+
+		states[channel] = RUNNING;
+		starts[channel] = axis == X ? target.getPendingX() : target.getPendingY();
+		ends[channel] = end;
+		elapsed[channel] = 0;
+		durations[channel] = duration;
+		easings[channel] = easing;
+		listeners[channel] = listener;
+		tags[channel] = tag;
+	}
+
+	/**
+	 * Advance every animation, move the targets, then tell the listeners of the animations which ended.
+	 *
+	 * @param delta The time since the last update, in seconds.
+	 */
+	public void update(float delta) {
+		for (int slot = 0; slot < count; slot++) {
+			Positionable target = targets[slot];
+			int channel = slot << 1;
+
+			boolean movedX = states[channel] == RUNNING;
+			boolean movedY = states[channel + 1] == RUNNING;
+
+			if (!movedX && !movedY) {
+				continue;
+			}
+
+			int x = movedX ? advance(channel, delta) : target.getPendingX();
+			int y = movedY ? advance(channel + 1, delta) : target.getPendingY();
+
+			target.setPendingLocation(x, y);
+
+			if (movedX) {
+				step(target, channel);
+			}
+			if (movedY) {
+				step(target, channel + 1);
+			}
+		}
+
+		complete();
+	}
+
+	/**
+	 * Tell a channel's listener that its target moved.
+	 *
+	 * @param target The target.
+	 * @param channel The channel.
+	 */
+	private void step(Positionable target, int channel) {
+		AnimationListener listener = listeners[channel];
+
+		if (listener != null) {
+			try {
+				listener.onStep(target, tags[channel]);
+			} catch (RuntimeException e) {
+				AnimationClock.report(e);
+			}
+		}
+	}
+
+	/**
+	 * Advance a channel.
+	 *
+	 * @param channel The channel.
+	 * @param delta The time since the last update, in seconds.
+	 * @return The new position.
+	 */
+	private int advance(int channel, float delta) {
+		float time = elapsed[channel] + delta;
+		float duration = durations[channel];
+
+		if (time >= duration) {
+			elapsed[channel] = duration;
+			states[channel] = DONE;
+			return (int) ends[channel];
+		}
+
+		elapsed[channel] = time;
+
+		float start = starts[channel];
+		return (int) (start + (ends[channel] - start) * Easing.apply(easings[channel], time / duration));
+	}
+
+	/**
+	 * Free the channels which ended, dropping slots with nothing left running, and tell their listeners. Each channel
+	 * is freed before its listener is called, so the listener can start or cancel animations.
+	 */
+	private void complete() {
+		int slot = 0;
+
+		while (slot < count) {
+			int channel = slot << 1;
+
+			if (states[channel] != DONE) {
+				channel++;
+
+				if (states[channel] != DONE) {
+					slot++;
+					continue;
+				}
+			}
+
+			Positionable target = targets[slot];
+			AnimationListener listener = listeners[channel];
+			Object tag = tags[channel];
+
+			clear(channel);
+
+			int first = slot << 1;
+			if (states[first] == IDLE && states[first + 1] == IDLE) {
+				remove(slot);
+			}
+
+			if (listener != null) {
+				try {
+					listener.onComplete(target, tag);
+				} catch (RuntimeException e) {
+					AnimationClock.report(e);
+				}
+			}
+
+			// Check the same slot again, for its other channel or the slot moved into its place
+		}
+	}
+
+	/**
+	 * Stop animating a target, wherever it is, without telling its listeners.
+	 *
+	 * @param target The target.
+	 */
+	public void cancel(Positionable target) {
+		int slot = indexOf(target);
+
+		if (slot != -1) {
+			clear(slot << 1);
+			clear((slot << 1) + 1);
+			remove(slot);
+		}
+	}
+
+	/**
+	 * Stop every animation without telling the listeners.
+	 */
+	public void clear() {
+		while (count > 0) {
+			int slot = count - 1;
+			clear(slot << 1);
+			clear((slot << 1) + 1);
+			remove(slot);
+		}
+	}
+
+	/**
+	 * Check if a target is being animated.
+	 *
+	 * @param target The target.
+	 * @return True, if it has a running animation.
+	 */
+	public boolean isAnimating(Positionable target) {
+		return indexOf(target) != -1;
+	}
+
+	/**
+	 * Get the number of targets being animated.
+	 *
+	 * @return The number of targets.
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Find the slot of a target.
+	 *
+	 * @param target The target.
+	 * @return The slot, or -1 if it isn't being animated.
+	 */
+	private int indexOf(Positionable target) {
+		int slot = target.getAnimatorSlot();
+
+		// A slot the target was given by another animator, or one which has since been reused, doesn't hold it
+		return slot >= 0 && slot < count && targets[slot] == target ? slot : -1;
+	}
+
+	/**
+	 * Free a channel, dropping its references.
+	 *
+	 * @param channel The channel.
+	 */
+	private void clear(int channel) {
+		states[channel] = IDLE;
+		listeners[channel] = null;
+		tags[channel] = null;
+	}
+
+	/**
+	 * Remove a slot whose channels are both idle, moving the last slot into its place.
+	 *
+	 * @param slot The slot.
+	 */
+	private void remove(int slot) {
+		int last = --count;
+
+		targets[slot].setAnimatorSlot(-1);
+
+		if (slot != last) {
+			targets[slot] = targets[last];
+			targets[slot].setAnimatorSlot(slot);
+			move(last << 1, slot << 1);
+			move((last << 1) + 1, (slot << 1) + 1);
+		}
+
+		targets[last] = null;
+		clear(last << 1);
+		clear((last << 1) + 1);
+	}
+
+	/**
+	 * Copy a channel over another.
+	 *
+	 * @param from The channel to copy.
+	 * @param to The channel to overwrite.
+	 */
+	private void move(int from, int to) {
+		states[to] = states[from];
+		starts[to] = starts[from];
+		ends[to] = ends[from];
+		elapsed[to] = elapsed[from];
+		durations[to] = durations[from];
+		easings[to] = easings[from];
+		listeners[to] = listeners[from];
+		tags[to] = tags[from];
+	}
+
+	/**
+	 * Double the number of slots.
+	 */
+	private void grow() {
+		int capacity = targets.length * 2;
+
+		targets = Arrays.copyOf(targets, capacity);
+		states = Arrays.copyOf(states, capacity * 2);
+		starts = Arrays.copyOf(starts, capacity * 2);
+		ends = Arrays.copyOf(ends, capacity * 2);
+		elapsed = Arrays.copyOf(elapsed, capacity * 2);
+		durations = Arrays.copyOf(durations, capacity * 2);
+		easings = Arrays.copyOf(easings, capacity * 2);
+		listeners = Arrays.copyOf(listeners, capacity * 2);
+		tags = Arrays.copyOf(tags, capacity * 2);
+	}
+}
@@ -0,0 +1,128 @@
+package org.nikkii.alertify4j.tween;
+
+/**
+ * The easing curves the {@link Animator} can use, as plain int constants so they can be kept in a primitive array.
+ *
+ * The curves are Robert Penner's equations, the same ones the tween engine used, written out in one static method so
+ * the JIT can inline them into the animator's update loop.
+ *
+ * @author Nikki
+ */
+public final class Easing {
+
+	/**
+	 * Constant speed.
+	 */
+	public static final int LINEAR = 0;
+
+	/**
+	 * Starts slow and speeds up, quadratically.
+	 */
+	public static final int QUAD_IN = 1;
+
+	/**
+	 * Starts fast and slows down, quadratically.
+	 */
+	public static final int QUAD_OUT = 2;
+
+	/**
+	 * Speeds up then slows down, quadratically.
+	 */
+	public static final int QUAD_IN_OUT = 3;
+
+	/**
+	 * Starts slow and speeds up, cubically.
+	 */
+	public static final int CUBIC_IN = 4;
+
+	/**
+	 * Starts fast and slows down, cubically.
+	 */
+	public static final int CUBIC_OUT = 5;
+
+	/**
+	 * Speeds up then slows down, cubically.
+	 */
+	public static final int CUBIC_IN_OUT = 6;
+
+	/**
+	 * Pulls back a little before moving, used to slide alerts out and move them down.
+	 */
+	public static final int BACK_IN = 7;
+
+	/**
+	 * Overshoots a little and settles, used to slide alerts in.
+	 */
+	public static final int BACK_OUT = 8;
+
+	/**
+	 * Pulls back, then overshoots and settles.
+	 */
+	public static final int BACK_IN_OUT = 9;
+
+	/**
+	 * How far the back curves pull back or overshoot, giving a 10% overshoot.
+	 */
+	private static final float BACK_AMOUNT = 1.70158f;
+
+	/**
+	 * The back amount used for each half of {@link #BACK_IN_OUT}.
+	 */
+	private static final float BACK_IN_OUT_AMOUNT = BACK_AMOUNT * 1.525f;
+
+	/**
+	 * Construct nothing, since this only holds constants and a static method.
+	 */
+	private Easing() {
+
+	}
+
+	/**
+	 * Apply an easing curve.
+	 *
+	 * @param easing The easing curve.
+	 * @param t The progress, between 0 and 1.
+	 * @return The eased progress, which may go a little outside 0 to 1 for the back curves.
+	 */
+	public static float apply(int easing, float t) {
+		switch (easing) {
+		case QUAD_IN:
+			return t * t;
+		case QUAD_OUT:
+			return -t * (t - 2);
+		case QUAD_IN_OUT:
+			t *= 2;
+			if (t < 1) {
+				return 0.5f * t * t;
+			}
+			t -= 1;
+			return -0.5f * (t * (t - 2) - 1);
+		case CUBIC_IN:
+			return t * t * t;
+		case CUBIC_OUT:
+			t -= 1;
+			return t * t * t + 1;
+		case CUBIC_IN_OUT:
+			t *= 2;
+			if (t < 1) {
+				return 0.5f * t * t * t;
+			}
+			t -= 2;
+			return 0.5f * (t * t * t + 2);
+		case BACK_IN:
+			return t * t * ((BACK_AMOUNT + 1) * t - BACK_AMOUNT);
+		case BACK_OUT:
+			t -= 1;
+			return t * t * ((BACK_AMOUNT + 1) * t + BACK_AMOUNT) + 1;
+		case BACK_IN_OUT:
+			t *= 2;
+			if (t < 1) {
+				return 0.5f * (t * t * ((BACK_IN_OUT_AMOUNT + 1) * t - BACK_IN_OUT_AMOUNT));
+			}
+			t -= 2;
+			return 0.5f * (t * t * ((BACK_IN_OUT_AMOUNT + 1) * t + BACK_IN_OUT_AMOUNT) + 2);
+		default:
+			return t;
+		}
+	}
+}
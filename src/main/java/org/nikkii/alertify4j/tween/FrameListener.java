@@ -0,0 +1,23 @@
+package org.nikkii.alertify4j.tween;
+
+/**
+ * Listener invoked by an {@link AnimationClock} once per frame.
+ *
+ * @author Nikki
+ */
+public interface FrameListener {
+
+	/**
+	 * Returned by {@link #onFrame(float)} to let the clock sleep until it is woken.
+	 */
+	public static final long IDLE = Long.MAX_VALUE;
+
+	/**
+	 * Called once per animation frame.
+	 *
+	 * @param delta The real time since the previous frame, in seconds, capped by the clock's catch-up limit.
+	 * @return 0 if there is still something to animate, otherwise how long the clock may sleep for in nanoseconds (unless
+	 * it is woken), or {@link #IDLE} to sleep until it is woken.
+	 */
+	public long onFrame(float delta);
+}
@@ -0,0 +1,48 @@
+package org.nikkii.alertify4j.tween;
+
+/**
+ * Something with a pending location which animations can move, without touching Swing.
+ *
+ * It also keeps its slot in the {@link Animator} moving it, so the animator can find it without a search. A target may
+ * only be moved by one animator at a time.
+ *
+ * @author Nikki
+ */
+public interface Positionable {
+
+	/**
+	 * Get the pending X position.
+	 *
+	 * @return The pending X position.
+	 */
+	public int getPendingX();
+
+	/**
+	 * Get the pending Y position.
+	 *
+	 * @return The pending Y position.
+	 */
+	public int getPendingY();
+
+	/**
+	 * Set the pending location.
+	 *
+	 * @param x The X position.
+	 * @param y The Y position.
+	 */
+	public void setPendingLocation(int x, int y);
+
+	/**
+	 * Get the slot the animator keeps this in.
+	 *
+	 * @return The slot, or -1 if it isn't being animated.
+	 */
+	public int getAnimatorSlot();
+
+	/**
+	 * Set the slot the animator keeps this in. Only called by the {@link Animator}.
+	 *
+	 * @param slot The slot, or -1 once it's no longer being animated.
+	 */
+	public void setAnimatorSlot(int slot);
+}
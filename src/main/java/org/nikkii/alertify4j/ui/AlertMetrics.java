@@ -0,0 +1,229 @@
+package org.nikkii.alertify4j.ui;
+
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.themes.ThemeSnapshot;
+
+import javax.swing.Icon;
+import javax.swing.JLabel;
+import javax.swing.SwingConstants;
+import javax.swing.plaf.basic.BasicHTML;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Insets;
+import java.awt.font.FontRenderContext;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Works out how big an alert's window will be from its text, icon, font and theme, without laying out any components.
+ *
+ * The result is the same as the preferred size of an {@link AlertifyWindow}'s content panel: the label's text and icon
+ * inside the theme's content insets, plus the layout gaps, no smaller than the minimum window size. Font metrics are
+ * cached per font, and the advance of each Latin-1 character is cached per font, so measuring a plain text alert is a
+ * sum over its characters. Theme insets come from the {@link ThemeSnapshot}.
+ *
+ * Labels this can't measure exactly, such as HTML text, a border or a non-default text position, fall back to a spare
+ * label's preferred size. Safe to call from any thread.
+ *
+ * @author Nikki
+ */
+public class AlertMetrics {
+
+	/**
+	 * The number of characters with a cached advance.
+	 */
+	private static final int CACHED_CHARS = 256;
+
+	/**
+	 * A label which is never shown, used to get font metrics with the same rendering hints real labels use.
+	 */
+	private final JLabel reference = new JLabel();
+
+	/**
+	 * The cached metrics, by font.
+	 */
+	private final ConcurrentMap<Font, FontEntry> fonts = new ConcurrentHashMap<Font, FontEntry>();
+
+	/**
+	 * Measure an alert.
+	 *
+	 * @param theme The theme.
+	 * @param config The alert config.
+	 * @return The size the alert's window will be.
+	 */
+	public AlertSize measure(ThemeSnapshot theme, AlertifyConfig config) {
+		Font font = AlertifyWindow.resolveFont(theme, config);
+		Dimension label = measureLabel(config, IconCache.getDefault().resolve(config, theme), font);
+
+		int width = theme.getInsetWidth() + label.width;
+		int height = theme.getInsetHeight() + label.height + AlertifyWindow.CONTENT_GAP * 2;
+
+		return new AlertSize(Math.max(width, AlertifyWindow.MIN_WIDTH), Math.max(height, AlertifyWindow.MIN_HEIGHT),
+			label.height);
+	}
+
+	/**
+	 * Measure an alert's label as it will be drawn in a font.
+	 *
+	 * @param config The alert config.
+	 * @param icon The alert icon.
+	 * @param font The font.
+	 * @return The label's preferred size.
+	 */
+	private Dimension measureLabel(AlertifyConfig config, Icon icon, Font font) {
+		String text = config.getText();
+
+		if (text != null && BasicHTML.isHTMLString(text) || config.getBorder() != null
+			|| config.getHorizontalTextPosition() != SwingConstants.TRAILING
+			|| config.getVerticalTextPosition() != SwingConstants.CENTER) {
+			// A label which is never shown, so it can be measured off the EDT
+			JLabel label = new JLabel();
+			config.configure(label);
+			label.setIcon(icon);
+			label.setFont(font);
+			return label.getPreferredSize();
+		}
+
+		int width = 0, height = 0;
+
+		if (text != null && !text.isEmpty()) {
+			FontEntry entry = getFontEntry(font);
+			width = entry.stringWidth(text);
+			height = entry.metrics.getHeight();
+		}
+
+		if (icon != null) {
+			if (width > 0) {
+				width += config.getIconTextGap();
+			}
+			width += icon.getIconWidth();
+			height = Math.max(height, icon.getIconHeight());
+		}
+
+		return new Dimension(width, height);
+	}
+
+	/**
+	 * Measure the width of a string.
+	 *
+	 * @param font The font.
+	 * @param text The text.
+	 * @return The width, the same as {@link FontMetrics#stringWidth(String)}.
+	 */
+	public int stringWidth(Font font, String text) {
+		return getFontEntry(font).stringWidth(text);
+	}
+
+	/**
+	 * Get the cached metrics of a font.
+	 *
+	 * @param font The font.
+	 * @return The font metrics.
+	 */
+	public FontMetrics getFontMetrics(Font font) {
+		return getFontEntry(font).metrics;
+	}
+
+	/**
+	 * Get the cache entry of a font, creating it if needed.
+	 *
+	 * @param font The font.
+	 * @return The entry.
+	 */
+	private FontEntry getFontEntry(Font font) {
+		FontEntry entry = fonts.get(font);
+
+		if (entry == null) {
+			entry = new FontEntry(reference.getFontMetrics(font));
+
+			FontEntry existing = fonts.putIfAbsent(font, entry);
+			if (existing != null) {
+				entry = existing;
+			}
+		}
+
+		return entry;
+	}
+
+	/**
+	 * Drop all cached metrics.
+	 */
+	public void clear() {
+		fonts.clear();
+	}
+
+	/**
+	 * The cached metrics of one font.
+	 */
+	private static final class FontEntry {
+
+		/**
+		 * The font metrics.
+		 */
+		private final FontMetrics metrics;
+
+		/**
+		 * The rendering context the metrics measure with.
+		 */
+		private final FontRenderContext context;
+
+		/**
+		 * The advance of each Latin-1 character, or NaN if it hasn't been measured yet. Races only measure a character
+		 * twice.
+		 */
+		private final float[] advances = new float[CACHED_CHARS];
+
+		/**
+		 * Whether the font needs full text layout, such as kerning or ligatures, so characters can't be summed.
+		 */
+		private final boolean complex;
+
+		/**
+		 * Construct a new entry.
+		 *
+		 * @param metrics The font metrics.
+		 */
+		public FontEntry(FontMetrics metrics) {
+			this.metrics = metrics;
+			this.context = metrics.getFontRenderContext();
+			this.complex = metrics.getFont().hasLayoutAttributes();
+
+			for (int i = 0; i < advances.length; i++) {
+				advances[i] = Float.NaN;
+			}
+		}
+
+		/**
+		 * Measure the width of a string.
+		 *
+		 * @param text The text.
+		 * @return The width.
+		 */
+		public int stringWidth(String text) {
+			if (complex) {
+				return metrics.stringWidth(text);
+			}
+
+			float width = 0;
+
+			for (int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+
+				if (c >= CACHED_CHARS) {
+					return metrics.stringWidth(text);
+				}
+
+				float advance = advances[c];
+				if (advance != advance) {
+					advance = (float) metrics.getFont().getStringBounds(text, i, i + 1, context).getWidth();
+					advances[c] = advance;
+				}
+				width += advance;
+			}
+
+			// Rounded the same way as FontMetrics.stringWidth
+			return (int) (0.5f + width);
+		}
+	}
+}
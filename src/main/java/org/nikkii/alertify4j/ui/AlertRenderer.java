@@ -0,0 +1,79 @@
+package org.nikkii.alertify4j.ui;
+
+import java.awt.Rectangle;
+
+/**
+ * Puts alerts on screen, or wherever else they should go.
+ *
+ * Layout, queueing and animation only ever deal with an {@link AlertifyWindow}'s pending bounds. Once per frame the
+ * {@link WindowCommitter} hands the windows which changed to the renderer, which decides what showing them means: a
+ * native window each, sprites in an overlay, images in memory or lines in a log.
+ *
+ * Everything apart from {@link #getScreens()} is called on the EDT, so renderers don't need to lock, and
+ * {@link AlertifyWindow#getSprite()} can be used to get what an alert looks like.
+ *
+ * @author Nikki
+ */
+public interface AlertRenderer {
+
+	/**
+	 * The width of the virtual screen used by renderers which don't draw on a real one.
+	 */
+	public static final int VIRTUAL_WIDTH = 1920;
+
+	/**
+	 * The height of the virtual screen used by renderers which don't draw on a real one.
+	 */
+	public static final int VIRTUAL_HEIGHT = 1080;
+
+	/**
+	 * Get the screens alerts are laid out on, each with its own stack. Called on the animation thread when the renderer
+	 * is set. Each window is told which screen it's on by {@link AlertifyWindow#getScreen()}.
+	 *
+	 * @return The screen areas, the primary screen first, or null to use the usable areas of the real screens.
+	 */
+	public Rectangle[] getScreens();
+
+	/**
+	 * Get a window ready to be shown, ahead of time. Called when windows are prewarmed, from any thread.
+	 *
+	 * @param window The window.
+	 */
+	public void prepare(AlertifyWindow window);
+
+	/**
+	 * Move a window, or take it off screen. The bounds are reused for every window each frame, so they must be copied
+	 * to be kept.
+	 *
+	 * @param window The window.
+	 * @param bounds The window's bounds on screen, cut to its visible width, or null if it isn't visible.
+	 */
+	public void update(AlertifyWindow window, Rectangle bounds);
+
+	/**
+	 * Redraw a window after its content changed, such as its occurrence badge.
+	 *
+	 * @param window The window.
+	 */
+	public void repaint(AlertifyWindow window);
+
+	/**
+	 * Take a window off screen for good, before it goes back into the pool. It may be bound to another alert and shown
+	 * again later.
+	 *
+	 * @param window The window.
+	 */
+	public void release(AlertifyWindow window);
+
+	/**
+	 * Free anything held for a window which is being thrown away.
+	 *
+	 * @param window The window.
+	 */
+	public void discard(AlertifyWindow window);
+
+	/**
+	 * Free everything held by this renderer, once it's been replaced or Alertify is shut down.
+	 */
+	public void dispose();
+}
@@ -0,0 +1,69 @@
+package org.nikkii.alertify4j.ui;
+
+/**
+ * The measured size of an alert, worked out by {@link AlertMetrics} before any window is built for it.
+ *
+ * @author Nikki
+ */
+public final class AlertSize {
+
+	/**
+	 * The window width.
+	 */
+	private final int width;
+
+	/**
+	 * The window height.
+	 */
+	private final int height;
+
+	/**
+	 * The preferred height of the label, used to pick a pool size class.
+	 */
+	private final int labelHeight;
+
+	/**
+	 * Construct a new size.
+	 *
+	 * @param width The window width.
+	 * @param height The window height.
+	 * @param labelHeight The label height.
+	 */
+	public AlertSize(int width, int height, int labelHeight) {
+		this.width = width;
+		this.height = height;
+		this.labelHeight = labelHeight;
+	}
+
+	/**
+	 * Get the window width.
+	 *
+	 * @return The width, at least {@link AlertifyWindow#MIN_WIDTH}.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Get the window height.
+	 *
+	 * @return The height, at least {@link AlertifyWindow#MIN_HEIGHT}.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Get the preferred height of the label.
+	 *
+	 * @return The label height.
+	 */
+	public int getLabelHeight() {
+		return labelHeight;
+	}
+
+	@Override
+	public String toString() {
+		return width + "x" + height;
+	}
+}
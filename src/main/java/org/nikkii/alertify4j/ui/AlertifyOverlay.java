@@ -0,0 +1,262 @@
+package org.nikkii.alertify4j.ui;
+
+import com.sun.awt.AWTUtilities;
+
+import javax.swing.JComponent;
+import javax.swing.JWindow;
+import java.awt.Cursor;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A transparent, always on top window covering a screen, which paints alerts as sprites.
+ *
+ * The {@link OverlayRenderer} behind {@link RenderMode#OVERLAY} keeps one of these for each screen. Each window's
+ * content image from the {@link SpriteCache} is drawn into this overlay at the window's pending bounds, with its
+ * occurrence badge over it. When a window's bounds change only the old and new areas are repainted, and Swing double
+ * buffers the result, so a frame which moves ten alerts costs one repaint of a few blits rather than ten native window
+ * moves.
+ *
+ * Clicks are hit tested against the sprites and passed to the mouse listeners of the window under the cursor, so an
+ * alert's {@link AlertifyWindowClick} is called just as it would be in {@link RenderMode#WINDOW} mode. The overlay
+ * relies on per-pixel translucency, where clicks on fully transparent pixels fall through to the windows below.
+ *
+ * The overlay is only visible while it has sprites. Everything here must be called on the EDT.
+ *
+ * @author Nikki
+ */
+public class AlertifyOverlay extends JWindow {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The screen area covered by the overlay.
+	 */
+	private final Rectangle screen;
+
+	/**
+	 * The bounds of each visible sprite, relative to the overlay, in paint order.
+	 */
+	private final Map<AlertifyWindow, Rectangle> spriteBounds = new LinkedHashMap<AlertifyWindow, Rectangle>();
+
+	/**
+	 * The component painting the sprites.
+	 */
+	private final JComponent canvas = new JComponent() {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected void paintComponent(Graphics g) {
+			paintSprites(g);
+		}
+	};
+
+	/**
+	 * Check if the overlay can be used on the default screen. It needs per-pixel translucency to paint the sprites over
+	 * a transparent background, and per-pixel transparency so clicks outside the sprites reach the windows below.
+	 *
+	 * @return True, if the screen supports both.
+	 */
+	public static boolean isSupported() {
+		if (GraphicsEnvironment.isHeadless()
+			|| !AWTUtilities.isTranslucencySupported(AWTUtilities.Translucency.PERPIXEL_TRANSPARENT)
+			|| !AWTUtilities.isTranslucencySupported(AWTUtilities.Translucency.PERPIXEL_TRANSLUCENT)) {
+			return false;
+		}
+
+		return AWTUtilities.isTranslucencyCapable(GraphicsEnvironment.getLocalGraphicsEnvironment()
+			.getDefaultScreenDevice().getDefaultConfiguration());
+	}
+
+	/**
+	 * Construct a new overlay.
+	 *
+	 * @param screen The screen area to cover.
+	 */
+	public AlertifyOverlay(Rectangle screen) {
+		this.screen = new Rectangle(screen);
+
+		canvas.setOpaque(false);
+		canvas.setDoubleBuffered(true);
+
+		MouseAdapter router = new MouseAdapter() {
+			@Override
+			public void mousePressed(MouseEvent e) {
+				route(e);
+			}
+
+			@Override
+			public void mouseReleased(MouseEvent e) {
+				route(e);
+			}
+
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				route(e);
+			}
+
+			@Override
+			public void mouseMoved(MouseEvent e) {
+				AlertifyWindow window = windowAt(e.getX(), e.getY());
+				canvas.setCursor(Cursor.getPredefinedCursor(window != null && !window.isHidden()
+					? Cursor.HAND_CURSOR : Cursor.DEFAULT_CURSOR));
+			}
+		};
+		canvas.addMouseListener(router);
+		canvas.addMouseMotionListener(router);
+
+		setContentPane(canvas);
+		setAlwaysOnTop(true);
+		setBounds(this.screen);
+		AWTUtilities.setWindowOpaque(this, false);
+	}
+
+	/**
+	 * Move, resize or remove a window's sprite, repainting the area it covered and now covers.
+	 *
+	 * @param window The window.
+	 * @param bounds The window's bounds on screen, or null to remove its sprite.
+	 */
+	public void update(AlertifyWindow window, Rectangle bounds) {
+		if (bounds == null) {
+			Rectangle old = spriteBounds.remove(window);
+			if (old != null) {
+				canvas.repaint(old);
+			}
+		} else {
+			int x = bounds.x - screen.x;
+			int y = bounds.y - screen.y;
+
+			// Each sprite keeps its own rectangle, moved in place, since the bounds given are reused
+			Rectangle current = spriteBounds.get(window);
+
+			if (current == null) {
+				current = new Rectangle(x, y, bounds.width, bounds.height);
+				spriteBounds.put(window, current);
+				canvas.repaint(current);
+			} else if (current.x != x || current.y != y || current.width != bounds.width
+				|| current.height != bounds.height) {
+				canvas.repaint(current);
+				current.setBounds(x, y, bounds.width, bounds.height);
+				canvas.repaint(current);
+			}
+		}
+
+		if (isVisible() == spriteBounds.isEmpty()) {
+			setVisible(!spriteBounds.isEmpty());
+		}
+	}
+
+	/**
+	 * Repaint a window's sprite, after its content changed.
+	 *
+	 * @param window The window.
+	 */
+	public void repaint(AlertifyWindow window) {
+		Rectangle bounds = spriteBounds.get(window);
+
+		if (bounds != null) {
+			canvas.repaint(bounds);
+		}
+	}
+
+	/**
+	 * Remove a window's sprite.
+	 *
+	 * @param window The window.
+	 */
+	public void release(AlertifyWindow window) {
+		update(window, null);
+	}
+
+	/**
+	 * Paint the sprites inside the clip.
+	 *
+	 * @param g The graphics.
+	 */
+	private void paintSprites(Graphics g) {
+		Rectangle clip = g.getClipBounds();
+
+		for (Map.Entry<AlertifyWindow, Rectangle> entry : spriteBounds.entrySet()) {
+			AlertifyWindow window = entry.getKey();
+			Rectangle bounds = entry.getValue();
+
+			if (window.getSpriteKey() == null || clip != null && !clip.intersects(bounds)) {
+				continue;
+			}
+
+			// Cut off at the visible width while sliding in or out
+			Graphics2D g2 = (Graphics2D) g.create();
+			try {
+				g2.clipRect(bounds.x, bounds.y, bounds.width, bounds.height);
+				g2.translate(bounds.x, bounds.y);
+				window.paint(g2);
+			} finally {
+				g2.dispose();
+			}
+		}
+	}
+
+	/**
+	 * Pass a mouse event to the listeners of the window under it.
+	 *
+	 * @param e The event.
+	 */
+	private void route(MouseEvent e) {
+		AlertifyWindow window = windowAt(e.getX(), e.getY());
+
+		if (window == null) {
+			return;
+		}
+
+		Rectangle bounds = spriteBounds.get(window);
+		MouseEvent event = new MouseEvent(canvas, e.getID(), e.getWhen(), e.getModifiersEx(), e.getX() - bounds.x,
+			e.getY() - bounds.y, e.getClickCount(), e.isPopupTrigger(), e.getButton());
+
+		for (MouseListener listener : window.getMouseListeners()) {
+			switch (e.getID()) {
+			case MouseEvent.MOUSE_PRESSED:
+				listener.mousePressed(event);
+				break;
+			case MouseEvent.MOUSE_RELEASED:
+				listener.mouseReleased(event);
+				break;
+			case MouseEvent.MOUSE_CLICKED:
+				listener.mouseClicked(event);
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Find the top window whose sprite contains a point.
+	 *
+	 * @param x The X position, relative to the overlay.
+	 * @param y The Y position, relative to the overlay.
+	 * @return The window, or null if there's none there.
+	 */
+	private AlertifyWindow windowAt(int x, int y) {
+		AlertifyWindow hit = null;
+
+		// Sprites are painted in order, so the last one containing the point is on top
+		for (Map.Entry<AlertifyWindow, Rectangle> entry : spriteBounds.entrySet()) {
+			if (entry.getValue().contains(x, y)) {
+				hit = entry.getKey();
+			}
+		}
+
+		return hit;
+	}
+}
@@ -1,33 +1,52 @@
 package org.nikkii.alertify4j.ui;
 
-import com.sun.awt.AWTUtilities;
 import org.nikkii.alertify4j.AlertifyColorPair;
 import org.nikkii.alertify4j.AlertifyConfig;
-import org.nikkii.alertify4j.themes.AlertifyTheme;
+import org.nikkii.alertify4j.themes.ThemeSnapshot;
+import org.nikkii.alertify4j.tween.Positionable;
 import org.nikkii.alertify4j.util.Optional;
+import org.nikkii.alertify4j.util.TimingWheel;
 
 import javax.swing.JLabel;
 import javax.swing.JPanel;
-import javax.swing.JWindow;
-import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Insets;
+import java.awt.Rectangle;
 import java.awt.event.MouseListener;
-import java.awt.geom.RoundRectangle2D;
-import java.util.concurrent.ScheduledFuture;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The alert bubble window.
  *
+ * This only holds what an alert looks like and where it's going. Putting it on screen is up to the
+ * {@link AlertRenderer}, which is handed the window's pending bounds by the {@link WindowCommitter} once per frame. The
+ * content panel is never shown itself; it's rendered once into an image by the {@link SpriteCache}, and renderers
+ * draw that image with {@link #paint(Graphics)}.
+ *
  * @author Nikki
  */
-public class AlertifyWindow extends JWindow {
+public class AlertifyWindow implements Positionable {
 
 	/**
-	 * 
+	 * The minimum window width.
 	 */
-	private static final long serialVersionUID = 1L;
+	public static final int MIN_WIDTH = 300;
+
+	/**
+	 * The minimum window height.
+	 */
+	public static final int MIN_HEIGHT = 64;
+
+	/**
+	 * The gap above and below the content.
+	 */
+	static final int CONTENT_GAP = 5;
 
 	/**
 	 * The real window width.
@@ -42,68 +61,540 @@ public class AlertifyWindow extends JWindow {
 	/**
 	 * Flag for whether we're 'hidden'.
 	 */
-	private boolean hidden = false;
+	private volatile boolean hidden = false;
+
+	/**
+	 * The close timer, if we are set to auto close.
+	 */
+	private volatile TimingWheel.Timeout closeTimer;
 
 	/**
-	 * The close future, if we are set to auto close.
+	 * The committer which hands pending changes to the renderer on the EDT.
 	 */
-	private ScheduledFuture<?> closeFuture;
+	private final WindowCommitter committer;
+
+	/**
+	 * Flag for whether we're waiting in the committer.
+	 */
+	private final AtomicBoolean dirty = new AtomicBoolean();
+
+	/**
+	 * The pending X position, written by animations and applied on the next commit.
+	 */
+	private volatile int pendingX;
+
+	/**
+	 * The pending Y position.
+	 */
+	private volatile int pendingY;
+
+	/**
+	 * The pending (visible) width.
+	 */
+	private volatile int pendingWidth;
+
+	/**
+	 * The pending visibility.
+	 */
+	private volatile boolean pendingVisible = false;
+
+	/**
+	 * The cache the content image is taken from.
+	 */
+	private final SpriteCache sprites;
+
+	/**
+	 * The mouse listeners, called by the renderer when the window is clicked.
+	 */
+	private final List<MouseListener> mouseListeners = new CopyOnWriteArrayList<MouseListener>();
+
+	/**
+	 * What the content currently looks like, or null if the window isn't bound.
+	 */
+	private volatile SpriteCache.Key spriteKey;
+
+	/**
+	 * Flag for whether the content panel needs to be brought up to date with the bound alert on the next commit.
+	 */
+	private volatile boolean contentDirty = false;
+
+	/**
+	 * The content panel, kept for the life of the window so it can be rebound.
+	 */
+	private final JPanel content = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, CONTENT_GAP));
+
+	/**
+	 * The label showing the alert's text and icon, reused for every alert this window shows.
+	 */
+	private final JLabel label = new JLabel();
+
+	/**
+	 * The occurrence badge, shown when an alert has been repeated. It isn't part of the content panel, so a repeat
+	 * doesn't change the content image; it's painted over the image instead.
+	 */
+	private final JLabel badge = new JLabel();
+
+	/**
+	 * Flag for whether the badge is painted. Only used on the EDT.
+	 */
+	private boolean badgeShown = false;
+
+	/**
+	 * The pending occurrence count, shown as a badge on the next commit.
+	 */
+	private volatile int occurrences = 1;
+
+	/**
+	 * The currently bound alert config, or null if the window isn't bound.
+	 */
+	private volatile AlertifyConfig config;
+
+	/**
+	 * The area of the screen this window is laid out on, or null if it isn't placed.
+	 */
+	private volatile Rectangle screen;
+
+	/**
+	 * The slot of this window in the animator moving it, or -1. Only used on the animation thread.
+	 */
+	private int animatorSlot = -1;
+
+	/**
+	 * The currently bound theme snapshot.
+	 */
+	private volatile ThemeSnapshot theme;
+
+	/**
+	 * The theme snapshot the content panel was configured with, or null. Only used on the EDT.
+	 */
+	private ThemeSnapshot configured;
+
+	/**
+	 * The config the content panel was last brought up to date with, or null. Only used on the EDT.
+	 */
+	private AlertifyConfig applied;
+
+	/**
+	 * The preferred height of the bound label, used to pick a pool size class.
+	 */
+	private int labelHeight;
+
+	/**
+	 * Construct a new, unbound window. It must be bound with {@link #bind(ThemeSnapshot, AlertifyConfig, AlertSize)}
+	 * before it is shown.
+	 *
+	 * @param committer The committer which hands pending bounds to the renderer on the EDT.
+	 * @param sprites The cache of content images.
+	 */
+	public AlertifyWindow(WindowCommitter committer, SpriteCache sprites) {
+		this.committer = committer;
+		this.sprites = sprites;
+
+		content.add(label);
+		content.setDoubleBuffered(false); // Only ever painted into the content image
+
+		actualWidth = MIN_WIDTH;
+		actualHeight = MIN_HEIGHT;
+	}
 
 	/**
 	 * Construct a new window.
 	 *
 	 * @param theme The theme to construct from.
 	 * @param config The alert config.
+	 * @param size The alert size, from {@link AlertMetrics}.
+	 * @param committer The committer which hands pending bounds to the renderer on the EDT.
+	 * @param sprites The cache of content images.
 	 */
-	public AlertifyWindow(AlertifyTheme theme, AlertifyConfig config) {
-		AlertifyColorPair colors = theme.getColors(config.getType());
+	public AlertifyWindow(ThemeSnapshot theme, AlertifyConfig config, AlertSize size, WindowCommitter committer,
+			SpriteCache sprites) {
+		this(committer, sprites);
+		bind(theme, config, size);
+	}
 
-		if (colors == null) {
+	/**
+	 * Bind this window to an alert, resetting the state of any previous alert. The renderer may be drawing the window,
+	 * so the content panel is only replaced on the EDT by the next commit; the size must already be measured.
+	 *
+	 * @param theme The theme to construct from.
+	 * @param config The alert config.
+	 * @param size The alert size, from {@link AlertMetrics}.
+	 */
+	public void bind(ThemeSnapshot theme, AlertifyConfig config, AlertSize size) {
+		if (theme.getColors(config.getType()) == null) {
 			throw new IllegalArgumentException("Theme does not have support for " + config.getType());
 		}
 
-		JLabel label = config.getLabel();
+		this.config = config;
+		this.theme = theme;
+		this.labelHeight = size.getLabelHeight();
 
-		Optional<Font> font = Optional.ofNullable(config.getFont());
+		actualWidth = size.getWidth();
+		actualHeight = size.getHeight();
+
+		hidden = false;
+		closeTimer = null;
+		pendingWidth = actualWidth;
+		pendingVisible = false;
+		occurrences = 1;
+		contentDirty = true;
+		markDirty();
+	}
+
+	/**
+	 * Bring the content panel up to date with the bound alert, and the badge with its occurrence count. Must be called
+	 * on the EDT.
+	 *
+	 * @return True if the content or badge changed, false if the window isn't bound.
+	 */
+	private boolean applyContent() {
+		AlertifyConfig config = this.config;
+		ThemeSnapshot theme = this.theme;
+
+		if (config == null) {
+			return false;
+		}
+
+		if (applied != config) {
+			bindLabel(theme, config);
+			applied = config;
+		}
+
+		int occurrences = this.occurrences;
+
+		badgeShown = occurrences > 1;
+		if (badgeShown) {
+			// Where the content panel's flow layout would put it, straight after the label
+			badge.setText("  \u00d7" + occurrences);
+
+			Insets insets = content.getInsets();
+			Dimension labelSize = label.getPreferredSize();
+			badge.setBounds(insets.left + labelSize.width, insets.top + CONTENT_GAP, badge.getPreferredSize().width,
+				labelSize.height);
+		}
+		return true;
+	}
+
+	/**
+	 * Paint this window: its content image, and the occurrence badge over it if the alert has been repeated. Must be
+	 * called on the EDT.
+	 *
+	 * @param g The graphics, translated to the top left of the window.
+	 */
+	public void paint(Graphics g) {
+		if (spriteKey == null) {
+			return;
+		}
+
+		g.drawImage(sprites.get(this), 0, 0, null);
+		paintBadge(g);
+	}
+
+	/**
+	 * Paint the occurrence badge over the content image, if the alert has been repeated. Must be called on the EDT.
+	 *
+	 * @param g The graphics, translated to the top left of the window.
+	 */
+	private void paintBadge(Graphics g) {
+		if (!badgeShown) {
+			return;
+		}
+
+		Graphics bg = g.create(badge.getX(), badge.getY(), badge.getWidth(), badge.getHeight());
+		try {
+			badge.paint(bg);
+		} finally {
+			bg.dispose();
+		}
+	}
+
+	/**
+	 * Set up the label and content panel for an alert, replacing the previous alert's. Must be called on the EDT.
+	 *
+	 * @param theme The theme to construct from.
+	 * @param config The alert config.
+	 */
+	private void bindLabel(ThemeSnapshot theme, AlertifyConfig config) {
+		AlertifyColorPair colors = theme.getColors(config.getType());
 
-		label.setFont(font.isPresent() ? font.get() : theme.getFont()); //checking null state to see which font to use
+		config.configure(label);
+		if (config.getIconKey() != null) {
+			label.setIcon(IconCache.getDefault().resolve(config, theme));
+		}
+		label.setFont(resolveFont(theme, config));
 		label.setForeground(colors.getForeground());
 
-		JPanel content = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 5));
 		content.setBackground(colors.getBackground());
 
-		// Configure the unique theme properties
-		theme.configure(content);
+		// Configure the unique theme properties, unless this window already has them
+		if (theme != configured) {
+			theme.configure(content);
+			configured = theme;
+		}
 
-		content.add(label);
+		badge.setFont(label.getFont().deriveFont(Font.BOLD));
+		badge.setForeground(colors.getForeground());
 
-		add(content);
+		this.spriteKey = new SpriteCache.Key(theme, config, label.getFont(), label.getIcon());
+	}
+
+	/**
+	 * Show how many times the alert has occurred, as an "xN" badge after the text. The badge is drawn by the next
+	 * commit, so it can't be applied ahead of a rebind. Safe to call from any thread.
+	 *
+	 * @param occurrences The number of occurrences.
+	 */
+	public void setOccurrences(int occurrences) {
+		this.occurrences = occurrences;
+		contentDirty = true;
+		markDirty();
+	}
 
-		Dimension contentSize = content.getPreferredSize();
+	/**
+	 * Release the bound alert so its icon isn't held while this window is idle. Must be called on the EDT.
+	 */
+	public void unbind() {
+		mouseListeners.clear();
 
-		actualWidth = Math.max(contentSize.width, 300);
-		actualHeight = Math.max(contentSize.height, 64);
+		label.setText(null);
+		label.setIcon(null);
+		label.setBorder(null);
 
-		setAlwaysOnTop(true);
-		setPreferredSize(new Dimension(actualWidth, actualHeight));
-		setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
-		AWTUtilities.setWindowShape(this, new RoundRectangle2D.Double(0, 0, actualWidth, actualHeight, 4, 4));
+		spriteKey = null;
+		config = null;
+		applied = null;
+		contentDirty = false;
+		badgeShown = false;
+		screen = null;
+		hidden = true;
+		closeTimer = null;
+		pendingVisible = false;
+	}
+
+	/**
+	 * Get the alert config this window is bound to.
+	 *
+	 * @return The config, or null if the window isn't bound.
+	 */
+	public AlertifyConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * Set the area of the screen this window is laid out on, when it's placed in a screen's stack.
+	 *
+	 * @param screen The screen area.
+	 */
+	public void setScreen(Rectangle screen) {
+		this.screen = screen;
+	}
+
+	/**
+	 * Get the area of the screen this window is laid out on.
+	 *
+	 * @return The screen area, or null if the window isn't placed.
+	 */
+	public Rectangle getScreen() {
+		return screen;
+	}
+
+	/**
+	 * Get the theme snapshot this window was last bound with.
+	 *
+	 * @return The theme snapshot, or null if it was never bound.
+	 */
+	public ThemeSnapshot getTheme() {
+		return theme;
+	}
+
+	/**
+	 * Set the theme of an unbound window, so a pool knows which theme it was created for.
+	 *
+	 * @param theme The theme.
+	 */
+	void setTheme(ThemeSnapshot theme) {
+		this.theme = theme;
+	}
+
+	/**
+	 * Get the preferred height of the label this window was last bound with.
+	 *
+	 * @return The label height.
+	 */
+	int getLabelHeight() {
+		return labelHeight;
+	}
+
+	/**
+	 * Work out which font an alert uses.
+	 *
+	 * @param theme The theme.
+	 * @param config The alert config.
+	 * @return The config's font override, or the theme font.
+	 */
+	public static Font resolveFont(ThemeSnapshot theme, AlertifyConfig config) {
+		Optional<Font> font = Optional.ofNullable(config.getFont());
+
+		return font.isPresent() ? font.get() : theme.getFont(); //checking null state to see which font to use
+	}
+
+	/**
+	 * Set the pending location. This is applied on the EDT by the next frame commit.
+	 *
+	 * @param x The X position.
+	 * @param y The Y position.
+	 */
+	@Override
+	public void setPendingLocation(int x, int y) {
+		pendingX = x;
+		pendingY = y;
+		markDirty();
+	}
+
+	/**
+	 * Set the pending visible width, used to clip the window against the edge of the screen.
+	 *
+	 * @param width The width, clamped between 0 and the actual width.
+	 */
+	public void setPendingWidth(int width) {
+		pendingWidth = Math.max(0, Math.min(width, actualWidth));
+		markDirty();
+	}
+
+	/**
+	 * Set the pending visibility.
+	 *
+	 * @param visible True to show the window.
+	 */
+	public void setPendingVisible(boolean visible) {
+		pendingVisible = visible;
+		markDirty();
+	}
+
+	/**
+	 * Get the pending X position.
+	 *
+	 * @return The pending X position.
+	 */
+	@Override
+	public int getPendingX() {
+		return pendingX;
+	}
+
+	/**
+	 * Get the pending Y position.
+	 *
+	 * @return The pending Y position.
+	 */
+	@Override
+	public int getPendingY() {
+		return pendingY;
+	}
+
+	/**
+	 * Get the slot of this window in the animator moving it.
+	 *
+	 * @return The slot, or -1 if it isn't being animated.
+	 */
+	@Override
+	public int getAnimatorSlot() {
+		return animatorSlot;
+	}
+
+	/**
+	 * Set the slot of this window in the animator moving it.
+	 *
+	 * @param slot The slot, or -1.
+	 */
+	@Override
+	public void setAnimatorSlot(int slot) {
+		animatorSlot = slot;
+	}
+
+	/**
+	 * Queue this window in the committer, unless it's already waiting.
+	 */
+	private void markDirty() {
+		if (dirty.compareAndSet(false, true)) {
+			committer.markDirty(this);
+		}
+	}
+
+	/**
+	 * Apply a pending rebind, then hand the pending bounds and visibility to the renderer, and have it redraw the window
+	 * if its content changed. Must be called on the EDT.
+	 *
+	 * @param bounds The rectangle to pass the bounds in, reused for every window.
+	 */
+	void applyPending(Rectangle bounds) {
+		dirty.set(false);
+
+		boolean repaint = false;
+		if (contentDirty) {
+			contentDirty = false;
+			repaint = applyContent();
+		}
+
+		AlertRenderer renderer = committer.getRenderer();
+
+		if (pendingVisible) {
+			bounds.setBounds(pendingX, pendingY, pendingWidth, actualHeight);
+			renderer.update(this, bounds);
+		} else {
+			renderer.update(this, null);
+		}
+
+		if (repaint) {
+			renderer.repaint(this);
+		}
+	}
+
+	/**
+	 * Free anything the renderer holds for this window, once it's no longer going to be used. Must be called on the
+	 * EDT.
+	 */
+	public void dispose() {
+		committer.getRenderer().discard(this);
+	}
+
+	/**
+	 * Add a listener which is called when the window is clicked. Listeners are removed when the alert is hidden.
+	 *
+	 * @param listener The listener.
+	 */
+	public void addMouseListener(MouseListener listener) {
+		mouseListeners.add(listener);
+	}
+
+	/**
+	 * Remove a mouse listener.
+	 *
+	 * @param listener The listener.
+	 */
+	public void removeMouseListener(MouseListener listener) {
+		mouseListeners.remove(listener);
 	}
 
 	/**
-	 * Hide the alert, change the cursor, and remove the mouse listener.
+	 * Get the mouse listeners, for renderers to pass clicks on to.
+	 *
+	 * @return The listeners.
+	 */
+	public MouseListener[] getMouseListeners() {
+		return mouseListeners.toArray(new MouseListener[0]);
+	}
+
+	/**
+	 * Hide the alert and remove the mouse listeners, so it can't be clicked. Must be called on the animation thread,
+	 * which owns the close timer.
 	 */
 	public void hideAlert() {
 		hidden = true;
-		// Set the cursor to the default one so it appears it can't be clicked
-		setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
 		// Disable mouse listener
-		for (MouseListener listener : this.getListeners(MouseListener.class)) {
-			removeMouseListener(listener);
-		}
+		mouseListeners.clear();
 		// Cancel the auto close
-		if (closeFuture != null) {
-			closeFuture.cancel(false);
+		if (closeTimer != null) {
+			closeTimer.cancel();
 		}
 	}
 
@@ -117,17 +608,63 @@ public class AlertifyWindow extends JWindow {
 	}
 
 	/**
-	 * Sets the {@link ScheduledFuture} for the close task.
+	 * Gets the timer for the close task.
+	 *
+	 * @return The close timer, or null if it isn't set to auto close.
+	 */
+	public TimingWheel.Timeout getCloseTimer() {
+		return closeTimer;
+	}
+
+	/**
+	 * Sets the timer for the close task.
+	 *
+	 * @param closeTimer The close timer.
+	 */
+	public void setCloseTimer(TimingWheel.Timeout closeTimer) {
+		this.closeTimer = closeTimer;
+	}
+
+
+	/**
+	 * Get what the content currently looks like.
 	 *
-	 * @param closeFuture The close future.
+	 * @return The key of the content image, or null if the window isn't bound.
 	 */
-	public void setCloseFuture(ScheduledFuture<?> closeFuture) {
-		this.closeFuture = closeFuture;
+	SpriteCache.Key getSpriteKey() {
+		return spriteKey;
 	}
 
+	/**
+	 * Get the content panel, for rendering the content image.
+	 *
+	 * @return The content panel.
+	 */
+	JPanel getContent() {
+		return content;
+	}
+
+	/**
+	 * Get the image of this window's content, rendering it if it isn't cached. The occurrence badge isn't part of it;
+	 * see {@link #paint(Graphics)}. Must be called on the EDT.
+	 *
+	 * @return The image, the window's actual size, or null if the window isn't bound.
+	 */
+	public BufferedImage getSprite() {
+		return spriteKey == null ? null : sprites.get(this);
+	}
+
+	/**
+	 * Check if the occurrence badge is painted over the content image. Must be called on the EDT.
+	 *
+	 * @return True, if the alert has been repeated.
+	 */
+	public boolean hasBadge() {
+		return badgeShown;
+	}
 
 	/**
-	 * Get the actual window width (bypass Component.getWidth()).
+	 * Get the actual window width, which the visible width is cut from while sliding in or out.
 	 *
 	 * @return The window width.
 	 */
@@ -136,7 +673,7 @@ public class AlertifyWindow extends JWindow {
 	}
 
 	/**
-	 * Get the actual window height (bypass Component.getHeight()).
+	 * Get the actual window height.
 	 *
 	 * @return The window height.
 	 */
@@ -0,0 +1,317 @@
+package org.nikkii.alertify4j.ui;
+
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.themes.ThemeSnapshot;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of idle {@link AlertifyWindow}s.
+ *
+ * With the Swing renderer, creating a window means creating a native peer, which is by far the most expensive part of
+ * showing an alert. Windows are released back into the pool once their hide animation is done and rebound to the next
+ * alert with the same theme and size class, so their peer and content panel can be reused.
+ *
+ * @author Nikki
+ */
+public class AlertifyWindowPool {
+
+	/**
+	 * The default maximum number of idle windows.
+	 */
+	public static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * The label height covered by each size class.
+	 */
+	private static final int SIZE_CLASS_HEIGHT = 32;
+
+	/**
+	 * The committer given to new windows.
+	 */
+	private final WindowCommitter committer;
+
+	/**
+	 * The sprite cache given to new windows.
+	 */
+	private final SpriteCache sprites;
+
+	/**
+	 * The idle windows, by theme and size class.
+	 */
+	private final Map<PoolKey, LinkedList<AlertifyWindow>> idle = new HashMap<PoolKey, LinkedList<AlertifyWindow>>();
+
+	/**
+	 * The maximum number of idle windows.
+	 */
+	private int capacity;
+
+	/**
+	 * The current number of idle windows.
+	 */
+	private int size = 0;
+
+	/**
+	 * The number of windows acquired from the pool.
+	 */
+	private final AtomicLong hits = new AtomicLong();
+
+	/**
+	 * The number of windows which had to be created.
+	 */
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * The number of released windows disposed because the pool was full.
+	 */
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Construct a new pool.
+	 *
+	 * @param committer The committer given to new windows.
+	 * @param sprites The sprite cache given to new windows.
+	 * @param capacity The maximum number of idle windows.
+	 */
+	public AlertifyWindowPool(WindowCommitter committer, SpriteCache sprites, int capacity) {
+		this.committer = committer;
+		this.sprites = sprites;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Get a window bound to the alert, reusing an idle one if possible. Its content is replaced on the EDT by the next
+	 * commit.
+	 *
+	 * @param theme The theme.
+	 * @param config The alert config.
+	 * @param size The alert size, from {@link AlertMetrics}.
+	 * @return The bound window.
+	 */
+	public AlertifyWindow acquire(ThemeSnapshot theme, AlertifyConfig config, AlertSize size) {
+		PoolKey key = new PoolKey(theme, sizeClass(size.getLabelHeight()));
+		AlertifyWindow window = poll(key);
+
+		if (window == null) {
+			misses.incrementAndGet();
+			return new AlertifyWindow(theme, config, size, committer, sprites);
+		}
+
+		try {
+			window.bind(theme, config, size);
+		} catch (RuntimeException e) {
+			// Nothing was changed, so it can go straight back
+			offer(key, window);
+			throw e;
+		}
+
+		hits.incrementAndGet();
+		return window;
+	}
+
+	/**
+	 * Return a window to the pool, or dispose it if the pool is full. Must be called on the EDT, once the window is
+	 * no longer in use and the renderer has released it.
+	 *
+	 * @param window The window.
+	 */
+	public void release(AlertifyWindow window) {
+		PoolKey key = new PoolKey(window.getTheme(), sizeClass(window.getLabelHeight()));
+
+		window.unbind();
+
+		synchronized(idle) {
+			if (size < capacity) {
+				offer(key, window);
+				return;
+			}
+		}
+
+		evictions.incrementAndGet();
+		window.dispose();
+	}
+
+	/**
+	 * Create idle windows ahead of time, so the first alerts don't pay for creating their peers.
+	 *
+	 * @param theme The theme the windows will be used with.
+	 * @param count The number of windows to create, limited by the free capacity.
+	 */
+	public void prewarm(ThemeSnapshot theme, int count) {
+		PoolKey key = new PoolKey(theme, 0);
+
+		for (int i = 0; i < count; i++) {
+			synchronized(idle) {
+				if (size >= capacity) {
+					return;
+				}
+				size++;
+			}
+
+			AlertifyWindow window = new AlertifyWindow(committer, sprites);
+			window.setTheme(theme);
+			committer.getRenderer().prepare(window);
+
+			synchronized(idle) {
+				LinkedList<AlertifyWindow> windows = idle.get(key);
+				if (windows == null) {
+					windows = new LinkedList<AlertifyWindow>();
+					idle.put(key, windows);
+				}
+				windows.add(window);
+			}
+		}
+	}
+
+	/**
+	 * Dispose all idle windows. Must be called on the EDT.
+	 */
+	public void clear() {
+		synchronized(idle) {
+			for (LinkedList<AlertifyWindow> windows : idle.values()) {
+				for (AlertifyWindow window : windows) {
+					window.dispose();
+				}
+			}
+			idle.clear();
+			size = 0;
+		}
+	}
+
+	/**
+	 * Add an idle window for the key.
+	 *
+	 * @param key The pool key.
+	 * @param window The unbound window.
+	 */
+	private void offer(PoolKey key, AlertifyWindow window) {
+		synchronized(idle) {
+			LinkedList<AlertifyWindow> windows = idle.get(key);
+			if (windows == null) {
+				windows = new LinkedList<AlertifyWindow>();
+				idle.put(key, windows);
+			}
+			windows.add(window);
+			size++;
+		}
+	}
+
+	/**
+	 * Take an idle window for the key.
+	 *
+	 * @param key The pool key.
+	 * @return The window, or null if there are none.
+	 */
+	private AlertifyWindow poll(PoolKey key) {
+		synchronized(idle) {
+			LinkedList<AlertifyWindow> windows = idle.get(key);
+			if (windows == null || windows.isEmpty()) {
+				return null;
+			}
+			size--;
+			return windows.poll();
+		}
+	}
+
+	/**
+	 * Get the size class of a label height.
+	 *
+	 * @param labelHeight The label's preferred height.
+	 * @return The size class.
+	 */
+	static int sizeClass(int labelHeight) {
+		return labelHeight / SIZE_CLASS_HEIGHT;
+	}
+
+	/**
+	 * Set the maximum number of idle windows. Extra windows are disposed as they're released.
+	 *
+	 * @param capacity The capacity.
+	 */
+	public void setCapacity(int capacity) {
+		synchronized(idle) {
+			this.capacity = capacity;
+		}
+	}
+
+	/**
+	 * Get the number of idle windows.
+	 *
+	 * @return The idle window count.
+	 */
+	public int getIdleCount() {
+		synchronized(idle) {
+			return size;
+		}
+	}
+
+	/**
+	 * Get the number of windows reused from the pool.
+	 *
+	 * @return The hit count.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Get the number of windows which had to be created.
+	 *
+	 * @return The miss count.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Get the number of released windows which were disposed because the pool was full.
+	 *
+	 * @return The eviction count.
+	 */
+	public long getEvictions() {
+		return evictions.get();
+	}
+
+	/**
+	 * The key idle windows are stored under.
+	 */
+	static final class PoolKey {
+		/**
+		 * The theme snapshot.
+		 */
+		private final ThemeSnapshot theme;
+
+		/**
+		 * The size class.
+		 */
+		private final int sizeClass;
+
+		/**
+		 * Construct a new key.
+		 *
+		 * @param theme The theme.
+		 * @param sizeClass The size class.
+		 */
+		PoolKey(ThemeSnapshot theme, int sizeClass) {
+			this.theme = theme;
+			this.sizeClass = sizeClass;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof PoolKey)) {
+				return false;
+			}
+			PoolKey other = (PoolKey) obj;
+			return theme == other.theme && sizeClass == other.sizeClass;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(theme) * 31 + sizeClass;
+		}
+	}
+}
@@ -0,0 +1,374 @@
+package org.nikkii.alertify4j.ui;
+
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.themes.ThemeSnapshot;
+
+import javax.imageio.ImageIO;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of decoded and scaled alert icons, by key.
+ *
+ * Each image is decoded once, and each size it's asked for is scaled once, so showing the same icon on every alert
+ * costs a map lookup. Both the decoded images and the scaled icons are held by soft references, so the garbage
+ * collector can take them back under memory pressure, and each map is capped at a number of entries, dropping the
+ * least recently used first.
+ *
+ * A key is looked up as a classpath resource, then as a URL, then as a file. Images can also be put in directly. Safe
+ * to call from any thread.
+ *
+ * @author Nikki
+ */
+public class IconCache {
+
+	/**
+	 * The default maximum number of decoded images.
+	 */
+	public static final int DEFAULT_CAPACITY = 64;
+
+	/**
+	 * The cache {@link org.nikkii.alertify4j.AlertifyBuilder#icon(String)} keys are resolved from.
+	 */
+	private static final IconCache DEFAULT = new IconCache(DEFAULT_CAPACITY);
+
+	/**
+	 * The decoded images, least recently used first.
+	 */
+	private final LinkedHashMap<String, SoftReference<BufferedImage>> images;
+
+	/**
+	 * The scaled icons, least recently used first.
+	 */
+	private final LinkedHashMap<Variant, SoftReference<Icon>> icons;
+
+	/**
+	 * The maximum number of decoded images. Twice as many scaled icons are kept.
+	 */
+	private volatile int capacity;
+
+	/**
+	 * The number of icons found in the cache.
+	 */
+	private final AtomicLong hits = new AtomicLong();
+
+	/**
+	 * The number of icons which had to be scaled, or decoded and scaled.
+	 */
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Get the shared cache.
+	 *
+	 * @return The default cache.
+	 */
+	public static IconCache getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Construct a new cache.
+	 *
+	 * @param capacity The maximum number of decoded images.
+	 */
+	public IconCache(int capacity) {
+		this.capacity = capacity;
+
+		this.images = new LinkedHashMap<String, SoftReference<BufferedImage>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, SoftReference<BufferedImage>> eldest) {
+				return size() > IconCache.this.capacity;
+			}
+		};
+
+		this.icons = new LinkedHashMap<Variant, SoftReference<Icon>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Variant, SoftReference<Icon>> eldest) {
+				return size() > IconCache.this.capacity * 2;
+			}
+		};
+	}
+
+	/**
+	 * Get the icon an alert is shown with.
+	 *
+	 * @param config The alert config.
+	 * @param theme The theme snapshot, which gives the icon size.
+	 * @return The icon from the cache if the config has an icon key, otherwise the config's own icon.
+	 */
+	public Icon resolve(AlertifyConfig config, ThemeSnapshot theme) {
+		String key = config.getIconKey();
+
+		return key != null ? get(key, theme.getIconSize()) : config.getIcon();
+	}
+
+	/**
+	 * Get an icon, decoding and scaling it if it isn't cached.
+	 *
+	 * @param key The icon key.
+	 * @param size The length of the longest side, or 0 to keep the image's own size.
+	 * @return The icon, or null if the key couldn't be found or decoded.
+	 */
+	public Icon get(String key, int size) {
+		Variant variant = new Variant(key, size);
+
+		synchronized(this) {
+			SoftReference<Icon> ref = icons.get(variant);
+			Icon icon = ref != null ? ref.get() : null;
+
+			if (icon != null) {
+				hits.incrementAndGet();
+				return icon;
+			}
+		}
+
+		misses.incrementAndGet();
+
+		// Decoding and scaling happen outside the lock, so a slow load doesn't hold up cached icons. Two threads missing
+		// on the same icon at once both do the work, and the last one wins.
+		BufferedImage image = getImage(key);
+		if (image == null) {
+			return null;
+		}
+
+		Icon icon = new ImageIcon(scale(image, size));
+
+		synchronized(this) {
+			icons.put(variant, new SoftReference<Icon>(icon));
+		}
+
+		return icon;
+	}
+
+	/**
+	 * Put an image in the cache under a key, replacing anything already there.
+	 *
+	 * @param key The icon key.
+	 * @param image The image.
+	 */
+	public synchronized void put(String key, BufferedImage image) {
+		images.put(key, new SoftReference<BufferedImage>(image));
+
+		// Drop the scaled copies of any old image
+		for (Iterator<Variant> it = icons.keySet().iterator(); it.hasNext();) {
+			if (it.next().key.equals(key)) {
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Get a decoded image, decoding it if it isn't cached.
+	 *
+	 * @param key The icon key.
+	 * @return The image, or null if it couldn't be found or decoded.
+	 */
+	private BufferedImage getImage(String key) {
+		synchronized(this) {
+			SoftReference<BufferedImage> ref = images.get(key);
+			BufferedImage image = ref != null ? ref.get() : null;
+
+			if (image != null) {
+				return image;
+			}
+		}
+
+		BufferedImage image = decode(key);
+
+		if (image != null) {
+			synchronized(this) {
+				images.put(key, new SoftReference<BufferedImage>(image));
+			}
+		}
+
+		return image;
+	}
+
+	/**
+	 * Find and decode an image.
+	 *
+	 * @param key The icon key.
+	 * @return The image, or null if it couldn't be found or decoded.
+	 */
+	private static BufferedImage decode(String key) {
+		URL url = find(key);
+		if (url == null) {
+			return null;
+		}
+
+		try {
+			return ImageIO.read(url);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Find where an image is, trying the classpath, then a URL, then a file.
+	 *
+	 * @param key The icon key.
+	 * @return The URL, or null if it can't be found.
+	 */
+	private static URL find(String key) {
+		String resource = key.startsWith("/") ? key.substring(1) : key;
+
+		ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		URL url = loader != null ? loader.getResource(resource) : null;
+		if (url == null) {
+			url = IconCache.class.getClassLoader().getResource(resource);
+		}
+		if (url != null) {
+			return url;
+		}
+
+		try {
+			return new URL(key);
+		} catch (MalformedURLException e) {
+			// Not a URL, so try it as a file
+		}
+
+		File file = new File(key);
+		if (!file.isFile()) {
+			return null;
+		}
+
+		try {
+			return file.toURI().toURL();
+		} catch (MalformedURLException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Scale an image so its longest side fits a size, keeping its aspect ratio.
+	 *
+	 * @param image The image.
+	 * @param size The length of the longest side, or 0 to keep the image's own size.
+	 * @return The scaled image, or the image itself if it's already that size.
+	 */
+	private static BufferedImage scale(BufferedImage image, int size) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int longest = Math.max(width, height);
+
+		if (size <= 0 || longest == size) {
+			return image;
+		}
+
+		int scaledWidth = Math.max(1, Math.round((float) width * size / longest));
+		int scaledHeight = Math.max(1, Math.round((float) height * size / longest));
+
+		BufferedImage scaled = new BufferedImage(scaledWidth, scaledHeight, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = scaled.createGraphics();
+		try {
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+			g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			g.drawImage(image, 0, 0, scaledWidth, scaledHeight, null);
+		} finally {
+			g.dispose();
+		}
+
+		return scaled;
+	}
+
+	/**
+	 * Drop all cached images and icons.
+	 */
+	public synchronized void clear() {
+		images.clear();
+		icons.clear();
+	}
+
+	/**
+	 * Set the maximum number of decoded images. Takes effect when the next image is added.
+	 *
+	 * @param capacity The capacity.
+	 */
+	public void setCapacity(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Get the maximum number of decoded images.
+	 *
+	 * @return The capacity.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Get the number of icons found in the cache.
+	 *
+	 * @return The hit count.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Get the number of icons which had to be scaled, or decoded and scaled.
+	 *
+	 * @return The miss count.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * An icon key at a size.
+	 */
+	private static final class Variant {
+
+		/**
+		 * The icon key.
+		 */
+		private final String key;
+
+		/**
+		 * The size.
+		 */
+		private final int size;
+
+		/**
+		 * Construct a new variant.
+		 *
+		 * @param key The icon key.
+		 * @param size The size.
+		 */
+		public Variant(String key, int size) {
+			this.key = key;
+			this.size = size;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Variant)) {
+				return false;
+			}
+			Variant other = (Variant) obj;
+			return size == other.size && key.equals(other.key);
+		}
+
+		@Override
+		public int hashCode() {
+			return key.hashCode() * 31 + size;
+		}
+	}
+}
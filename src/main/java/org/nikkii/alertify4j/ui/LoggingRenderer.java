@@ -0,0 +1,103 @@
+package org.nikkii.alertify4j.ui;
+
+import org.nikkii.alertify4j.AlertifyConfig;
+
+import java.awt.Rectangle;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An {@link AlertRenderer} which writes alerts to a log instead of showing them, laid out on a virtual screen of a
+ * fixed size.
+ *
+ * This is the renderer used when {@link java.awt.GraphicsEnvironment#isHeadless()} is true, so a server sharing code
+ * with a desktop application gets its alerts in the log rather than a {@link java.awt.HeadlessException}. An alert is
+ * logged once when it first becomes visible; moves aren't logged.
+ *
+ * @author Nikki
+ */
+public class LoggingRenderer implements AlertRenderer {
+
+	/**
+	 * The logger alerts are written to.
+	 */
+	private final Logger logger;
+
+	/**
+	 * The virtual screen alerts are laid out on.
+	 */
+	private final Rectangle screen;
+
+	/**
+	 * The windows currently visible, so each alert is only logged once. Only used on the EDT.
+	 */
+	private final Set<AlertifyWindow> visible = Collections.newSetFromMap(new IdentityHashMap<AlertifyWindow, Boolean>());
+
+	/**
+	 * Construct a new renderer, logging to the Alertify logger with a virtual screen of the default size.
+	 */
+	public LoggingRenderer() {
+		this(Logger.getLogger("org.nikkii.alertify4j"), new Rectangle(0, 0, VIRTUAL_WIDTH, VIRTUAL_HEIGHT));
+	}
+
+	/**
+	 * Construct a new renderer.
+	 *
+	 * @param logger The logger alerts are written to.
+	 * @param screen The virtual screen alerts are laid out on.
+	 */
+	public LoggingRenderer(Logger logger, Rectangle screen) {
+		this.logger = logger;
+		this.screen = new Rectangle(screen);
+	}
+
+	@Override
+	public Rectangle[] getScreens() {
+		return new Rectangle[] { new Rectangle(screen) };
+	}
+
+	@Override
+	public void prepare(AlertifyWindow window) {
+		// Nothing to create ahead of time
+	}
+
+	@Override
+	public void update(AlertifyWindow window, Rectangle bounds) {
+		if (bounds == null) {
+			visible.remove(window);
+			return;
+		}
+
+		if (!visible.add(window)) {
+			return;
+		}
+
+		AlertifyConfig config = window.getConfig();
+		if (config != null && logger.isLoggable(Level.INFO)) {
+			logger.log(Level.INFO, "[{0}] {1}", new Object[] { config.getType(), config.getText() });
+		}
+	}
+
+	@Override
+	public void repaint(AlertifyWindow window) {
+		// Repeats are counted by the coalescer, and logging each one would defeat it
+	}
+
+	@Override
+	public void release(AlertifyWindow window) {
+		visible.remove(window);
+	}
+
+	@Override
+	public void discard(AlertifyWindow window) {
+		visible.remove(window);
+	}
+
+	@Override
+	public void dispose() {
+		visible.clear();
+	}
+}
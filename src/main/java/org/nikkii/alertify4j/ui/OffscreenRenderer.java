@@ -0,0 +1,285 @@
+package org.nikkii.alertify4j.ui;
+
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link AlertRenderer} which keeps alerts in memory instead of on a screen, laid out on one or more virtual screens
+ * of a fixed size. Works headless.
+ *
+ * It can be asked which alerts are visible and where, for their content images, or for an image of the whole virtual
+ * desktop, and clicks can be simulated. That's enough to test or benchmark everything Alertify does apart from talking
+ * to the native window system. The queries are safe to call from any thread.
+ *
+ * @author Nikki
+ */
+public class OffscreenRenderer implements AlertRenderer {
+
+	/**
+	 * The virtual screens alerts are laid out on, the primary screen first.
+	 */
+	private final Rectangle[] screens;
+
+	/**
+	 * The area covering every virtual screen.
+	 */
+	private final Rectangle desktop;
+
+	/**
+	 * The visible alerts, in paint order. Guarded by itself.
+	 */
+	private final Map<AlertifyWindow, Sprite> visible = new LinkedHashMap<AlertifyWindow, Sprite>();
+
+	/**
+	 * Construct a new renderer with a virtual screen of the default size.
+	 */
+	public OffscreenRenderer() {
+		this(new Rectangle(0, 0, VIRTUAL_WIDTH, VIRTUAL_HEIGHT));
+	}
+
+	/**
+	 * Construct a new renderer.
+	 *
+	 * @param screens The virtual screens alerts are laid out on, the primary screen first.
+	 */
+	public OffscreenRenderer(Rectangle... screens) {
+		if (screens.length == 0) {
+			throw new IllegalArgumentException("At least one screen is required");
+		}
+
+		this.screens = new Rectangle[screens.length];
+		for (int i = 0; i < screens.length; i++) {
+			this.screens[i] = new Rectangle(screens[i]);
+		}
+
+		desktop = new Rectangle(screens[0]);
+		for (Rectangle screen : screens) {
+			desktop.add(screen);
+		}
+	}
+
+	@Override
+	public Rectangle[] getScreens() {
+		Rectangle[] copy = new Rectangle[screens.length];
+		for (int i = 0; i < screens.length; i++) {
+			copy[i] = new Rectangle(screens[i]);
+		}
+		return copy;
+	}
+
+	@Override
+	public void prepare(AlertifyWindow window) {
+		// Nothing to create ahead of time
+	}
+
+	@Override
+	public void update(AlertifyWindow window, Rectangle bounds) {
+		if (bounds == null) {
+			release(window);
+			return;
+		}
+
+		synchronized(visible) {
+			Sprite sprite = visible.get(window);
+			if (sprite != null) {
+				sprite.bounds.setBounds(bounds);
+				return;
+			}
+		}
+
+		// Rendered outside the lock, since the sprite cache may have to lay the content out
+		BufferedImage image = snapshot(window);
+
+		synchronized(visible) {
+			visible.put(window, new Sprite(new Rectangle(bounds), image));
+		}
+	}
+
+	@Override
+	public void repaint(AlertifyWindow window) {
+		synchronized(visible) {
+			if (!visible.containsKey(window)) {
+				// Rendered when it's next shown
+				return;
+			}
+		}
+
+		BufferedImage image = snapshot(window);
+
+		synchronized(visible) {
+			Sprite sprite = visible.get(window);
+			if (sprite != null) {
+				sprite.image = image;
+			}
+		}
+	}
+
+	@Override
+	public void release(AlertifyWindow window) {
+		synchronized(visible) {
+			visible.remove(window);
+		}
+	}
+
+	@Override
+	public void discard(AlertifyWindow window) {
+		// Nothing is held for a window once it's released
+	}
+
+	@Override
+	public void dispose() {
+		synchronized(visible) {
+			visible.clear();
+		}
+	}
+
+	/**
+	 * Get what a window looks like. Most alerts share the cached content image; one with an occurrence badge is drawn
+	 * into an image of its own.
+	 *
+	 * @param window The window.
+	 * @return The image.
+	 */
+	private static BufferedImage snapshot(AlertifyWindow window) {
+		if (!window.hasBadge()) {
+			return window.getSprite();
+		}
+
+		BufferedImage image = new BufferedImage(window.getActualWidth(), window.getActualHeight(),
+			BufferedImage.TYPE_INT_ARGB_PRE);
+		Graphics2D g = image.createGraphics();
+		try {
+			window.paint(g);
+		} finally {
+			g.dispose();
+		}
+		return image;
+	}
+
+	/**
+	 * Get the visible alerts.
+	 *
+	 * @return The windows, oldest first.
+	 */
+	public List<AlertifyWindow> getVisible() {
+		synchronized(visible) {
+			return new ArrayList<AlertifyWindow>(visible.keySet());
+		}
+	}
+
+	/**
+	 * Get where an alert is on the virtual desktop.
+	 *
+	 * @param window The window.
+	 * @return A copy of its bounds, cut to its visible width, or null if it isn't visible.
+	 */
+	public Rectangle getBounds(AlertifyWindow window) {
+		synchronized(visible) {
+			Sprite sprite = visible.get(window);
+			return sprite == null ? null : new Rectangle(sprite.bounds);
+		}
+	}
+
+	/**
+	 * Get the image of a visible alert, with its occurrence badge if it has one.
+	 *
+	 * @param window The window.
+	 * @return The image, the window's actual size, or null if it isn't visible.
+	 */
+	public BufferedImage getImage(AlertifyWindow window) {
+		synchronized(visible) {
+			Sprite sprite = visible.get(window);
+			return sprite == null ? null : sprite.image;
+		}
+	}
+
+	/**
+	 * Paint the visible alerts into an image covering every virtual screen, transparent where there are none.
+	 *
+	 * @return The image.
+	 */
+	public BufferedImage render() {
+		BufferedImage image = new BufferedImage(desktop.width, desktop.height, BufferedImage.TYPE_INT_ARGB_PRE);
+		Graphics2D g = image.createGraphics();
+
+		try {
+			synchronized(visible) {
+				for (Sprite sprite : visible.values()) {
+					Rectangle bounds = sprite.bounds;
+
+					// Cut off at the visible width while sliding in or out
+					Graphics2D g2 = (Graphics2D) g.create();
+					try {
+						g2.translate(-desktop.x, -desktop.y);
+						g2.clipRect(bounds.x, bounds.y, bounds.width, bounds.height);
+						g2.drawImage(sprite.image, bounds.x, bounds.y, null);
+					} finally {
+						g2.dispose();
+					}
+				}
+			}
+		} finally {
+			g.dispose();
+		}
+
+		return image;
+	}
+
+	/**
+	 * Click a visible alert, as if it had been clicked on screen. The click is passed to its mouse listeners on the EDT.
+	 *
+	 * @param window The window.
+	 */
+	public void click(final AlertifyWindow window) {
+		SwingUtilities.invokeLater(new Runnable() {
+			@Override
+			public void run() {
+				if (getBounds(window) == null) {
+					return;
+				}
+
+				long now = System.currentTimeMillis();
+
+				MouseEvent pressed = new MouseEvent(window.getContent(), MouseEvent.MOUSE_PRESSED, now, 0, 0, 0, 1,
+					false, MouseEvent.BUTTON1);
+				for (MouseListener listener : window.getMouseListeners()) {
+					listener.mousePressed(pressed);
+				}
+			}
+		});
+	}
+
+	/**
+	 * A visible alert.
+	 */
+	private static final class Sprite {
+		/**
+		 * The bounds on the virtual screen.
+		 */
+		private final Rectangle bounds;
+
+		/**
+		 * The content image.
+		 */
+		private BufferedImage image;
+
+		/**
+		 * Construct a new sprite.
+		 *
+		 * @param bounds The bounds on the virtual screen.
+		 * @param image The content image.
+		 */
+		public Sprite(Rectangle bounds, BufferedImage image) {
+			this.bounds = bounds;
+			this.image = image;
+		}
+	}
+}
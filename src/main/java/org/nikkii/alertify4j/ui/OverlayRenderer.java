@@ -0,0 +1,98 @@
+package org.nikkii.alertify4j.ui;
+
+import java.awt.Rectangle;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The {@link AlertRenderer} behind {@link RenderMode#OVERLAY}, which paints the alerts on each screen into one
+ * {@link AlertifyOverlay} covering that screen.
+ *
+ * An overlay is created the first time an alert is shown on its screen, and kept until the renderer is disposed.
+ *
+ * @author Nikki
+ */
+public class OverlayRenderer implements AlertRenderer {
+
+	/**
+	 * The overlay covering each screen area. Only used on the EDT.
+	 */
+	private final Map<Rectangle, AlertifyOverlay> overlays = new HashMap<Rectangle, AlertifyOverlay>();
+
+	/**
+	 * The overlay each visible window is painted into. Only used on the EDT.
+	 */
+	private final Map<AlertifyWindow, AlertifyOverlay> owners = new IdentityHashMap<AlertifyWindow, AlertifyOverlay>();
+
+	@Override
+	public Rectangle[] getScreens() {
+		// Laid out on the real screens, which the overlays cover
+		return null;
+	}
+
+	@Override
+	public void prepare(AlertifyWindow window) {
+		// Sprites are rendered when first painted
+	}
+
+	@Override
+	public void update(AlertifyWindow window, Rectangle bounds) {
+		if (bounds == null) {
+			release(window);
+			return;
+		}
+
+		AlertifyOverlay overlay = owners.get(window);
+
+		if (overlay == null) {
+			Rectangle screen = window.getScreen();
+			if (screen == null) {
+				return;
+			}
+
+			overlay = overlays.get(screen);
+			if (overlay == null) {
+				overlay = new AlertifyOverlay(screen);
+				overlays.put(new Rectangle(screen), overlay);
+			}
+
+			owners.put(window, overlay);
+		}
+
+		overlay.update(window, bounds);
+	}
+
+	@Override
+	public void repaint(AlertifyWindow window) {
+		AlertifyOverlay overlay = owners.get(window);
+
+		if (overlay != null) {
+			overlay.repaint(window);
+		}
+	}
+
+	@Override
+	public void release(AlertifyWindow window) {
+		AlertifyOverlay overlay = owners.remove(window);
+
+		if (overlay != null) {
+			overlay.release(window);
+		}
+	}
+
+	@Override
+	public void discard(AlertifyWindow window) {
+		// Nothing is held for a window once its sprite is removed
+	}
+
+	@Override
+	public void dispose() {
+		for (AlertifyOverlay overlay : overlays.values()) {
+			overlay.dispose();
+		}
+
+		overlays.clear();
+		owners.clear();
+	}
+}
@@ -0,0 +1,21 @@
+package org.nikkii.alertify4j.ui;
+
+/**
+ * An enum containing how the built in Swing renderers put alerts on screen. Other renderers are set with
+ * {@link org.nikkii.alertify4j.Alertify#setRenderer(AlertRenderer)}.
+ *
+ * @author Nikki
+ */
+public enum RenderMode {
+	/**
+	 * Every alert is its own always on top window, moved and shaped natively, by a {@link SwingRenderer}.
+	 */
+	WINDOW,
+
+	/**
+	 * All alerts on a screen are painted as sprites into one transparent {@link AlertifyOverlay}, by an
+	 * {@link OverlayRenderer}, so moving a stack of alerts is a repaint of the changed areas instead of a native move per
+	 * window.
+	 */
+	OVERLAY;
+}
@@ -0,0 +1,339 @@
+package org.nikkii.alertify4j.ui;
+
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.themes.ThemeSnapshot;
+
+import javax.swing.Icon;
+import javax.swing.JPanel;
+import javax.swing.border.Border;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An LRU cache of pre-rendered alert images, limited by the number of bytes they take up.
+ *
+ * An alert's content never changes while it's on screen, so its panel is laid out and painted once into an image,
+ * already cut to the window shape. Every frame after that is a single blit, and a repeat of an alert which is still
+ * cached doesn't lay anything out at all. The occurrence badge isn't part of the image; the window paints it on top,
+ * so a repeated alert keeps using the same image however many times it's counted.
+ *
+ * Images are created compatible with the screen, so Java2D can keep them in video memory. Everything here must be
+ * called on the EDT, apart from the counters.
+ *
+ * @author Nikki
+ */
+public class SpriteCache {
+
+	/**
+	 * The default byte budget.
+	 */
+	public static final long DEFAULT_BUDGET = 8 * 1024 * 1024;
+
+	/**
+	 * The cached images, least recently used first.
+	 */
+	private final LinkedHashMap<Key, BufferedImage> images = new LinkedHashMap<Key, BufferedImage>(16, 0.75f, true);
+
+	/**
+	 * The graphics configuration images are created for, or null until the first image is rendered.
+	 */
+	private GraphicsConfiguration configuration;
+
+	/**
+	 * The maximum number of bytes of images to keep.
+	 */
+	private volatile long budget;
+
+	/**
+	 * The number of bytes of cached images.
+	 */
+	private long bytes = 0;
+
+	/**
+	 * The number of images found in the cache.
+	 */
+	private final AtomicLong hits = new AtomicLong();
+
+	/**
+	 * The number of images which had to be rendered.
+	 */
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * The number of images dropped to stay within the budget.
+	 */
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Construct a new cache.
+	 *
+	 * @param budget The maximum number of bytes of images to keep.
+	 */
+	public SpriteCache(long budget) {
+		this.budget = budget;
+	}
+
+	/**
+	 * Get the image of a window's content, rendering it if it isn't cached.
+	 *
+	 * @param window The window.
+	 * @return The image, the window's actual size.
+	 */
+	public BufferedImage get(AlertifyWindow window) {
+		Key key = window.getSpriteKey();
+		BufferedImage image = images.get(key);
+
+		if (image != null) {
+			hits.incrementAndGet();
+			return image;
+		}
+
+		misses.incrementAndGet();
+		image = render(window);
+
+		images.put(key, image);
+		bytes += sizeOf(image);
+		trim();
+
+		return image;
+	}
+
+	/**
+	 * Paint a window's content into a new image, cut to the window shape.
+	 *
+	 * @param window The window.
+	 * @return The image.
+	 */
+	private BufferedImage render(AlertifyWindow window) {
+		int width = window.getActualWidth();
+		int height = window.getActualHeight();
+
+		BufferedImage image;
+		if (GraphicsEnvironment.isHeadless()) {
+			image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+		} else {
+			if (configuration == null) {
+				configuration = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+					.getDefaultConfiguration();
+			}
+			image = configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+		}
+
+		JPanel content = window.getContent();
+		content.setBounds(0, 0, width, height);
+		layout(content);
+
+		Graphics2D g = image.createGraphics();
+		try {
+			g.clip(new RoundRectangle2D.Double(0, 0, width, height, 4, 4));
+			content.paint(g);
+		} finally {
+			g.dispose();
+		}
+
+		return image;
+	}
+
+	/**
+	 * Lay out a container and everything in it. The content panel never has a peer, so validate() would do nothing.
+	 *
+	 * @param container The container.
+	 */
+	private static void layout(Container container) {
+		container.doLayout();
+
+		for (Component child : container.getComponents()) {
+			if (child instanceof Container) {
+				layout((Container) child);
+			}
+		}
+	}
+
+	/**
+	 * Drop the least recently used images until the cache is within its budget.
+	 */
+	private void trim() {
+		Iterator<BufferedImage> it = images.values().iterator();
+
+		while (bytes > budget && it.hasNext()) {
+			bytes -= sizeOf(it.next());
+			it.remove();
+			evictions.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Get the number of bytes an image takes up.
+	 *
+	 * @param image The image.
+	 * @return The size, assuming 4 bytes per pixel.
+	 */
+	private static long sizeOf(BufferedImage image) {
+		return (long) image.getWidth() * image.getHeight() * 4;
+	}
+
+	/**
+	 * Drop all cached images.
+	 */
+	public void clear() {
+		for (BufferedImage image : images.values()) {
+			image.flush();
+		}
+		images.clear();
+		bytes = 0;
+		configuration = null;
+	}
+
+	/**
+	 * Set the maximum number of bytes of images to keep. Takes effect when the next image is rendered.
+	 *
+	 * @param budget The byte budget.
+	 */
+	public void setBudget(long budget) {
+		this.budget = budget;
+	}
+
+	/**
+	 * Get the maximum number of bytes of images to keep.
+	 *
+	 * @return The byte budget.
+	 */
+	public long getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Get the number of images found in the cache.
+	 *
+	 * @return The hit count.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Get the number of images which had to be rendered.
+	 *
+	 * @return The miss count.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Get the number of images dropped to stay within the budget.
+	 *
+	 * @return The eviction count.
+	 */
+	public long getEvictions() {
+		return evictions.get();
+	}
+
+	/**
+	 * What an alert image looks like: its theme, type, font, text, icon, border and text positions.
+	 */
+	static final class Key {
+
+		/**
+		 * The theme snapshot, compared by identity.
+		 */
+		private final ThemeSnapshot theme;
+
+		/**
+		 * The alert type.
+		 */
+		private final AlertifyType type;
+
+		/**
+		 * The label font.
+		 */
+		private final Font font;
+
+		/**
+		 * The label text.
+		 */
+		private final String text;
+
+		/**
+		 * The label icon.
+		 */
+		private final Icon icon;
+
+		/**
+		 * The label border, compared by identity.
+		 */
+		private final Border border;
+
+		/**
+		 * The text positions and icon text gap, packed together.
+		 */
+		private final int layout;
+
+		/**
+		 * The precomputed hash code.
+		 */
+		private final int hash;
+
+		/**
+		 * Construct a new key.
+		 *
+		 * @param theme The theme snapshot.
+		 * @param config The alert config.
+		 * @param font The label font.
+		 * @param icon The label icon.
+		 */
+		Key(ThemeSnapshot theme, AlertifyConfig config, Font font, Icon icon) {
+			this.theme = theme;
+			this.type = config.getType();
+			this.font = font;
+			this.text = config.getText();
+			this.icon = icon;
+			this.border = config.getBorder();
+			this.layout = config.getHorizontalTextPosition() << 24 | config.getVerticalTextPosition() << 16
+				| config.getIconTextGap() & 0xffff;
+
+			int hash = System.identityHashCode(theme);
+			hash = hash * 31 + type.hashCode();
+			hash = hash * 31 + (font != null ? font.hashCode() : 0);
+			hash = hash * 31 + (text != null ? text.hashCode() : 0);
+			hash = hash * 31 + (icon != null ? icon.hashCode() : 0);
+			hash = hash * 31 + System.identityHashCode(border);
+			hash = hash * 31 + layout;
+			this.hash = hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			Key other = (Key) obj;
+			return hash == other.hash && theme == other.theme && type == other.type && border == other.border
+				&& layout == other.layout
+				&& (font == null ? other.font == null : font.equals(other.font))
+				&& (text == null ? other.text == null : text.equals(other.text))
+				&& (icon == null ? other.icon == null : icon.equals(other.icon));
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
@@ -0,0 +1,212 @@
+package org.nikkii.alertify4j.ui;
+
+import com.sun.awt.AWTUtilities;
+
+import javax.swing.JComponent;
+import javax.swing.JWindow;
+import javax.swing.SwingUtilities;
+import java.awt.Cursor;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.geom.RoundRectangle2D;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The {@link AlertRenderer} behind {@link RenderMode#WINDOW}, which shows every alert in its own always on top
+ * {@link JWindow}, moved and shaped natively.
+ *
+ * Each {@link AlertifyWindow} is given a native window the first time it's shown, and keeps it while it's pooled, so
+ * a reused alert doesn't create a new peer. The native window only paints the alert's content image and badge, and
+ * passes clicks on to the alert's mouse listeners.
+ *
+ * @author Nikki
+ */
+public class SwingRenderer implements AlertRenderer {
+
+	/**
+	 * The native window of each alert which has been shown. Only used on the EDT.
+	 */
+	private final Map<AlertifyWindow, Peer> peers = new IdentityHashMap<AlertifyWindow, Peer>();
+
+	@Override
+	public Rectangle[] getScreens() {
+		return null;
+	}
+
+	@Override
+	public void prepare(final AlertifyWindow window) {
+		SwingUtilities.invokeLater(new Runnable() {
+			@Override
+			public void run() {
+				peerOf(window).pack(); // Creates the native peer
+			}
+		});
+	}
+
+	@Override
+	public void update(AlertifyWindow window, Rectangle bounds) {
+		Peer peer = peerOf(window);
+
+		if (bounds == null) {
+			if (peer.isVisible()) {
+				peer.setVisible(false);
+			}
+			return;
+		}
+
+		peer.reshape(window.getActualWidth(), window.getActualHeight());
+
+		// Compared field by field, since getBounds() returns a copy
+		if (bounds.x != peer.getX() || bounds.y != peer.getY() || bounds.width != peer.getWidth()
+			|| bounds.height != peer.getHeight()) {
+			peer.setBounds(bounds);
+		}
+
+		Cursor cursor = Cursor.getPredefinedCursor(window.isHidden() ? Cursor.DEFAULT_CURSOR : Cursor.HAND_CURSOR);
+		if (peer.getCursor() != cursor) {
+			peer.setCursor(cursor);
+		}
+
+		if (!peer.isVisible()) {
+			peer.setVisible(true);
+		}
+	}
+
+	@Override
+	public void repaint(AlertifyWindow window) {
+		Peer peer = peers.get(window);
+
+		if (peer != null) {
+			peer.repaint();
+		}
+	}
+
+	@Override
+	public void release(AlertifyWindow window) {
+		Peer peer = peers.get(window);
+
+		if (peer != null) {
+			peer.setVisible(false);
+		}
+	}
+
+	@Override
+	public void discard(AlertifyWindow window) {
+		Peer peer = peers.remove(window);
+
+		if (peer != null) {
+			peer.dispose();
+		}
+	}
+
+	@Override
+	public void dispose() {
+		for (Peer peer : new ArrayList<Peer>(peers.values())) {
+			peer.dispose();
+		}
+		peers.clear();
+	}
+
+	/**
+	 * Get the native window of an alert, creating it if it doesn't have one yet.
+	 *
+	 * @param window The alert's window.
+	 * @return The native window.
+	 */
+	private Peer peerOf(AlertifyWindow window) {
+		Peer peer = peers.get(window);
+
+		if (peer == null) {
+			peer = new Peer(window);
+			peers.put(window, peer);
+		}
+
+		return peer;
+	}
+
+	/**
+	 * The native window showing an alert.
+	 */
+	private static final class Peer extends JWindow {
+
+		/**
+		 *
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The width the window was last shaped for.
+		 */
+		private int shapeWidth;
+
+		/**
+		 * The height the window was last shaped for.
+		 */
+		private int shapeHeight;
+
+		/**
+		 * Construct a new native window.
+		 *
+		 * @param window The alert shown.
+		 */
+		public Peer(final AlertifyWindow window) {
+			JComponent view = new JComponent() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void paintComponent(Graphics g) {
+					window.paint(g);
+				}
+			};
+
+			view.addMouseListener(new MouseAdapter() {
+				@Override
+				public void mousePressed(MouseEvent e) {
+					for (MouseListener listener : window.getMouseListeners()) {
+						listener.mousePressed(e);
+					}
+				}
+
+				@Override
+				public void mouseReleased(MouseEvent e) {
+					for (MouseListener listener : window.getMouseListeners()) {
+						listener.mouseReleased(e);
+					}
+				}
+
+				@Override
+				public void mouseClicked(MouseEvent e) {
+					for (MouseListener listener : window.getMouseListeners()) {
+						listener.mouseClicked(e);
+					}
+				}
+			});
+
+			setContentPane(view);
+			setAlwaysOnTop(true);
+			setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+			reshape(window.getActualWidth(), window.getActualHeight());
+		}
+
+		/**
+		 * Cut the window to rounded corners, if its size changed since it was last shaped.
+		 *
+		 * @param width The actual width.
+		 * @param height The actual height.
+		 */
+		public void reshape(int width, int height) {
+			if (width == shapeWidth && height == shapeHeight) {
+				return;
+			}
+
+			shapeWidth = width;
+			shapeHeight = height;
+			AWTUtilities.setWindowShape(this, new RoundRectangle2D.Double(0, 0, width, height, 4, 4));
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package org.nikkii.alertify4j.ui;
+
+import org.nikkii.alertify4j.tween.AnimationClock;
+
+import javax.swing.SwingUtilities;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collects windows whose pending bounds changed during a frame and hands them to the renderer on the Event Dispatch
+ * Thread.
+ *
+ * Animations only write into each window's pending bounds, and once per frame {@link #commit()} posts a single task which
+ * gives every dirty window one {@link AlertRenderer#update(AlertifyWindow, java.awt.Rectangle)} call. If the EDT is
+ * behind and the previous flush hasn't run yet, no new task is posted; the queued one will pick up the latest bounds.
+ *
+ * Dirty windows are collected in an array which is swapped with a second one when flushed, and the bounds are passed
+ * in one reused rectangle, so a frame allocates nothing apart from the one event which posts the flush.
+ *
+ * @author Nikki
+ */
+public class WindowCommitter {
+
+	/**
+	 * The number of dirty windows the arrays start with room for.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * The lock guarding the dirty windows.
+	 */
+	private final Object lock = new Object();
+
+	/**
+	 * The windows with uncommitted changes. Guarded by the lock.
+	 */
+	private AlertifyWindow[] dirty = new AlertifyWindow[INITIAL_CAPACITY];
+
+	/**
+	 * The number of windows with uncommitted changes. Guarded by the lock.
+	 */
+	private int dirtyCount = 0;
+
+	/**
+	 * The array the last flush applied, swapped in to collect the next frame's windows. Guarded by the lock.
+	 */
+	private AlertifyWindow[] spare = new AlertifyWindow[INITIAL_CAPACITY];
+
+	/**
+	 * The rectangle each window's bounds are passed to the renderer in. Only used on the EDT.
+	 */
+	private final Rectangle bounds = new Rectangle();
+
+	/**
+	 * Flag for whether a flush is already waiting on the EDT.
+	 */
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	/**
+	 * The renderer putting windows on screen.
+	 */
+	private volatile AlertRenderer renderer;
+
+	/**
+	 * Construct a new committer.
+	 *
+	 * @param renderer The renderer putting windows on screen.
+	 */
+	public WindowCommitter(AlertRenderer renderer) {
+		this.renderer = renderer;
+	}
+
+	/**
+	 * The task which applies all pending changes.
+	 */
+	private final Runnable flush = new Runnable() {
+		@Override
+		public void run() {
+			flush();
+		}
+	};
+
+	/**
+	 * Mark a window as having pending changes. Called by the window itself, at most once per commit.
+	 *
+	 * @param window The window.
+	 */
+	void markDirty(AlertifyWindow window) {
+		synchronized(lock) {
+			if (dirtyCount == dirty.length) {
+				dirty = Arrays.copyOf(dirty, dirtyCount * 2);
+			}
+			dirty[dirtyCount++] = window;
+		}
+	}
+
+	/**
+	 * Post the pending changes to the EDT, if there are any and a flush isn't already waiting.
+	 */
+	public void commit() {
+		boolean pending;
+		synchronized(lock) {
+			pending = dirtyCount > 0;
+		}
+
+		if (pending && scheduled.compareAndSet(false, true)) {
+			SwingUtilities.invokeLater(flush);
+		}
+	}
+
+	/**
+	 * Apply the pending changes now. This is what the task posted by {@link #commit()} runs, so it must be called on the
+	 * EDT, unless the renderer doesn't need it to be.
+	 */
+	public void flush() {
+		scheduled.set(false);
+
+		AlertifyWindow[] windows;
+		int count;
+
+		synchronized(lock) {
+			windows = dirty;
+			count = dirtyCount;
+
+			dirty = spare;
+			dirtyCount = 0;
+			spare = windows;
+		}
+
+		// Windows marked while this runs go into the other array, for the next flush
+		for (int i = 0; i < count; i++) {
+			AlertifyWindow window = windows[i];
+			windows[i] = null;
+
+			try {
+				window.applyPending(bounds);
+			} catch (RuntimeException e) {
+				// Keep going, or the windows after it would never be applied
+				AnimationClock.report(e);
+			}
+		}
+	}
+
+	/**
+	 * Set the renderer putting windows on screen. Must be called on the EDT, with no windows showing.
+	 *
+	 * @param renderer The renderer.
+	 */
+	public void setRenderer(AlertRenderer renderer) {
+		this.renderer = renderer;
+	}
+
+	/**
+	 * Get the renderer putting windows on screen.
+	 *
+	 * @return The renderer.
+	 */
+	public AlertRenderer getRenderer() {
+		return renderer;
+	}
+}
@@ -0,0 +1,168 @@
+package org.nikkii.alertify4j.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free multi-producer single-consumer ring buffer.
+ *
+ * Each slot has a sequence number saying whose turn it is. A producer claims the next slot with one compare-and-set
+ * on the tail, writes the element and then publishes it by bumping the slot's sequence. The consumer only ever reads
+ * slots whose sequence says they're published, so it never sees a half written element and never needs a lock.
+ *
+ * Producers never wait: if the buffer is full {@link #offer(Object)} just returns false. Only one thread may call
+ * {@link #poll()}.
+ *
+ * @author Nikki
+ */
+public class MpscRingBuffer<E> {
+
+	/**
+	 * The mask used to turn a sequence into a slot index.
+	 */
+	private final int mask;
+
+	/**
+	 * The elements, by slot.
+	 */
+	private final AtomicReferenceArray<E> elements;
+
+	/**
+	 * The sequence of each slot. A slot is free for the producer claiming sequence n when it holds n, and published
+	 * for the consumer when it holds n + 1.
+	 */
+	private final AtomicLongArray sequences;
+
+	/**
+	 * The next sequence to be claimed by a producer.
+	 */
+	private final AtomicLong tail = new AtomicLong();
+
+	/**
+	 * The next sequence to be taken by the consumer. Only written by the consumer.
+	 */
+	private volatile long head = 0;
+
+	/**
+	 * Construct a new ring buffer.
+	 *
+	 * @param capacity The capacity, rounded up to a power of two.
+	 */
+	public MpscRingBuffer(int capacity) {
+		if (capacity < 1 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("Capacity must be between 1 and 2^30.");
+		}
+
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+
+		mask = size - 1;
+		elements = new AtomicReferenceArray<E>(size);
+		sequences = new AtomicLongArray(size);
+
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * Add an element. Safe to call from any thread.
+	 *
+	 * @param element The element.
+	 * @return False if the buffer is full.
+	 */
+	public boolean offer(E element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+
+		for (;;) {
+			long sequence = tail.get();
+			int index = (int) sequence & mask;
+			long turn = sequences.get(index) - sequence;
+
+			if (turn == 0) {
+				if (tail.compareAndSet(sequence, sequence + 1)) {
+					elements.set(index, element);
+					sequences.set(index, sequence + 1);
+					return true;
+				}
+			} else if (turn < 0) {
+				// The consumer hasn't freed this slot from the last lap yet
+				return false;
+			}
+			// Otherwise another producer claimed the slot first, so try the next one
+		}
+	}
+
+	/**
+	 * Take the oldest element. Must only be called from the consumer thread.
+	 *
+	 * @return The element, or null if the buffer is empty or the next element hasn't been published yet.
+	 */
+	public E poll() {
+		long sequence = head;
+		int index = (int) sequence & mask;
+
+		if (sequences.get(index) != sequence + 1) {
+			return null;
+		}
+
+		E element = elements.get(index);
+		elements.set(index, null);
+
+		// Free the slot for the producer one lap ahead
+		sequences.set(index, sequence + mask + 1);
+		head = sequence + 1;
+		return element;
+	}
+
+	/**
+	 * Check if the buffer is empty. Only exact on the consumer thread.
+	 *
+	 * @return True, if there are no elements.
+	 */
+	public boolean isEmpty() {
+		return tail.get() == head;
+	}
+
+	/**
+	 * Get the number of elements. Only an estimate while producers are adding elements.
+	 *
+	 * @return The size.
+	 */
+	public int size() {
+		long size = tail.get() - head;
+		return size < 0 ? 0 : (int) Math.min(size, capacity());
+	}
+
+	/**
+	 * Get the number of elements ever added, which is also the sequence the next element will get.
+	 *
+	 * @return The added count.
+	 */
+	public long getOfferedCount() {
+		return tail.get();
+	}
+
+	/**
+	 * Get the number of elements ever taken, which is also the sequence of the next element {@link #poll()} returns.
+	 *
+	 * @return The taken count.
+	 */
+	public long getPolledCount() {
+		return head;
+	}
+
+	/**
+	 * Get the capacity.
+	 *
+	 * @return The number of slots.
+	 */
+	public int capacity() {
+		return mask + 1;
+	}
+}
@@ -0,0 +1,151 @@
+package org.nikkii.alertify4j.util;
+
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.Insets;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cache of the usable area of a screen: from {@link GraphicsEnvironment#getMaximumWindowBounds()} for the primary
+ * screen, or a device's bounds less its insets.
+ *
+ * Querying the bounds is a native round trip on most platforms, so it's fetched once and reused. There's no public
+ * event for the display configuration or the screen insets (taskbars, docks) changing, so the bounds are refetched
+ * once they are older than the max age, or straight away after {@link #invalidate()}.
+ *
+ * Renderers which don't draw on a real screen pin the bounds to their virtual screen instead, which also keeps this
+ * working headless.
+ *
+ * @author Nikki
+ */
+public class ScreenBounds {
+
+	/**
+	 * The default max age of the cached bounds. A storm of alerts still only queries the screen once a second, and a
+	 * moved taskbar is picked up by the next alert after that.
+	 */
+	public static final long DEFAULT_MAX_AGE = TimeUnit.SECONDS.toMillis(1);
+
+	/**
+	 * The screen device, or null for the primary screen.
+	 */
+	private final GraphicsDevice device;
+
+	/**
+	 * The pinned bounds, or null to use the real screen.
+	 */
+	private volatile Rectangle fixed;
+
+	/**
+	 * The cached bounds, or null if they need to be fetched.
+	 */
+	private volatile Rectangle bounds;
+
+	/**
+	 * The time the bounds were fetched, from {@link System#nanoTime()}.
+	 */
+	private volatile long fetchedAt;
+
+	/**
+	 * The max age of the cached bounds, in nanoseconds.
+	 */
+	private volatile long maxAge = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_AGE);
+
+	/**
+	 * Construct a new cache of the primary screen.
+	 */
+	public ScreenBounds() {
+		this(null);
+	}
+
+	/**
+	 * Construct a new cache of a screen.
+	 *
+	 * @param device The screen device, or null for the primary screen.
+	 */
+	public ScreenBounds(GraphicsDevice device) {
+		this.device = device;
+	}
+
+	/**
+	 * Get the usable screen area.
+	 *
+	 * @return A copy of the cached bounds.
+	 */
+	public Rectangle get() {
+		Rectangle fixed = this.fixed;
+		if (fixed != null) {
+			return new Rectangle(fixed);
+		}
+
+		Rectangle bounds = this.bounds;
+
+		if (bounds == null || System.nanoTime() - fetchedAt > maxAge) {
+			bounds = fetch();
+
+			fetchedAt = System.nanoTime();
+			this.bounds = bounds;
+		}
+
+		return new Rectangle(bounds);
+	}
+
+	/**
+	 * Query the usable area of the screen.
+	 *
+	 * @return The bounds.
+	 */
+	protected Rectangle fetch() {
+		if (device == null) {
+			return GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
+		}
+
+		GraphicsConfiguration configuration = device.getDefaultConfiguration();
+		Rectangle bounds = configuration.getBounds();
+		Insets insets = Toolkit.getDefaultToolkit().getScreenInsets(configuration);
+
+		bounds.x += insets.left;
+		bounds.y += insets.top;
+		bounds.width -= insets.left + insets.right;
+		bounds.height -= insets.top + insets.bottom;
+		return bounds;
+	}
+
+	/**
+	 * Get the screen device.
+	 *
+	 * @return The device, or null for the primary screen.
+	 */
+	public GraphicsDevice getDevice() {
+		return device;
+	}
+
+	/**
+	 * Drop the cached bounds, so the next call to {@link #get()} fetches them again.
+	 */
+	public void invalidate() {
+		bounds = null;
+	}
+
+	/**
+	 * Pin the bounds to a fixed area, instead of the usable area of the real screen.
+	 *
+	 * @param fixed The area, or null to use the real screen again.
+	 */
+	public void setFixed(Rectangle fixed) {
+		this.fixed = fixed == null ? null : new Rectangle(fixed);
+		invalidate();
+	}
+
+	/**
+	 * Set how long the bounds are cached for before being fetched again.
+	 *
+	 * @param maxAge The max age, in milliseconds.
+	 */
+	public void setMaxAge(long maxAge) {
+		this.maxAge = TimeUnit.MILLISECONDS.toNanos(maxAge);
+	}
+}
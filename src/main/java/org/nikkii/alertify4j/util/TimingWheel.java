@@ -0,0 +1,343 @@
+package org.nikkii.alertify4j.util;
+
+import org.nikkii.alertify4j.tween.AnimationClock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A hashed timing wheel, for timers which are mostly cancelled or pushed back before they fire.
+ *
+ * Time is split into ticks, and each timer sits in the slot for the tick its deadline falls in. The slots are intrusive
+ * doubly linked lists, so scheduling and cancelling are O(1) and a cancelled timer is unlinked straight away instead of
+ * lingering until it would have fired. Timers further away than one turn of the wheel simply wait in their slot for
+ * another lap.
+ *
+ * Pushing a timer back doesn't touch the wheel at all: it only moves the deadline, and when the timer's slot comes round
+ * it's put back in the slot for its new deadline.
+ *
+ * The wheel has no thread of its own. It's driven by calling {@link #advance(long)}, and apart from
+ * {@link Timeout#reset(long, TimeUnit)} it must only be used from the thread doing that.
+ *
+ * @author Nikki
+ */
+public class TimingWheel {
+
+	/**
+	 * The default number of slots.
+	 */
+	public static final int DEFAULT_WHEEL_SIZE = 512;
+
+	/**
+	 * The default tick length, in milliseconds.
+	 */
+	public static final long DEFAULT_TICK = 10;
+
+	/**
+	 * The slots. Each one is the sentinel of a circular list of timers.
+	 */
+	private final Timeout[] slots;
+
+	/**
+	 * The sentinel of the slot being expired, which its timers are moved to while their tasks run.
+	 */
+	private final Timeout expiring = new Timeout(this, null);
+
+	/**
+	 * The mask used to turn a tick into a slot index.
+	 */
+	private final int mask;
+
+	/**
+	 * The tick length, in nanoseconds.
+	 */
+	private final long tickLength;
+
+	/**
+	 * The time tick 0 started, from {@link System#nanoTime()}. Ticks are counted from here so they're never negative.
+	 */
+	private final long origin;
+
+	/**
+	 * The last tick which was processed.
+	 */
+	private long tick;
+
+	/**
+	 * The number of scheduled timers.
+	 */
+	private int size = 0;
+
+	/**
+	 * Construct a new wheel with the default size and tick length.
+	 */
+	public TimingWheel() {
+		this(DEFAULT_WHEEL_SIZE, DEFAULT_TICK, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Construct a new wheel.
+	 *
+	 * @param wheelSize The number of slots, rounded up to a power of two.
+	 * @param tickLength The tick length.
+	 * @param unit The tick length unit.
+	 */
+	public TimingWheel(int wheelSize, long tickLength, TimeUnit unit) {
+		if (wheelSize < 1 || wheelSize > 1 << 30) {
+			throw new IllegalArgumentException("Wheel size must be between 1 and 2^30.");
+		}
+		if (tickLength <= 0) {
+			throw new IllegalArgumentException("Tick length must be positive.");
+		}
+
+		int size = Integer.highestOneBit(wheelSize);
+		if (size < wheelSize) {
+			size <<= 1;
+		}
+
+		this.slots = new Timeout[size];
+		this.mask = size - 1;
+		this.tickLength = unit.toNanos(tickLength);
+		this.origin = System.nanoTime();
+		this.tick = 0;
+
+		for (int i = 0; i < size; i++) {
+			slots[i] = new Timeout(this, null);
+		}
+	}
+
+	/**
+	 * Schedule a task.
+	 *
+	 * @param task The task.
+	 * @param delay The delay.
+	 * @param unit The delay unit.
+	 * @return The timer, which can be cancelled or pushed back.
+	 */
+	public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+		Timeout timeout = new Timeout(this, task);
+		timeout.deadline = System.nanoTime() + unit.toNanos(delay);
+		insert(timeout);
+		return timeout;
+	}
+
+	/**
+	 * Run the tasks of all timers which are due, moving pushed back timers to their new slot.
+	 *
+	 * @param now The current time, from {@link System#nanoTime()}.
+	 */
+	public void advance(long now) {
+		long target = (now - origin) / tickLength;
+
+		// After a gap longer than a lap every slot is due, but each only needs visiting once
+		long end = Math.min(target, tick + slots.length);
+
+		while (tick < end) {
+			tick++;
+			expire(slots[(int) tick & mask], now);
+		}
+
+		tick = target;
+	}
+
+	/**
+	 * Get the time the next non-empty slot is due. Timers in it may have been pushed back, so this is the earliest the
+	 * wheel needs advancing rather than the exact deadline of a timer.
+	 *
+	 * @return The time, relative to {@link System#nanoTime()}, or -1 if no timers are scheduled.
+	 */
+	public long nextDeadline() {
+		if (size == 0) {
+			return -1;
+		}
+
+		for (long next = tick + 1; next <= tick + slots.length; next++) {
+			Timeout sentinel = slots[(int) next & mask];
+			if (sentinel.next != sentinel) {
+				return origin + next * tickLength;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Get the number of scheduled timers.
+	 *
+	 * @return The timer count.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Check if no timers are scheduled.
+	 *
+	 * @return True, if the wheel is empty.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Cancel all timers.
+	 */
+	public void clear() {
+		for (Timeout sentinel : slots) {
+			Timeout timeout = sentinel.next;
+			while (timeout != sentinel) {
+				Timeout next = timeout.next;
+				timeout.prev = null;
+				timeout.next = null;
+				timeout = next;
+			}
+			sentinel.prev = sentinel;
+			sentinel.next = sentinel;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Run or reschedule the timers in a slot.
+	 *
+	 * @param sentinel The slot.
+	 * @param now The current time.
+	 */
+	private void expire(Timeout sentinel, long now) {
+		if (sentinel.next == sentinel) {
+			return;
+		}
+
+		// Move the list aside first, so timers put back in this slot aren't visited again. Tasks can still cancel the
+		// timers which haven't been visited, since they stay properly linked.
+		expiring.next = sentinel.next;
+		expiring.prev = sentinel.prev;
+		expiring.next.prev = expiring;
+		expiring.prev.next = expiring;
+		sentinel.prev = sentinel;
+		sentinel.next = sentinel;
+
+		while (expiring.next != expiring) {
+			Timeout timeout = expiring.next;
+			timeout.cancel();
+
+			if (timeout.deadline - now <= 0) {
+				try {
+					timeout.task.run();
+				} catch (RuntimeException e) {
+					// Keep going, or the timers left in the expiring list would be lost
+					AnimationClock.report(e);
+				}
+			} else {
+				// Pushed back, or due on a later lap
+				insert(timeout);
+			}
+		}
+	}
+
+	/**
+	 * Put a timer in the slot for its deadline, or the next tick if it's already due.
+	 *
+	 * @param timeout The timer.
+	 */
+	private void insert(Timeout timeout) {
+		// Round up, so a timer is never in a slot which is processed before its deadline
+		long due = (timeout.deadline - origin + tickLength - 1) / tickLength;
+		if (due <= tick) {
+			due = tick + 1;
+		}
+
+		Timeout sentinel = slots[(int) due & mask];
+		timeout.prev = sentinel.prev;
+		timeout.next = sentinel;
+		sentinel.prev.next = timeout;
+		sentinel.prev = timeout;
+		size++;
+	}
+
+	/**
+	 * A scheduled task.
+	 */
+	public static final class Timeout {
+
+		/**
+		 * The wheel this timer is in.
+		 */
+		private final TimingWheel wheel;
+
+		/**
+		 * The task, or null for a slot sentinel.
+		 */
+		private final Runnable task;
+
+		/**
+		 * The previous timer in the slot, or null if this isn't scheduled.
+		 */
+		private Timeout prev;
+
+		/**
+		 * The next timer in the slot, or null if this isn't scheduled.
+		 */
+		private Timeout next;
+
+		/**
+		 * The time this is due, from {@link System#nanoTime()}. Volatile so it can be pushed back from any thread.
+		 */
+		private volatile long deadline;
+
+		/**
+		 * Construct a new timer.
+		 *
+		 * @param wheel The wheel.
+		 * @param task The task.
+		 */
+		private Timeout(TimingWheel wheel, Runnable task) {
+			this.wheel = wheel;
+			this.task = task;
+
+			if (task == null) {
+				// A sentinel is an empty circular list
+				prev = this;
+				next = this;
+			}
+		}
+
+		/**
+		 * Cancel the timer, unlinking it from its slot. Must be called on the thread advancing the wheel.
+		 *
+		 * @return False if the timer had already run or been cancelled.
+		 */
+		public boolean cancel() {
+			if (prev == null) {
+				return false;
+			}
+
+			prev.next = next;
+			next.prev = prev;
+			prev = null;
+			next = null;
+			wheel.size--;
+			return true;
+		}
+
+		/**
+		 * Push the timer back so it's due a delay from now. This is a single write, so it's safe from any thread and
+		 * costs nothing; the wheel notices when the old deadline comes round. Delays shorter than the time left aren't
+		 * honored until then.
+		 *
+		 * @param delay The delay.
+		 * @param unit The delay unit.
+		 */
+		public void reset(long delay, TimeUnit unit) {
+			deadline = System.nanoTime() + unit.toNanos(delay);
+		}
+
+		/**
+		 * Check if the timer is still waiting to run. Only exact on the thread advancing the wheel.
+		 *
+		 * @return True, if scheduled.
+		 */
+		public boolean isScheduled() {
+			return prev != null;
+		}
+	}
+}
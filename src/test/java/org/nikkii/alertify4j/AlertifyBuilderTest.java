@@ -0,0 +1,87 @@
+package org.nikkii.alertify4j;
+
+import org.junit.Test;
+
+import javax.swing.BorderFactory;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+import javax.swing.SwingConstants;
+import javax.swing.border.Border;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link AlertifyBuilder} and the configs it builds.
+ *
+ * @author Nikki
+ */
+public class AlertifyBuilderTest {
+
+	@Test
+	public void reusedBuilderDoesntChangeEarlierConfigs() {
+		AlertifyBuilder builder = new AlertifyBuilder().type(AlertifyType.INFO);
+		ImageIcon icon = new ImageIcon(new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB));
+
+		AlertifyConfig saved = builder.text("Saved").icon(icon).build();
+		AlertifyConfig deleted = builder.text("Deleted").icon((Icon) null).build();
+
+		assertEquals("Saved", saved.getText());
+		assertSame(icon, saved.getIcon());
+		assertEquals("Deleted", deleted.getText());
+		assertNull(deleted.getIcon());
+	}
+
+	@Test
+	public void customLabelIsCopiedWhenBuilt() {
+		Border border = BorderFactory.createEmptyBorder(2, 2, 2, 2);
+		JLabel custom = new JLabel("Saved");
+		custom.setBorder(border);
+		custom.setHorizontalTextPosition(SwingConstants.CENTER);
+		custom.setVerticalTextPosition(SwingConstants.BOTTOM);
+		custom.setIconTextGap(9);
+
+		AlertifyBuilder builder = new AlertifyBuilder().type(AlertifyType.INFO).label(custom);
+		AlertifyConfig first = builder.build();
+
+		// Reusing the label for the next alert leaves the first one alone
+		custom.setText("Deleted");
+		custom.setBorder(null);
+		AlertifyConfig second = builder.build();
+
+		assertEquals("Saved", first.getText());
+		assertSame(border, first.getBorder());
+		assertEquals("Deleted", second.getText());
+		assertNull(second.getBorder());
+
+		JLabel shown = new JLabel();
+		first.configure(shown);
+
+		assertEquals("Saved", shown.getText());
+		assertSame(border, shown.getBorder());
+		assertEquals(SwingConstants.CENTER, shown.getHorizontalTextPosition());
+		assertEquals(SwingConstants.BOTTOM, shown.getVerticalTextPosition());
+		assertEquals(9, shown.getIconTextGap());
+	}
+
+	@Test
+	public void plainConfigIsShownLikeANewLabel() {
+		JLabel expected = new JLabel();
+		JLabel shown = new JLabel("Old", new ImageIcon(new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB)),
+			SwingConstants.LEADING);
+		shown.setBorder(BorderFactory.createEmptyBorder(1, 1, 1, 1));
+		shown.setVerticalTextPosition(SwingConstants.TOP);
+
+		new AlertifyBuilder().text("Saved").build().configure(shown);
+
+		assertEquals("Saved", shown.getText());
+		assertNull(shown.getIcon());
+		assertNull(shown.getBorder());
+		assertEquals(expected.getHorizontalTextPosition(), shown.getHorizontalTextPosition());
+		assertEquals(expected.getVerticalTextPosition(), shown.getVerticalTextPosition());
+		assertEquals(expected.getIconTextGap(), shown.getIconTextGap());
+	}
+}
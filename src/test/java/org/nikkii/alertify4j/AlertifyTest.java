@@ -0,0 +1,218 @@
+package org.nikkii.alertify4j;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.nikkii.alertify4j.screen.RoutingPolicy;
+import org.nikkii.alertify4j.ui.AlertifyWindow;
+import org.nikkii.alertify4j.ui.AlertifyWindowClick;
+import org.nikkii.alertify4j.ui.OffscreenRenderer;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * End to end tests for {@link Alertify}. Alerts are drawn by an {@link OffscreenRenderer}, so this runs headless.
+ *
+ * @author Nikki
+ */
+public class AlertifyTest {
+
+	/**
+	 * The shared instance.
+	 */
+	private Alertify alertify;
+
+	/**
+	 * The renderer alerts are drawn by.
+	 */
+	private OffscreenRenderer renderer;
+
+	@Before
+	public void setup() {
+		alertify = Alertify.instance();
+		renderer = new OffscreenRenderer();
+		alertify.setRenderer(renderer);
+	}
+
+	@After
+	public void tearDown() {
+		alertify.setRoutingPolicy(RoutingPolicy.PRIMARY);
+		alertify.clear();
+	}
+
+	@Test
+	public void batchIsShownInOrder() throws Exception {
+		List<AlertifyResult> results = results(alertify.showAll(Arrays.asList(
+			config("Saved"),
+			config("Deleted"),
+			config("Saved"))));
+
+		assertEquals(Arrays.asList(AlertifyResult.SHOWN, AlertifyResult.SHOWN, AlertifyResult.COALESCED), results);
+	}
+
+	@Test
+	public void alertsWhichDontFitAreQueued() throws Exception {
+		List<AlertifyConfig> configs = new ArrayList<AlertifyConfig>();
+		for (int i = 0; i < 50; i++) {
+			configs.add(config("Alert " + i));
+		}
+
+		List<AlertifyResult> results = results(alertify.showAll(configs));
+		assertEquals(configs.size(), results.size());
+
+		// The screen fills up from the front of the batch, everything after that waits
+		int shown = results.indexOf(AlertifyResult.QUEUED);
+		assertTrue(shown > 0);
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i < shown ? AlertifyResult.SHOWN : AlertifyResult.QUEUED, results.get(i));
+		}
+	}
+
+	@Test
+	public void clickedAlertRunsItsCallbackAndSlidesOut() throws Exception {
+		final CountDownLatch clicked = new CountDownLatch(1);
+		final AtomicReference<AlertifyWindow> target = new AtomicReference<AlertifyWindow>();
+		long clicks = alertify.getMetrics().getClickedCount();
+
+		AlertHandle handle = alertify.submit(new AlertifyBuilder()
+			.type(AlertifyType.SUCCESS)
+			.text("Click me")
+			.callback(new AlertifyWindowClick() {
+				@Override
+				public void alertClicked(AlertifyWindow window) {
+					target.set(window);
+					clicked.countDown();
+				}
+			})
+			.build());
+		assertEquals(AlertifyResult.SHOWN, handle.get(5, TimeUnit.SECONDS));
+
+		AlertifyWindow window = awaitVisible(renderer, 1).get(0);
+		assertEquals("Click me", window.getConfig().getText());
+
+		renderer.click(window);
+		assertTrue(clicked.await(5, TimeUnit.SECONDS));
+		assertSame(window, target.get());
+
+		awaitVisible(renderer, 0);
+		assertEquals(clicks + 1, alertify.getMetrics().getClickedCount());
+	}
+
+	@Test
+	public void alertClosesItselfAfterItsDelay() throws Exception {
+		AlertHandle handle = alertify.submit(new AlertifyBuilder()
+			.type(AlertifyType.INFO)
+			.text("Gone soon")
+			.autoClose(100)
+			.build());
+		assertEquals(AlertifyResult.SHOWN, handle.get(5, TimeUnit.SECONDS));
+
+		awaitVisible(renderer, 1);
+		awaitVisible(renderer, 0);
+	}
+
+	@Test
+	public void roundRobinSpreadsAlertsOverTheScreens() throws Exception {
+		Rectangle left = new Rectangle(0, 0, 800, 600);
+		Rectangle right = new Rectangle(800, 0, 800, 600);
+		renderer = new OffscreenRenderer(left, right);
+		alertify.setRenderer(renderer);
+		alertify.setRoutingPolicy(RoutingPolicy.ROUND_ROBIN);
+
+		List<AlertifyResult> results = results(alertify.showAll(Arrays.asList(
+			config("First"),
+			config("Second"))));
+		assertEquals(Arrays.asList(AlertifyResult.SHOWN, AlertifyResult.SHOWN), results);
+
+		List<AlertifyWindow> visible = awaitVisible(renderer, 2);
+		int onLeft = 0;
+		for (AlertifyWindow window : visible) {
+			Rectangle bounds = renderer.getBounds(window);
+			if (left.contains(bounds.x, bounds.y)) {
+				onLeft++;
+			} else {
+				assertTrue(right.contains(bounds.x, bounds.y));
+			}
+		}
+		assertEquals(1, onLeft);
+	}
+
+	@Test
+	public void instancesShowTheirAlertsIndependently() throws Exception {
+		Rectangle area = new Rectangle(0, 0, 800, 300);
+		OffscreenRenderer otherRenderer = new OffscreenRenderer();
+		Alertify other = Alertify.create("alertify-test");
+
+		try {
+			other.setRenderer(otherRenderer);
+			other.setScreenAreas(area);
+
+			// The same text isn't folded into the other instance's alert
+			assertEquals(AlertifyResult.SHOWN, other.submit(config("Saved")).get(5, TimeUnit.SECONDS));
+			assertEquals(AlertifyResult.SHOWN, alertify.submit(config("Saved")).get(5, TimeUnit.SECONDS));
+
+			awaitVisible(renderer, 1);
+			AlertifyWindow window = awaitVisible(otherRenderer, 1).get(0);
+			Rectangle bounds = otherRenderer.getBounds(window);
+			assertTrue(area.contains(bounds.x, bounds.y));
+		} finally {
+			other.shutdown();
+		}
+	}
+
+	/**
+	 * Wait until a renderer shows a number of alerts.
+	 *
+	 * @param renderer The renderer.
+	 * @param count The number of visible alerts to wait for.
+	 * @return The visible alerts.
+	 * @throws InterruptedException If the test is interrupted.
+	 */
+	private static List<AlertifyWindow> awaitVisible(OffscreenRenderer renderer, int count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+
+		while (true) {
+			List<AlertifyWindow> visible = renderer.getVisible();
+			if (visible.size() == count || System.currentTimeMillis() > deadline) {
+				assertEquals(count, visible.size());
+				return visible;
+			}
+			Thread.sleep(10);
+		}
+	}
+
+	/**
+	 * Wait for the results of a batch.
+	 *
+	 * @param handles The handles of the batch.
+	 * @return The results, in the same order.
+	 * @throws Exception If an alert isn't shown or queued in time.
+	 */
+	private static List<AlertifyResult> results(List<AlertHandle> handles) throws Exception {
+		List<AlertifyResult> results = new ArrayList<AlertifyResult>(handles.size());
+		for (AlertHandle handle : handles) {
+			results.add(handle.get(5, TimeUnit.SECONDS));
+		}
+		return results;
+	}
+
+	/**
+	 * Build an alert config.
+	 *
+	 * @param text The alert text.
+	 * @return The config.
+	 */
+	private static AlertifyConfig config(String text) {
+		return new AlertifyBuilder().type(AlertifyType.INFO).text(text).build();
+	}
+}
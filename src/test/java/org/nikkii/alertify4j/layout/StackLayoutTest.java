@@ -0,0 +1,167 @@
+package org.nikkii.alertify4j.layout;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link StackLayout}.
+ *
+ * @author Nikki
+ */
+public class StackLayoutTest {
+
+	@Test
+	public void offsetsIncludeSpacing() {
+		StackLayout<String> layout = new StackLayout<String>(10);
+
+		assertEquals(60, layout.nextOffset(50));
+		assertEquals(60, layout.add("a", 50));
+		assertEquals(90, layout.add("b", 20));
+		assertEquals(60, layout.offsetOf("a"));
+		assertEquals(90, layout.offsetOf("b"));
+		assertEquals(90, layout.getTotalHeight());
+		assertEquals(-1, layout.offsetOf("c"));
+	}
+
+	@Test
+	public void consolidateOnlyMovesItemsAboveTheLowestRemoval() {
+		StackLayout<String> layout = new StackLayout<String>(0);
+		layout.add("a", 10);
+		layout.add("b", 20);
+		layout.add("c", 30);
+		layout.add("d", 40);
+
+		assertTrue(layout.remove("b"));
+		// Offsets account for the removal straight away, consolidating reports which items moved
+		assertEquals(80, layout.offsetOf("d"));
+
+		Map<String, Integer> moved = consolidate(layout);
+
+		assertEquals(Arrays.asList("c", "d"), new ArrayList<String>(moved.keySet()));
+		assertEquals(Integer.valueOf(40), moved.get("c"));
+		assertEquals(Integer.valueOf(80), moved.get("d"));
+		assertEquals(80, layout.getTotalHeight());
+		assertEquals(Arrays.asList("a", "c", "d"), layout.items());
+	}
+
+	@Test
+	public void consolidateWithoutRemovalsMovesNothing() {
+		StackLayout<String> layout = new StackLayout<String>(4);
+		layout.add("a", 10);
+		layout.add("b", 10);
+
+		assertTrue(consolidate(layout).isEmpty());
+
+		layout.remove("b");
+		// Removing the top item leaves nothing above it to move
+		assertTrue(consolidate(layout).isEmpty());
+		assertTrue(consolidate(layout).isEmpty());
+	}
+
+	@Test
+	public void removingUnknownItemsIsIgnored() {
+		StackLayout<String> layout = new StackLayout<String>(0);
+		layout.add("a", 10);
+
+		assertFalse(layout.remove("b"));
+		assertTrue(layout.remove("a"));
+		assertFalse(layout.remove("a"));
+		assertTrue(layout.isEmpty());
+		assertEquals(0, layout.getTotalHeight());
+	}
+
+	@Test
+	public void addingAnItemTwiceFails() {
+		StackLayout<String> layout = new StackLayout<String>(0);
+		layout.add("a", 10);
+
+		try {
+			layout.add("a", 10);
+			fail("Expected an IllegalArgumentException.");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void clearEmptiesTheStack() {
+		StackLayout<String> layout = new StackLayout<String>(2);
+		layout.add("a", 10);
+		layout.add("b", 10);
+		layout.remove("a");
+
+		layout.clear();
+
+		assertTrue(layout.isEmpty());
+		assertEquals(0, layout.getTotalHeight());
+		assertTrue(consolidate(layout).isEmpty());
+		assertEquals(12, layout.add("c", 10));
+	}
+
+	@Test
+	public void compactionKeepsOrderAndOffsets() {
+		StackLayout<Integer> layout = new StackLayout<Integer>(3);
+		List<Integer> model = new ArrayList<Integer>();
+		Map<Integer, Integer> heights = new LinkedHashMap<Integer, Integer>();
+		Random random = new Random(42);
+
+		// Enough churn to run out of slots many times, with removals at random depths
+		for (int i = 0; i < 2000; i++) {
+			if (!model.isEmpty() && random.nextInt(3) == 0) {
+				Integer item = model.remove(random.nextInt(model.size()));
+				assertTrue(layout.remove(item));
+			} else {
+				// Items are compared by identity, so box each one once
+				Integer item = i;
+				int height = 1 + random.nextInt(50);
+				heights.put(item, height);
+				model.add(item);
+				layout.add(item, height);
+			}
+
+			if (random.nextInt(4) == 0) {
+				for (Map.Entry<Integer, Integer> entry : consolidate(layout).entrySet()) {
+					assertEquals(layout.offsetOf(entry.getKey()), entry.getValue().intValue());
+				}
+			}
+
+			assertEquals(model, layout.items());
+
+			int offset = 0;
+			for (Integer item : model) {
+				offset += heights.get(item) + 3;
+				assertEquals(offset, layout.offsetOf(item));
+			}
+			assertEquals(offset, layout.getTotalHeight());
+			assertEquals(model.size(), layout.size());
+		}
+	}
+
+	/**
+	 * Consolidate a layout, collecting the moved items.
+	 *
+	 * @param layout The layout.
+	 * @return The new offset of each moved item, in the order they were reported.
+	 */
+	private static <T> Map<T, Integer> consolidate(StackLayout<T> layout) {
+		final Map<T, Integer> moved = new LinkedHashMap<T, Integer>();
+		layout.consolidate(new StackLayout.MoveListener<T>() {
+			@Override
+			public void itemMoved(T item, int offset) {
+				moved.put(item, offset);
+			}
+		});
+		return moved;
+	}
+}
@@ -0,0 +1,80 @@
+package org.nikkii.alertify4j.limit;
+
+import org.junit.Test;
+import org.nikkii.alertify4j.AlertifyType;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link RateLimiter}.
+ *
+ * @author Nikki
+ */
+public class RateLimiterTest {
+
+	@Test
+	public void unlimitedTypesAreNeverThrottled() {
+		RateLimiter limiter = new RateLimiter();
+
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(limiter.tryAcquire(AlertifyType.INFO));
+		}
+		assertEquals(0, limiter.reserve(AlertifyType.INFO));
+		assertEquals(0, limiter.getThrottledCount());
+	}
+
+	@Test
+	public void limitsApplyPerType() {
+		RateLimiter limiter = new RateLimiter();
+		limiter.setLimit(AlertifyType.ERROR, 0.001, 2);
+
+		assertTrue(limiter.tryAcquire(AlertifyType.ERROR));
+		assertTrue(limiter.tryAcquire(AlertifyType.ERROR));
+		assertFalse(limiter.tryAcquire(AlertifyType.ERROR));
+		assertFalse(limiter.tryAcquire(AlertifyType.ERROR));
+		assertTrue(limiter.tryAcquire(AlertifyType.WARNING));
+
+		assertEquals(2, limiter.getThrottledCount(AlertifyType.ERROR));
+		assertEquals(0, limiter.getThrottledCount(AlertifyType.WARNING));
+		assertEquals(2, limiter.getThrottledCount());
+	}
+
+	@Test
+	public void removingALimitLetsEverythingThrough() {
+		RateLimiter limiter = new RateLimiter();
+		limiter.setLimit(AlertifyType.LOG, 0.001, 1);
+		assertTrue(limiter.tryAcquire(AlertifyType.LOG));
+		assertFalse(limiter.tryAcquire(AlertifyType.LOG));
+
+		limiter.removeLimit(AlertifyType.LOG);
+
+		assertTrue(limiter.tryAcquire(AlertifyType.LOG));
+	}
+
+	@Test
+	public void reserveIsCappedByTheMaxDelay() {
+		RateLimiter limiter = new RateLimiter();
+		limiter.setLimit(AlertifyType.INFO, 1, 1);
+		limiter.setMaxDelay(1500);
+		assertTrue(limiter.tryAcquire(AlertifyType.INFO));
+
+		long delay = limiter.reserve(AlertifyType.INFO);
+		assertTrue("Delayed " + delay, delay > 500 && delay <= 1000);
+		assertEquals(-1, limiter.reserve(AlertifyType.INFO));
+	}
+
+	@Test
+	public void suppressedAlertsAreCountedUntilDrained() {
+		RateLimiter limiter = new RateLimiter();
+
+		assertEquals(1, limiter.suppress(AlertifyType.WARNING));
+		assertEquals(2, limiter.suppress(AlertifyType.WARNING));
+		assertEquals(1, limiter.suppress(AlertifyType.ERROR));
+
+		assertEquals(2, limiter.drainSuppressed(AlertifyType.WARNING));
+		assertEquals(0, limiter.drainSuppressed(AlertifyType.WARNING));
+		assertEquals(1, limiter.drainSuppressed(AlertifyType.ERROR));
+	}
+}
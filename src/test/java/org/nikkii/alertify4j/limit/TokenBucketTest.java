@@ -0,0 +1,137 @@
+package org.nikkii.alertify4j.limit;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link TokenBucket}.
+ *
+ * @author Nikki
+ */
+public class TokenBucketTest {
+
+	/**
+	 * A rate slow enough that no token comes back while a test runs.
+	 */
+	private static final double SLOW = 0.001;
+
+	@Test
+	public void allowsExactlyTheBurst() {
+		TokenBucket bucket = new TokenBucket(SLOW, 3);
+
+		assertTrue(bucket.tryAcquire());
+		assertTrue(bucket.tryAcquire());
+		assertTrue(bucket.tryAcquire());
+		assertFalse(bucket.tryAcquire());
+		assertFalse(bucket.tryAcquire());
+	}
+
+	@Test
+	public void refillsOverTime() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(100, 1);
+
+		assertTrue(bucket.tryAcquire());
+		assertFalse(bucket.tryAcquire());
+
+		Thread.sleep(50);
+
+		assertTrue(bucket.tryAcquire());
+	}
+
+	@Test
+	public void idleTimeDoesNotBankMoreThanTheBurst() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(1000, 2);
+
+		Thread.sleep(50);
+
+		assertTrue(bucket.tryAcquire());
+		assertTrue(bucket.tryAcquire());
+		assertFalse(bucket.tryAcquire());
+	}
+
+	@Test
+	public void reserveWaitsForTheNextToken() {
+		TokenBucket bucket = new TokenBucket(1, 1);
+		long second = TimeUnit.SECONDS.toNanos(1);
+
+		assertEquals(0, bucket.reserve(0));
+
+		long wait = bucket.reserve(2 * second);
+		assertTrue("Waited " + wait, wait > second / 2 && wait <= second);
+
+		// The next token is already promised, so the one after would need nearly two seconds
+		assertEquals(-1, bucket.reserve(second + second / 2));
+		assertFalse(bucket.tryAcquire());
+	}
+
+	@Test
+	public void refusedReservationTakesNothing() {
+		TokenBucket bucket = new TokenBucket(SLOW, 1);
+
+		// Even a token which is available now is refused if no wait at all is allowed
+		assertEquals(-1, bucket.reserve(-1));
+
+		assertTrue(bucket.tryAcquire());
+		assertFalse(bucket.tryAcquire());
+	}
+
+	@Test
+	public void rejectsInvalidLimits() {
+		try {
+			new TokenBucket(0, 1);
+			fail("Expected an IllegalArgumentException.");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+
+		try {
+			new TokenBucket(1, 0);
+			fail("Expected an IllegalArgumentException.");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void concurrentCallersShareTheBurst() throws InterruptedException {
+		final int burst = 500;
+		final TokenBucket bucket = new TokenBucket(SLOW, burst);
+		final AtomicInteger acquired = new AtomicInteger();
+		final CountDownLatch start = new CountDownLatch(1);
+
+		Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int j = 0; j < burst; j++) {
+						if (bucket.tryAcquire()) {
+							acquired.incrementAndGet();
+						}
+					}
+				}
+			});
+			threads[i].start();
+		}
+
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(burst, acquired.get());
+	}
+}
@@ -0,0 +1,202 @@
+package org.nikkii.alertify4j.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.limit.RateLimiter;
+import org.nikkii.alertify4j.queue.AlertCoalescer;
+import org.nikkii.alertify4j.queue.AlertifyQueue;
+import org.nikkii.alertify4j.queue.OverflowPolicy;
+import org.nikkii.alertify4j.queue.PendingAlert;
+import org.nikkii.alertify4j.screen.ScreenRouter;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.awt.Rectangle;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AlertifyMetrics} counters and JMX registration.
+ *
+ * @author Nikki
+ */
+public class AlertifyMetricsTest {
+
+	/**
+	 * The screens whose queues are read by the metrics.
+	 */
+	private final ScreenRouter screens = new ScreenRouter(10);
+
+	/**
+	 * The primary screen's pending queue.
+	 */
+	private AlertifyQueue queue;
+
+	/**
+	 * The rate limiter read by the metrics.
+	 */
+	private final RateLimiter limiter = new RateLimiter();
+
+	/**
+	 * The metrics under test.
+	 */
+	private AlertifyMetrics metrics;
+
+	@Before
+	public void setup() {
+		screens.setScreens(new Rectangle[] { new Rectangle(0, 0, 800, 600) });
+		queue = screens.getPrimary().getQueue();
+		metrics = new AlertifyMetrics(screens, limiter, new AlertCoalescer());
+	}
+
+	@Test
+	public void countersCountEveryThread() throws Exception {
+		final int threads = 8;
+		final int alerts = 5000;
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(threads);
+
+		for (int t = 0; t < threads; t++) {
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						for (int i = 0; i < alerts; i++) {
+							metrics.recordSubmitted();
+							metrics.recordRejected();
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} finally {
+						done.countDown();
+					}
+				}
+			}).start();
+		}
+
+		start.countDown();
+		done.await();
+
+		assertEquals(threads * alerts, metrics.getSubmittedCount());
+		assertEquals(threads * alerts, metrics.getDroppedCount());
+	}
+
+	@Test
+	public void droppedTotalKeepsCountingAfterTheQueuesAreClearedOrReplaced() {
+		queue.setCapacity(1);
+		queue.setOverflowPolicy(OverflowPolicy.DROP_NEWEST);
+		queue.offer(alert());
+		queue.offer(alert());
+		queue.offer(alert());
+		metrics.recordRejected();
+		metrics.recordDropped(screens.takeDiscardedCount());
+
+		assertEquals(3, metrics.getDroppedCount());
+
+		// Taking again doesn't count the same alerts twice
+		queue.clear();
+		metrics.recordDropped(screens.takeDiscardedCount());
+		assertEquals(3, metrics.getDroppedCount());
+
+		// Alerts dropped by a screen which is then replaced are still counted, along with the new screens' queues
+		queue.offer(alert());
+		queue.offer(alert());
+		screens.setScreens(new Rectangle[] { new Rectangle(0, 0, 800, 600), new Rectangle(800, 0, 800, 600) });
+
+		AlertifyQueue second = screens.getStacks().get(1).getQueue();
+		second.setOverflowPolicy(OverflowPolicy.REJECT);
+		second.offer(alert());
+		second.offer(alert());
+		metrics.recordDropped(screens.takeDiscardedCount());
+		assertEquals(5, metrics.getDroppedCount());
+	}
+
+	@Test
+	public void framesOverTheFramePeriodAreOverruns() {
+		long period = TimeUnit.MILLISECONDS.toNanos(16);
+		metrics.recordFrame(TimeUnit.MILLISECONDS.toNanos(4), period);
+		metrics.recordFrame(TimeUnit.MILLISECONDS.toNanos(20), period);
+		metrics.recordFrame(period, period);
+
+		assertEquals(3, metrics.getFrameCount());
+		assertEquals(1, metrics.getFrameOverruns());
+		assertEquals(20, metrics.getFrameTimeMax(), 0);
+		assertEquals(40 / 3.0, metrics.getFrameTimeMean(), 1e-9);
+	}
+
+	@Test
+	public void gaugesAndBorrowedCountersAreReadLive() {
+		queue.offer(alert());
+		queue.offer(alert());
+		metrics.updateGauges(3, 7);
+
+		limiter.setLimit(AlertifyType.INFO, 0.001, 1);
+		limiter.tryAcquire(AlertifyType.INFO);
+		limiter.tryAcquire(AlertifyType.INFO);
+
+		assertEquals(2, metrics.getQueueDepth());
+		assertEquals(3, metrics.getVisibleWindows());
+		assertEquals(7, metrics.getSchedulerBacklog());
+		assertEquals(1, metrics.getThrottledCount());
+	}
+
+	@Test
+	public void resetZeroesCountersAndHistograms() {
+		metrics.recordSubmitted();
+		metrics.recordShown();
+		metrics.recordClicked();
+		metrics.recordRejected();
+		metrics.recordFrame(100, 10);
+		metrics.recordTimeToVisible(TimeUnit.MILLISECONDS.toNanos(300));
+		metrics.recordTimeOnScreen(TimeUnit.SECONDS.toNanos(5));
+
+		metrics.reset();
+
+		assertEquals(0, metrics.getSubmittedCount());
+		assertEquals(0, metrics.getShownCount());
+		assertEquals(0, metrics.getClickedCount());
+		assertEquals(0, metrics.getDroppedCount());
+		assertEquals(0, metrics.getFrameCount());
+		assertEquals(0, metrics.getFrameOverruns());
+		assertEquals(0, metrics.getTimeToVisibleMean(), 0);
+		assertEquals(0, metrics.getTimeOnScreen99thPercentile(), 0);
+	}
+
+	@Test
+	public void registersAndUnregistersOverJmx() throws Exception {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		metrics.register("metrics-test");
+		ObjectName name = metrics.getObjectName();
+
+		try {
+			assertEquals(new ObjectName(AlertifyMetrics.DOMAIN + ":type=Alertify,name=\"metrics-test\""), name);
+			assertTrue(server.isRegistered(name));
+
+			metrics.recordShown();
+			assertEquals(1L, server.getAttribute(name, "ShownCount"));
+		} finally {
+			metrics.unregister();
+		}
+
+		assertFalse(server.isRegistered(name));
+		assertNull(metrics.getObjectName());
+	}
+
+	/**
+	 * Create an info alert.
+	 *
+	 * @return The alert.
+	 */
+	private static PendingAlert alert() {
+		return new PendingAlert(new AlertifyBuilder().type(AlertifyType.INFO).text("Saved").build(), null);
+	}
+}
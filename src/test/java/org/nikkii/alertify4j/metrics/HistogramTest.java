@@ -0,0 +1,127 @@
+package org.nikkii.alertify4j.metrics;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link Histogram}.
+ *
+ * @author Nikki
+ */
+public class HistogramTest {
+
+	@Test
+	public void emptyHistogramReadsZero() {
+		Histogram histogram = new Histogram();
+
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getMean(), 0);
+		assertEquals(0, histogram.getPercentile(99));
+	}
+
+	@Test
+	public void countSumMeanAndMaxAreExact() {
+		Histogram histogram = new Histogram();
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+
+		assertEquals(100, histogram.getCount());
+		assertEquals(5050, histogram.getSum());
+		assertEquals(50.5, histogram.getMean(), 0);
+		assertEquals(100, histogram.getMax());
+	}
+
+	@Test
+	public void percentilesAreTheTopOfTheirBucket() {
+		Histogram histogram = new Histogram();
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+
+		// The 50th value is 50, in the bucket from 32 to 63
+		assertEquals(63, histogram.getPercentile(50));
+		// The 99th value is 99, in the bucket from 64 to 127, which is capped at the maximum
+		assertEquals(100, histogram.getPercentile(99));
+		assertEquals(100, histogram.getPercentile(100));
+		assertEquals(1, histogram.getPercentile(0));
+	}
+
+	@Test
+	public void percentileIsWithinAFactorOfTwo() {
+		Histogram histogram = new Histogram();
+		for (int i = 0; i < 990; i++) {
+			histogram.record(2000000);
+		}
+		for (int i = 0; i < 10; i++) {
+			histogram.record(40000000);
+		}
+
+		long p99 = histogram.getPercentile(99);
+		assertTrue(p99 >= 2000000 && p99 < 4000000);
+		assertEquals(40000000, histogram.getPercentile(99.9));
+	}
+
+	@Test
+	public void zeroAndNegativeValuesShareTheZeroBucket() {
+		Histogram histogram = new Histogram();
+		histogram.record(0);
+		histogram.record(-5);
+
+		assertEquals(2, histogram.getCount());
+		assertEquals(0, histogram.getSum());
+		assertEquals(0, histogram.getPercentile(100));
+	}
+
+	@Test
+	public void resetForgetsEverything() {
+		Histogram histogram = new Histogram();
+		histogram.record(1000);
+		histogram.reset();
+
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getSum());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getPercentile(50));
+	}
+
+	@Test
+	public void concurrentRecordsAreAllCounted() throws Exception {
+		final Histogram histogram = new Histogram();
+		final int threads = 4;
+		final int values = 10000;
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(threads);
+
+		for (int t = 0; t < threads; t++) {
+			final long value = t + 1;
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						for (int i = 0; i < values; i++) {
+							histogram.record(value);
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} finally {
+						done.countDown();
+					}
+				}
+			}).start();
+		}
+
+		start.countDown();
+		done.await();
+
+		assertEquals(threads * values, histogram.getCount());
+		assertEquals((long) values * (1 + 2 + 3 + 4), histogram.getSum());
+		assertEquals(threads, histogram.getMax());
+	}
+}
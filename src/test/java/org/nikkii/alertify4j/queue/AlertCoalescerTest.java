@@ -0,0 +1,169 @@
+package org.nikkii.alertify4j.queue;
+
+import org.junit.Test;
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyType;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link AlertCoalescer}.
+ *
+ * @author Nikki
+ */
+public class AlertCoalescerTest {
+
+	/**
+	 * The config all repeats share.
+	 */
+	private static final AlertifyConfig CONFIG = new AlertifyBuilder()
+		.type(AlertifyType.WARNING)
+		.text("Disk almost full")
+		.build();
+
+	@Test
+	public void repeatsFoldIntoTheOpenAlert() {
+		AlertCoalescer coalescer = new AlertCoalescer();
+		PendingAlert first = alert(CONFIG);
+
+		assertSame(first, coalescer.track(first));
+		assertSame(first, coalescer.track(alert(CONFIG)));
+		assertSame(first, coalescer.fold(alert(CONFIG)));
+
+		assertEquals(3, first.getOccurrences());
+		assertEquals(2, coalescer.getCoalescedCount());
+	}
+
+	@Test
+	public void differentAlertsAreNotFolded() {
+		AlertCoalescer coalescer = new AlertCoalescer();
+		PendingAlert warning = alert(CONFIG);
+		PendingAlert error = alert(new AlertifyBuilder().type(AlertifyType.ERROR).text("Disk almost full").build());
+		PendingAlert other = alert(new AlertifyBuilder().type(AlertifyType.WARNING).text("Disk full").build());
+
+		assertSame(warning, coalescer.track(warning));
+		assertSame(error, coalescer.track(error));
+		assertSame(other, coalescer.track(other));
+		assertEquals(0, coalescer.getCoalescedCount());
+	}
+
+	@Test
+	public void foldDoesNotTrackTheNewAlert() {
+		AlertCoalescer coalescer = new AlertCoalescer();
+		PendingAlert alert = alert(CONFIG);
+
+		assertNull(coalescer.fold(alert));
+		assertNull(coalescer.fold(alert(CONFIG)));
+		assertEquals(1, alert.getOccurrences());
+	}
+
+	@Test
+	public void closedAlertsAreNoLongerFoldedInto() {
+		AlertCoalescer coalescer = new AlertCoalescer();
+		PendingAlert first = alert(CONFIG);
+		coalescer.track(first);
+
+		first.close();
+
+		PendingAlert second = alert(CONFIG);
+		assertNull(coalescer.fold(alert(CONFIG)));
+		assertSame(second, coalescer.track(second));
+		assertEquals(1, first.getOccurrences());
+	}
+
+	@Test
+	public void alertClosedButNotYetRemovedIsReplaced() {
+		AlertCoalescer coalescer = new AlertCoalescer();
+		PendingAlert first = alert(CONFIG);
+		coalescer.track(first);
+
+		// Closed the way a racing close would leave it, before it removes itself
+		first.setCoalescer(null);
+		first.close();
+
+		PendingAlert second = alert(CONFIG);
+		assertSame(second, coalescer.track(second));
+		assertSame(second, coalescer.fold(alert(CONFIG)));
+	}
+
+	@Test
+	public void nothingIsFoldedWhenDisabled() {
+		AlertCoalescer coalescer = new AlertCoalescer();
+		coalescer.setEnabled(false);
+		PendingAlert first = alert(CONFIG);
+		PendingAlert second = alert(CONFIG);
+
+		assertSame(first, coalescer.track(first));
+		assertSame(second, coalescer.track(second));
+		assertNull(coalescer.fold(alert(CONFIG)));
+		assertEquals(1, first.getOccurrences());
+	}
+
+	@Test
+	public void alertsWithoutAKeyAreNeverTracked() {
+		AlertCoalescer coalescer = new AlertCoalescer();
+		PendingAlert summary = new PendingAlert(CONFIG, null);
+
+		assertSame(summary, coalescer.track(summary));
+		assertNull(coalescer.fold(new PendingAlert(CONFIG, null)));
+		assertEquals(1, summary.getOccurrences());
+	}
+
+	@Test
+	public void concurrentRepeatsFoldIntoOneAlert() throws InterruptedException {
+		final int threads = 8;
+		final int repeats = 1000;
+		final AlertCoalescer coalescer = new AlertCoalescer();
+		final Set<PendingAlert> open = Collections.newSetFromMap(new ConcurrentHashMap<PendingAlert, Boolean>());
+		final CountDownLatch start = new CountDownLatch(1);
+
+		Thread[] producers = new Thread[threads];
+		for (int i = 0; i < threads; i++) {
+			producers[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int j = 0; j < repeats; j++) {
+						open.add(coalescer.track(alert(CONFIG)));
+					}
+				}
+			});
+			producers[i].start();
+		}
+
+		start.countDown();
+		for (Thread producer : producers) {
+			producer.join();
+		}
+
+		assertEquals(1, open.size());
+		PendingAlert alert = open.iterator().next();
+		assertFalse(alert.isClosed());
+		assertEquals(threads * repeats, alert.getOccurrences());
+		assertEquals(threads * repeats - 1, coalescer.getCoalescedCount());
+		assertSame(alert, coalescer.fold(alert(CONFIG)));
+	}
+
+	/**
+	 * Create an alert keyed by its config.
+	 *
+	 * @param config The alert config.
+	 * @return The alert.
+	 */
+	private static PendingAlert alert(AlertifyConfig config) {
+		return new PendingAlert(config, AlertKey.of(config));
+	}
+}
@@ -0,0 +1,279 @@
+package org.nikkii.alertify4j.queue;
+
+import org.junit.Test;
+import org.nikkii.alertify4j.AlertHandle;
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyResult;
+import org.nikkii.alertify4j.AlertifyType;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AlertifyQueue} ordering and overflow policies.
+ *
+ * @author Nikki
+ */
+public class AlertifyQueueTest {
+
+	@Test
+	public void pollsByPriorityThenSubmissionOrder() {
+		AlertifyQueue queue = new AlertifyQueue();
+		PendingAlert log = alert(AlertifyType.LOG, "log");
+		PendingAlert info = alert(AlertifyType.INFO, "info");
+		PendingAlert error = alert(AlertifyType.ERROR, "error");
+		PendingAlert success = alert(AlertifyType.SUCCESS, "success");
+
+		assertEquals(AlertifyResult.QUEUED, queue.offer(log));
+		assertEquals(AlertifyResult.QUEUED, queue.offer(info));
+		assertEquals(AlertifyResult.QUEUED, queue.offer(error));
+		assertEquals(AlertifyResult.QUEUED, queue.offer(success));
+		assertEquals(4, queue.size());
+
+		assertSame(error, queue.poll());
+		assertSame(info, queue.poll());
+		assertSame(success, queue.poll());
+		assertSame(log, queue.poll());
+		assertNull(queue.poll());
+		assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	public void higherPriorityReplacesOldestLowestWhateverThePolicy() {
+		AlertifyQueue queue = new AlertifyQueue();
+		queue.setCapacity(2);
+		queue.setOverflowPolicy(OverflowPolicy.REJECT);
+		PendingAlert oldest = alert(AlertifyType.LOG, "oldest");
+		PendingAlert newest = alert(AlertifyType.LOG, "newest");
+		PendingAlert error = alert(AlertifyType.ERROR, "error");
+		queue.offer(oldest);
+		queue.offer(newest);
+
+		assertEquals(AlertifyResult.QUEUED, queue.offer(error));
+
+		assertTrue(oldest.isClosed());
+		assertEquals(1, queue.getDroppedCount());
+		assertSame(error, queue.poll());
+		assertSame(newest, queue.poll());
+		assertFalse(newest.isClosed());
+	}
+
+	@Test
+	public void dropOldestDropsTheOldestOfTheSamePriority() {
+		AlertifyQueue queue = new AlertifyQueue();
+		queue.setCapacity(2);
+		queue.setOverflowPolicy(OverflowPolicy.DROP_OLDEST);
+		PendingAlert first = alert(AlertifyType.INFO, "first");
+		PendingAlert second = alert(AlertifyType.INFO, "second");
+		PendingAlert third = alert(AlertifyType.INFO, "third");
+		queue.offer(first);
+		queue.offer(second);
+
+		assertEquals(AlertifyResult.QUEUED, queue.offer(third));
+
+		assertTrue(first.isClosed());
+		assertSame(second, queue.poll());
+		assertSame(third, queue.poll());
+		assertEquals(1, queue.getDroppedCount());
+	}
+
+	@Test
+	public void dropOldestDropsTheNewAlertIfEverythingOutranksIt() {
+		AlertifyQueue queue = full(1, OverflowPolicy.DROP_OLDEST, AlertifyType.ERROR);
+		PendingAlert log = alert(AlertifyType.LOG, "log");
+
+		assertEquals(AlertifyResult.DROPPED, queue.offer(log));
+		assertTrue(log.isClosed());
+		assertEquals(AlertifyType.ERROR, queue.poll().getConfig().getType());
+	}
+
+	@Test
+	public void dropNewestDropsTheNewAlert() {
+		AlertifyQueue queue = full(1, OverflowPolicy.DROP_NEWEST, AlertifyType.INFO);
+		PendingAlert alert = alert(AlertifyType.INFO, "new");
+
+		assertEquals(AlertifyResult.DROPPED, queue.offer(alert));
+		assertTrue(alert.isClosed());
+		assertEquals(1, queue.size());
+		assertEquals(1, queue.getDroppedCount());
+	}
+
+	@Test
+	public void rejectRejectsTheNewAlert() {
+		AlertifyQueue queue = full(1, OverflowPolicy.REJECT, AlertifyType.INFO);
+		PendingAlert alert = alert(AlertifyType.INFO, "new");
+
+		assertEquals(AlertifyResult.REJECTED, queue.offer(alert));
+		assertTrue(alert.isClosed());
+		assertEquals(1, queue.size());
+		assertEquals(1, queue.getRejectedCount());
+	}
+
+	@Test
+	public void blockedAlertTakesTheNextFreeSlot() throws Exception {
+		AlertifyQueue queue = full(1, OverflowPolicy.BLOCK, AlertifyType.INFO);
+		PendingAlert alert = alert(AlertifyType.INFO, "waiting");
+		AlertHandle handle = handle(alert);
+
+		assertNull(queue.offer(alert));
+		assertTrue(queue.hasWaiting());
+		assertFalse(handle.isDone());
+
+		queue.poll();
+
+		assertFalse(queue.hasWaiting());
+		assertEquals(AlertifyResult.QUEUED, handle.get(0, TimeUnit.MILLISECONDS));
+		assertSame(alert, queue.poll());
+	}
+
+	@Test
+	public void blockedAlertIsRejectedOnceItsTimeoutPasses() throws Exception {
+		AlertifyQueue queue = full(1, OverflowPolicy.BLOCK, AlertifyType.INFO);
+		queue.setBlockTimeout(0);
+		PendingAlert alert = alert(AlertifyType.INFO, "waiting");
+		AlertHandle handle = handle(alert);
+
+		assertNull(queue.offer(alert));
+		queue.expire();
+
+		assertEquals(AlertifyResult.REJECTED, handle.get(0, TimeUnit.MILLISECONDS));
+		assertTrue(alert.isClosed());
+		assertFalse(queue.hasWaiting());
+	}
+
+	@Test
+	public void expireKeepsAlertsWhoseTimeoutHasntPassed() {
+		AlertifyQueue queue = full(1, OverflowPolicy.BLOCK, AlertifyType.INFO);
+		queue.setBlockTimeout(TimeUnit.MINUTES.toMillis(1));
+		PendingAlert alert = alert(AlertifyType.INFO, "waiting");
+		AlertHandle handle = handle(alert);
+
+		assertNull(queue.offer(alert));
+		queue.expire();
+
+		assertTrue(queue.hasWaiting());
+		assertFalse(handle.isDone());
+	}
+
+	@Test
+	public void noMoreAlertsThanTheCapacityMayWait() {
+		AlertifyQueue queue = full(1, OverflowPolicy.BLOCK, AlertifyType.INFO);
+		assertNull(queue.offer(alert(AlertifyType.INFO, "waiting")));
+
+		PendingAlert over = alert(AlertifyType.INFO, "over");
+		assertEquals(AlertifyResult.REJECTED, queue.offer(over));
+		assertTrue(over.isClosed());
+		assertEquals(1, queue.getRejectedCount());
+	}
+
+	@Test
+	public void collapseFoldsIntoASummaryOfTheSamePriority() {
+		AlertifyQueue queue = full(2, OverflowPolicy.COLLAPSE, AlertifyType.INFO, AlertifyType.INFO);
+
+		assertEquals(AlertifyResult.COLLAPSED, queue.offer(alert(AlertifyType.INFO, "a")));
+		assertEquals(AlertifyResult.COLLAPSED, queue.offer(alert(AlertifyType.SUCCESS, "b")));
+		assertEquals(2, queue.size());
+		assertEquals(3, queue.getCollapsedCount());
+
+		assertEquals("alert 0", queue.poll().getConfig().getText());
+
+		PendingAlert summary = queue.poll();
+		assertEquals("3 more alerts", summary.getConfig().getText());
+		assertEquals(AlertifyType.INFO, summary.getConfig().getType());
+	}
+
+	@Test
+	public void collapseDropsAnAlertOutrankedByEverythingQueued() {
+		AlertifyQueue queue = full(1, OverflowPolicy.COLLAPSE, AlertifyType.ERROR);
+		PendingAlert log = alert(AlertifyType.LOG, "log");
+
+		assertEquals(AlertifyResult.DROPPED, queue.offer(log));
+		assertTrue(log.isClosed());
+		assertEquals(0, queue.getCollapsedCount());
+
+		// The error isn't turned into a summary
+		assertEquals("alert 0", queue.poll().getConfig().getText());
+	}
+
+	@Test
+	public void clearRejectsWaitingAlerts() throws Exception {
+		AlertifyQueue queue = new AlertifyQueue();
+		queue.setCapacity(1);
+		queue.setOverflowPolicy(OverflowPolicy.BLOCK);
+		PendingAlert queued = alert(AlertifyType.INFO, "queued");
+		PendingAlert waiting = alert(AlertifyType.INFO, "waiting");
+		AlertHandle handle = handle(waiting);
+		queue.offer(queued);
+		queue.offer(waiting);
+
+		queue.clear();
+
+		assertTrue(queue.isEmpty());
+		assertFalse(queue.hasWaiting());
+		assertTrue(queued.isClosed());
+		assertEquals(AlertifyResult.REJECTED, handle.get(0, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void discardedCountIsTakenOnce() {
+		AlertifyQueue queue = full(1, OverflowPolicy.DROP_NEWEST, AlertifyType.INFO);
+		queue.offer(alert(AlertifyType.INFO, "dropped"));
+		queue.setOverflowPolicy(OverflowPolicy.REJECT);
+		queue.offer(alert(AlertifyType.INFO, "rejected"));
+
+		assertEquals(2, queue.takeDiscardedCount());
+		assertEquals(0, queue.takeDiscardedCount());
+
+		queue.offer(alert(AlertifyType.INFO, "rejected again"));
+
+		assertEquals(1, queue.takeDiscardedCount());
+		assertEquals(1, queue.getDroppedCount());
+		assertEquals(2, queue.getRejectedCount());
+	}
+
+	/**
+	 * Create a queue filled to its capacity.
+	 *
+	 * @param capacity The capacity.
+	 * @param policy The overflow policy.
+	 * @param types The type of each queued alert. Their texts are "alert 0", "alert 1" and so on.
+	 * @return The queue.
+	 */
+	private static AlertifyQueue full(int capacity, OverflowPolicy policy, AlertifyType... types) {
+		AlertifyQueue queue = new AlertifyQueue();
+		queue.setCapacity(capacity);
+		queue.setOverflowPolicy(policy);
+		for (int i = 0; i < types.length; i++) {
+			assertEquals(AlertifyResult.QUEUED, queue.offer(alert(types[i], "alert " + i)));
+		}
+		return queue;
+	}
+
+	/**
+	 * Create an alert.
+	 *
+	 * @param type The alert type.
+	 * @param text The alert text.
+	 * @return The alert.
+	 */
+	private static PendingAlert alert(AlertifyType type, String text) {
+		return new PendingAlert(new AlertifyBuilder().type(type).text(text).build(), null);
+	}
+
+	/**
+	 * Give an alert a handle.
+	 *
+	 * @param alert The alert.
+	 * @return The handle.
+	 */
+	private static AlertHandle handle(PendingAlert alert) {
+		AlertHandle handle = new AlertHandle(alert);
+		alert.setHandle(handle);
+		return handle;
+	}
+}
@@ -0,0 +1,191 @@
+package org.nikkii.alertify4j.screen;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.queue.AlertifyQueue;
+import org.nikkii.alertify4j.queue.OverflowPolicy;
+import org.nikkii.alertify4j.queue.PendingAlert;
+import org.nikkii.alertify4j.ui.AlertifyWindow;
+import org.nikkii.alertify4j.ui.OffscreenRenderer;
+import org.nikkii.alertify4j.ui.SpriteCache;
+import org.nikkii.alertify4j.ui.WindowCommitter;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link ScreenRouter} routing policies, on virtual screens so this runs headless.
+ *
+ * @author Nikki
+ */
+public class ScreenRouterTest {
+
+	/**
+	 * The height of each virtual screen.
+	 */
+	private static final int SCREEN_HEIGHT = 300;
+
+	/**
+	 * The router under test.
+	 */
+	private final ScreenRouter router = new ScreenRouter(10);
+
+	/**
+	 * The committer test windows are created with. Nothing is ever committed.
+	 */
+	private final WindowCommitter committer = new WindowCommitter(new OffscreenRenderer());
+
+	/**
+	 * The cache test windows are created with.
+	 */
+	private final SpriteCache sprites = new SpriteCache(0);
+
+	/**
+	 * The three screens' stacks, the primary screen's first.
+	 */
+	private ScreenStack first, second, third;
+
+	@Before
+	public void setup() {
+		router.setScreens(new Rectangle[] {
+			new Rectangle(0, 0, 400, SCREEN_HEIGHT), new Rectangle(400, 0, 400, SCREEN_HEIGHT),
+			new Rectangle(800, 0, 400, SCREEN_HEIGHT)
+		});
+
+		List<ScreenStack> stacks = router.getStacks();
+		assertEquals(3, stacks.size());
+		first = stacks.get(0);
+		second = stacks.get(1);
+		third = stacks.get(2);
+	}
+
+	@Test
+	public void primaryPolicySendsEverythingToTheFirstScreen() {
+		assertSame(RoutingPolicy.PRIMARY, router.getPolicy());
+		assertSame(first, router.getPrimary());
+
+		fill(first);
+
+		for (int i = 0; i < 5; i++) {
+			assertSame(first, router.route());
+		}
+	}
+
+	@Test
+	public void roundRobinTakesTurnsSkippingFullScreens() {
+		router.setPolicy(RoutingPolicy.ROUND_ROBIN);
+
+		assertEquals(Arrays.asList(first, second, third, first), route(4));
+
+		fill(third);
+		assertEquals(Arrays.asList(second, first, second, first), route(4));
+	}
+
+	@Test
+	public void roundRobinStillPicksAScreenWhenAllAreFull() {
+		router.setPolicy(RoutingPolicy.ROUND_ROBIN);
+		fill(first);
+		fill(second);
+		fill(third);
+
+		// The alert is queued on whichever screen is next in turn
+		assertEquals(Arrays.asList(first, second, third), route(3));
+	}
+
+	@Test
+	public void leastLoadedPrefersScreensWithRoom() {
+		router.setPolicy(RoutingPolicy.LEAST_LOADED);
+		first.getQueue().offer(alert());
+		first.getQueue().offer(alert());
+		second.getQueue().offer(alert());
+
+		assertSame(third, router.route());
+
+		// The third screen has the same load as the second now, but no room
+		fill(third);
+		assertSame(second, router.route());
+	}
+
+	@Test
+	public void focusedPolicyFallsBackToThePrimaryScreen() {
+		router.setPolicy(RoutingPolicy.FOCUSED);
+
+		// Virtual screens have no device, and there's no focused window or pointer headless
+		assertSame(first, router.route());
+	}
+
+	@Test
+	public void busiestIsTheScreenWithTheMostQueued() {
+		assertNull(router.busiest());
+
+		second.getQueue().offer(alert());
+		third.getQueue().offer(alert());
+		third.getQueue().offer(alert());
+
+		assertSame(third, router.busiest());
+	}
+
+	@Test
+	public void stackOfFindsTheScreenOfAWindow() {
+		AlertifyWindow window = new AlertifyWindow(committer, sprites);
+		assertNull(router.stackOf(window));
+
+		second.getWindows().add(window, 50);
+		assertSame(second, router.stackOf(window));
+	}
+
+	@Test
+	public void newScreensKeepThePrimaryQueueSettings() {
+		AlertifyQueue queue = first.getQueue();
+		queue.setCapacity(3);
+		queue.setOverflowPolicy(OverflowPolicy.BLOCK);
+		queue.setBlockTimeout(1234);
+
+		router.setScreens(new Rectangle[] { new Rectangle(0, 0, 400, 300), new Rectangle(400, 0, 400, 300) });
+
+		for (ScreenStack stack : router.getStacks()) {
+			assertEquals(3, stack.getQueue().getCapacity());
+			assertSame(OverflowPolicy.BLOCK, stack.getQueue().getOverflowPolicy());
+			assertEquals(1234, stack.getQueue().getBlockTimeout());
+		}
+	}
+
+	/**
+	 * Route a number of alerts.
+	 *
+	 * @param count The number of alerts.
+	 * @return The stacks they were routed to, in order.
+	 */
+	private List<ScreenStack> route(int count) {
+		ScreenStack[] stacks = new ScreenStack[count];
+		for (int i = 0; i < count; i++) {
+			stacks[i] = router.route();
+		}
+		return Arrays.asList(stacks);
+	}
+
+	/**
+	 * Fill a screen, so it has no room for another window.
+	 *
+	 * @param stack The screen's stack.
+	 */
+	private void fill(ScreenStack stack) {
+		stack.getWindows().add(new AlertifyWindow(committer, sprites), SCREEN_HEIGHT + 1);
+	}
+
+	/**
+	 * Create an info alert.
+	 *
+	 * @return The alert.
+	 */
+	private static PendingAlert alert() {
+		return new PendingAlert(new AlertifyBuilder().type(AlertifyType.INFO).text("Saved").build(), null);
+	}
+}
@@ -0,0 +1,114 @@
+package org.nikkii.alertify4j.themes;
+
+import org.junit.Test;
+import org.nikkii.alertify4j.AlertifyColorPair;
+import org.nikkii.alertify4j.AlertifyType;
+
+import javax.swing.BorderFactory;
+import javax.swing.JPanel;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Insets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for what a {@link ThemeSnapshot} resolves from its theme.
+ *
+ * @author Nikki
+ */
+public class ThemeSnapshotTest {
+
+	/**
+	 * The colors of LOG alerts.
+	 */
+	private static final AlertifyColorPair LOG = new AlertifyColorPair(Color.BLACK, Color.WHITE);
+
+	/**
+	 * The colors of ERROR alerts.
+	 */
+	private static final AlertifyColorPair ERROR = new AlertifyColorPair(Color.RED, Color.WHITE);
+
+	@Test
+	public void typesWithoutColorsFallBackToLog() {
+		ThemeSnapshot snapshot = new ThemeSnapshot(theme(LOG, ERROR));
+
+		assertSame(LOG, snapshot.getColors(AlertifyType.LOG));
+		assertSame(ERROR, snapshot.getColors(AlertifyType.ERROR));
+		assertSame(LOG, snapshot.getColors(AlertifyType.INFO));
+		assertSame(LOG, snapshot.getColors(AlertifyType.SUCCESS));
+	}
+
+	@Test
+	public void typesAreUnsupportedWithoutLog() {
+		ThemeSnapshot snapshot = new ThemeSnapshot(theme(null, ERROR));
+
+		assertSame(ERROR, snapshot.getColors(AlertifyType.ERROR));
+		assertNull(snapshot.getColors(AlertifyType.LOG));
+		assertNull(snapshot.getColors(AlertifyType.INFO));
+	}
+
+	@Test
+	public void colorsAreResolvedWhenTheSnapshotIsTaken() {
+		AlertifyTheme theme = theme(LOG, null);
+		ThemeSnapshot snapshot = new ThemeSnapshot(theme);
+
+		theme.initColor(AlertifyType.ERROR, ERROR);
+
+		assertSame(LOG, snapshot.getColors(AlertifyType.ERROR));
+		assertSame(ERROR, new ThemeSnapshot(theme).getColors(AlertifyType.ERROR));
+	}
+
+	@Test
+	public void contentInsetsComeFromTheConfiguredPanel() {
+		ThemeSnapshot snapshot = new ThemeSnapshot(theme(LOG, null));
+
+		assertEquals(new Insets(1, 2, 3, 4), snapshot.getInsets());
+		assertEquals(6, snapshot.getInsetWidth());
+		assertEquals(4, snapshot.getInsetHeight());
+
+		// Callers get their own copy
+		assertNotSame(snapshot.getInsets(), snapshot.getInsets());
+	}
+
+	@Test
+	public void bootstrapThemeSupportsEveryType() {
+		ThemeSnapshot snapshot = new ThemeSnapshot(new BootstrapTheme());
+
+		for (AlertifyType type : AlertifyType.values()) {
+			assertEquals(new BootstrapTheme().getColors(type).getBackground(), snapshot.getColors(type).getBackground());
+		}
+	}
+
+	/**
+	 * Create a theme with a LOG and ERROR color pair and a border.
+	 *
+	 * @param log The LOG colors, or null.
+	 * @param error The ERROR colors, or null.
+	 * @return The theme.
+	 */
+	private static AlertifyTheme theme(AlertifyColorPair log, AlertifyColorPair error) {
+		AlertifyTheme theme = new AlertifyTheme() {
+			@Override
+			public Font getFont() {
+				return new Font("SansSerif", Font.PLAIN, 12);
+			}
+
+			@Override
+			public void configure(JPanel content) {
+				content.setBorder(BorderFactory.createEmptyBorder(1, 2, 3, 4));
+			}
+		};
+
+		if (log != null) {
+			theme.initColor(AlertifyType.LOG, log);
+		}
+		if (error != null) {
+			theme.initColor(AlertifyType.ERROR, error);
+		}
+		return theme;
+	}
+}
@@ -0,0 +1,235 @@
+package org.nikkii.alertify4j.tween;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link AnimationClock} frame time compensation and idle parking. Frames are slowed down on purpose by
+ * sleeping in the listener, so the checks only rely on the clock never passing less time than really went by.
+ *
+ * @author Nikki
+ */
+public class AnimationClockTest {
+
+	/**
+	 * The clock under test.
+	 */
+	private AnimationClock clock;
+
+	@After
+	public void tearDown() {
+		if (clock != null) {
+			clock.stop();
+		}
+	}
+
+	@Test
+	public void lateFrameIsPassedTheRealElapsedTime() throws InterruptedException {
+		final BlockingQueue<Float> deltas = new LinkedBlockingQueue<Float>();
+		clock = new AnimationClock(new FrameListener() {
+			private int frame = 0;
+
+			@Override
+			public long onFrame(float delta) {
+				deltas.add(delta);
+				if (frame++ == 2) {
+					sleep(30);
+				}
+				return 0;
+			}
+		});
+		clock.setTargetFrameRate(100);
+		clock.start("Clock Test");
+
+		take(deltas);
+		take(deltas);
+		take(deltas);
+
+		// The frame after the slow one makes up for the 30ms it took, instead of assuming a 10ms frame
+		assertTrue(take(deltas) >= 0.03f);
+	}
+
+	@Test
+	public void stallIsCappedAndCountedAsSkippedFrames() throws InterruptedException {
+		final BlockingQueue<Float> deltas = new LinkedBlockingQueue<Float>();
+		clock = new AnimationClock(new FrameListener() {
+			private int frame = 0;
+
+			@Override
+			public long onFrame(float delta) {
+				deltas.add(delta);
+				if (frame++ == 0) {
+					sleep(200);
+				}
+				return 0;
+			}
+		});
+		clock.setTargetFrameRate(100);
+		clock.setMaxCatchUpFrames(5);
+		clock.start("Clock Test");
+
+		take(deltas);
+
+		// 200ms went by, but a single frame only catches up 5 periods
+		assertEquals(0.05f, take(deltas), 0.0001f);
+		assertTrue(clock.getSkippedFrames() >= 15);
+	}
+
+	@Test
+	public void idleClockParksUntilWoken() throws InterruptedException {
+		final BlockingQueue<Float> deltas = new LinkedBlockingQueue<Float>();
+		clock = new AnimationClock(new FrameListener() {
+			@Override
+			public long onFrame(float delta) {
+				deltas.add(delta);
+				return IDLE;
+			}
+		});
+		clock.start("Clock Test");
+
+		take(deltas);
+		assertNull(deltas.poll(100, TimeUnit.MILLISECONDS));
+		assertEquals(1, clock.getFrameCount());
+
+		clock.wake();
+
+		// The time spent parked isn't passed on as a frame delta
+		assertTrue(take(deltas) < 0.05f);
+		assertEquals(0, clock.getSkippedFrames());
+	}
+
+	@Test
+	public void listenerExceptionIsReportedAndTheClockKeepsTicking() throws InterruptedException {
+		final BlockingQueue<Throwable> reported = new LinkedBlockingQueue<Throwable>();
+		final BlockingQueue<Float> deltas = new LinkedBlockingQueue<Float>();
+		final RuntimeException failure = new IllegalStateException("Bad frame");
+		clock = new AnimationClock(new FrameListener() {
+			private int frame = 0;
+
+			@Override
+			public long onFrame(float delta) {
+				if (frame++ == 0) {
+					Thread.currentThread().setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+						@Override
+						public void uncaughtException(Thread t, Throwable e) {
+							reported.add(e);
+						}
+					});
+					throw failure;
+				}
+				deltas.add(delta);
+				return IDLE;
+			}
+		});
+		clock.start("Clock Test");
+
+		assertSame(failure, reported.poll(5, TimeUnit.SECONDS));
+
+		// The failed frame might have left work behind, so another one runs straight away
+		take(deltas);
+		assertTrue(clock.isRunning());
+	}
+
+	@Test
+	public void idleClockWakesWhenItsListenerAsked() throws InterruptedException {
+		final BlockingQueue<Long> frames = new LinkedBlockingQueue<Long>();
+		clock = new AnimationClock(new FrameListener() {
+			@Override
+			public long onFrame(float delta) {
+				frames.add(System.nanoTime());
+				return TimeUnit.MILLISECONDS.toNanos(50);
+			}
+		});
+		clock.start("Clock Test");
+
+		long first = take(frames);
+		long second = take(frames);
+
+		// Parked for the time asked for, without being woken
+		assertTrue(second - first >= TimeUnit.MILLISECONDS.toNanos(50));
+	}
+
+	@Test
+	public void stoppedClockIsNotRunning() {
+		clock = new AnimationClock(new FrameListener() {
+			@Override
+			public long onFrame(float delta) {
+				return IDLE;
+			}
+		});
+		assertFalse(clock.isRunning());
+
+		clock.start("Clock Test");
+		assertTrue(clock.isRunning());
+
+		clock.stop();
+		assertFalse(clock.isRunning());
+	}
+
+	@Test
+	public void frameRateIsConvertedToAPeriod() {
+		clock = new AnimationClock(null);
+
+		assertEquals(AnimationClock.DEFAULT_FRAME_RATE, clock.getTargetFrameRate());
+
+		clock.setTargetFrameRate(60);
+		assertEquals(60, clock.getTargetFrameRate());
+	}
+
+	@Test
+	public void rejectsInvalidSettings() {
+		clock = new AnimationClock(null);
+
+		try {
+			clock.setTargetFrameRate(0);
+			fail("Expected an IllegalArgumentException.");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+
+		try {
+			clock.setMaxCatchUpFrames(0);
+			fail("Expected an IllegalArgumentException.");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+	}
+
+	/**
+	 * Take what the listener recorded for the next frame.
+	 *
+	 * @param records What the listener recorded for each frame.
+	 * @return The next frame's record.
+	 * @throws InterruptedException If the test is interrupted.
+	 */
+	private static <T> T take(BlockingQueue<T> records) throws InterruptedException {
+		T record = records.poll(5, TimeUnit.SECONDS);
+		assertNotNull("The clock stopped running frames.", record);
+		return record;
+	}
+
+	/**
+	 * Sleep through a frame, like a listener with a lot of work would.
+	 *
+	 * @param ms The time, in milliseconds.
+	 */
+	private static void sleep(long ms) {
+		try {
+			Thread.sleep(ms);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
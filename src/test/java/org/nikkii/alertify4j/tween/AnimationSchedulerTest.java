@@ -0,0 +1,235 @@
+package org.nikkii.alertify4j.tween;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AnimationScheduler} reference counting and frame dispatch.
+ *
+ * @author Nikki
+ */
+public class AnimationSchedulerTest {
+
+	/**
+	 * The scheduler under test.
+	 */
+	private AnimationScheduler scheduler;
+
+	/**
+	 * The listeners registered by the test, unregistered afterwards so no clock is left running.
+	 */
+	private final List<FrameListener> registered = new ArrayList<FrameListener>();
+
+	@Before
+	public void setup() {
+		scheduler = new AnimationScheduler("Scheduler Test");
+	}
+
+	@After
+	public void tearDown() {
+		for (FrameListener listener : registered) {
+			scheduler.unregister(listener);
+		}
+	}
+
+	@Test
+	public void clockRunsWhileAnyListenerIsRegistered() {
+		assertNull(scheduler.getClock());
+		assertEquals(0, scheduler.getReferenceCount());
+
+		FrameListener first = register(idle());
+		AnimationClock clock = scheduler.getClock();
+		assertNotNull(clock);
+		assertTrue(clock.isRunning());
+
+		FrameListener second = register(idle());
+		assertSame(clock, scheduler.getClock());
+		assertEquals(2, scheduler.getReferenceCount());
+
+		scheduler.unregister(first);
+		assertSame(clock, scheduler.getClock());
+		assertTrue(clock.isRunning());
+
+		scheduler.unregister(second);
+		assertNull(scheduler.getClock());
+		assertFalse(clock.isRunning());
+		assertEquals(0, scheduler.getReferenceCount());
+	}
+
+	@Test
+	public void unregisteringAnUnknownListenerKeepsTheClock() {
+		register(idle());
+		AnimationClock clock = scheduler.getClock();
+
+		scheduler.unregister(idle());
+
+		assertSame(clock, scheduler.getClock());
+		assertEquals(1, scheduler.getReferenceCount());
+	}
+
+	@Test
+	public void listenerRegisteredTwiceHoldsTwoReferences() {
+		FrameListener listener = register(idle());
+		register(listener);
+
+		scheduler.unregister(listener);
+		assertNotNull(scheduler.getClock());
+
+		scheduler.unregister(listener);
+		assertNull(scheduler.getClock());
+	}
+
+	@Test
+	public void registeringAgainStartsANewClock() {
+		FrameListener listener = register(idle());
+		AnimationClock stopped = scheduler.getClock();
+		scheduler.unregister(listener);
+
+		register(listener);
+
+		assertNotSame(stopped, scheduler.getClock());
+		assertTrue(scheduler.getClock().isRunning());
+		assertFalse(stopped.isRunning());
+	}
+
+	@Test
+	public void frameRateIsKeptAcrossRestarts() {
+		scheduler.setTargetFrameRate(50);
+		FrameListener listener = register(idle());
+		assertEquals(50, scheduler.getClock().getTargetFrameRate());
+
+		scheduler.setTargetFrameRate(25);
+		assertEquals(25, scheduler.getClock().getTargetFrameRate());
+		scheduler.unregister(listener);
+
+		register(listener);
+		assertEquals(25, scheduler.getClock().getTargetFrameRate());
+		assertEquals(TimeUnit.SECONDS.toNanos(1) / 25, scheduler.getFramePeriod());
+	}
+
+	@Test
+	public void wakeRunsAFrameForEveryListener() throws InterruptedException {
+		final CountDownLatch frames = new CountDownLatch(2);
+		FrameListener counter = new FrameListener() {
+			@Override
+			public long onFrame(float delta) {
+				frames.countDown();
+				return IDLE;
+			}
+		};
+		register(counter);
+		register(counter);
+
+		scheduler.wake();
+
+		assertTrue(frames.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void busiestListenerSetsTheIdleTime() {
+		register(idleFor(500));
+		register(idleFor(100));
+		register(idle());
+
+		assertEquals(100, scheduler.onFrame(0));
+	}
+
+	@Test
+	public void failingListenerDoesNotStopTheOthers() {
+		final List<Throwable> reported = new ArrayList<Throwable>();
+		final RuntimeException failure = new RuntimeException("Expected");
+		final Thread thread = Thread.currentThread();
+		final int[] calls = new int[1];
+
+		// Frames are run here by hand, so the listeners leave the clock thread's frames alone
+		register(new FrameListener() {
+			@Override
+			public long onFrame(float delta) {
+				if (Thread.currentThread() == thread) {
+					throw failure;
+				}
+				return IDLE;
+			}
+		});
+		register(new FrameListener() {
+			@Override
+			public long onFrame(float delta) {
+				if (Thread.currentThread() == thread) {
+					calls[0]++;
+				}
+				return IDLE;
+			}
+		});
+
+		Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+		thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+			@Override
+			public void uncaughtException(Thread t, Throwable e) {
+				reported.add(e);
+			}
+		});
+
+		long idle;
+		try {
+			idle = scheduler.onFrame(0);
+		} finally {
+			thread.setUncaughtExceptionHandler(handler);
+		}
+
+		// The failed listener is called again straight away
+		assertEquals(0, idle);
+		assertEquals(1, calls[0]);
+		assertEquals(1, reported.size());
+		assertSame(failure, reported.get(0));
+	}
+
+	/**
+	 * Register a listener, remembering it so it's unregistered after the test.
+	 *
+	 * @param listener The listener.
+	 * @return The listener.
+	 */
+	private FrameListener register(FrameListener listener) {
+		registered.add(listener);
+		scheduler.register(listener);
+		return listener;
+	}
+
+	/**
+	 * Create a listener which has nothing to animate.
+	 *
+	 * @return The listener.
+	 */
+	private static FrameListener idle() {
+		return idleFor(FrameListener.IDLE);
+	}
+
+	/**
+	 * Create a listener which asks to be called again after a time.
+	 *
+	 * @param idle The time, in nanoseconds.
+	 * @return The listener.
+	 */
+	private static FrameListener idleFor(final long idle) {
+		return new FrameListener() {
+			@Override
+			public long onFrame(float delta) {
+				return idle;
+			}
+		};
+	}
+}
@@ -0,0 +1,333 @@
+package org.nikkii.alertify4j.tween;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link Animator}, run by hand on the test thread.
+ *
+ * @author Nikki
+ */
+public class AnimatorTest {
+
+	/**
+	 * The animator under test.
+	 */
+	private final Animator animator = new Animator();
+
+	/**
+	 * The listener calls, in order.
+	 */
+	private final List<String> calls = new ArrayList<String>();
+
+	/**
+	 * A listener recording each call with its tag.
+	 */
+	private final AnimationListener recorder = new AnimationListener() {
+		@Override
+		public void onStep(Positionable target, Object tag) {
+			calls.add("step " + tag);
+		}
+
+		@Override
+		public void onComplete(Positionable target, Object tag) {
+			calls.add("complete " + tag);
+		}
+	};
+
+	@Test
+	public void linearAnimationMovesInEvenStepsAndEndsExactly() {
+		Target target = new Target(0, 50);
+		animator.animate(target, Animator.X, 100, 1, Easing.LINEAR, recorder, "x");
+
+		animator.update(0.25f);
+		assertEquals(25, target.getPendingX());
+		assertEquals(50, target.getPendingY());
+
+		animator.update(0.25f);
+		assertEquals(50, target.getPendingX());
+
+		// Overshooting the duration lands on the end
+		animator.update(0.75f);
+		assertEquals(100, target.getPendingX());
+
+		assertEquals(list("step x", "step x", "step x", "complete x"), calls);
+		assertFalse(animator.isAnimating(target));
+		assertEquals(0, animator.size());
+	}
+
+	@Test
+	public void bothAxesShareOneSlotAndOneLocationWrite() {
+		Target target = new Target(0, 0);
+		animator.animate(target, Animator.X, 100, 1, Easing.LINEAR, recorder, "x");
+		animator.animate(target, Animator.Y, 40, 0.5f, Easing.LINEAR, recorder, "y");
+		assertEquals(1, animator.size());
+
+		animator.update(0.25f);
+		assertEquals(25, target.getPendingX());
+		assertEquals(20, target.getPendingY());
+		assertEquals(1, target.writes);
+
+		// Y ends first, and the slot stays for X
+		animator.update(0.25f);
+		assertEquals(list("step x", "step y", "step x", "step y", "complete y"), calls);
+		assertTrue(animator.isAnimating(target));
+
+		animator.update(0.5f);
+		assertEquals(100, target.getPendingX());
+		assertEquals(40, target.getPendingY());
+		assertFalse(animator.isAnimating(target));
+	}
+
+	@Test
+	public void restartingAChannelStartsFromWhereTheTargetIsWithoutCompletingIt() {
+		Target target = new Target(0, 0);
+		animator.animate(target, Animator.X, 100, 1, Easing.LINEAR, recorder, "first");
+		animator.update(0.5f);
+
+		animator.animate(target, Animator.X, 0, 1, Easing.LINEAR, recorder, "second");
+		animator.update(0.5f);
+		assertEquals(25, target.getPendingX());
+
+		animator.update(0.5f);
+		assertEquals(0, target.getPendingX());
+		assertEquals(list("step first", "step second", "step second", "complete second"), calls);
+	}
+
+	@Test
+	public void cancelStopsWithoutTellingTheListener() {
+		Target target = new Target(0, 0);
+		animator.animate(target, Animator.X, 100, 1, Easing.LINEAR, recorder, "x");
+		animator.update(0.5f);
+
+		animator.cancel(target);
+		animator.update(1);
+
+		assertEquals(50, target.getPendingX());
+		assertEquals(list("step x"), calls);
+		assertEquals(-1, target.getAnimatorSlot());
+		assertEquals(0, animator.size());
+	}
+
+	@Test
+	public void slotsStayPackedAndFindableAsTargetsFinish() {
+		Target first = new Target(0, 0);
+		Target second = new Target(0, 0);
+		Target third = new Target(0, 0);
+
+		animator.animate(first, Animator.X, 10, 0.5f, Easing.LINEAR);
+		animator.animate(second, Animator.X, 10, 1, Easing.LINEAR);
+		animator.animate(third, Animator.X, 10, 1, Easing.LINEAR);
+		assertEquals(2, third.getAnimatorSlot());
+
+		// The first finishes, and the last slot moves into its place
+		animator.update(0.5f);
+		assertEquals(2, animator.size());
+		assertEquals(-1, first.getAnimatorSlot());
+		assertEquals(0, third.getAnimatorSlot());
+		assertEquals(1, second.getAnimatorSlot());
+
+		animator.cancel(third);
+		assertFalse(animator.isAnimating(third));
+		assertTrue(animator.isAnimating(second));
+		assertEquals(0, second.getAnimatorSlot());
+	}
+
+	@Test
+	public void staleSlotIsNotMistakenForTheTarget() {
+		Target target = new Target(0, 0);
+		Target other = new Target(0, 0);
+		animator.animate(other, Animator.X, 10, 1, Easing.LINEAR);
+
+		// A slot which belongs to another target here, such as one from another animator
+		target.setAnimatorSlot(0);
+		assertFalse(animator.isAnimating(target));
+
+		animator.animate(target, Animator.X, 10, 1, Easing.LINEAR);
+		assertEquals(2, animator.size());
+		assertEquals(0, other.getAnimatorSlot());
+		assertEquals(1, target.getAnimatorSlot());
+	}
+
+	@Test
+	public void completionListenerCanStartTheNextAnimation() {
+		final Target target = new Target(0, 0);
+		AnimationListener bounce = new AnimationListener() {
+			@Override
+			public void onStep(Positionable target, Object tag) {
+				// Nothing to do
+			}
+
+			@Override
+			public void onComplete(Positionable target, Object tag) {
+				calls.add("complete " + tag);
+				if (tag.equals("out")) {
+					animator.animate(target, Animator.X, 0, 1, Easing.LINEAR, this, "back");
+				}
+			}
+		};
+
+		animator.animate(target, Animator.X, 100, 1, Easing.LINEAR, bounce, "out");
+		animator.update(1);
+		assertTrue(animator.isAnimating(target));
+
+		animator.update(1);
+		assertEquals(0, target.getPendingX());
+		assertEquals(list("complete out", "complete back"), calls);
+		assertFalse(animator.isAnimating(target));
+	}
+
+	@Test
+	public void failingListenerIsReportedAndTheOthersCarryOn() {
+		final RuntimeException failure = new RuntimeException("Expected");
+		final List<Throwable> reported = new ArrayList<Throwable>();
+		Target broken = new Target(0, 0);
+		Target target = new Target(0, 0);
+
+		animator.animate(broken, Animator.X, 10, 1, Easing.LINEAR, new AnimationListener() {
+			@Override
+			public void onStep(Positionable target, Object tag) {
+				throw failure;
+			}
+
+			@Override
+			public void onComplete(Positionable target, Object tag) {
+				throw failure;
+			}
+		}, null);
+		animator.animate(target, Animator.X, 10, 1, Easing.LINEAR, recorder, "x");
+
+		Thread thread = Thread.currentThread();
+		Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+		thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+			@Override
+			public void uncaughtException(Thread t, Throwable e) {
+				reported.add(e);
+			}
+		});
+
+		try {
+			animator.update(1);
+		} finally {
+			thread.setUncaughtExceptionHandler(handler);
+		}
+
+		assertEquals(list("step x", "complete x"), calls);
+		assertEquals(2, reported.size());
+		assertSame(failure, reported.get(0));
+		assertEquals(0, animator.size());
+	}
+
+	@Test
+	public void clearDropsEverythingWithoutTellingTheListeners() {
+		Target first = new Target(0, 0);
+		Target second = new Target(0, 0);
+		animator.animate(first, Animator.X, 10, 1, Easing.LINEAR, recorder, "first");
+		animator.animate(second, Animator.Y, 10, 1, Easing.LINEAR, recorder, "second");
+
+		animator.clear();
+		animator.update(1);
+
+		assertEquals(0, animator.size());
+		assertEquals(-1, first.getAnimatorSlot());
+		assertEquals(-1, second.getAnimatorSlot());
+		assertTrue(calls.isEmpty());
+	}
+
+	@Test
+	public void arraysGrowPastTheirStartingSize() {
+		Target[] targets = new Target[100];
+		for (int i = 0; i < targets.length; i++) {
+			targets[i] = new Target(0, 0);
+			animator.animate(targets[i], Animator.Y, i, 1, Easing.LINEAR);
+		}
+		assertEquals(100, animator.size());
+
+		animator.update(1);
+
+		for (int i = 0; i < targets.length; i++) {
+			assertEquals(i, targets[i].getPendingY());
+		}
+		assertEquals(0, animator.size());
+	}
+
+	/**
+	 * Make a list of calls.
+	 *
+	 * @param calls The calls.
+	 * @return The list.
+	 */
+	private static List<String> list(String... calls) {
+		List<String> list = new ArrayList<String>();
+		for (String call : calls) {
+			list.add(call);
+		}
+		return list;
+	}
+
+	/**
+	 * A target counting its location writes.
+	 */
+	private static class Target implements Positionable {
+
+		/**
+		 * The pending location.
+		 */
+		private int x, y;
+
+		/**
+		 * The slot in the animator.
+		 */
+		private int slot = -1;
+
+		/**
+		 * The number of location writes.
+		 */
+		private int writes = 0;
+
+		/**
+		 * Construct a target.
+		 *
+		 * @param x The X position.
+		 * @param y The Y position.
+		 */
+		Target(int x, int y) {
+			this.x = x;
+			this.y = y;
+		}
+
+		@Override
+		public int getPendingX() {
+			return x;
+		}
+
+		@Override
+		public int getPendingY() {
+			return y;
+		}
+
+		@Override
+		public void setPendingLocation(int x, int y) {
+			this.x = x;
+			this.y = y;
+			writes++;
+		}
+
+		@Override
+		public int getAnimatorSlot() {
+			return slot;
+		}
+
+		@Override
+		public void setAnimatorSlot(int slot) {
+			this.slot = slot;
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package org.nikkii.alertify4j.tween;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link Easing} curves.
+ *
+ * @author Nikki
+ */
+public class EasingTest {
+
+	/**
+	 * How far a float result may be off.
+	 */
+	private static final float TOLERANCE = 1e-5f;
+
+	/**
+	 * Every curve.
+	 */
+	private static final int[] CURVES = {
+		Easing.LINEAR, Easing.QUAD_IN, Easing.QUAD_OUT, Easing.QUAD_IN_OUT, Easing.CUBIC_IN, Easing.CUBIC_OUT,
+		Easing.CUBIC_IN_OUT, Easing.BACK_IN, Easing.BACK_OUT, Easing.BACK_IN_OUT
+	};
+
+	@Test
+	public void everyCurveStartsAtZeroAndEndsAtOne() {
+		for (int curve : CURVES) {
+			assertEquals("curve " + curve, 0, Easing.apply(curve, 0), TOLERANCE);
+			assertEquals("curve " + curve, 1, Easing.apply(curve, 1), TOLERANCE);
+		}
+	}
+
+	@Test
+	public void linearIsTheProgressItself() {
+		for (int i = 0; i <= 10; i++) {
+			float t = i / 10f;
+			assertEquals(t, Easing.apply(Easing.LINEAR, t), 0);
+		}
+	}
+
+	@Test
+	public void outCurvesMirrorTheirInCurves() {
+		int[][] pairs = {
+			{ Easing.QUAD_IN, Easing.QUAD_OUT }, { Easing.CUBIC_IN, Easing.CUBIC_OUT },
+			{ Easing.BACK_IN, Easing.BACK_OUT }
+		};
+
+		for (int[] pair : pairs) {
+			for (int i = 0; i <= 10; i++) {
+				float t = i / 10f;
+				assertEquals(1 - Easing.apply(pair[0], 1 - t), Easing.apply(pair[1], t), TOLERANCE);
+			}
+		}
+	}
+
+	@Test
+	public void inOutCurvesAreHalfWayAtTheMiddle() {
+		assertEquals(0.5f, Easing.apply(Easing.QUAD_IN_OUT, 0.5f), TOLERANCE);
+		assertEquals(0.5f, Easing.apply(Easing.CUBIC_IN_OUT, 0.5f), TOLERANCE);
+		assertEquals(0.5f, Easing.apply(Easing.BACK_IN_OUT, 0.5f), TOLERANCE);
+	}
+
+	@Test
+	public void backCurvesGoPastTheEnds() {
+		float lowest = 0;
+		float highest = 1;
+
+		for (int i = 0; i <= 100; i++) {
+			float t = i / 100f;
+			lowest = Math.min(lowest, Easing.apply(Easing.BACK_IN, t));
+			highest = Math.max(highest, Easing.apply(Easing.BACK_OUT, t));
+		}
+
+		// About a 10% pull back and overshoot
+		assertEquals(-0.1f, lowest, 0.01f);
+		assertEquals(1.1f, highest, 0.01f);
+	}
+
+	@Test
+	public void otherCurvesStayBetweenTheEnds() {
+		int[] curves = {
+			Easing.QUAD_IN, Easing.QUAD_OUT, Easing.QUAD_IN_OUT, Easing.CUBIC_IN, Easing.CUBIC_OUT, Easing.CUBIC_IN_OUT
+		};
+
+		for (int curve : curves) {
+			float last = 0;
+			for (int i = 0; i <= 100; i++) {
+				float value = Easing.apply(curve, i / 100f);
+				assertTrue("curve " + curve, value >= last - TOLERANCE && value <= 1 + TOLERANCE);
+				last = value;
+			}
+		}
+	}
+
+	@Test
+	public void unknownCurveIsLinear() {
+		assertEquals(0.25f, Easing.apply(-1, 0.25f), 0);
+		assertEquals(0.75f, Easing.apply(100, 0.75f), 0);
+	}
+}
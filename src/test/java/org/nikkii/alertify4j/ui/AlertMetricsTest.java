@@ -0,0 +1,140 @@
+package org.nikkii.alertify4j.ui;
+
+import org.junit.Test;
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.themes.BootstrapTheme;
+import org.nikkii.alertify4j.themes.ThemeSnapshot;
+
+import javax.swing.BorderFactory;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingConstants;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link AlertMetrics} against the sizes Swing works out itself. Nothing here is shown, so this runs
+ * headless.
+ *
+ * @author Nikki
+ */
+public class AlertMetricsTest {
+
+	/**
+	 * Strings covering cached Latin-1 characters, characters outside the cache, and the empty string.
+	 */
+	private static final String[] STRINGS = {
+		"", "Saved", "The quick brown fox jumps over the lazy dog", "iiiiiiiiiiWWWWWWWWWW", "Caf\u00e9 cr\u00e8me \u00bd",
+		"\u65e5\u672c\u8a9e", "Mixed \u0434\u0430 text"
+	};
+
+	/**
+	 * The theme snapshot alerts are measured with.
+	 */
+	private final ThemeSnapshot theme = new ThemeSnapshot(new BootstrapTheme());
+
+	/**
+	 * The measurer under test.
+	 */
+	private final AlertMetrics metrics = new AlertMetrics();
+
+	@Test
+	public void stringWidthMatchesFontMetrics() {
+		Font[] fonts = {
+			theme.getFont(), new Font("SansSerif", Font.PLAIN, 11), new Font("Serif", Font.ITALIC, 17),
+			new Font("Monospaced", Font.BOLD, 24)
+		};
+
+		for (Font font : fonts) {
+			FontMetrics expected = new JLabel().getFontMetrics(font);
+
+			for (String text : STRINGS) {
+				assertEquals(font + " \"" + text + "\"", expected.stringWidth(text), metrics.stringWidth(font, text));
+				// Again, with the advances cached
+				assertEquals(font + " \"" + text + "\"", expected.stringWidth(text), metrics.stringWidth(font, text));
+			}
+		}
+	}
+
+	@Test
+	public void fontMetricsAreCached() {
+		Font font = new Font("SansSerif", Font.PLAIN, 13);
+
+		assertSame(metrics.getFontMetrics(font), metrics.getFontMetrics(new Font("SansSerif", Font.PLAIN, 13)));
+	}
+
+	@Test
+	public void plainAlertIsMeasuredLikeItsContentPanel() {
+		for (String text : STRINGS) {
+			AlertifyConfig config = new AlertifyBuilder().type(AlertifyType.INFO).text(text).build();
+
+			assertMeasuredLikeContentPanel(config);
+		}
+
+		Icon icon = new ImageIcon(new BufferedImage(24, 40, BufferedImage.TYPE_INT_ARGB));
+		assertMeasuredLikeContentPanel(new AlertifyBuilder().type(AlertifyType.INFO).text("Saved").icon(icon).build());
+		assertMeasuredLikeContentPanel(new AlertifyBuilder().type(AlertifyType.INFO).icon(icon).build());
+
+		Font large = new Font("Serif", Font.PLAIN, 48);
+		assertMeasuredLikeContentPanel(new AlertifyBuilder().type(AlertifyType.INFO).text("Saved").font(large).build());
+	}
+
+	@Test
+	public void customLabelIsMeasuredLikeItsContentPanel() {
+		JLabel bordered = new JLabel("Bordered");
+		bordered.setBorder(BorderFactory.createEmptyBorder(4, 8, 12, 16));
+		assertMeasuredLikeContentPanel(new AlertifyBuilder().type(AlertifyType.INFO).label(bordered).build());
+
+		JLabel above = new JLabel("Above the icon", new ImageIcon(new BufferedImage(40, 40,
+			BufferedImage.TYPE_INT_ARGB)), SwingConstants.LEADING);
+		above.setVerticalTextPosition(SwingConstants.TOP);
+		above.setHorizontalTextPosition(SwingConstants.CENTER);
+		assertMeasuredLikeContentPanel(new AlertifyBuilder().type(AlertifyType.INFO).label(above).build());
+	}
+
+	@Test
+	public void customLabelIsMeasuredWithoutBeingChanged() {
+		JLabel label = new JLabel("Above the icon");
+		label.setVerticalTextPosition(SwingConstants.TOP);
+		Font font = label.getFont();
+
+		AlertifyConfig config = new AlertifyBuilder().type(AlertifyType.INFO).label(label)
+			.font(new Font("Serif", Font.PLAIN, 40)).build();
+		AlertSize size = metrics.measure(theme, config);
+
+		assertSame(font, label.getFont());
+		assertEquals(label.getFontMetrics(config.getFont()).getHeight(), size.getLabelHeight());
+	}
+
+	/**
+	 * Check that an alert is measured the same as its content panel's preferred size.
+	 *
+	 * @param config The alert config.
+	 */
+	private void assertMeasuredLikeContentPanel(AlertifyConfig config) {
+		JLabel label = new JLabel();
+		config.configure(label);
+		label.setFont(AlertifyWindow.resolveFont(theme, config));
+
+		JPanel content = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, AlertifyWindow.CONTENT_GAP));
+		theme.configure(content);
+		content.add(label);
+		Dimension expected = content.getPreferredSize();
+
+		AlertSize size = metrics.measure(theme, config);
+
+		assertEquals(Math.max(expected.width, AlertifyWindow.MIN_WIDTH), size.getWidth());
+		assertEquals(Math.max(expected.height, AlertifyWindow.MIN_HEIGHT), size.getHeight());
+		assertEquals(label.getPreferredSize().height, size.getLabelHeight());
+	}
+}
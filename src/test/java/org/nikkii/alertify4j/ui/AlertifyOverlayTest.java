@@ -0,0 +1,140 @@
+package org.nikkii.alertify4j.ui;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.themes.BootstrapTheme;
+import org.nikkii.alertify4j.themes.ThemeSnapshot;
+
+import javax.swing.SwingUtilities;
+import java.awt.Component;
+import java.awt.Rectangle;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AlertifyOverlay} sprites and click routing. The overlay is a real translucent window, so this needs
+ * a display which supports it.
+ *
+ * @author Nikki
+ */
+public class AlertifyOverlayTest {
+
+	/**
+	 * The screen area the overlay covers.
+	 */
+	private static final Rectangle SCREEN = new Rectangle(100, 50, 800, 600);
+
+	/**
+	 * The overlay under test.
+	 */
+	private AlertifyOverlay overlay;
+
+	/**
+	 * A window painted into the overlay.
+	 */
+	private AlertifyWindow window;
+
+	@Before
+	public void setup() throws Exception {
+		Assume.assumeTrue(AlertifyOverlay.isSupported());
+
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				overlay = new AlertifyOverlay(SCREEN);
+				WindowCommitter committer = new WindowCommitter(new OverlayRenderer());
+				SpriteCache sprites = new SpriteCache(SpriteCache.DEFAULT_BUDGET);
+				ThemeSnapshot theme = new ThemeSnapshot(new BootstrapTheme());
+				AlertifyConfig config = new AlertifyBuilder().type(AlertifyType.INFO).text("Saved").build();
+				window = new AlertifyWindow(theme, config, new AlertMetrics().measure(theme, config), committer, sprites);
+			}
+		});
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (overlay == null) {
+			return;
+		}
+
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				overlay.dispose();
+				window.dispose();
+			}
+		});
+	}
+
+	@Test
+	public void overlayIsOnlyVisibleWithSprites() throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				assertFalse(overlay.isVisible());
+
+				overlay.update(window, new Rectangle(200, 100, 150, 60));
+				assertTrue(overlay.isVisible());
+
+				overlay.release(window);
+				assertFalse(overlay.isVisible());
+			}
+		});
+	}
+
+	@Test
+	public void clicksAreRoutedToTheWindowUnderThem() throws Exception {
+		final List<MouseEvent> pressed = new ArrayList<MouseEvent>();
+		window.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mousePressed(MouseEvent e) {
+				pressed.add(e);
+			}
+		});
+
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				// Sprite bounds are on screen, events are relative to the overlay
+				overlay.update(window, new Rectangle(200, 100, 150, 60));
+
+				press(110, 60, InputEvent.SHIFT_DOWN_MASK);
+				press(10, 10, 0);
+			}
+		});
+
+		assertEquals(1, pressed.size());
+
+		MouseEvent event = pressed.get(0);
+		assertSame(overlay.getContentPane(), event.getSource());
+		assertEquals(10, event.getX());
+		assertEquals(10, event.getY());
+		assertEquals(InputEvent.SHIFT_DOWN_MASK, event.getModifiersEx() & InputEvent.SHIFT_DOWN_MASK);
+	}
+
+	/**
+	 * Press the mouse on the overlay.
+	 *
+	 * @param x The X position, relative to the overlay.
+	 * @param y The Y position, relative to the overlay.
+	 * @param modifiers The extended modifiers held down.
+	 */
+	private void press(int x, int y, int modifiers) {
+		Component canvas = overlay.getContentPane();
+		canvas.dispatchEvent(new MouseEvent(canvas, MouseEvent.MOUSE_PRESSED, System.currentTimeMillis(),
+			modifiers | InputEvent.BUTTON1_DOWN_MASK, x, y, 1, false, MouseEvent.BUTTON1));
+	}
+}
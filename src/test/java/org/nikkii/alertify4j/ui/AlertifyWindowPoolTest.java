@@ -0,0 +1,182 @@
+package org.nikkii.alertify4j.ui;
+
+import org.junit.After;
+import org.junit.Test;
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.themes.AlertifyTheme;
+import org.nikkii.alertify4j.themes.BootstrapTheme;
+import org.nikkii.alertify4j.themes.ThemeSnapshot;
+
+import javax.swing.SwingUtilities;
+import java.awt.Font;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link AlertifyWindowPool} keys and reuse. Windows are drawn by an {@link OffscreenRenderer}, so this runs
+ * headless.
+ *
+ * @author Nikki
+ */
+public class AlertifyWindowPoolTest {
+
+	/**
+	 * The theme snapshot windows are built with.
+	 */
+	private final ThemeSnapshot theme = new ThemeSnapshot(new BootstrapTheme());
+
+	/**
+	 * The pool under test, or null if the test doesn't use one.
+	 */
+	private AlertifyWindowPool pool;
+
+	/**
+	 * The measurer sizing alerts.
+	 */
+	private final AlertMetrics metrics = new AlertMetrics();
+
+	@After
+	public void tearDown() throws Exception {
+		if (pool != null) {
+			SwingUtilities.invokeAndWait(new Runnable() {
+				@Override
+				public void run() {
+					pool.clear();
+				}
+			});
+		}
+	}
+
+	@Test
+	public void sizeClassesCoverRangesOfLabelHeights() {
+		assertEquals(0, AlertifyWindowPool.sizeClass(0));
+		assertEquals(0, AlertifyWindowPool.sizeClass(31));
+		assertEquals(1, AlertifyWindowPool.sizeClass(32));
+		assertEquals(2, AlertifyWindowPool.sizeClass(70));
+	}
+
+	@Test
+	public void keysCompareThemesByIdentity() {
+		AlertifyWindowPool.PoolKey key = new AlertifyWindowPool.PoolKey(theme, 1);
+
+		assertEquals(key, new AlertifyWindowPool.PoolKey(theme, 1));
+		assertEquals(key.hashCode(), new AlertifyWindowPool.PoolKey(theme, 1).hashCode());
+		assertFalse(key.equals(new AlertifyWindowPool.PoolKey(theme, 2)));
+		assertFalse(key.equals(new AlertifyWindowPool.PoolKey(new ThemeSnapshot(theme.getTheme()), 1)));
+	}
+
+	@Test
+	public void releasedWindowIsReused() throws Exception {
+		pool = pool(4);
+
+		AlertifyWindow window = acquire(theme, config("Saved", null));
+		release(window);
+		assertEquals(1, pool.getIdleCount());
+
+		assertSame(window, acquire(theme, config("Deleted", null)));
+		assertEquals(1, pool.getHits());
+		assertEquals(1, pool.getMisses());
+		assertEquals(0, pool.getIdleCount());
+	}
+
+	@Test
+	public void tallerLabelsUseAnotherSizeClass() throws Exception {
+		pool = pool(4);
+
+		AlertifyWindow window = acquire(theme, config("Saved", null));
+		release(window);
+
+		assertNotSame(window, acquire(theme, config("Saved", new Font("SansSerif", Font.PLAIN, 48))));
+		assertEquals(2, pool.getMisses());
+		assertEquals(1, pool.getIdleCount());
+	}
+
+	@Test
+	public void fullPoolDisposesReleasedWindows() throws Exception {
+		pool = pool(1);
+
+		AlertifyWindow first = acquire(theme, config("Saved", null));
+		AlertifyWindow second = acquire(theme, config("Saved", null));
+		release(first);
+		release(second);
+
+		assertEquals(1, pool.getIdleCount());
+		assertEquals(1, pool.getEvictions());
+	}
+
+	@Test
+	public void windowWhichFailsToBindGoesBackIntoThePool() throws Exception {
+		ThemeSnapshot colorless = new ThemeSnapshot(new AlertifyTheme() {
+			@Override
+			public Font getFont() {
+				return theme.getFont();
+			}
+		});
+		pool = pool(4);
+		pool.prewarm(colorless, 1);
+
+		try {
+			acquire(colorless, config("Saved", null));
+			fail("Expected an IllegalArgumentException.");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+
+		assertEquals(1, pool.getIdleCount());
+		assertEquals(0, pool.getHits());
+	}
+
+	/**
+	 * Create a pool of windows drawn off screen.
+	 *
+	 * @param capacity The maximum number of idle windows.
+	 * @return The pool.
+	 */
+	private static AlertifyWindowPool pool(int capacity) {
+		return new AlertifyWindowPool(new WindowCommitter(new OffscreenRenderer()),
+			new SpriteCache(SpriteCache.DEFAULT_BUDGET), capacity);
+	}
+
+	/**
+	 * Acquire a window from the pool, measuring the alert first the way {@link org.nikkii.alertify4j.Alertify} does.
+	 *
+	 * @param theme The theme snapshot.
+	 * @param config The alert config.
+	 * @return The bound window.
+	 */
+	private AlertifyWindow acquire(ThemeSnapshot theme, AlertifyConfig config) {
+		return pool.acquire(theme, config, metrics.measure(theme, config));
+	}
+
+	/**
+	 * Release a window on the EDT, the way alerts are released once they're hidden.
+	 *
+	 * @param window The window.
+	 * @throws Exception If the release fails.
+	 */
+	private void release(final AlertifyWindow window) throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				pool.release(window);
+			}
+		});
+	}
+
+	/**
+	 * Build an alert config.
+	 *
+	 * @param text The alert text.
+	 * @param font The font override, or null for the theme font.
+	 * @return The config.
+	 */
+	private static AlertifyConfig config(String text, Font font) {
+		return new AlertifyBuilder().type(AlertifyType.INFO).text(text).font(font).build();
+	}
+}
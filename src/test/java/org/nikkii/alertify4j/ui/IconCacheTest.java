@@ -0,0 +1,179 @@
+package org.nikkii.alertify4j.ui;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.themes.BootstrapTheme;
+import org.nikkii.alertify4j.themes.ThemeSnapshot;
+
+import javax.imageio.ImageIO;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+import javax.swing.SwingConstants;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link IconCache} lookups, scaling and eviction.
+ *
+ * @author Nikki
+ */
+public class IconCacheTest {
+
+	/**
+	 * A folder for icon files.
+	 */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void scalesOnceAndReusesTheIcon() {
+		IconCache cache = new IconCache(4);
+		cache.put("wide", image(40, 20));
+
+		Icon icon = cache.get("wide", 16);
+
+		assertSame(icon, cache.get("wide", 16));
+		assertEquals(16, icon.getIconWidth());
+		assertEquals(8, icon.getIconHeight());
+		assertEquals(1, cache.getMisses());
+		assertEquals(1, cache.getHits());
+	}
+
+	@Test
+	public void eachSizeIsAVariant() {
+		IconCache cache = new IconCache(4);
+		cache.put("square", image(32, 32));
+
+		assertEquals(32, cache.get("square", 0).getIconWidth());
+		assertEquals(32, cache.get("square", 32).getIconWidth());
+		assertEquals(24, cache.get("square", 24).getIconWidth());
+		assertEquals(3, cache.getMisses());
+	}
+
+	@Test
+	public void unknownKeysResolveToNull() {
+		IconCache cache = new IconCache(4);
+
+		assertNull(cache.get("no/such/icon.png", 16));
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	public void loadsIconsFromFiles() throws IOException {
+		File file = folder.newFile("icon.png");
+		ImageIO.write(image(10, 20), "png", file);
+		IconCache cache = new IconCache(4);
+
+		Icon icon = cache.get(file.getPath(), 0);
+		assertNotNull(icon);
+		assertEquals(10, icon.getIconWidth());
+		assertEquals(20, icon.getIconHeight());
+
+		Icon url = cache.get(file.toURI().toURL().toString(), 0);
+		assertNotNull(url);
+		assertEquals(20, url.getIconHeight());
+	}
+
+	@Test
+	public void puttingAnImageReplacesItsScaledIcons() {
+		IconCache cache = new IconCache(4);
+		cache.put("icon", image(16, 16));
+		Icon old = cache.get("icon", 8);
+
+		cache.put("icon", image(32, 16));
+		Icon icon = cache.get("icon", 8);
+
+		assertNotSame(old, icon);
+		assertEquals(4, icon.getIconHeight());
+	}
+
+	@Test
+	public void leastRecentlyUsedImageIsEvictedFirst() {
+		IconCache cache = new IconCache(2);
+		cache.put("a", image(8, 8));
+		cache.put("b", image(8, 8));
+		cache.get("a", 0);
+
+		cache.put("c", image(8, 8));
+
+		// Only a new size needs the decoded image, and b's is gone with nothing to load it from
+		assertNotNull(cache.get("a", 4));
+		assertNotNull(cache.get("c", 4));
+		assertNull(cache.get("b", 4));
+	}
+
+	@Test
+	public void scaledIconsAreCappedAtTwiceTheCapacity() {
+		IconCache cache = new IconCache(1);
+		cache.put("icon", image(64, 64));
+
+		Icon first = cache.get("icon", 8);
+		cache.get("icon", 16);
+		cache.get("icon", 24);
+
+		// The oldest variant was dropped, so it's scaled again
+		assertNotSame(first, cache.get("icon", 8));
+		assertEquals(4, cache.getMisses());
+		cache.get("icon", 24);
+		assertEquals(1, cache.getHits());
+	}
+
+	@Test
+	public void resolveFallsBackToTheConfigIcon() {
+		IconCache cache = new IconCache(4);
+		ThemeSnapshot theme = new ThemeSnapshot(new BootstrapTheme());
+		Icon icon = new ImageIcon(image(8, 8));
+		AlertifyConfig config = new AlertifyBuilder().type(AlertifyType.INFO).text("Saved").icon(icon).build();
+
+		assertSame(icon, cache.resolve(config, theme));
+	}
+
+	@Test
+	public void iconKeysResolveAtTheThemeIconSize() {
+		IconCache cache = new IconCache(4);
+		ThemeSnapshot theme = new ThemeSnapshot(new BootstrapTheme());
+		cache.put("icon", image(64, 32));
+
+		AlertifyConfig config = new AlertifyBuilder().type(AlertifyType.INFO).text("Saved").icon("icon").build();
+		Icon icon = cache.resolve(config, theme);
+
+		assertEquals(theme.getIconSize(), icon.getIconWidth());
+		assertSame(icon, cache.get("icon", theme.getIconSize()));
+	}
+
+	@Test
+	public void iconKeyReplacesACustomLabelsIcon() {
+		IconCache cache = new IconCache(4);
+		ThemeSnapshot theme = new ThemeSnapshot(new BootstrapTheme());
+		cache.put("icon", image(32, 32));
+
+		JLabel label = new JLabel("Saved", new ImageIcon(image(8, 8)), SwingConstants.LEADING);
+		AlertifyConfig config = new AlertifyBuilder().type(AlertifyType.INFO).label(label).icon("icon").build();
+
+		assertNull(config.getIcon());
+		assertEquals(theme.getIconSize(), cache.resolve(config, theme).getIconWidth());
+	}
+
+	/**
+	 * Create a blank image.
+	 *
+	 * @param width The width.
+	 * @param height The height.
+	 * @return The image.
+	 */
+	private static BufferedImage image(int width, int height) {
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+	}
+}
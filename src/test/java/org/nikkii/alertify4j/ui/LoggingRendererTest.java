@@ -0,0 +1,146 @@
+package org.nikkii.alertify4j.ui;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.themes.BootstrapTheme;
+import org.nikkii.alertify4j.themes.ThemeSnapshot;
+
+import javax.swing.SwingUtilities;
+import java.awt.Rectangle;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link LoggingRenderer}. Nothing here needs a display, so this runs headless.
+ *
+ * @author Nikki
+ */
+public class LoggingRendererTest {
+
+	/**
+	 * The records written to the logger.
+	 */
+	private final List<LogRecord> records = new CopyOnWriteArrayList<LogRecord>();
+
+	/**
+	 * The logger alerts are written to, which only keeps its records.
+	 */
+	private final Logger logger = Logger.getAnonymousLogger();
+
+	/**
+	 * The committer windows are drawn through.
+	 */
+	private final WindowCommitter committer = new WindowCommitter(new LoggingRenderer(logger,
+		new Rectangle(0, 0, 800, 600)));
+
+	/**
+	 * The cache windows draw their content from.
+	 */
+	private final SpriteCache sprites = new SpriteCache(SpriteCache.DEFAULT_BUDGET);
+
+	/**
+	 * The theme snapshot windows are built with.
+	 */
+	private final ThemeSnapshot theme = new ThemeSnapshot(new BootstrapTheme());
+
+	/**
+	 * The measurer sizing windows.
+	 */
+	private final AlertMetrics metrics = new AlertMetrics();
+
+	@Before
+	public void setup() {
+		logger.setUseParentHandlers(false);
+		logger.addHandler(new Handler() {
+			@Override
+			public void publish(LogRecord record) {
+				records.add(record);
+			}
+
+			@Override
+			public void flush() {
+				// Nothing is buffered
+			}
+
+			@Override
+			public void close() {
+				// Nothing to release
+			}
+		});
+	}
+
+	@Test
+	public void alertIsLoggedOnceWhenItBecomesVisible() throws Exception {
+		AlertifyWindow window = window("Saved");
+		window.setPendingVisible(true);
+		commit();
+
+		assertEquals(1, records.size());
+		assertEquals(Level.INFO, records.get(0).getLevel());
+		assertEquals(Arrays.<Object>asList(AlertifyType.WARNING, "Saved"), Arrays.asList(records.get(0).getParameters()));
+
+		// Moves and repeats aren't logged again
+		window.setPendingLocation(10, 20);
+		commit();
+		window.setOccurrences(2);
+		commit();
+		assertEquals(1, records.size());
+
+		// Shown again after being hidden, it's logged again
+		window.setPendingVisible(false);
+		commit();
+		window.setPendingVisible(true);
+		commit();
+		assertEquals(2, records.size());
+	}
+
+	@Test
+	public void nothingIsLoggedBelowInfo() throws Exception {
+		logger.setLevel(Level.WARNING);
+
+		AlertifyWindow window = window("Saved");
+		window.setPendingVisible(true);
+		commit();
+
+		assertTrue(records.isEmpty());
+	}
+
+	/**
+	 * Create a window.
+	 *
+	 * @param text The alert text.
+	 * @return The window.
+	 */
+	private AlertifyWindow window(String text) {
+		AlertifyConfig config = new AlertifyBuilder().type(AlertifyType.WARNING).text(text).build();
+		return new AlertifyWindow(theme, config, metrics.measure(theme, config), committer, sprites);
+	}
+
+	/**
+	 * Apply pending changes and wait for them on the EDT.
+	 *
+	 * @throws InterruptedException If the test is interrupted.
+	 * @throws InvocationTargetException If applying the changes fails.
+	 */
+	private void commit() throws InterruptedException, InvocationTargetException {
+		committer.commit();
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				// Only waits
+			}
+		});
+	}
+}
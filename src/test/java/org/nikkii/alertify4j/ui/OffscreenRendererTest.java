@@ -0,0 +1,224 @@
+package org.nikkii.alertify4j.ui;
+
+import org.junit.Test;
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.themes.BootstrapTheme;
+import org.nikkii.alertify4j.themes.ThemeSnapshot;
+
+import javax.swing.SwingUtilities;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link OffscreenRenderer}. Nothing here needs a display, so this runs headless.
+ *
+ * @author Nikki
+ */
+public class OffscreenRendererTest {
+
+	/**
+	 * The renderer under test, with a virtual screen away from the origin.
+	 */
+	private final OffscreenRenderer renderer = new OffscreenRenderer(new Rectangle(100, 50, 400, 300));
+
+	/**
+	 * The committer windows are drawn through.
+	 */
+	private final WindowCommitter committer = new WindowCommitter(renderer);
+
+	/**
+	 * The cache windows draw their content from.
+	 */
+	private final SpriteCache sprites = new SpriteCache(SpriteCache.DEFAULT_BUDGET);
+
+	/**
+	 * The theme snapshot windows are built with.
+	 */
+	private final ThemeSnapshot theme = new ThemeSnapshot(new BootstrapTheme());
+
+	/**
+	 * The measurer sizing windows.
+	 */
+	private final AlertMetrics metrics = new AlertMetrics();
+
+	@Test
+	public void visibleWindowsKeepTheirCommittedBounds() throws Exception {
+		AlertifyWindow first = show(110, 60);
+		AlertifyWindow second = show(110, 120);
+
+		assertEquals(Arrays.asList(first, second), renderer.getVisible());
+		assertEquals(new Rectangle(110, 60, first.getActualWidth(), first.getActualHeight()), renderer.getBounds(first));
+
+		second.setPendingLocation(130, 140);
+		commit();
+		assertEquals(new Rectangle(130, 140, second.getActualWidth(), second.getActualHeight()),
+			renderer.getBounds(second));
+
+		first.setPendingVisible(false);
+		commit();
+		assertEquals(Arrays.asList(second), renderer.getVisible());
+		assertNull(renderer.getBounds(first));
+		assertNull(renderer.getImage(first));
+	}
+
+	@Test
+	public void renderDrawsVisibleWindowsOnTheVirtualScreen() throws Exception {
+		AlertifyWindow window = show(110, 60);
+		int width = window.getActualWidth();
+		int height = window.getActualHeight();
+
+		BufferedImage screen = renderer.render();
+		assertEquals(400, screen.getWidth());
+		assertEquals(300, screen.getHeight());
+
+		// Drawn relative to the virtual screen's origin
+		assertTrue(alpha(screen, 10 + width / 2, 10 + height / 2) > 0);
+		assertEquals(0, alpha(screen, 399, 299));
+
+		// Sliding in, only the visible width is drawn
+		window.setPendingWidth(20);
+		commit();
+		screen = renderer.render();
+		assertTrue(alpha(screen, 15, 10 + height / 2) > 0);
+		assertEquals(0, alpha(screen, 10 + width - 5, 10 + height / 2));
+	}
+
+	@Test
+	public void clickReachesTheMouseListenersOfVisibleWindows() throws Exception {
+		AlertifyWindow window = show(110, 60);
+		final AtomicReference<MouseEvent> pressed = new AtomicReference<MouseEvent>();
+		window.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mousePressed(MouseEvent e) {
+				pressed.set(e);
+			}
+		});
+
+		renderer.click(window);
+		sync();
+
+		assertEquals(MouseEvent.MOUSE_PRESSED, pressed.get().getID());
+		assertEquals(MouseEvent.BUTTON1, pressed.get().getButton());
+		assertSame(window.getContent(), pressed.get().getSource());
+
+		// Once it's gone it can't be clicked
+		pressed.set(null);
+		window.setPendingVisible(false);
+		commit();
+		renderer.click(window);
+		sync();
+		assertNull(pressed.get());
+	}
+
+	@Test
+	public void hiddenWindowIsNotRenderedByARepaint() throws Exception {
+		AlertifyWindow window = window("Saved");
+
+		renderer.repaint(window);
+
+		assertTrue(renderer.getVisible().isEmpty());
+		assertNull(renderer.getImage(window));
+	}
+
+	@Test
+	public void badgedWindowIsDrawnIntoAnImageOfItsOwn() throws Exception {
+		final AlertifyWindow window = show(110, 60);
+		final BufferedImage[] sprite = new BufferedImage[1];
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				sprite[0] = window.getSprite();
+			}
+		});
+
+		// Without a badge the cached content image is shared
+		assertSame(sprite[0], renderer.getImage(window));
+
+		window.setOccurrences(3);
+		commit();
+
+		BufferedImage badged = renderer.getImage(window);
+		assertNotSame(sprite[0], badged);
+		assertEquals(window.getActualWidth(), badged.getWidth());
+		assertEquals(window.getActualHeight(), badged.getHeight());
+	}
+
+	/**
+	 * Create a window and show it at its full width.
+	 *
+	 * @param x The X position.
+	 * @param y The Y position.
+	 * @return The window.
+	 * @throws Exception If the window can't be shown.
+	 */
+	private AlertifyWindow show(int x, int y) throws Exception {
+		AlertifyWindow window = window("Saved");
+		window.setPendingLocation(x, y);
+		window.setPendingWidth(window.getActualWidth());
+		window.setPendingVisible(true);
+		commit();
+		return window;
+	}
+
+	/**
+	 * Create a window.
+	 *
+	 * @param text The alert text.
+	 * @return The window.
+	 */
+	private AlertifyWindow window(String text) {
+		AlertifyConfig config = new AlertifyBuilder().type(AlertifyType.INFO).text(text).build();
+		return new AlertifyWindow(theme, config, metrics.measure(theme, config), committer, sprites);
+	}
+
+	/**
+	 * Apply pending changes and wait for them on the EDT.
+	 *
+	 * @throws InterruptedException If the test is interrupted.
+	 * @throws InvocationTargetException If applying the changes fails.
+	 */
+	private void commit() throws InterruptedException, InvocationTargetException {
+		committer.commit();
+		sync();
+	}
+
+	/**
+	 * Wait for everything already posted to the EDT to run.
+	 *
+	 * @throws InterruptedException If the test is interrupted.
+	 * @throws InvocationTargetException Never, the task is empty.
+	 */
+	private static void sync() throws InterruptedException, InvocationTargetException {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				// Only waits
+			}
+		});
+	}
+
+	/**
+	 * Get the alpha of a pixel.
+	 *
+	 * @param image The image.
+	 * @param x The X position.
+	 * @param y The Y position.
+	 * @return The alpha, from 0 to 255.
+	 */
+	private static int alpha(BufferedImage image, int x, int y) {
+		return image.getRGB(x, y) >>> 24;
+	}
+}
@@ -0,0 +1,222 @@
+package org.nikkii.alertify4j.ui;
+
+import org.junit.Test;
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.themes.BootstrapTheme;
+import org.nikkii.alertify4j.themes.ThemeSnapshot;
+
+import javax.swing.SwingUtilities;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link SpriteCache} hits and eviction. Windows are drawn by an {@link OffscreenRenderer}, so this runs
+ * headless.
+ *
+ * @author Nikki
+ */
+public class SpriteCacheTest {
+
+	/**
+	 * The theme snapshot windows are built with.
+	 */
+	private final ThemeSnapshot theme = new ThemeSnapshot(new BootstrapTheme());
+
+	/**
+	 * The measurer sizing windows.
+	 */
+	private final AlertMetrics metrics = new AlertMetrics();
+
+	/**
+	 * The committer windows apply their content through.
+	 */
+	private final WindowCommitter committer = new WindowCommitter(new OffscreenRenderer());
+
+	@Test
+	public void sameContentIsRenderedOnce() throws Exception {
+		SpriteCache sprites = new SpriteCache(SpriteCache.DEFAULT_BUDGET);
+		AlertifyWindow first = window(sprites, "Saved");
+		AlertifyWindow second = window(sprites, "Saved");
+
+		BufferedImage image = sprite(sprites, first);
+
+		assertSame(image, sprite(sprites, first));
+		assertSame(image, sprite(sprites, second));
+		assertEquals(1, sprites.getMisses());
+		assertEquals(2, sprites.getHits());
+		assertEquals(first.getActualWidth(), image.getWidth());
+		assertEquals(first.getActualHeight(), image.getHeight());
+	}
+
+	@Test
+	public void differentContentIsRenderedSeparately() throws Exception {
+		SpriteCache sprites = new SpriteCache(SpriteCache.DEFAULT_BUDGET);
+
+		BufferedImage saved = sprite(sprites, window(sprites, "Saved"));
+		BufferedImage deleted = sprite(sprites, window(sprites, "Deleted"));
+
+		assertNotSame(saved, deleted);
+		assertEquals(2, sprites.getMisses());
+		assertEquals(0, sprites.getHits());
+	}
+
+	@Test
+	public void badgeIsPaintedOverTheCachedImage() throws Exception {
+		SpriteCache sprites = new SpriteCache(SpriteCache.DEFAULT_BUDGET);
+		final AlertifyWindow window = window(sprites, "Saved");
+		final BufferedImage single = sprite(sprites, window);
+
+		window.setOccurrences(3);
+		commit();
+
+		// A repeat doesn't render the content again
+		assertSame(single, sprite(sprites, window));
+		assertEquals(1, sprites.getMisses());
+		assertTrue(window.hasBadge());
+
+		final BufferedImage badged = new BufferedImage(single.getWidth(), single.getHeight(),
+			BufferedImage.TYPE_INT_ARGB);
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				Graphics g = badged.createGraphics();
+				try {
+					window.paint(g);
+				} finally {
+					g.dispose();
+				}
+			}
+		});
+
+		assertFalse(Arrays.equals(pixels(single), pixels(badged)));
+	}
+
+	@Test
+	public void leastRecentlyUsedImageIsEvictedFirst() throws Exception {
+		SpriteCache probe = new SpriteCache(SpriteCache.DEFAULT_BUDGET);
+		BufferedImage sample = sprite(probe, window(probe, "A"));
+		long bytes = (long) sample.getWidth() * sample.getHeight() * 4;
+
+		// Room for exactly two images the size of the sample
+		SpriteCache sprites = new SpriteCache(bytes * 2);
+		AlertifyWindow a = window(sprites, "A");
+		AlertifyWindow b = window(sprites, "B");
+		AlertifyWindow c = window(sprites, "C");
+
+		sprite(sprites, a);
+		sprite(sprites, b);
+		sprite(sprites, a);
+		sprite(sprites, c);
+
+		assertEquals(1, sprites.getEvictions());
+		assertEquals(3, sprites.getMisses());
+
+		// A was used after B, so B is the one which went
+		sprite(sprites, a);
+		sprite(sprites, c);
+		assertEquals(3, sprites.getMisses());
+		sprite(sprites, b);
+		assertEquals(4, sprites.getMisses());
+	}
+
+	@Test
+	public void zeroBudgetKeepsNothing() throws Exception {
+		SpriteCache sprites = new SpriteCache(0);
+		AlertifyWindow window = window(sprites, "Saved");
+
+		BufferedImage first = sprite(sprites, window);
+		BufferedImage second = sprite(sprites, window);
+
+		assertNotSame(first, second);
+		assertEquals(2, sprites.getMisses());
+		assertEquals(2, sprites.getEvictions());
+	}
+
+	@Test
+	public void clearDropsEverything() throws Exception {
+		final SpriteCache sprites = new SpriteCache(SpriteCache.DEFAULT_BUDGET);
+		AlertifyWindow window = window(sprites, "Saved");
+		sprite(sprites, window);
+
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				sprites.clear();
+			}
+		});
+		sprite(sprites, window);
+
+		assertEquals(2, sprites.getMisses());
+		assertEquals(0, sprites.getEvictions());
+	}
+
+	/**
+	 * Create a window with its content applied.
+	 *
+	 * @param sprites The sprite cache the window draws from.
+	 * @param text The alert text.
+	 * @return The window.
+	 * @throws Exception If the content can't be applied.
+	 */
+	private AlertifyWindow window(SpriteCache sprites, String text) throws Exception {
+		AlertifyConfig config = new AlertifyBuilder().type(AlertifyType.INFO).text(text).build();
+		AlertifyWindow window = new AlertifyWindow(theme, config, metrics.measure(theme, config), committer, sprites);
+		commit();
+		return window;
+	}
+
+	/**
+	 * Get the content image of a window on the EDT.
+	 *
+	 * @param sprites The sprite cache.
+	 * @param window The window.
+	 * @return The image.
+	 * @throws Exception If the image can't be rendered.
+	 */
+	private static BufferedImage sprite(final SpriteCache sprites, final AlertifyWindow window) throws Exception {
+		final BufferedImage[] image = new BufferedImage[1];
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				image[0] = sprites.get(window);
+			}
+		});
+		return image[0];
+	}
+
+	/**
+	 * Apply pending changes and wait for them on the EDT.
+	 *
+	 * @throws InterruptedException If the test is interrupted.
+	 * @throws InvocationTargetException If applying the changes fails.
+	 */
+	private void commit() throws InterruptedException, InvocationTargetException {
+		committer.commit();
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				// Only waits
+			}
+		});
+	}
+
+	/**
+	 * Get the pixels of an image.
+	 *
+	 * @param image The image.
+	 * @return The ARGB pixels.
+	 */
+	private static int[] pixels(BufferedImage image) {
+		return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+	}
+}
@@ -0,0 +1,173 @@
+package org.nikkii.alertify4j.ui;
+
+import org.junit.Test;
+import org.nikkii.alertify4j.AlertifyBuilder;
+import org.nikkii.alertify4j.AlertifyConfig;
+import org.nikkii.alertify4j.AlertifyType;
+import org.nikkii.alertify4j.themes.BootstrapTheme;
+import org.nikkii.alertify4j.themes.ThemeSnapshot;
+
+import javax.swing.SwingUtilities;
+import java.awt.Rectangle;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link WindowCommitter} batching. Windows are drawn by an {@link OffscreenRenderer}, so this runs
+ * headless.
+ *
+ * @author Nikki
+ */
+public class WindowCommitterTest {
+
+	/**
+	 * The number of updates handed to the renderer.
+	 */
+	private final AtomicInteger updates = new AtomicInteger();
+
+	/**
+	 * The renderer windows are committed to, counting updates.
+	 */
+	private final OffscreenRenderer renderer = new OffscreenRenderer() {
+		@Override
+		public void update(AlertifyWindow window, Rectangle bounds) {
+			updates.incrementAndGet();
+			super.update(window, bounds);
+		}
+	};
+
+	/**
+	 * The committer under test.
+	 */
+	private final WindowCommitter committer = new WindowCommitter(renderer);
+
+	/**
+	 * The cache windows draw their content from.
+	 */
+	private final SpriteCache sprites = new SpriteCache(SpriteCache.DEFAULT_BUDGET);
+
+	/**
+	 * The theme snapshot windows are built with.
+	 */
+	private final ThemeSnapshot theme = new ThemeSnapshot(new BootstrapTheme());
+
+	/**
+	 * The measurer sizing windows.
+	 */
+	private final AlertMetrics metrics = new AlertMetrics();
+
+	@Test
+	public void pendingBoundsWaitForTheCommit() throws Exception {
+		AlertifyWindow window = window();
+		window.setPendingLocation(40, 50);
+		window.setPendingWidth(100);
+		window.setPendingVisible(true);
+
+		sync();
+		assertNull(renderer.getBounds(window));
+
+		committer.commit();
+		sync();
+
+		assertEquals(new Rectangle(40, 50, 100, window.getActualHeight()), renderer.getBounds(window));
+	}
+
+	@Test
+	public void eachWindowIsUpdatedOncePerCommit() throws Exception {
+		AlertifyWindow window = window();
+		window.setPendingVisible(true);
+
+		// A whole frame's worth of tween steps
+		for (int x = 1; x <= 10; x++) {
+			window.setPendingLocation(x, 0);
+		}
+		committer.commit();
+		sync();
+		sync();
+
+		assertEquals(10, renderer.getBounds(window).x);
+		assertEquals(1, updates.get());
+	}
+
+	@Test
+	public void commitsWhileTheEdtIsBusyShareOneFlush() throws Exception {
+		AlertifyWindow first = window();
+		AlertifyWindow second = window();
+		first.setPendingVisible(true);
+		second.setPendingVisible(true);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		SwingUtilities.invokeLater(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+
+		first.setPendingLocation(10, 10);
+		committer.commit();
+		first.setPendingLocation(20, 20);
+		second.setPendingLocation(30, 30);
+		committer.commit();
+
+		// Nothing has been applied while the EDT was busy
+		assertNull(renderer.getBounds(first));
+
+		release.countDown();
+		sync();
+
+		// The flush posted by the first commit picks up the latest bounds of both windows
+		assertEquals(20, renderer.getBounds(first).x);
+		assertEquals(30, renderer.getBounds(second).x);
+		assertEquals(2, updates.get());
+	}
+
+	@Test
+	public void visibilityIsCommittedWithTheBounds() throws Exception {
+		AlertifyWindow window = window();
+		window.setPendingVisible(true);
+		committer.commit();
+		sync();
+		assertTrue(renderer.getVisible().contains(window));
+
+		window.setPendingVisible(false);
+		committer.commit();
+		sync();
+		assertTrue(renderer.getVisible().isEmpty());
+	}
+
+	/**
+	 * Create a window.
+	 *
+	 * @return The window.
+	 */
+	private AlertifyWindow window() {
+		AlertifyConfig config = new AlertifyBuilder().type(AlertifyType.INFO).text("Saved").build();
+		return new AlertifyWindow(theme, config, metrics.measure(theme, config), committer, sprites);
+	}
+
+	/**
+	 * Wait for everything already posted to the EDT to run.
+	 *
+	 * @throws InterruptedException If the test is interrupted.
+	 * @throws InvocationTargetException Never, the task is empty.
+	 */
+	private static void sync() throws InterruptedException, InvocationTargetException {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				// Only waits
+			}
+		});
+	}
+}
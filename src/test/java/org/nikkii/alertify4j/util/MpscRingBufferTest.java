@@ -0,0 +1,159 @@
+package org.nikkii.alertify4j.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link MpscRingBuffer}.
+ *
+ * @author Nikki
+ */
+public class MpscRingBufferTest {
+
+	@Test
+	public void capacityIsRoundedUpToAPowerOfTwo() {
+		assertEquals(1, new MpscRingBuffer<String>(1).capacity());
+		assertEquals(8, new MpscRingBuffer<String>(5).capacity());
+		assertEquals(8, new MpscRingBuffer<String>(8).capacity());
+		assertEquals(16, new MpscRingBuffer<String>(9).capacity());
+	}
+
+	@Test
+	public void rejectsInvalidCapacities() {
+		try {
+			new MpscRingBuffer<String>(0);
+			fail("Expected an IllegalArgumentException.");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void rejectsNullElements() {
+		try {
+			new MpscRingBuffer<String>(4).offer(null);
+			fail("Expected a NullPointerException.");
+		} catch (NullPointerException e) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void pollsInOfferOrder() {
+		MpscRingBuffer<String> ring = new MpscRingBuffer<String>(4);
+
+		assertTrue(ring.isEmpty());
+		assertNull(ring.poll());
+
+		assertTrue(ring.offer("a"));
+		assertTrue(ring.offer("b"));
+		assertTrue(ring.offer("c"));
+		assertEquals(3, ring.size());
+
+		assertEquals("a", ring.poll());
+		assertEquals("b", ring.poll());
+		assertEquals("c", ring.poll());
+		assertNull(ring.poll());
+		assertTrue(ring.isEmpty());
+	}
+
+	@Test
+	public void refusesElementsWhenFull() {
+		MpscRingBuffer<Integer> ring = new MpscRingBuffer<Integer>(4);
+
+		for (int i = 0; i < 4; i++) {
+			assertTrue(ring.offer(i));
+		}
+		assertFalse(ring.offer(4));
+		assertEquals(4, ring.size());
+		assertEquals(4, ring.getOfferedCount());
+
+		// Taking one frees exactly one slot
+		assertEquals(Integer.valueOf(0), ring.poll());
+		assertTrue(ring.offer(4));
+		assertFalse(ring.offer(5));
+	}
+
+	@Test
+	public void keepsOrderAcrossManyLaps() {
+		MpscRingBuffer<Integer> ring = new MpscRingBuffer<Integer>(4);
+		int next = 0;
+
+		for (int i = 0; i < 1000; i++) {
+			// Vary the fill level so the head and tail wrap at different slots
+			int count = 1 + i % 4;
+			for (int j = 0; j < count; j++) {
+				assertTrue(ring.offer(i * 4 + j));
+			}
+			for (int j = 0; j < count; j++) {
+				assertEquals(Integer.valueOf(i * 4 + j), ring.poll());
+			}
+			next += count;
+		}
+
+		assertEquals(next, ring.getOfferedCount());
+		assertEquals(next, ring.getPolledCount());
+		assertNull(ring.poll());
+	}
+
+	@Test
+	public void concurrentProducersLoseNothingAndKeepTheirOwnOrder() throws InterruptedException {
+		final int producers = 4;
+		final int perProducer = 100000;
+		final MpscRingBuffer<long[]> ring = new MpscRingBuffer<long[]>(64);
+		final CountDownLatch start = new CountDownLatch(1);
+
+		Thread[] threads = new Thread[producers];
+		for (int i = 0; i < producers; i++) {
+			final int producer = i;
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (long j = 0; j < perProducer; j++) {
+						long[] element = { producer, j };
+						while (!ring.offer(element)) {
+							Thread.yield();
+						}
+					}
+				}
+			});
+			threads[i].start();
+		}
+
+		start.countDown();
+
+		long[] expected = new long[producers];
+		int received = 0;
+		while (received < producers * perProducer) {
+			long[] element = ring.poll();
+			if (element == null) {
+				Thread.yield();
+				continue;
+			}
+
+			int producer = (int) element[0];
+			assertEquals(expected[producer], element[1]);
+			expected[producer]++;
+			received++;
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertNull(ring.poll());
+		assertEquals(received, ring.getPolledCount());
+	}
+}
@@ -0,0 +1,76 @@
+package org.nikkii.alertify4j.util;
+
+import org.junit.Test;
+
+import java.awt.Rectangle;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link ScreenBounds} caching. The screen is replaced by a fixed area which counts how often it's queried,
+ * so this runs headless.
+ *
+ * @author Nikki
+ */
+public class ScreenBoundsTest {
+
+	@Test
+	public void boundsAreFetchedOnce() {
+		CountingBounds bounds = new CountingBounds();
+
+		assertEquals(new Rectangle(0, 0, 800, 600), bounds.get());
+		assertEquals(new Rectangle(0, 0, 800, 600), bounds.get());
+		assertEquals(1, bounds.fetches);
+	}
+
+	@Test
+	public void invalidatedBoundsAreFetchedAgain() {
+		CountingBounds bounds = new CountingBounds();
+		bounds.get();
+
+		bounds.invalidate();
+		bounds.get();
+
+		assertEquals(2, bounds.fetches);
+	}
+
+	@Test
+	public void boundsOlderThanTheMaxAgeAreFetchedAgain() throws InterruptedException {
+		CountingBounds bounds = new CountingBounds();
+		bounds.setMaxAge(20);
+		bounds.get();
+		bounds.get();
+		assertEquals(1, bounds.fetches);
+
+		Thread.sleep(40);
+		bounds.get();
+
+		assertEquals(2, bounds.fetches);
+	}
+
+	@Test
+	public void callersGetACopy() {
+		CountingBounds bounds = new CountingBounds();
+
+		bounds.get().height = 0;
+
+		assertEquals(600, bounds.get().height);
+	}
+
+	/**
+	 * Bounds which count how often the screen is queried.
+	 */
+	private static final class CountingBounds extends ScreenBounds {
+
+		/**
+		 * The number of queries.
+		 */
+		private int fetches = 0;
+
+		@Override
+		protected Rectangle fetch() {
+			fetches++;
+			return new Rectangle(0, 0, 800, 600);
+		}
+	}
+}
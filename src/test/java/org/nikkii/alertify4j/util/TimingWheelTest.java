@@ -0,0 +1,242 @@
+package org.nikkii.alertify4j.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link TimingWheel}. The wheel is advanced by hand with times ahead of now, so nothing sleeps.
+ *
+ * @author Nikki
+ */
+public class TimingWheelTest {
+
+	/**
+	 * The wheel under test, with 8 slots of 10 ms, so one lap is 80 ms.
+	 */
+	private TimingWheel wheel;
+
+	/**
+	 * The names of the tasks which ran, in order.
+	 */
+	private List<String> ran;
+
+	/**
+	 * The time the test started, from {@link System#nanoTime()}. Every timer is scheduled after this.
+	 */
+	private long start;
+
+	@Before
+	public void setup() {
+		wheel = new TimingWheel(8, 10, TimeUnit.MILLISECONDS);
+		ran = new ArrayList<String>();
+		start = System.nanoTime();
+	}
+
+	@Test
+	public void runsTasksOnlyOnceDue() {
+		TimingWheel.Timeout timeout = schedule("a", 50);
+
+		wheel.advance(start + millis(40));
+		assertTrue(ran.isEmpty());
+		assertTrue(timeout.isScheduled());
+
+		advanceBy(60);
+		assertEquals(Arrays.asList("a"), ran);
+		assertFalse(timeout.isScheduled());
+		assertTrue(wheel.isEmpty());
+	}
+
+	@Test
+	public void runsTasksInDeadlineOrder() {
+		schedule("c", 55);
+		schedule("a", 15);
+		schedule("b", 35);
+		schedule("b2", 35);
+
+		for (int ms = 10; ms <= 80; ms += 10) {
+			advanceBy(ms);
+		}
+
+		assertEquals(Arrays.asList("a", "b", "b2", "c"), ran);
+	}
+
+	@Test
+	public void cancelledTasksNeverRun() {
+		TimingWheel.Timeout timeout = schedule("a", 20);
+		schedule("b", 20);
+		assertEquals(2, wheel.size());
+
+		assertTrue(timeout.cancel());
+		assertFalse(timeout.cancel());
+		assertEquals(1, wheel.size());
+
+		advanceBy(100);
+		assertEquals(Arrays.asList("b"), ran);
+	}
+
+	@Test
+	public void pushedBackTasksRunAtTheirNewDeadline() {
+		TimingWheel.Timeout timeout = schedule("a", 20);
+		timeout.reset(200, TimeUnit.MILLISECONDS);
+
+		advanceBy(100);
+		assertTrue(ran.isEmpty());
+		assertTrue(timeout.isScheduled());
+		assertEquals(1, wheel.size());
+
+		advanceBy(250);
+		assertEquals(Arrays.asList("a"), ran);
+	}
+
+	@Test
+	public void tasksFurtherThanALapWaitForTheirLap() {
+		schedule("a", 200);
+
+		// Passes the timer's slot twice before its deadline
+		for (int ms = 10; ms <= 190; ms += 10) {
+			wheel.advance(start + millis(ms));
+		}
+		assertTrue(ran.isEmpty());
+
+		advanceBy(210);
+		assertEquals(Arrays.asList("a"), ran);
+	}
+
+	@Test
+	public void longGapRunsEverythingDueOnce() {
+		schedule("a", 10);
+		schedule("b", 70);
+		schedule("c", 150);
+
+		advanceBy(1000);
+
+		assertEquals(3, ran.size());
+		assertTrue(ran.containsAll(Arrays.asList("a", "b", "c")));
+		assertTrue(wheel.isEmpty());
+	}
+
+	@Test
+	public void taskMayCancelATimerInTheSameSlot() {
+		final TimingWheel.Timeout[] later = new TimingWheel.Timeout[1];
+		wheel.schedule(new Runnable() {
+			@Override
+			public void run() {
+				ran.add("a");
+				later[0].cancel();
+			}
+		}, 20, TimeUnit.MILLISECONDS);
+		later[0] = schedule("b", 20);
+
+		advanceBy(100);
+
+		assertEquals(Arrays.asList("a"), ran);
+		assertTrue(wheel.isEmpty());
+	}
+
+	@Test
+	public void failingTaskDoesNotStopTheOthers() {
+		final List<Throwable> reported = new ArrayList<Throwable>();
+		final RuntimeException failure = new RuntimeException("Expected");
+		Thread thread = Thread.currentThread();
+		Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+
+		thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+			@Override
+			public void uncaughtException(Thread t, Throwable e) {
+				reported.add(e);
+			}
+		});
+
+		try {
+			schedule("a", 20);
+			wheel.schedule(new Runnable() {
+				@Override
+				public void run() {
+					throw failure;
+				}
+			}, 20, TimeUnit.MILLISECONDS);
+			schedule("b", 20);
+
+			advanceBy(100);
+		} finally {
+			thread.setUncaughtExceptionHandler(handler);
+		}
+
+		assertEquals(Arrays.asList("a", "b"), ran);
+		assertEquals(1, reported.size());
+		assertSame(failure, reported.get(0));
+	}
+
+	@Test
+	public void nextDeadlineIsTheEarliestNonEmptySlot() {
+		assertEquals(-1, wheel.nextDeadline());
+
+		schedule("a", 50);
+		schedule("b", 30);
+		long after = System.nanoTime();
+
+		long next = wheel.nextDeadline();
+		assertTrue(next >= start + millis(30));
+		assertTrue(next <= after + millis(40));
+	}
+
+	@Test
+	public void clearCancelsEverything() {
+		TimingWheel.Timeout timeout = schedule("a", 20);
+		schedule("b", 500);
+
+		wheel.clear();
+
+		assertTrue(wheel.isEmpty());
+		assertFalse(timeout.isScheduled());
+		assertEquals(-1, wheel.nextDeadline());
+
+		advanceBy(1000);
+		assertTrue(ran.isEmpty());
+	}
+
+	/**
+	 * Schedule a task which records its name when it runs.
+	 *
+	 * @param name The task name.
+	 * @param delay The delay, in milliseconds.
+	 * @return The timer.
+	 */
+	private TimingWheel.Timeout schedule(final String name, long delay) {
+		return wheel.schedule(new Runnable() {
+			@Override
+			public void run() {
+				ran.add(name);
+			}
+		}, delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Advance the wheel to a time far enough past now that every timer with at most this delay is due.
+	 *
+	 * @param ms The time, in milliseconds from now.
+	 */
+	private void advanceBy(long ms) {
+		wheel.advance(System.nanoTime() + millis(ms));
+	}
+
+	/**
+	 * Convert milliseconds to nanoseconds.
+	 *
+	 * @param ms The time, in milliseconds.
+	 * @return The time, in nanoseconds.
+	 */
+	private static long millis(long ms) {
+		return TimeUnit.MILLISECONDS.toNanos(ms);
+	}
+}